@@ -1,17 +1,75 @@
 package com.praktikum.rest;
 
-//TIP To <b>Run</b> code, press <shortcut actionId="Run"/> or
-// click the <icon src="AllIcons.Actions.Execute"/> icon in the gutter.
+import com.praktikum.rest.config.TestConfig;
+import com.praktikum.rest.http.HttpSetup;
+import com.praktikum.rest.replay.RecordedRequest;
+import com.praktikum.rest.replay.RequestLogReader;
+import com.praktikum.rest.replay.TrafficReplayer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.stream.Stream;
+
+/**
+ * Traffic replay tool: replay request log JSONL ke base URL dan print latency serta error histograms
+ * Dibangun sebagai shaded jar lewat mvn package (target/*-replay.jar)
+ *   java -jar target/api-testing-rest-assured-1.0-SNAPSHOT-replay.jar requests.jsonl --base-url http://localhost:8080 --speed 10
+ *   cat requests.jsonl | java -jar ...-replay.jar - --speed 0
+ *
+ * Default options dari TestConfig (-Dreplay.base.url, -Dreplay.speed, -Dreplay.max.inflight)
+ */
+
 public class Main {
+    private static final String USAGE = "Usage: Main <requests.jsonl|-> [--base-url URL] [--speed N] [--max-inflight N]";
+
     public static void main(String[] args) {
-        //TIP Press <shortcut actionId="ShowIntentionActions"/> with your caret at the highlighted text
-        // to see how IntelliJ IDEA suggests fixing it.
-        System.out.printf("Hello and welcome!");
+        String file = null;
+        String baseUrl = TestConfig.REPLAY_BASE_URL;
+        double speed = TestConfig.REPLAY_SPEED;
+        int maxInFlight = TestConfig.REPLAY_MAX_INFLIGHT;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--base-url" -> baseUrl = args[++i];
+                    case "--speed" -> speed = Double.parseDouble(args[++i]);
+                    case "--max-inflight" -> maxInFlight = Integer.parseInt(args[++i]);
+                    case "-h", "--help" -> {
+                        System.out.println(USAGE);
+                        return;
+                    }
+                    default -> {
+                        if (file != null) {
+                            throw new IllegalArgumentException("Argument tidak dikenal: " + args[i]);
+                        }
+                        file = args[i];
+                    }
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException | IllegalArgumentException e) {
+            System.err.println(e instanceof ArrayIndexOutOfBoundsException ? "Option tanpa value" : e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+        if (file == null) {
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+        Path path = Paths.get(file);
+        if (!file.equals("-") && !Files.isReadable(path)) {
+            System.err.println("Request log tidak bisa dibaca: " + file);
+            System.exit(2);
+        }
+
+        // Setup HTTP yang sama dengan test suite (default JSON headers), headers rekaman menimpa default
+        HttpSetup.configure(baseUrl);
+        System.out.printf("Replay %s -> %s (speed %s, max in-flight %d)%n", file, baseUrl,
+                speed == 0 ? "secepatnya" : speed + "x", maxInFlight);
 
-        for (int i = 1; i <= 5; i++) {
-            //TIP Press <shortcut actionId="Debug"/> to start debugging your code. We have set one <icon src="AllIcons.Debugger.Db_set_breakpoint"/> breakpoint
-            // for you, but you can always add more by pressing <shortcut actionId="ToggleLineBreakpoint"/>.
-            System.out.println("i = " + i);
+        TrafficReplayer.Report report;
+        try (Stream<RecordedRequest> requests = RequestLogReader.read(path)) {
+            report = new TrafficReplayer(baseUrl, speed, maxInFlight).replay(requests);
         }
+        report.print(System.out);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,157 @@
+package com.praktikum.rest.config;
+
+import java.time.Duration;
+
+/**
+ * Configuration class untuk menyimpan semua constants dan configuration values
+ * Digunakan oleh semua test classes untuk menjaga consistency
+ */
+
+public class TestConfig {
+    // Base URL untuk API testing - menggunakan JSONPlaceholder
+    public static final String BASE_URL = "https://jsonplaceholder.typicode.com";
+
+    // Alternative API URL untuk testing yang butuh authentication (optional)
+    public static final String REQRES_BASE_URL = "https://reqres.in/api";
+
+    // API Key untuk ReqRes API (jika diperlukan)
+    public static final String API_KEY = "reqres-free-v1";
+    public static final String API_KEY_HEADER = "X-API-Key";
+
+    // Test data constants untuk test data yang konsisten
+    public static final String VALID_EMAIL = "eve.holt@reqres.in";
+    public static final String VALID_PASSWORD = "cityslicka";
+    public static final String INVALID_EMAIL = "invalid@test.com";
+
+    // Authentication token cache settings (override via -Dauth.token.ttl.seconds=...)
+    public static final Duration AUTH_TOKEN_TTL =
+            Duration.ofSeconds(Long.getLong("auth.token.ttl.seconds", 900L));  // Umur token setelah login
+    public static final Duration AUTH_TOKEN_REFRESH_SKEW =
+            Duration.ofSeconds(Long.getLong("auth.token.refresh.skew.seconds", 30L));  // Refresh sebelum expired
+
+    // Opt-in GET response cache per test run (aktifkan via -Dhttp.cache.enabled=true)
+    public static final boolean RESPONSE_CACHE_ENABLED = Boolean.getBoolean("http.cache.enabled");
+    public static final int RESPONSE_CACHE_MAX_ENTRIES = Integer.getInteger("http.cache.max.entries", 256);
+    public static final long RESPONSE_CACHE_MAX_BYTES = Long.getLong("http.cache.max.bytes", 16L * 1024 * 1024);
+
+    // Adaptive concurrency untuk parallel DataProvider sweeps (AIMD limiter)
+    public static final int SWEEP_MAX_CONCURRENCY = Integer.getInteger("sweep.max.concurrency", 16);  // = DataProvider thread count
+    public static final int SWEEP_INITIAL_CONCURRENCY = Integer.getInteger("sweep.initial.concurrency", 4);
+    public static final int SWEEP_MIN_CONCURRENCY = Integer.getInteger("sweep.min.concurrency", 1);
+    public static final double SWEEP_BACKOFF_RATIO = Double.parseDouble(System.getProperty("sweep.backoff.ratio", "0.5"));
+    public static final double SWEEP_LATENCY_TOLERANCE = Double.parseDouble(System.getProperty("sweep.latency.tolerance", "2.0"));
+    public static final String SWEEP_BASE_URL = System.getProperty("sweep.base.url", BASE_URL);  // Target sweep (service sendiri)
+    public static final int SWEEP_USER_ID_START = Integer.getInteger("sweep.user.id.start", 1);
+    public static final int SWEEP_USER_ID_END = Integer.getInteger("sweep.user.id.end", 10);  // Inclusive
+    public static final long SWEEP_REPORT_INTERVAL_SECONDS = Long.getLong("sweep.report.interval.seconds", 5L);
+
+    // Token bucket rate limit per base URL, format "baseUrl=rps[:burst];..." (kosong = tanpa limit)
+    // Contoh: -Drate.limits="https://reqres.in/api=5:10;https://jsonplaceholder.typicode.com=50"
+    public static final String RATE_LIMITS = System.getProperty("rate.limits", "");
+    public static final int RATE_LIMIT_DEFAULT_BURST = Integer.getInteger("rate.limit.default.burst", 1);
+
+    // Local fault-injection proxy di depan setiap base URL (aktifkan via -Dproxy.enabled=true)
+    // Format faults "pathPrefix=fault,fault;...", contoh: -Dproxy.faults="/users=latency:100-300,error:0.1@503;/=reset:0.01"
+    public static final boolean PROXY_ENABLED = Boolean.getBoolean("proxy.enabled");
+    public static final String PROXY_FAULTS = System.getProperty("proxy.faults", "");
+    public static final long PROXY_SEED = Long.getLong("proxy.seed", 42L);  // Seed supaya fault bisa direproduksi
+
+    // Streaming result listener: JSONL + JUnit XML per suite dan progress berkala
+    public static final String RESULTS_DIR = System.getProperty("results.dir", "target/streaming-results");
+    public static final long RESULTS_PROGRESS_INTERVAL_SECONDS = Long.getLong("results.progress.interval.seconds", 10L);  // 0 = off
+
+    // Payload-size scaling benchmark (POST body di-stream, ukuran naik geometris x4 dari min sampai max)
+    // Default max kecil supaya sopan ke public API; untuk service sendiri: -Dpayload.base.url=... -Dpayload.max.bytes=33554432
+    public static final String PAYLOAD_BASE_URL = System.getProperty("payload.base.url", BASE_URL);
+    public static final long PAYLOAD_MIN_BYTES = Long.getLong("payload.min.bytes", 1024L);
+    public static final long PAYLOAD_MAX_BYTES = Long.getLong("payload.max.bytes", 1024L * 1024);
+    public static final int PAYLOAD_ITERATIONS = Integer.getInteger("payload.iterations", 5);
+    public static final double PAYLOAD_MAX_SLOPE = Double.parseDouble(System.getProperty("payload.max.slope", "1.2"));  // Batas growth log-log
+
+    // Wire vs decoded bytes dan CPU decompress per request (CompressionMetricsFilter, aktifkan via -Dhttp.compression.metrics=true)
+    // Opt-in karena filter ini mengganti decoder REST Assured dengan decode sendiri untuk semua response
+    public static final boolean COMPRESSION_METRICS_ENABLED =
+            Boolean.parseBoolean(System.getProperty("http.compression.metrics", "false"));
+
+    // Benchmark Accept-Encoding identity vs gzip vs deflate, endpoints dipisah koma
+    public static final String COMPRESSION_BASE_URL = System.getProperty("compression.base.url", BASE_URL);
+    public static final String COMPRESSION_ENDPOINTS = System.getProperty("compression.endpoints", "/users/1,/users,/posts,/comments");
+    public static final int COMPRESSION_ITERATIONS = Integer.getInteger("compression.iterations", 5);
+
+    // Transport request REST Assured: "http1" (Apache, bawaan) atau "http2" (java.net.http, Http2TransportFilter)
+    public static final String HTTP_TRANSPORT = System.getProperty("http.transport", "http1");
+
+    // Perbandingan transport REST Assured vs HTTP/2 async (TransportTests.testTransportComparison)
+    // Default hanya smoke test yang sopan ke public API; benchmark ke service sendiri: -Dtransport.requests=400 -Dtransport.concurrency=16
+    public static final String TRANSPORT_BASE_URL = System.getProperty("transport.base.url", BASE_URL);
+    public static final String TRANSPORT_PATH = System.getProperty("transport.path", "/users/1");
+    public static final int TRANSPORT_REQUESTS = Integer.getInteger("transport.requests", 20);
+    public static final int TRANSPORT_CONCURRENCY = Integer.getInteger("transport.concurrency", 4);
+
+    // OpenMetrics endpoint selama suite berjalan (http://127.0.0.1:<port>/metrics), 0 = random port, negatif = off
+    public static final int METRICS_PORT = Integer.getInteger("metrics.port", 9464);
+
+    // Golden snapshot response body (JsonSnapshot): folder golden, field volatile yang diabaikan, dan mode rekam ulang
+    public static final String SNAPSHOT_DIR = System.getProperty("snapshot.dir", "src/test/resources/snapshots");
+    public static final String SNAPSHOT_IGNORED_FIELDS = System.getProperty("snapshot.ignored.fields", "createdAt,updatedAt,token");
+    public static final boolean SNAPSHOT_UPDATE = Boolean.getBoolean("snapshot.update");
+
+    // Impact index endpoint -> test (direkam setiap run), dan endpoint yang berubah untuk selective run di TestRunner
+    // Contoh: -Dimpact.changed="POST /users,GET /posts?userId,GET reqres.in/api/users/{id}" (host opsional)
+    public static final String IMPACT_INDEX_FILE = System.getProperty("impact.index.file", "target/impact-index.json");
+    public static final String IMPACT_CHANGED = System.getProperty("impact.changed", "");
+
+    // Jumlah halaman yang di-prefetch Paginator di depan consumer (default untuk Paginator.Builder.prefetch)
+    public static final int PAGINATION_PREFETCH = Integer.getInteger("pagination.prefetch", 4);
+
+    // Traffic replay tool (Main): target, speed-up terhadap timing asli (0 = secepatnya), dan batas request in-flight
+    public static final String REPLAY_BASE_URL = System.getProperty("replay.base.url", BASE_URL);
+    public static final double REPLAY_SPEED = Double.parseDouble(System.getProperty("replay.speed", "1.0"));
+    public static final int REPLAY_MAX_INFLIGHT = Integer.getInteger("replay.max.inflight", 256);
+
+    // Resource profile per test method (CPU, allocation, wall, HTTP, bytes): file report, kolom ranking, dan jumlah baris di console
+    public static final String PROFILING_REPORT_FILE = System.getProperty("profiling.report.file", "target/resource-profile.json");
+    public static final String PROFILING_RANK_BY = System.getProperty("profiling.rank.by", "cpu");
+    public static final int PROFILING_TOP = Integer.getInteger("profiling.top", 20);
+
+    // Health probe saat suite mulai (base URL dipisah koma, kosong = off) dan circuit breaker per host (CircuitBreakerFilter)
+    public static final String HEALTH_PROBE_TARGETS = System.getProperty("health.probe.targets", BASE_URL + "," + REQRES_BASE_URL);
+    public static final long HEALTH_PROBE_TIMEOUT_MS = Long.getLong("health.probe.timeout.ms", 3000L);
+    // Status probe yang berarti target tidak bisa dites (auth/WAF menolak atau gateway error), terpisah dari circuit.failure.statuses
+    public static final String HEALTH_PROBE_UNHEALTHY_STATUSES = System.getProperty("health.probe.unhealthy.statuses", "401,403,502,503,504");
+    public static final int CIRCUIT_FAILURE_THRESHOLD = Integer.getInteger("circuit.failure.threshold", 3);  // Failure berturut-turut
+    public static final long CIRCUIT_OPEN_SECONDS = Long.getLong("circuit.open.seconds", 30L);  // Sebelum half-open probe
+    public static final String CIRCUIT_FAILURE_STATUSES = System.getProperty("circuit.failure.statuses", "502,504");
+    public static final String CIRCUIT_OPEN_ACTION = System.getProperty("circuit.open.action", "fail");  // fail atau skip
+
+    // Soak mode (SoakRunner): test yang di-loop (format sama dengan LoadCoordinator --tests), durasi, thread, rate (0 = closed loop),
+    // interval sample, warm-up yang tidak ikut trend analysis, dan batas growth/decay relatif + konsistensi trend (Kendall tau)
+    public static final String SOAK_TESTS = System.getProperty("soak.tests", "");
+    public static final long SOAK_DURATION_SECONDS = Long.getLong("soak.duration.seconds", 3600L);
+    public static final int SOAK_CONCURRENCY = Integer.getInteger("soak.concurrency", 4);
+    public static final double SOAK_RATE = Double.parseDouble(System.getProperty("soak.rate", "0"));
+    public static final long SOAK_SAMPLE_INTERVAL_SECONDS = Long.getLong("soak.sample.interval.seconds", 60L);
+    public static final long SOAK_WARMUP_SECONDS = Long.getLong("soak.warmup.seconds", 300L);
+    public static final double SOAK_GROWTH_TOLERANCE = Double.parseDouble(System.getProperty("soak.growth.tolerance", "0.2"));
+    public static final double SOAK_DECAY_TOLERANCE = Double.parseDouble(System.getProperty("soak.decay.tolerance", "0.2"));
+    public static final double SOAK_MIN_TAU = Double.parseDouble(System.getProperty("soak.min.tau", "0.6"));
+    public static final String SOAK_REPORT_FILE = System.getProperty("soak.report.file", "target/soak-report.json");
+
+    // Precomputed test data corpus (TestDataCorpus): file binary, seed Faker, dan jumlah record per jenis
+    // Ditulis oleh mvn -Pcorpus (process-test-classes), atau saat pertama dipakai jika file belum ada atau seed/jumlahnya berbeda
+    public static final String CORPUS_FILE = System.getProperty("corpus.file", "target/test-data-corpus.bin");
+    public static final long CORPUS_SEED = Long.getLong("corpus.seed", 42L);
+    public static final int CORPUS_USERS = Integer.getInteger("corpus.users", 10_000);
+    public static final int CORPUS_COMPANIES = Integer.getInteger("corpus.companies", 2_000);
+    public static final int CORPUS_PRODUCTS = Integer.getInteger("corpus.products", 5_000);
+    public static final int CORPUS_LOGINS = Integer.getInteger("corpus.logins", 2_000);
+
+    // Response time thresholds dalam milliseconds untuk performance testing
+    public static final long MAX_RESPONSE_TIME = 3000L;  // Maximum acceptable response time
+    public static final long ACCEPTABLE_RESPONSE_TIME = 1000L;  // Ideal response time
+
+    // Test data paths untuk JSON schema validation (jika digunakan)
+    public static final String USERS_SCHEMA_PATH = "schemas/users-schema.json";
+    public static final String USER_SCHEMA_PATH = "schemas/user-schema.json";
+    public static final String LOGIN_SCHEMA_PATH = "schemas/login-schema.json";
+}
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.praktikum.rest.http;
+
+import com.praktikum.rest.config.TestConfig;
+import io.restassured.RestAssured;
+import io.restassured.specification.RequestSpecification;
+
+/**
+ * Konfigurasi HTTP yang dipakai bersama oleh test suite (BaseTest) dan traffic replay tool (Main)
+ * supaya keduanya mengirim request dengan default headers yang sama
+ */
+
+public class HttpSetup {
+    private HttpSetup() {
+    }
+
+    /**
+     * Default specification: request dan response dalam JSON
+     */
+    public static RequestSpecification jsonSpecification() {
+        return RestAssured.given()
+                .header("Content-Type", "application/json")  // Set content type sebagai JSON
+                .header("Accept", "application/json");  // Accept JSON responses
+    }
+
+    /**
+     * Default specification untuk ReqRes API: JSON plus API Key header
+     */
+    public static RequestSpecification apiKeySpecification() {
+        return jsonSpecification().header(TestConfig.API_KEY_HEADER, TestConfig.API_KEY);
+    }
+
+    /**
+     * Set global REST Assured configuration ke base URL dengan default JSON headers
+     * @param baseUrl Contoh: TestConfig.BASE_URL
+     */
+    public static synchronized void configure(String baseUrl) {
+        RestAssured.baseURI = baseUrl;
+        RestAssured.requestSpecification = null;  // Jangan merge specification sebelumnya
+        RestAssured.requestSpecification = jsonSpecification();
+    }
+}
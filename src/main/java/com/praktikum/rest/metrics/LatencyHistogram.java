@@ -0,0 +1,204 @@
+package com.praktikum.rest.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe latency histogram dengan log-linear buckets (resolusi ~3%)
+ * Disimpan dalam microseconds, bisa di-record dari banyak thread tanpa lock
+ */
+
+public class LatencyHistogram {
+    // Jumlah sub-bucket per power of two (2^5 = 32 -> error relatif maksimal ~3%)
+    private static final int SUB_BITS = 5;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+
+    // Nilai maksimal yang bisa di-record (~2^40 micros = ~12 hari), sisanya di-clamp
+    private static final int MAX_EXPONENT = 40;
+    static final int BUCKET_COUNT = SUB_COUNT + (MAX_EXPONENT - SUB_BITS + 1) * SUB_COUNT;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sumMicros = new LongAdder();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    /**
+     * Record satu sample latency
+     * @param nanos Durasi dalam nanoseconds
+     */
+    public void recordNanos(long nanos) {
+        recordMicros(Math.max(0, nanos / 1_000));
+    }
+
+    /**
+     * Record satu sample latency dalam microseconds
+     * @param micros Durasi dalam microseconds
+     */
+    public void recordMicros(long micros) {
+        buckets.incrementAndGet(bucketIndex(micros));
+        count.increment();
+        sumMicros.add(micros);
+        maxMicros.accumulateAndGet(micros, Math::max);
+    }
+
+    /**
+     * Gabungkan semua sample dari histogram lain ke histogram ini
+     * @param other Histogram sumber (tidak diubah)
+     */
+    public void merge(LatencyHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long c = other.buckets.get(i);
+            if (c != 0) {
+                buckets.addAndGet(i, c);
+            }
+        }
+        count.add(other.count.sum());
+        sumMicros.add(other.sumMicros.sum());
+        maxMicros.accumulateAndGet(other.maxMicros.get(), Math::max);
+    }
+
+    /**
+     * Encode histogram ke array compact untuk dikirim antar JVM
+     * Format: [sumMicros, maxMicros, bucketIndex1, count1, bucketIndex2, count2, ...] (hanya bucket non-zero)
+     */
+    public long[] encode() {
+        int nonZero = 0;
+        long[] snapshot = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = buckets.get(i);
+            if (snapshot[i] != 0) {
+                nonZero++;
+            }
+        }
+        long[] encoded = new long[2 + nonZero * 2];
+        encoded[0] = sumMicros.sum();
+        encoded[1] = maxMicros.get();
+        int position = 2;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            if (snapshot[i] != 0) {
+                encoded[position++] = i;
+                encoded[position++] = snapshot[i];
+            }
+        }
+        return encoded;
+    }
+
+    /**
+     * Decode hasil encode() kembali menjadi histogram (bisa di-merge dengan histogram lain)
+     */
+    public static LatencyHistogram decode(long[] encoded) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        if (encoded == null || encoded.length < 2) {
+            return histogram;
+        }
+        histogram.sumMicros.add(encoded[0]);
+        histogram.maxMicros.set(encoded[1]);
+        for (int i = 2; i + 1 < encoded.length; i += 2) {
+            histogram.buckets.addAndGet((int) encoded[i], encoded[i + 1]);
+            histogram.count.add(encoded[i + 1]);
+        }
+        return histogram;
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public double getMeanMillis() {
+        long n = count.sum();
+        return n == 0 ? 0.0 : sumMicros.sum() / 1_000.0 / n;
+    }
+
+    public double getMaxMillis() {
+        return maxMicros.get() / 1_000.0;
+    }
+
+    public double getTotalMillis() {
+        return sumMicros.sum() / 1_000.0;
+    }
+
+    /**
+     * Hitung percentile dari sample yang sudah di-record
+     * @param percentile Nilai antara 0 dan 100 (contoh: 99.9)
+     * @return Upper bound bucket dalam milliseconds, 0 jika belum ada sample
+     */
+    public double getPercentileMillis(double percentile) {
+        long total = 0;
+        long[] snapshot = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = buckets.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0.0;
+        }
+        long rank = (long) Math.ceil(total * Math.min(100.0, Math.max(0.0, percentile)) / 100.0);
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += snapshot[i];
+            if (seen >= Math.max(1, rank)) {
+                return Math.min(upperBound(i), maxMicros.get()) / 1_000.0;
+            }
+        }
+        return getMaxMillis();
+    }
+
+    /**
+     * Jumlah sample kumulatif untuk setiap batas (format bucket "le" Prometheus/OpenMetrics)
+     * Sample dihitung di batas pertama yang >= upper bound bucket internalnya, jadi error tetap ~3%
+     * @param boundsMicros Batas atas bucket dalam microseconds, urut naik
+     * @return Count kumulatif per batas, panjang sama dengan boundsMicros
+     */
+    public long[] cumulativeCounts(long[] boundsMicros) {
+        long[] cumulative = new long[boundsMicros.length];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long c = buckets.get(i);
+            if (c == 0) {
+                continue;
+            }
+            long upper = upperBound(i);
+            for (int b = 0; b < boundsMicros.length; b++) {
+                if (upper <= boundsMicros[b]) {
+                    cumulative[b] += c;
+                }
+            }
+        }
+        return cumulative;
+    }
+
+    /**
+     * Ringkasan satu baris untuk console output
+     */
+    public String summary() {
+        return String.format("count=%d mean=%.1fms p50=%.1fms p90=%.1fms p99=%.1fms max=%.1fms",
+                getCount(), getMeanMillis(), getPercentileMillis(50), getPercentileMillis(90),
+                getPercentileMillis(99), getMaxMillis());
+    }
+
+    static int bucketIndex(long micros) {
+        if (micros < SUB_COUNT) {
+            return (int) Math.max(0, micros);
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);  // Posisi bit tertinggi
+        if (exponent > MAX_EXPONENT) {
+            return BUCKET_COUNT - 1;
+        }
+        int shift = exponent - SUB_BITS;
+        int mantissa = (int) ((micros >>> shift) & (SUB_COUNT - 1));
+        return SUB_COUNT + shift * SUB_COUNT + mantissa;
+    }
+
+    static long lowerBound(int index) {
+        if (index < SUB_COUNT) {
+            return index;
+        }
+        int shift = (index - SUB_COUNT) / SUB_COUNT;
+        int mantissa = (index - SUB_COUNT) % SUB_COUNT;
+        return ((long) (SUB_COUNT + mantissa)) << shift;
+    }
+
+    static long upperBound(int index) {
+        return index + 1 < BUCKET_COUNT ? lowerBound(index + 1) - 1 : Long.MAX_VALUE;
+    }
+}
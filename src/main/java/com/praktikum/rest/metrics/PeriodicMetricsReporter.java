@@ -0,0 +1,65 @@
+package com.praktikum.rest.metrics;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Print snapshot gauges dan counters secara berkala selama test berjalan
+ * Berguna untuk memantau sweep panjang tanpa menunggu summary di akhir run
+ */
+
+public class PeriodicMetricsReporter implements AutoCloseable {
+    private final ScheduledExecutorService scheduler;
+    private final String prefix;
+    private final PrintStream out;
+
+    private PeriodicMetricsReporter(String prefix, PrintStream out) {
+        this.prefix = prefix;
+        this.out = out;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-reporter-" + prefix);
+            thread.setDaemon(true);  // Jangan menahan JVM exit
+            return thread;
+        });
+    }
+
+    /**
+     * Mulai print metrics dengan prefix tertentu setiap interval
+     * @param prefix Prefix nama metric, contoh: "concurrency."
+     * @param interval Jarak antar print
+     */
+    public static PeriodicMetricsReporter start(String prefix, Duration interval, PrintStream out) {
+        PeriodicMetricsReporter reporter = new PeriodicMetricsReporter(prefix, out);
+        long millis = Math.max(1, interval.toMillis());
+        reporter.scheduler.scheduleAtFixedRate(reporter::report, millis, millis, TimeUnit.MILLISECONDS);
+        return reporter;
+    }
+
+    /**
+     * Print satu baris snapshot metrics yang cocok dengan prefix
+     */
+    public void report() {
+        StringJoiner line = new StringJoiner(" ", "[metrics] ", "");
+        for (Map.Entry<String, Double> gauge : SuiteMetrics.gaugeSnapshot().entrySet()) {
+            if (gauge.getKey().startsWith(prefix)) {
+                line.add(gauge.getKey() + "=" + String.format("%.2f", gauge.getValue()));
+            }
+        }
+        for (Map.Entry<String, Long> counter : SuiteMetrics.counterSnapshot().entrySet()) {
+            if (counter.getKey().startsWith(prefix)) {
+                line.add(counter.getKey() + "=" + counter.getValue());
+            }
+        }
+        out.println(line);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
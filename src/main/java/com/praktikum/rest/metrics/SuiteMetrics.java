@@ -0,0 +1,105 @@
+package com.praktikum.rest.metrics;
+
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Registry global untuk counters dan latency histograms selama test suite berjalan
+ * Dipakai oleh auth, filters, dan runner supaya semua metrics ada di satu tempat
+ */
+
+public class SuiteMetrics {
+    private static final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private static final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private static final Map<String, DoubleSupplier> gauges = new ConcurrentHashMap<>();
+
+    private SuiteMetrics() {
+    }
+
+    /**
+     * Ambil (atau buat) counter dengan nama tertentu
+     * @param name Nama metric, contoh: "auth.token.hit"
+     */
+    public static LongAdder counter(String name) {
+        return counters.computeIfAbsent(name, key -> new LongAdder());
+    }
+
+    /**
+     * Ambil (atau buat) latency histogram dengan nama tertentu
+     * @param name Nama metric, contoh: "auth.login"
+     */
+    public static LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(name, key -> new LatencyHistogram());
+    }
+
+    /**
+     * Daftarkan gauge: nilai yang dibaca ulang setiap kali metrics di-snapshot
+     * @param name Nama metric, contoh: "concurrency.limit"
+     * @param supplier Sumber nilai terkini
+     */
+    public static void gauge(String name, DoubleSupplier supplier) {
+        gauges.put(name, supplier);
+    }
+
+    public static void increment(String name) {
+        counter(name).increment();
+    }
+
+    public static void recordNanos(String name, long nanos) {
+        histogram(name).recordNanos(nanos);
+    }
+
+    /**
+     * Snapshot semua counters, diurutkan berdasarkan nama
+     */
+    public static Map<String, Long> counterSnapshot() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        counters.forEach((name, adder) -> snapshot.put(name, adder.sum()));
+        return snapshot;
+    }
+
+    /**
+     * Snapshot nilai terkini semua gauges, diurutkan berdasarkan nama
+     */
+    public static Map<String, Double> gaugeSnapshot() {
+        Map<String, Double> snapshot = new TreeMap<>();
+        gauges.forEach((name, supplier) -> snapshot.put(name, supplier.getAsDouble()));
+        return snapshot;
+    }
+
+    /**
+     * View semua histograms, diurutkan berdasarkan nama
+     */
+    public static Map<String, LatencyHistogram> histogramSnapshot() {
+        return new TreeMap<>(histograms);
+    }
+
+    /**
+     * Print semua metrics ke console, dipakai di akhir TestRunner
+     */
+    public static void printSummary(PrintStream out) {
+        if (counters.isEmpty() && histograms.isEmpty() && gauges.isEmpty()) {
+            return;
+        }
+        out.println("===== SUITE METRICS =====");
+        histogramSnapshot().forEach((name, histogram) ->
+                out.println(name + ": " + histogram.summary()));
+        counterSnapshot().forEach((name, value) ->
+                out.println(name + ": " + value));
+        gaugeSnapshot().forEach((name, value) ->
+                out.println(name + ": " + String.format("%.2f", value)));
+    }
+
+    /**
+     * Hapus semua metrics (untuk isolasi antar run dalam satu JVM)
+     */
+    public static void reset() {
+        counters.clear();
+        histograms.clear();
+        gauges.clear();
+    }
+}
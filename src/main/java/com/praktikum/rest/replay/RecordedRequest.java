@@ -0,0 +1,15 @@
+package com.praktikum.rest.replay;
+
+import java.util.Map;
+
+/**
+ * Satu request dari request log yang direkam (satu baris JSONL)
+ * @param timestampMillis Waktu asli request dalam epoch milliseconds
+ * @param method HTTP method, contoh: "GET"
+ * @param path Path relatif terhadap base URL, boleh berisi query string, contoh: "/users?page=2"
+ * @param headers Request headers yang direkam
+ * @param body Request body, null jika tidak ada
+ */
+
+public record RecordedRequest(long timestampMillis, String method, String path, Map<String, String> headers, String body) {
+}
@@ -0,0 +1,289 @@
+package com.praktikum.rest.replay;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Membaca request log JSONL secara streaming, satu RecordedRequest per baris
+ * File dibaca lewat memory-mapped window (bukan seluruh file sekaligus), jadi log berukuran GB tetap O(window) di memory
+ *
+ * Format baris: {"timestamp": 1700000000000, "method": "POST", "path": "/users", "headers": {...}, "body": {...}}
+ * - timestamp: epoch millis atau ISO-8601 ("2024-01-01T10:00:00.250Z"), jika kosong sama dengan baris sebelumnya
+ * - method: default GET
+ * - headers: value string atau array (digabung dengan ", ")
+ * - body: string apa adanya, atau JSON object/array yang di-serialize ulang
+ * Baris kosong dan baris yang diawali "#" dilewati
+ */
+
+public class RequestLogReader {
+    // Ukuran default satu mapped window
+    public static final int DEFAULT_WINDOW_BYTES = 64 * 1024 * 1024;
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private RequestLogReader() {
+    }
+
+    /**
+     * Stream request dari file, harus di-close (try-with-resources) supaya file channel ditutup
+     * @param file Path request log, "-" untuk stdin
+     */
+    public static Stream<RecordedRequest> read(Path file) {
+        return read(file, DEFAULT_WINDOW_BYTES);
+    }
+
+    /**
+     * Stream request dari file dengan ukuran mapped window tertentu
+     * @param windowBytes Ukuran window, baris yang lebih panjang dari window tetap dibaca (window diperbesar)
+     */
+    public static Stream<RecordedRequest> read(Path file, int windowBytes) {
+        if (file.toString().equals("-")) {
+            return read(System.in);
+        }
+        try {
+            MappedLineIterator lines = new MappedLineIterator(FileChannel.open(file, StandardOpenOption.READ), windowBytes);
+            return stream(new RequestIterator(lines)).onClose(lines::close);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Tidak bisa membuka request log " + file, e);
+        }
+    }
+
+    /**
+     * Stream request dari input stream (contoh: stdin pada pipeline)
+     */
+    public static Stream<RecordedRequest> read(InputStream input) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        Iterator<byte[]> lines = reader.lines().map(line -> line.getBytes(StandardCharsets.UTF_8)).iterator();
+        return stream(new RequestIterator(lines)).onClose(() -> {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Parse satu baris JSONL
+     * @param previousTimestamp Dipakai jika baris tidak punya timestamp
+     */
+    static RecordedRequest parse(byte[] line, int length, long previousTimestamp) throws IOException {
+        JsonNode node = mapper.readTree(line, 0, length);
+        if (node == null || !node.isObject()) {
+            throw new IllegalArgumentException("baris bukan JSON object");
+        }
+        JsonNode path = node.get("path");
+        if (path == null || !path.isTextual() || path.asText().isEmpty()) {
+            throw new IllegalArgumentException("field \"path\" wajib diisi");
+        }
+
+        Map<String, String> headers = new LinkedHashMap<>();
+        JsonNode headerNode = node.get("headers");
+        if (headerNode != null && headerNode.isObject()) {
+            headerNode.fields().forEachRemaining(header -> {
+                JsonNode value = header.getValue();
+                if (value.isArray()) {
+                    StringBuilder joined = new StringBuilder();
+                    value.forEach(item -> joined.append(joined.length() == 0 ? "" : ", ").append(item.asText()));
+                    headers.put(header.getKey(), joined.toString());
+                } else {
+                    headers.put(header.getKey(), value.asText());
+                }
+            });
+        }
+
+        String body = null;
+        JsonNode bodyNode = node.get("body");
+        if (bodyNode != null && !bodyNode.isNull()) {
+            body = bodyNode.isTextual() ? bodyNode.asText() : mapper.writeValueAsString(bodyNode);
+        }
+
+        return new RecordedRequest(timestamp(node.get("timestamp"), previousTimestamp),
+                node.path("method").asText("GET").toUpperCase(), path.asText(), headers, body);
+    }
+
+    private static long timestamp(JsonNode node, long previousTimestamp) {
+        if (node == null || node.isNull()) {
+            return previousTimestamp;
+        }
+        if (node.isNumber()) {
+            return node.asLong();
+        }
+        try {
+            return Instant.parse(node.asText()).toEpochMilli();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("timestamp tidak valid: " + node.asText());
+        }
+    }
+
+    private static Stream<RecordedRequest> stream(Iterator<RecordedRequest> iterator) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Parse baris satu per satu, error menyebutkan nomor baris
+     */
+    private static final class RequestIterator implements Iterator<RecordedRequest> {
+        private final Iterator<byte[]> lines;
+        private RecordedRequest next;
+        private long lineNumber;
+        private long previousTimestamp;
+
+        RequestIterator(Iterator<byte[]> lines) {
+            this.lines = lines;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && lines.hasNext()) {
+                byte[] line = lines.next();
+                lineNumber++;
+                int length = trimmedLength(line);
+                if (length == 0 || line[0] == '#') {
+                    continue;
+                }
+                try {
+                    next = parse(line, length, previousTimestamp);
+                    previousTimestamp = next.timestampMillis();
+                } catch (IOException | IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Request log baris " + lineNumber + ": " + e.getMessage(), e);
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public RecordedRequest next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            RecordedRequest request = next;
+            next = null;
+            return request;
+        }
+
+        private static int trimmedLength(byte[] line) {
+            int length = line.length;
+            while (length > 0 && (line[length - 1] == '\r' || line[length - 1] == ' ' || line[length - 1] == '\t')) {
+                length--;
+            }
+            return length;
+        }
+    }
+
+    /**
+     * Iterasi baris (tanpa '\n') di atas file yang di-map per window
+     * Window berikutnya dimulai dari awal baris yang terpotong, jadi tidak perlu carry-over buffer
+     */
+    static final class MappedLineIterator implements Iterator<byte[]>, AutoCloseable {
+        private final FileChannel channel;
+        private final long size;
+        private int windowBytes;
+        private MappedByteBuffer window;
+        private long windowStart;
+        private byte[] next;
+
+        MappedLineIterator(FileChannel channel, int windowBytes) throws IOException {
+            this.channel = channel;
+            this.size = channel.size();
+            this.windowBytes = Math.max(1, windowBytes);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                try {
+                    next = readLine();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public byte[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            byte[] line = next;
+            next = null;
+            return line;
+        }
+
+        private byte[] readLine() throws IOException {
+            while (true) {
+                if (window == null || !window.hasRemaining()) {
+                    long position = window == null ? 0 : windowStart + window.position();
+                    if (position >= size) {
+                        return null;
+                    }
+                    map(position);
+                }
+                int start = window.position();
+                int end = indexOfNewline(start);
+                if (end >= 0) {
+                    return copy(start, end, end + 1);
+                }
+                long lineStart = windowStart + start;
+                if (windowStart + window.limit() >= size) {
+                    return copy(start, window.limit(), window.limit());  // Baris terakhir tanpa '\n'
+                }
+                if (start == 0) {
+                    windowBytes = (int) Math.min(Integer.MAX_VALUE - 8, (long) windowBytes * 2);  // Baris lebih panjang dari window
+                }
+                map(lineStart);
+            }
+        }
+
+        private void map(long position) throws IOException {
+            windowStart = position;
+            window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(windowBytes, size - position));
+        }
+
+        private int indexOfNewline(int from) {
+            for (int i = from; i < window.limit(); i++) {
+                if (window.get(i) == '\n') {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private byte[] copy(int start, int end, int nextPosition) {
+            byte[] line = new byte[end - start];
+            window.get(start, line);
+            window.position(nextPosition);
+            return line;
+        }
+
+        @Override
+        public void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
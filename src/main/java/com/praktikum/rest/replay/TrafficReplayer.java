@@ -0,0 +1,245 @@
+package com.praktikum.rest.replay;
+
+import com.praktikum.rest.metrics.LatencyHistogram;
+import com.praktikum.rest.metrics.SuiteMetrics;
+import io.restassured.RestAssured;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Replay request log ke base URL dengan timing asli (atau dipercepat N kali) dan mengukur latency serta errors
+ *
+ * Setiap request dijadwalkan pada start + (timestamp - timestamp pertama) / speed dan dikirim dari virtual thread,
+ * jadi request yang lambat tidak menggeser jadwal request berikutnya (open workload, bukan closed loop)
+ * Jika batas in-flight penuh, request menunggu dan keterlambatannya tercatat sebagai schedule lag
+ */
+
+public class TrafficReplayer {
+    // Headers yang ditentukan ulang oleh HTTP client, bukan disalin dari rekaman
+    private static final Set<String> SKIPPED_HEADERS = Set.of("host", "content-length", "connection", "transfer-encoding");
+
+    // Batas bucket untuk ASCII histogram, dalam milliseconds
+    private static final long[] HISTOGRAM_BOUNDS_MILLIS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000, 10000};
+    private static final int BAR_WIDTH = 40;
+
+    private final String baseUrl;
+    private final double speed;
+    private final int maxInFlight;
+    private final Supplier<RequestSpecification> request;
+
+    /**
+     * @param baseUrl Target replay, contoh: TestConfig.REPLAY_BASE_URL
+     * @param speed Speed-up terhadap timing asli (2.0 = dua kali lebih cepat), 0 = kirim secepatnya
+     * @param maxInFlight Batas request yang sedang berjalan
+     */
+    public TrafficReplayer(String baseUrl, double speed, int maxInFlight) {
+        this(baseUrl, speed, maxInFlight, RestAssured::given);
+    }
+
+    /**
+     * @param request Sumber RequestSpecification untuk setiap request (contoh: tanpa global filters di tests)
+     */
+    public TrafficReplayer(String baseUrl, double speed, int maxInFlight, Supplier<RequestSpecification> request) {
+        if (speed < 0) {
+            throw new IllegalArgumentException("speed harus >= 0: " + speed);
+        }
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight harus >= 1: " + maxInFlight);
+        }
+        this.baseUrl = baseUrl;
+        this.speed = speed;
+        this.maxInFlight = maxInFlight;
+        this.request = request;
+    }
+
+    /**
+     * Replay semua request dari stream (dibaca lazy, jadi log besar tidak dimuat ke memory)
+     * @return Report setelah semua response diterima
+     */
+    public Report replay(Stream<RecordedRequest> requests) {
+        return replay(requests.iterator());
+    }
+
+    public Report replay(Iterator<RecordedRequest> requests) {
+        LatencyHistogram latency = new LatencyHistogram();
+        LatencyHistogram lag = new LatencyHistogram();
+        Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long count = 0;
+        long firstTimestamp = 0;
+        long lastTimestamp = 0;
+        long start = System.nanoTime();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            while (requests.hasNext()) {
+                RecordedRequest recorded = requests.next();
+                if (count == 0) {
+                    firstTimestamp = recorded.timestampMillis();
+                    start = System.nanoTime();  // Jadwal dihitung dari request pertama, bukan dari waktu buka file
+                }
+                lastTimestamp = Math.max(lastTimestamp, recorded.timestampMillis());
+                count++;
+
+                long due = start + scheduledOffsetNanos(recorded.timestampMillis() - firstTimestamp);
+                waitUntil(due);
+                inFlight.acquireUninterruptibly();
+                long sent = System.nanoTime();
+                lag.recordNanos(sent - due);
+                SuiteMetrics.recordNanos("replay.schedule.lag", sent - due);
+
+                executor.execute(() -> {
+                    try {
+                        String outcome = send(recorded, latency);
+                        outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+                        SuiteMetrics.increment("replay.outcome." + outcome);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }  // close() menunggu semua request selesai
+
+        Map<String, Long> snapshot = new TreeMap<>();
+        outcomes.forEach((outcome, adder) -> snapshot.put(outcome, adder.sum()));
+        return new Report(count, snapshot, latency, lag, (lastTimestamp - firstTimestamp) / 1_000.0,
+                (System.nanoTime() - start) / 1_000_000_000.0);
+    }
+
+    private long scheduledOffsetNanos(long offsetMillis) {
+        if (speed == 0 || offsetMillis <= 0) {
+            return 0;
+        }
+        return (long) (offsetMillis * 1_000_000L / speed);
+    }
+
+    private static void waitUntil(long dueNanos) {
+        long remaining;
+        while ((remaining = dueNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    /**
+     * Kirim satu request, return status code atau nama exception sebagai outcome
+     */
+    private String send(RecordedRequest recorded, LatencyHistogram latency) {
+        RequestSpecification spec = request.get().baseUri(baseUrl).urlEncodingEnabled(false);
+        recorded.headers().forEach((name, value) -> {
+            if (!SKIPPED_HEADERS.contains(name.toLowerCase())) {
+                spec.header(name, value);
+            }
+        });
+        if (recorded.body() != null) {
+            spec.body(recorded.body().getBytes(StandardCharsets.UTF_8));
+        }
+
+        long begin = System.nanoTime();
+        try {
+            Response response = spec.request(recorded.method(), recorded.path());
+            response.asByteArray();  // Body ikut dihitung dalam latency
+            long elapsed = System.nanoTime() - begin;
+            latency.recordNanos(elapsed);
+            SuiteMetrics.recordNanos("replay.request", elapsed);
+            return String.valueOf(response.getStatusCode());
+        } catch (Exception e) {  // REST Assured melempar IOException (ConnectException, dll.) tanpa wrapping
+            SuiteMetrics.recordNanos("replay.request.failed", System.nanoTime() - begin);
+            return e.getClass().getSimpleName();
+        }
+    }
+
+    /**
+     * Hasil replay
+     * @param requests Jumlah request yang dikirim
+     * @param outcomes Jumlah per status code ("200", "503") atau exception ("ConnectException")
+     * @param latency Latency request yang mendapat response
+     * @param scheduleLag Selisih waktu kirim terhadap jadwal (besar berarti target atau batas in-flight tidak mengejar)
+     * @param recordedSeconds Rentang timestamp pada rekaman
+     * @param elapsedSeconds Durasi replay sebenarnya
+     */
+    public record Report(long requests, Map<String, Long> outcomes, LatencyHistogram latency, LatencyHistogram scheduleLag,
+                         double recordedSeconds, double elapsedSeconds) {
+
+        /**
+         * Request dengan status >= 400 atau tanpa response
+         */
+        public long errors() {
+            return outcomes.entrySet().stream()
+                    .filter(entry -> !isSuccess(entry.getKey()))
+                    .mapToLong(Map.Entry::getValue)
+                    .sum();
+        }
+
+        public double errorRate() {
+            return requests == 0 ? 0.0 : (double) errors() / requests;
+        }
+
+        public double recordedRps() {
+            return recordedSeconds <= 0 ? 0.0 : requests / recordedSeconds;
+        }
+
+        public double achievedRps() {
+            return elapsedSeconds <= 0 ? 0.0 : requests / elapsedSeconds;
+        }
+
+        private static boolean isSuccess(String outcome) {
+            return outcome.chars().allMatch(Character::isDigit) && Integer.parseInt(outcome) < 400;
+        }
+
+        /**
+         * Print ringkasan, ASCII latency histogram, dan error histogram
+         */
+        public void print(PrintStream out) {
+            out.println("=== Traffic Replay ===");
+            out.printf("Requests: %d dalam %.2fs (rekaman %.2fs), %.1f req/s (rekaman %.1f req/s)%n",
+                    requests, elapsedSeconds, recordedSeconds, achievedRps(), recordedRps());
+            out.printf("Errors: %d (%.2f%%)%n", errors(), errorRate() * 100);
+            out.println("Latency: " + latency.summary());
+            out.println("Schedule lag: " + scheduleLag.summary());
+
+            out.println("Latency histogram (ms):");
+            long[] bounds = new long[HISTOGRAM_BOUNDS_MILLIS.length];
+            for (int i = 0; i < bounds.length; i++) {
+                bounds[i] = HISTOGRAM_BOUNDS_MILLIS[i] * 1_000;
+            }
+            long[] cumulative = latency.cumulativeCounts(bounds);
+            long max = 1;
+            long previous = 0;
+            long[] counts = new long[bounds.length + 1];
+            for (int i = 0; i < bounds.length; i++) {
+                counts[i] = cumulative[i] - previous;
+                previous = cumulative[i];
+            }
+            counts[bounds.length] = latency.getCount() - previous;
+            for (long c : counts) {
+                max = Math.max(max, c);
+            }
+            for (int i = 0; i < counts.length; i++) {
+                String label = i < bounds.length ? "<= " + HISTOGRAM_BOUNDS_MILLIS[i] : "> " + HISTOGRAM_BOUNDS_MILLIS[bounds.length - 1];
+                out.printf("  %8s | %-" + BAR_WIDTH + "s %d%n", label, bar(counts[i], max), counts[i]);
+            }
+
+            out.println("Outcomes:");
+            long maxOutcome = outcomes.values().stream().mapToLong(Long::longValue).max().orElse(1);
+            outcomes.forEach((outcome, c) -> out.printf("  %8s | %-" + BAR_WIDTH + "s %d%s%n",
+                    outcome, bar(c, maxOutcome), c, isSuccess(outcome) ? "" : " error"));
+        }
+
+        private static String bar(long count, long max) {
+            return "#".repeat((int) Math.round((double) count * BAR_WIDTH / max));
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.praktikum.rest.auth;
+
+import com.praktikum.rest.config.TestConfig;
+import com.praktikum.rest.proxy.FaultInjectionProxy;
+import io.restassured.http.ContentType;
+import java.time.Clock;
+import java.util.Map;
+import static io.restassured.RestAssured.given;
+
+/**
+ * Entry point untuk authentication ke ReqRes API
+ * Menyimpan satu TokenCache bersama untuk semua test class dan thread
+ */
+
+public class AuthManager {
+    // Shared cache: login sekali per credential untuk seluruh suite
+    private static final TokenCache tokenCache = new TokenCache(
+            AuthManager::loginToReqRes,
+            TestConfig.AUTH_TOKEN_TTL,
+            TestConfig.AUTH_TOKEN_REFRESH_SKEW,
+            Clock.systemUTC());
+
+    private AuthManager() {
+    }
+
+    /**
+     * Ambil bearer token untuk credential tertentu (dari cache jika masih valid)
+     */
+    public static String getToken(String email, String password) {
+        return tokenCache.getToken(new Credentials(email, password));
+    }
+
+    /**
+     * Buat filter yang meng-inject bearer token ke setiap request
+     * Dipasang di request specification, lihat BaseTest.useAuthenticatedReqResAPI()
+     */
+    public static BearerTokenFilter bearerTokenFilter(String email, String password) {
+        return new BearerTokenFilter(tokenCache, new Credentials(email, password));
+    }
+
+    /**
+     * Buang token yang tersimpan untuk credential tertentu
+     */
+    public static void invalidate(String email, String password) {
+        tokenCache.invalidate(new Credentials(email, password));
+    }
+
+    /**
+     * Login function yang sebenarnya: POST /login ke ReqRes API
+     * Base URI dan API key di-set eksplisit supaya tidak bergantung pada global specification
+     */
+    private static String loginToReqRes(Credentials credentials) {
+        return given()
+                .baseUri(FaultInjectionProxy.baseUrlFor(TestConfig.REQRES_BASE_URL))
+                .header(TestConfig.API_KEY_HEADER, TestConfig.API_KEY)
+                .contentType(ContentType.JSON)
+                .body(Map.of("email", credentials.email(), "password", credentials.password()))
+                .when()
+                .post("/login")
+                .then()
+                .statusCode(200)
+                .extract()
+                .path("token");
+    }
+}
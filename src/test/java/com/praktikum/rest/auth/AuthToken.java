@@ -0,0 +1,19 @@
+package com.praktikum.rest.auth;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Token hasil login beserta waktu expiry-nya
+ */
+
+public record AuthToken(String value, Instant expiresAt) {
+    /**
+     * Cek apakah token masih bisa dipakai
+     * @param now Waktu sekarang
+     * @param refreshSkew Margin sebelum expiry di mana token dianggap perlu di-refresh
+     */
+    public boolean isUsable(Instant now, Duration refreshSkew) {
+        return now.plus(refreshSkew).isBefore(expiresAt);
+    }
+}
@@ -0,0 +1,50 @@
+package com.praktikum.rest.auth;
+
+import com.praktikum.rest.metrics.SuiteMetrics;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * REST Assured filter yang menambahkan header "Authorization: Bearer <token>"
+ * Token diambil dari TokenCache, jadi login hanya terjadi sekali per credential
+ */
+
+public class BearerTokenFilter implements Filter {
+    private final TokenCache tokenCache;
+    private final Credentials credentials;
+
+    public BearerTokenFilter(TokenCache tokenCache, Credentials credentials) {
+        this.tokenCache = tokenCache;
+        this.credentials = credentials;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        // Request login sendiri (lewat global specification) tidak butuh bearer token
+        if (tokenCache.isLoginInProgressOnCurrentThread()) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+
+        // Jangan override Authorization header yang di-set manual oleh test
+        if (!requestSpec.getHeaders().hasHeaderWithName("Authorization")) {
+            long start = System.nanoTime();
+            String token = tokenCache.getToken(credentials);
+            SuiteMetrics.recordNanos("auth.overhead", System.nanoTime() - start);
+            requestSpec.header("Authorization", "Bearer " + token);
+        }
+
+        Response response = ctx.next(requestSpec, responseSpec);
+
+        // Token ditolak server, paksa login ulang pada request berikutnya
+        if (response.statusCode() == 401) {
+            SuiteMetrics.increment("auth.token.rejected");
+            tokenCache.invalidate(credentials);
+        }
+        return response;
+    }
+}
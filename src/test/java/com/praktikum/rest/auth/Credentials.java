@@ -0,0 +1,13 @@
+package com.praktikum.rest.auth;
+
+/**
+ * Pasangan email dan password yang dipakai sebagai cache key untuk token
+ * Password tidak pernah ditampilkan di toString supaya aman di log
+ */
+
+public record Credentials(String email, String password) {
+    @Override
+    public String toString() {
+        return "Credentials[email=" + email + ", password=****]";
+    }
+}
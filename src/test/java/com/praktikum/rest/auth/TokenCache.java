@@ -0,0 +1,128 @@
+package com.praktikum.rest.auth;
+
+import com.praktikum.rest.metrics.SuiteMetrics;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Cache token per credential dengan single-flight login
+ * Kalau banyak thread butuh token yang sama secara bersamaan, hanya satu login yang dikirim
+ * dan thread lain menunggu hasil login yang sedang berjalan
+ */
+
+public class TokenCache {
+    private final Function<Credentials, String> loginFunction;
+    private final Duration ttl;
+    private final Duration refreshSkew;
+    private final Clock clock;
+
+    private final Map<Credentials, AuthToken> tokens = new ConcurrentHashMap<>();
+    private final Map<Credentials, CompletableFuture<AuthToken>> inFlight = new ConcurrentHashMap<>();
+
+    // Ditandai selama login berjalan, supaya request login sendiri tidak minta token (deadlock)
+    private final ThreadLocal<Boolean> loggingIn = ThreadLocal.withInitial(() -> false);
+
+    /**
+     * @param loginFunction Function yang melakukan login dan mengembalikan raw token
+     * @param ttl Umur token sejak login berhasil
+     * @param refreshSkew Token di-refresh lebih awal sebesar margin ini
+     * @param clock Clock untuk expiry check (bisa di-override di test)
+     */
+    public TokenCache(Function<Credentials, String> loginFunction, Duration ttl, Duration refreshSkew, Clock clock) {
+        this.loginFunction = loginFunction;
+        this.ttl = ttl;
+        this.refreshSkew = refreshSkew;
+        this.clock = clock;
+    }
+
+    /**
+     * Ambil token yang masih valid, login hanya jika belum ada atau sudah hampir expired
+     * @param credentials Credential yang akan dipakai login
+     * @return Raw token value
+     */
+    public String getToken(Credentials credentials) {
+        AuthToken cached = tokens.get(credentials);
+        if (cached != null && cached.isUsable(clock.instant(), refreshSkew)) {
+            SuiteMetrics.increment("auth.token.hit");
+            return cached.value();
+        }
+
+        CompletableFuture<AuthToken> mine = new CompletableFuture<>();
+        CompletableFuture<AuthToken> existing = inFlight.putIfAbsent(credentials, mine);
+        if (existing != null) {
+            // Login untuk credential ini sedang berjalan di thread lain, tunggu hasilnya
+            SuiteMetrics.increment("auth.login.coalesced");
+            return await(existing).value();
+        }
+
+        try {
+            // Double check: thread lain mungkin baru saja selesai login
+            AuthToken fresh = tokens.get(credentials);
+            if (fresh == null || !fresh.isUsable(clock.instant(), refreshSkew)) {
+                fresh = login(credentials);
+                tokens.put(credentials, fresh);
+            }
+            mine.complete(fresh);
+            return fresh.value();
+        } catch (Throwable e) {
+            // Termasuk AssertionError (status login bukan 200) dan IOException yang tidak di-wrap oleh REST Assured,
+            // supaya thread yang menunggu login ini tidak hang
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(credentials, mine);
+        }
+    }
+
+    /**
+     * Cek apakah thread ini sedang menjalankan login function
+     * Dipakai BearerTokenFilter untuk melewatkan injection pada request login itu sendiri
+     */
+    public boolean isLoginInProgressOnCurrentThread() {
+        return loggingIn.get();
+    }
+
+    /**
+     * Buang token dari cache, misalnya setelah server membalas 401
+     */
+    public void invalidate(Credentials credentials) {
+        tokens.remove(credentials);
+    }
+
+    private AuthToken login(Credentials credentials) {
+        SuiteMetrics.increment("auth.token.miss");
+        long start = System.nanoTime();
+        loggingIn.set(true);
+        try {
+            String value = loginFunction.apply(credentials);
+            if (value == null || value.isEmpty()) {
+                throw new IllegalStateException("Login tidak mengembalikan token untuk " + credentials);
+            }
+            Instant expiresAt = clock.instant().plus(ttl);
+            return new AuthToken(value, expiresAt);
+        } finally {
+            loggingIn.set(false);
+            SuiteMetrics.recordNanos("auth.login", System.nanoTime() - start);
+        }
+    }
+
+    private static AuthToken await(CompletableFuture<AuthToken> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.praktikum.rest.benchmark;
+
+import com.praktikum.rest.filters.CompressionMetricsFilter;
+import com.praktikum.rest.metrics.LatencyHistogram;
+import com.praktikum.rest.metrics.SuiteMetrics;
+import io.restassured.RestAssured;
+import io.restassured.response.Response;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Benchmark negosiasi compression per endpoint: request yang sama dikirim dengan
+ * Accept-Encoding identity, gzip, dan deflate, lalu dibandingkan bytes di wire, bytes setelah decode,
+ * CPU decompress, total CPU client per request, dan latency
+ *
+ * Hasilnya dipakai untuk memilih encoding per endpoint:
+ * - load generator yang bandwidth-bound memilih bytes di wire terkecil
+ * - load generator yang CPU-bound memilih CPU decompress terkecil (total CPU client per request ikut di-print,
+ *   tapi didominasi overhead REST Assured yang sama untuk semua encoding sehingga terlalu noisy untuk memilih)
+ */
+
+public class CompressionBenchmark {
+    /**
+     * Accept-Encoding yang dibandingkan, urutan ini juga urutan di report
+     */
+    public static final List<String> ENCODINGS = List.of("identity", "gzip", "deflate");
+
+    private final String baseUrl;
+    private final int warmupIterations;
+    private final int iterations;
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    /**
+     * Hasil satu kombinasi endpoint x Accept-Encoding
+     * @param requestedEncoding Accept-Encoding yang dikirim
+     * @param servedEncoding Content-Encoding yang benar-benar dipakai server (bisa berbeda, misalnya deflate diabaikan)
+     * @param wireBytesPerRequest Rata-rata body bytes di wire
+     * @param decodedBytesPerRequest Rata-rata body bytes setelah decode
+     * @param decompressCpuMicros Rata-rata CPU decompress per request
+     * @param clientCpuMicros Rata-rata CPU thread client per request (serialize, I/O, decode, parse)
+     */
+    public record Result(String endpoint, String requestedEncoding, String servedEncoding, LatencyHistogram latency,
+                         long wireBytesPerRequest, long decodedBytesPerRequest,
+                         double decompressCpuMicros, double clientCpuMicros) {
+
+        public double compressionRatio() {
+            return wireBytesPerRequest == 0 ? 1 : (double) decodedBytesPerRequest / wireBytesPerRequest;
+        }
+    }
+
+    /**
+     * Encoding terbaik untuk satu endpoint
+     * @param bandwidthBound Encoding dengan bytes di wire terkecil
+     * @param cpuBound Encoding dengan CPU decompress terkecil, seri dipecah dengan bytes di wire
+     */
+    public record Recommendation(String endpoint, String bandwidthBound, String cpuBound) {
+    }
+
+    /**
+     * @param baseUrl Target, contoh: TestConfig.COMPRESSION_BASE_URL
+     */
+    public CompressionBenchmark(String baseUrl, int warmupIterations, int iterations) {
+        this.baseUrl = baseUrl;
+        this.warmupIterations = warmupIterations;
+        this.iterations = iterations;
+    }
+
+    /**
+     * Ukur semua endpoint x ENCODINGS berurutan
+     * @param endpoints GET paths, contoh: "/users", "/posts?userId=1"
+     */
+    public List<Result> run(List<String> endpoints) {
+        List<Result> results = new ArrayList<>();
+        for (String endpoint : endpoints) {
+            for (String encoding : ENCODINGS) {
+                results.add(measure(endpoint, encoding));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Ukur satu endpoint dengan satu Accept-Encoding: warm-up dulu, lalu iterations request yang dicatat
+     * @throws AssertionError jika server tidak membalas 2xx
+     */
+    public Result measure(String endpoint, String encoding) {
+        CompressionMetricsFilter filter = new CompressionMetricsFilter();
+        for (int i = 0; i < warmupIterations; i++) {
+            get(endpoint, encoding, filter);
+        }
+
+        CompressionMetricsFilter measured = new CompressionMetricsFilter();
+        LatencyHistogram latency = new LatencyHistogram();
+        long totalCpuNanos = 0;
+        String served = encoding;
+        for (int i = 0; i < iterations; i++) {
+            long cpuBefore = threads.getCurrentThreadCpuTime();
+            long start = System.nanoTime();
+            get(endpoint, encoding, measured);
+            long elapsed = System.nanoTime() - start;
+            totalCpuNanos += threads.getCurrentThreadCpuTime() - cpuBefore;
+
+            latency.recordNanos(elapsed);
+            served = measured.lastExchange().contentEncoding();
+            SuiteMetrics.recordNanos("compression." + encoding, elapsed);
+        }
+
+        int count = Math.max(1, iterations);
+        return new Result(endpoint, encoding, served, latency,
+                measured.getWireBytes() / count, measured.getDecodedBytes() / count,
+                measured.getDecompressCpu().getMeanMillis() * 1000, totalCpuNanos / 1000.0 / count);
+    }
+
+    /**
+     * Pilih encoding per endpoint untuk load generator yang bandwidth-bound dan yang CPU-bound
+     */
+    public static List<Recommendation> recommend(List<Result> results) {
+        Map<String, List<Result>> byEndpoint = new LinkedHashMap<>();
+        results.forEach(result -> byEndpoint.computeIfAbsent(result.endpoint(), key -> new ArrayList<>()).add(result));
+
+        List<Recommendation> recommendations = new ArrayList<>();
+        byEndpoint.forEach((endpoint, candidates) -> {
+            // Jika server mengabaikan encoding, yang dipakai adalah encoding yang benar-benar dikirim server
+            Result smallest = candidates.stream().min(Comparator.comparingLong(Result::wireBytesPerRequest)).orElseThrow();
+            Result cheapest = candidates.stream().min(Comparator.comparingDouble(Result::decompressCpuMicros)
+                    .thenComparingLong(Result::wireBytesPerRequest)).orElseThrow();
+            recommendations.add(new Recommendation(endpoint, smallest.servedEncoding(), cheapest.servedEncoding()));
+        });
+        return recommendations;
+    }
+
+    /**
+     * Print tabel per endpoint x encoding dan rekomendasi ke console
+     */
+    public static void print(List<Result> results, PrintStream out) {
+        out.println("===== COMPRESSION NEGOTIATION =====");
+        out.printf("%-24s | %-8s | %-8s | %10s | %10s | %6s | %12s | %12s | %8s | %8s%n",
+                "endpoint", "accept", "served", "wire B", "decoded B", "ratio",
+                "decomp us", "client cpu us", "p50 ms", "p99 ms");
+        for (Result result : results) {
+            out.printf(Locale.ROOT, "%-24s | %-8s | %-8s | %10d | %10d | %6.2f | %12.1f | %12.1f | %8.1f | %8.1f%n",
+                    result.endpoint(), result.requestedEncoding(), result.servedEncoding(),
+                    result.wireBytesPerRequest(), result.decodedBytesPerRequest(), result.compressionRatio(),
+                    result.decompressCpuMicros(), result.clientCpuMicros(),
+                    result.latency().getPercentileMillis(50), result.latency().getPercentileMillis(99));
+        }
+        for (Recommendation recommendation : recommend(results)) {
+            out.printf("%s: bandwidth-bound -> %s, CPU-bound -> %s%n",
+                    recommendation.endpoint(), recommendation.bandwidthBound(), recommendation.cpuBound());
+        }
+    }
+
+    /**
+     * Tulis hasil sebagai CSV untuk di-plot di spreadsheet/gnuplot
+     */
+    public static void writeCsv(List<Result> results, Path file) throws IOException {
+        StringBuilder csv = new StringBuilder("endpoint,accept_encoding,served_encoding,wire_bytes,decoded_bytes,"
+                + "ratio,decompress_cpu_us,client_cpu_us,p50_ms,p99_ms\n");
+        for (Result result : results) {
+            csv.append(String.format(Locale.ROOT, "\"%s\",%s,%s,%d,%d,%.3f,%.1f,%.1f,%.3f,%.3f%n",
+                    result.endpoint(), result.requestedEncoding(), result.servedEncoding(),
+                    result.wireBytesPerRequest(), result.decodedBytesPerRequest(), result.compressionRatio(),
+                    result.decompressCpuMicros(), result.clientCpuMicros(),
+                    result.latency().getPercentileMillis(50), result.latency().getPercentileMillis(99)));
+        }
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Files.writeString(file, csv);
+    }
+
+    private void get(String endpoint, String encoding, CompressionMetricsFilter filter) {
+        // noFilters(): logging global akan ikut makan CPU dan mengacaukan angka CPU client
+        Response response = RestAssured.given()
+                .noFilters()
+                .filter(filter)
+                .baseUri(baseUrl)
+                .header("Accept", "application/json")
+                .header("Accept-Encoding", encoding)
+                .when()
+                .get(endpoint);
+        int status = response.statusCode();
+        if (status < 200 || status >= 300) {
+            throw new AssertionError("GET " + endpoint + " dengan Accept-Encoding " + encoding + " dibalas " + status);
+        }
+    }
+}
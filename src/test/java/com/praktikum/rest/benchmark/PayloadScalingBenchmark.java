@@ -0,0 +1,239 @@
+package com.praktikum.rest.benchmark;
+
+import com.praktikum.rest.metrics.LatencyHistogram;
+import com.praktikum.rest.metrics.SuiteMetrics;
+import io.restassured.RestAssured;
+import io.restassured.config.EncoderConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Benchmark POST dengan ukuran body yang membesar (misal 1 KB sampai puluhan MB)
+ * Body dikirim sebagai stream (chunked), lalu per ukuran dicatat latency, throughput (MB/s),
+ * bytes yang dialokasikan thread client per request, dan heap terpakai
+ *
+ * Growth yang non-linear dideteksi dari slope log-log antar dua ukuran berurutan:
+ * slope ~1 berarti biaya naik sebanding ukuran, slope jauh di atas 1 berarti ada biaya super-linear
+ */
+
+public class PayloadScalingBenchmark {
+    private static final double BYTES_PER_MB = 1024.0 * 1024.0;
+
+    // Di bawah ukuran ini latency didominasi overhead tetap (RTT, header), slope tidak bermakna
+    private static final long MIN_SIZE_FOR_SLOPE = 64 * 1024;
+
+    // Tanpa ini REST Assured meng-encode body application/json lewat JSON encoder, yang membaca InputStream
+    // menjadi String dulu; encoder BINARY meneruskan stream apa adanya (chunked) dengan Content-Type tetap JSON
+    private static final RestAssuredConfig STREAMING_CONFIG = RestAssured.config()
+            .encoderConfig(EncoderConfig.encoderConfig().encodeContentTypeAs("application/json", ContentType.BINARY));
+
+    private final String baseUrl;
+    private final String path;
+    private final int warmupIterations;
+    private final int iterations;
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    /**
+     * Hasil satu ukuran payload
+     * @param latency Distribusi latency request (tanpa warm-up)
+     * @param allocatedBytesPerRequest Rata-rata bytes yang dialokasikan thread client per request, -1 jika JVM tidak support
+     * @param maxHeapUsedBytes Heap terpakai tertinggi yang terlihat selama ukuran ini diukur
+     */
+    public record Point(long sizeBytes, LatencyHistogram latency, long allocatedBytesPerRequest, long maxHeapUsedBytes) {
+
+        /**
+         * Throughput upload berdasarkan median latency
+         */
+        public double megabytesPerSecond() {
+            double seconds = latency.getPercentileMillis(50) / 1000.0;
+            return seconds <= 0 ? 0 : sizeBytes / BYTES_PER_MB / seconds;
+        }
+    }
+
+    /**
+     * @param baseUrl Target, contoh: TestConfig.PAYLOAD_BASE_URL
+     * @param path Endpoint POST, contoh: "/users"
+     */
+    public PayloadScalingBenchmark(String baseUrl, String path, int warmupIterations, int iterations) {
+        this.baseUrl = baseUrl;
+        this.path = path;
+        this.warmupIterations = warmupIterations;
+        this.iterations = iterations;
+    }
+
+    /**
+     * Ukuran geometris dari min sampai max (inclusive), contoh: 1 KB, 4 KB, 16 KB, ... dengan factor 4
+     */
+    public static List<Long> sizes(long minBytes, long maxBytes, int factor) {
+        List<Long> sizes = new ArrayList<>();
+        for (long size = Math.max(minBytes, StreamingJsonBody.MIN_SIZE); size <= maxBytes; size *= factor) {
+            sizes.add(size);
+        }
+        return sizes;
+    }
+
+    /**
+     * Ukur semua ukuran berurutan (dari kecil ke besar)
+     */
+    public List<Point> run(List<Long> sizes) {
+        List<Point> points = new ArrayList<>();
+        for (long size : sizes) {
+            points.add(measure(size));
+        }
+        return points;
+    }
+
+    /**
+     * Ukur satu ukuran payload: warm-up dulu, lalu iterations request yang dicatat
+     * @throws AssertionError jika server tidak membalas 2xx
+     */
+    public Point measure(long sizeBytes) {
+        for (int i = 0; i < warmupIterations; i++) {
+            post(sizeBytes);
+        }
+
+        LatencyHistogram latency = new LatencyHistogram();
+        long totalAllocated = 0;
+        long maxHeapUsed = memory.getHeapMemoryUsage().getUsed();
+        for (int i = 0; i < iterations; i++) {
+            long allocatedBefore = allocatedBytes();
+            long start = System.nanoTime();
+            post(sizeBytes);
+            long elapsed = System.nanoTime() - start;
+            totalAllocated += allocatedBytes() - allocatedBefore;
+            maxHeapUsed = Math.max(maxHeapUsed, memory.getHeapMemoryUsage().getUsed());
+
+            latency.recordNanos(elapsed);
+            SuiteMetrics.recordNanos("payload." + label(sizeBytes).replace(" ", ""), elapsed);
+        }
+        long allocatedPerRequest = allocatedBytes() < 0 ? -1 : totalAllocated / Math.max(1, iterations);
+        return new Point(sizeBytes, latency, allocatedPerRequest, maxHeapUsed);
+    }
+
+    /**
+     * Cari pasangan ukuran berurutan yang latency atau alokasinya tumbuh lebih cepat dari ukuran payload
+     * @param maxSlope Batas slope log-log, contoh 1.2 (20% di atas linear)
+     * @return Pesan untuk setiap growth non-linear, kosong jika semuanya linear
+     */
+    public static List<String> nonLinearGrowth(List<Point> points, double maxSlope) {
+        List<String> warnings = new ArrayList<>();
+        for (int i = 1; i < points.size(); i++) {
+            Point previous = points.get(i - 1);
+            Point current = points.get(i);
+            if (previous.sizeBytes() < MIN_SIZE_FOR_SLOPE) {
+                continue;
+            }
+            double latencySlope = slope(previous.sizeBytes(), previous.latency().getPercentileMillis(50),
+                    current.sizeBytes(), current.latency().getPercentileMillis(50));
+            if (latencySlope > maxSlope) {
+                warnings.add(String.format(Locale.ROOT, "latency %s -> %s: slope %.2f (> %.2f)",
+                        label(previous.sizeBytes()), label(current.sizeBytes()), latencySlope, maxSlope));
+            }
+            if (previous.allocatedBytesPerRequest() > 0 && current.allocatedBytesPerRequest() > 0) {
+                double allocationSlope = slope(previous.sizeBytes(), previous.allocatedBytesPerRequest(),
+                        current.sizeBytes(), current.allocatedBytesPerRequest());
+                if (allocationSlope > maxSlope) {
+                    warnings.add(String.format(Locale.ROOT, "allocation %s -> %s: slope %.2f (> %.2f)",
+                            label(previous.sizeBytes()), label(current.sizeBytes()), allocationSlope, maxSlope));
+                }
+            }
+        }
+        return warnings;
+    }
+
+    /**
+     * Print tabel dan chart ASCII (bar = median latency) ke console
+     */
+    public static void print(List<Point> points, List<String> warnings, PrintStream out) {
+        double maxLatency = points.stream().mapToDouble(point -> point.latency().getPercentileMillis(50)).max().orElse(1);
+        out.println("===== PAYLOAD SIZE SCALING =====");
+        out.printf("%9s | %-30s | %10s | %10s | %9s | %12s | %10s%n",
+                "size", "p50 latency", "p50 ms", "p99 ms", "MB/s", "alloc/req", "heap used");
+        for (Point point : points) {
+            double p50 = point.latency().getPercentileMillis(50);
+            int bar = (int) Math.round(30 * p50 / Math.max(maxLatency, 0.001));
+            out.printf(Locale.ROOT, "%9s | %-30s | %10.1f | %10.1f | %9.2f | %12s | %10s%n",
+                    label(point.sizeBytes()), "#".repeat(Math.max(1, bar)), p50, point.latency().getPercentileMillis(99),
+                    point.megabytesPerSecond(),
+                    point.allocatedBytesPerRequest() < 0 ? "n/a" : label(point.allocatedBytesPerRequest()),
+                    label(point.maxHeapUsedBytes()));
+        }
+        if (warnings.isEmpty()) {
+            out.println("Growth: linear (atau lebih baik) di semua ukuran");
+        } else {
+            warnings.forEach(warning -> out.println("NON-LINEAR " + warning));
+        }
+    }
+
+    /**
+     * Tulis hasil sebagai CSV untuk di-plot di spreadsheet/gnuplot
+     */
+    public static void writeCsv(List<Point> points, Path file) throws IOException {
+        StringBuilder csv = new StringBuilder("size_bytes,p50_ms,p99_ms,mean_ms,mb_per_s,allocated_bytes_per_request,max_heap_used_bytes\n");
+        for (Point point : points) {
+            csv.append(String.format(Locale.ROOT, "%d,%.3f,%.3f,%.3f,%.3f,%d,%d%n", point.sizeBytes(),
+                    point.latency().getPercentileMillis(50), point.latency().getPercentileMillis(99),
+                    point.latency().getMeanMillis(), point.megabytesPerSecond(),
+                    point.allocatedBytesPerRequest(), point.maxHeapUsedBytes()));
+        }
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Files.writeString(file, csv);
+    }
+
+    /**
+     * Label ukuran yang mudah dibaca, contoh: "16 KB", "4 MB"
+     */
+    public static String label(long bytes) {
+        if (bytes >= 1024 * 1024) {
+            return String.format(Locale.ROOT, "%.0f MB", bytes / BYTES_PER_MB);
+        }
+        if (bytes >= 1024) {
+            return String.format(Locale.ROOT, "%.0f KB", bytes / 1024.0);
+        }
+        return bytes + " B";
+    }
+
+    private void post(long sizeBytes) {
+        // noFilters(): logging filter global akan membaca (dan menghabiskan) stream body
+        Response response = RestAssured.given()
+                .noFilters()
+                .config(STREAMING_CONFIG)
+                .baseUri(baseUrl)
+                .contentType(ContentType.JSON)
+                .body(new StreamingJsonBody(sizeBytes))
+                .when()
+                .post(path);
+        int status = response.statusCode();
+        if (status < 200 || status >= 300) {
+            throw new AssertionError("POST " + path + " dengan body " + label(sizeBytes) + " dibalas " + status);
+        }
+    }
+
+    private long allocatedBytes() {
+        if (threads instanceof com.sun.management.ThreadMXBean hotspot && hotspot.isThreadAllocatedMemorySupported()) {
+            return hotspot.getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+
+    private static double slope(double sizeA, double valueA, double sizeB, double valueB) {
+        if (valueA <= 0 || valueB <= 0) {
+            return 0;
+        }
+        return Math.log(valueB / valueA) / Math.log(sizeB / sizeA);
+    }
+}
@@ -0,0 +1,71 @@
+package com.praktikum.rest.benchmark;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Request body JSON user dengan ukuran persis N bytes yang di-generate on the fly
+ * Body tidak pernah di-materialize sebagai String/Map, jadi memory client tetap kecil untuk payload puluhan MB
+ *
+ * Bentuk body: {"name": "Payload Benchmark", "bio": "abcdef...xyz"}
+ */
+
+public class StreamingJsonBody extends InputStream {
+    private static final byte[] PREFIX = "{\"name\": \"Payload Benchmark\", \"bio\": \"".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SUFFIX = "\"}".getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * Ukuran body terkecil yang bisa di-generate (prefix + suffix tanpa isi bio)
+     */
+    public static final int MIN_SIZE = PREFIX.length + SUFFIX.length;
+
+    private final long size;
+    private long position;
+
+    /**
+     * @param size Total ukuran body dalam bytes, minimal MIN_SIZE
+     */
+    public StreamingJsonBody(long size) {
+        if (size < MIN_SIZE) {
+            throw new IllegalArgumentException("Ukuran body minimal " + MIN_SIZE + " bytes");
+        }
+        this.size = size;
+    }
+
+    @Override
+    public int read() {
+        if (position >= size) {
+            return -1;
+        }
+        return byteAt(position++) & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) {
+        if (position >= size) {
+            return -1;
+        }
+        int count = (int) Math.min(length, size - position);
+        for (int i = 0; i < count; i++) {
+            buffer[offset + i] = byteAt(position + i);
+        }
+        position += count;
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return (int) Math.min(Integer.MAX_VALUE, size - position);
+    }
+
+    private byte byteAt(long index) {
+        if (index < PREFIX.length) {
+            return PREFIX[(int) index];
+        }
+        long suffixStart = size - SUFFIX.length;
+        if (index >= suffixStart) {
+            return SUFFIX[(int) (index - suffixStart)];
+        }
+        return (byte) ('a' + (index - PREFIX.length) % 26);  // Isi bio: a..z berulang, tanpa karakter yang perlu escape
+    }
+}
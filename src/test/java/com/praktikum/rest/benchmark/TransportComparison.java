@@ -0,0 +1,241 @@
+package com.praktikum.rest.benchmark;
+
+import com.praktikum.rest.metrics.LatencyHistogram;
+import com.praktikum.rest.metrics.SuiteMetrics;
+import com.praktikum.rest.transport.Http2TransportFilter;
+import io.restassured.RestAssured;
+import io.restassured.response.Response;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Membandingkan dua transport untuk GET yang sama dengan concurrency yang sama:
+ * - "rest-assured": DSL bawaan (Apache HTTP/1.1), satu thread per request yang sedang berjalan
+ * - "http2-async": Http2TransportFilter.client().sendAsync dengan window concurrency, tanpa thread per request
+ *
+ * Per transport dicatat protokol yang dinegosiasikan, throughput, latency (p50/p99/max), error,
+ * dan jumlah socket terbuka tertinggi di proses ini selama run (proxy untuk jumlah koneksi)
+ */
+
+public class TransportComparison {
+    private static final Path PROC_FD = Paths.get("/proc/self/fd");
+
+    private final String baseUrl;
+    private final String path;
+    private final int requests;
+    private final int concurrency;
+
+    /**
+     * Hasil satu transport
+     * @param protocol Protokol yang dipakai, contoh: "HTTP/2" (bisa "HTTP/1.1" jika server tidak mendukung h2)
+     * @param peakSockets Socket terbuka tertinggi di atas baseline, -1 jika tidak bisa diukur di OS ini
+     */
+    public record Result(String transport, String protocol, long requests, long errors,
+                         LatencyHistogram latency, long elapsedNanos, long peakSockets) {
+
+        public double throughput() {
+            return elapsedNanos <= 0 ? 0 : requests * 1e9 / elapsedNanos;
+        }
+    }
+
+    /**
+     * @param baseUrl Target, contoh: TestConfig.TRANSPORT_BASE_URL
+     * @param path GET path, contoh: "/users/1"
+     * @param requests Total request per transport
+     * @param concurrency Request yang berjalan bersamaan
+     */
+    public TransportComparison(String baseUrl, String path, int requests, int concurrency) {
+        this.baseUrl = baseUrl;
+        this.path = path;
+        this.requests = requests;
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * Jalankan kedua transport berurutan (REST Assured dulu)
+     */
+    public List<Result> run() {
+        return List.of(runRestAssured(), runHttp2Async());
+    }
+
+    /**
+     * DSL REST Assured dengan thread pool sebesar concurrency
+     */
+    public Result runRestAssured() {
+        LatencyHistogram latency = new LatencyHistogram();
+        LongAdder errors = new LongAdder();
+        Set<String> protocols = ConcurrentHashMap.newKeySet();
+        AtomicInteger remaining = new AtomicInteger(requests);
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+        CountDownLatch done = new CountDownLatch(concurrency);
+
+        try (SocketSampler sockets = new SocketSampler()) {
+            long start = System.nanoTime();
+            for (int i = 0; i < concurrency; i++) {
+                pool.execute(() -> {
+                    try {
+                        while (remaining.getAndDecrement() > 0) {
+                            long requestStart = System.nanoTime();
+                            try {
+                                Response response = RestAssured.given().noFilters()
+                                        .baseUri(baseUrl).when().get(path);
+                                protocols.add(response.statusLine().split(" ")[0]);
+                                if (response.statusCode() >= 400) {
+                                    errors.increment();
+                                }
+                            } catch (RuntimeException e) {
+                                errors.increment();
+                            }
+                            record("rest-assured", latency, System.nanoTime() - requestStart);
+                        }
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+            await(done);
+            return new Result("rest-assured", String.join(",", protocols), latency.getCount(), errors.sum(),
+                    latency, System.nanoTime() - start, sockets.peak());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * java.net.http async: satu thread mengirim, maksimal concurrency request in-flight (semaphore window)
+     */
+    public Result runHttp2Async() {
+        Http2TransportFilter transport = Http2TransportFilter.shared();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        LatencyHistogram latency = new LatencyHistogram();
+        LongAdder errors = new LongAdder();
+        Set<String> protocols = ConcurrentHashMap.newKeySet();
+        Semaphore window = new Semaphore(concurrency);
+        CountDownLatch done = new CountDownLatch(requests);
+
+        try (SocketSampler sockets = new SocketSampler()) {
+            long start = System.nanoTime();
+            for (int i = 0; i < requests; i++) {
+                window.acquireUninterruptibly();
+                long requestStart = System.nanoTime();
+                transport.sendAsync(request).whenComplete((response, error) -> {
+                    if (error != null || response.statusCode() >= 400) {
+                        errors.increment();
+                    } else {
+                        protocols.add(Http2TransportFilter.protocol(response.version()));
+                    }
+                    record("http2-async", latency, System.nanoTime() - requestStart);
+                    window.release();
+                    done.countDown();
+                });
+            }
+            await(done);
+            return new Result("http2-async", String.join(",", protocols), latency.getCount(), errors.sum(),
+                    latency, System.nanoTime() - start, sockets.peak());
+        }
+    }
+
+    /**
+     * Print tabel perbandingan ke console
+     */
+    public static void print(List<Result> results, PrintStream out) {
+        out.println("===== TRANSPORT COMPARISON =====");
+        out.printf("%-13s | %-8s | %8s | %6s | %9s | %8s | %8s | %8s | %12s%n",
+                "transport", "protocol", "requests", "errors", "req/s", "p50 ms", "p99 ms", "max ms", "peak sockets");
+        for (Result result : results) {
+            out.printf(Locale.ROOT, "%-13s | %-8s | %8d | %6d | %9.1f | %8.1f | %8.1f | %8.1f | %12s%n",
+                    result.transport(), result.protocol(), result.requests(), result.errors(), result.throughput(),
+                    result.latency().getPercentileMillis(50), result.latency().getPercentileMillis(99),
+                    result.latency().getMaxMillis(), result.peakSockets() < 0 ? "n/a" : String.valueOf(result.peakSockets()));
+        }
+    }
+
+    private static void record(String transport, LatencyHistogram latency, long nanos) {
+        latency.recordNanos(nanos);
+        SuiteMetrics.recordNanos("transport." + transport, nanos);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Transport comparison di-interrupt", e);
+        }
+    }
+
+    /**
+     * Sampling jumlah socket terbuka di proses ini setiap 10 ms, dikurangi baseline saat mulai
+     * Linux: hitung link "socket:" di /proc/self/fd; OS Unix lain: jumlah file descriptor terbuka
+     */
+    private static final class SocketSampler implements AutoCloseable {
+        private final long baseline = openSockets();
+        private final AtomicInteger peak = new AtomicInteger();
+        private final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "socket-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        SocketSampler() {
+            sampler.scheduleAtFixedRate(() -> peak.accumulateAndGet((int) (openSockets() - baseline), Math::max),
+                    0, 10, TimeUnit.MILLISECONDS);
+        }
+
+        long peak() {
+            return baseline < 0 ? -1 : Math.max(peak.get(), (int) (openSockets() - baseline));
+        }
+
+        @Override
+        public void close() {
+            sampler.shutdownNow();
+        }
+
+        private static long openSockets() {
+            if (Files.isDirectory(PROC_FD)) {
+                try (Stream<Path> descriptors = Files.list(PROC_FD)) {
+                    return descriptors.filter(TransportComparison::isSocket).count();
+                } catch (IOException | UncheckedIOException e) {
+                    return -1;
+                }
+            }
+            OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+            if (os instanceof com.sun.management.UnixOperatingSystemMXBean unix) {
+                return unix.getOpenFileDescriptorCount();
+            }
+            return -1;
+        }
+    }
+
+    private static boolean isSocket(Path descriptor) {
+        try {
+            return Files.readSymbolicLink(descriptor).toString().startsWith("socket:");
+        } catch (IOException e) {
+            return false;  // Descriptor sudah ditutup di antara list dan read
+        }
+    }
+}
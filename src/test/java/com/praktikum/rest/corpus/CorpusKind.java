@@ -0,0 +1,29 @@
+package com.praktikum.rest.corpus;
+
+import java.util.List;
+
+/**
+ * Jenis record di test data corpus beserta urutan field-nya (urutan ini adalah bagian dari format file)
+ * Field dengan titik di-nest oleh TestDataCorpus.Table.toMap(), contoh "address.city" -> {"address": {"city": ...}}
+ */
+
+public enum CorpusKind {
+    USERS("name", "username", "email", "phone", "website", "address.street", "address.city", "address.zipcode",
+            "company.name", "company.catchPhrase"),
+    COMPANIES("name", "catchPhrase", "bs"),
+    PRODUCTS("name", "price", "department", "material"),
+    LOGINS("email", "password");
+
+    private final List<String> fields;
+
+    CorpusKind(String... fields) {
+        this.fields = List.of(fields);
+    }
+
+    /**
+     * Field data, tanpa kolom JSON body yang disimpan setelahnya
+     */
+    public List<String> fields() {
+        return fields;
+    }
+}
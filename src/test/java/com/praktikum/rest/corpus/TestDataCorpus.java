@@ -0,0 +1,218 @@
+package com.praktikum.rest.corpus;
+
+import com.praktikum.rest.config.TestConfig;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Read-only akses ke test data corpus yang ditulis TestDataCorpusWriter
+ * File di-memory-map sekali, record diambil berdasarkan index langsung dari mapping (tanpa parsing atau copy),
+ * jadi load thread mendapat data realistic dengan biaya hampir nol dan data yang sama di setiap run
+ *
+ * Thread-safe: semua akses memakai absolute get/slice, tidak ada position yang dibagi antar thread
+ */
+
+public class TestDataCorpus {
+    private static TestDataCorpus shared;  // Guarded by TestDataCorpus.class
+
+    private final long seed;
+    private final Map<CorpusKind, Table> tables = new EnumMap<>(CorpusKind.class);
+
+    private TestDataCorpus(ByteBuffer mapped, Path file) {
+        if (mapped.capacity() < TestDataCorpusWriter.HEADER_BYTES || mapped.getInt(0) != TestDataCorpusWriter.MAGIC) {
+            throw new IllegalStateException("Bukan test data corpus: " + file);
+        }
+        int version = mapped.getInt(4);
+        if (version != TestDataCorpusWriter.VERSION) {
+            throw new IllegalStateException("Versi corpus " + version + " tidak didukung (harus "
+                    + TestDataCorpusWriter.VERSION + "): " + file);
+        }
+        this.seed = mapped.getLong(8);
+        int tableCount = mapped.getInt(16);
+        CorpusKind[] kinds = CorpusKind.values();
+        for (int i = 0; i < tableCount; i++) {
+            int entry = TestDataCorpusWriter.HEADER_BYTES + i * TestDataCorpusWriter.DIRECTORY_ENTRY_BYTES;
+            int kind = mapped.getInt(entry);
+            int records = mapped.getInt(entry + 4);
+            int columns = mapped.getInt(entry + 8);
+            long offsetsPosition = mapped.getLong(entry + 12);
+            long poolPosition = mapped.getLong(entry + 20);
+            long poolBytes = mapped.getLong(entry + 28);
+            if (kind < 0 || kind >= kinds.length || columns != kinds[kind].fields().size() + 1
+                    || poolPosition + poolBytes > mapped.capacity()) {
+                throw new IllegalStateException("Directory corpus rusak (table " + i + "): " + file);
+            }
+            IntBuffer offsets = mapped.slice((int) offsetsPosition, (records * columns + 1) * 4).asIntBuffer();
+            if (offsets.get(records * columns) != poolBytes) {
+                throw new IllegalStateException("Offsets corpus rusak (table " + i + "): " + file);  // Offset terakhir = akhir pool
+            }
+            ByteBuffer pool = mapped.slice((int) poolPosition, (int) poolBytes);
+            tables.put(kinds[kind], new Table(kinds[kind], records, columns, offsets, pool));
+        }
+    }
+
+    /**
+     * Memory-map file corpus (read-only)
+     * @throws IllegalStateException jika file bukan corpus atau versinya berbeda
+     */
+    public static TestDataCorpus open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Corpus lebih dari 2 GB tidak didukung: " + file);
+            }
+            // Mapping tetap valid setelah channel ditutup
+            return new TestDataCorpus(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), file);
+        }
+    }
+
+    /**
+     * Corpus bersama berdasarkan -Dcorpus.*, digenerate di sini jika build step (mvn -Pcorpus) belum menulisnya
+     */
+    public static synchronized TestDataCorpus shared() {
+        if (shared == null) {
+            Path file = Paths.get(TestConfig.CORPUS_FILE);
+            try {
+                TestDataCorpusWriter.fromConfig().writeIfStale(file);
+                shared = open(file);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Gagal membuka test data corpus " + file, e);
+            }
+        }
+        return shared;
+    }
+
+    public long seed() {
+        return seed;
+    }
+
+    /**
+     * Jenis record yang ada di file ini
+     */
+    public Set<CorpusKind> kinds() {
+        return tables.keySet();
+    }
+
+    public Table table(CorpusKind kind) {
+        Table table = tables.get(kind);
+        if (table == null) {
+            throw new IllegalArgumentException("Corpus tidak berisi " + kind);
+        }
+        return table;
+    }
+
+    /**
+     * Gabungkan field ke nested map, "address.city" -> {"address": {"city": ...}}
+     */
+    @SuppressWarnings("unchecked")
+    static Map<String, Object> nest(List<String> fields, List<?> values) {
+        Map<String, Object> root = new LinkedHashMap<>();
+        for (int i = 0; i < fields.size(); i++) {
+            Map<String, Object> parent = root;
+            String[] path = fields.get(i).split("\\.");
+            for (int depth = 0; depth < path.length - 1; depth++) {
+                parent = (Map<String, Object>) parent.computeIfAbsent(path[depth], key -> new LinkedHashMap<String, Object>());
+            }
+            parent.put(path[path.length - 1], values.get(i));
+        }
+        return root;
+    }
+
+    /**
+     * Satu jenis record: offsets per cell dan UTF-8 pool, keduanya view ke mapping
+     */
+    public static final class Table {
+        private final CorpusKind kind;
+        private final int size;
+        private final int columns;
+        private final IntBuffer offsets;
+        private final ByteBuffer pool;
+
+        Table(CorpusKind kind, int size, int columns, IntBuffer offsets, ByteBuffer pool) {
+            this.kind = kind;
+            this.size = size;
+            this.columns = columns;
+            this.offsets = offsets;
+            this.pool = pool;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Index yang di-wrap ke ukuran table, untuk counter load thread yang terus naik
+         */
+        public int index(long sequence) {
+            return (int) Math.floorMod(sequence, (long) size);
+        }
+
+        /**
+         * UTF-8 bytes satu field sebagai view read-only ke mapping (tanpa copy)
+         * @param field Nama field dari CorpusKind, contoh "email" atau "address.city"
+         */
+        public ByteBuffer bytes(int index, String field) {
+            return cell(index, column(field));
+        }
+
+        public String string(int index, String field) {
+            return StandardCharsets.UTF_8.decode(bytes(index, field)).toString();
+        }
+
+        /**
+         * JSON body record (sudah di-serialize saat build) sebagai view read-only ke mapping
+         */
+        public ByteBuffer json(int index) {
+            return cell(index, columns - 1);
+        }
+
+        /**
+         * JSON body sebagai byte[] untuk RequestSpecification.body(byte[])
+         */
+        public byte[] jsonBytes(int index) {
+            ByteBuffer json = json(index);
+            byte[] bytes = new byte[json.remaining()];
+            json.get(bytes);
+            return bytes;
+        }
+
+        /**
+         * Record sebagai nested map dengan struktur yang sama seperti TestDataGenerator
+         */
+        public Map<String, Object> toMap(int index) {
+            List<String> values = new ArrayList<>(columns - 1);
+            for (int column = 0; column < columns - 1; column++) {
+                values.add(StandardCharsets.UTF_8.decode(cell(index, column)).toString());
+            }
+            return nest(kind.fields(), values);
+        }
+
+        private ByteBuffer cell(int index, int column) {
+            Objects.checkIndex(index, size);
+            int cell = index * columns + column;
+            int start = offsets.get(cell);
+            return pool.slice(start, offsets.get(cell + 1) - start);
+        }
+
+        private int column(String field) {
+            int column = kind.fields().indexOf(field);
+            if (column < 0) {
+                throw new IllegalArgumentException(kind + " tidak punya field '" + field + "', field: " + kind.fields());
+            }
+            return column;
+        }
+    }
+}
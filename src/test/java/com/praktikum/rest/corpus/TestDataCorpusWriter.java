@@ -0,0 +1,233 @@
+package com.praktikum.rest.corpus;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.javafaker.Faker;
+import com.praktikum.rest.config.TestConfig;
+import com.praktikum.rest.utils.TestDataGenerator;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generate test data corpus (users, companies, products, logins) dengan Faker yang di-seed, lalu tulis sebagai file binary
+ * Dijalankan saat build oleh profile Maven "corpus", atau oleh TestDataCorpus.shared() jika file belum ada
+ *
+ * Format (big-endian):
+ *   header     int magic "TDC1", int version, long seed, int tableCount
+ *   directory  per table: int kind (ordinal), int records, int columns, long offsetsPosition, long poolPosition, long poolBytes
+ *   per table  int offsets[records * columns + 1] (posisi awal setiap cell di pool, cell berikutnya = akhir), lalu UTF-8 pool
+ * Columns = field CorpusKind ditambah satu kolom JSON body yang sudah di-serialize
+ */
+
+public class TestDataCorpusWriter {
+    static final int MAGIC = 0x54444331;  // "TDC1"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 4 + 4 + 8 + 4;
+    static final int DIRECTORY_ENTRY_BYTES = 4 + 4 + 4 + 8 + 8 + 8;
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private final long seed;
+    private final Map<CorpusKind, Integer> counts;
+
+    /**
+     * @param seed Seed Faker, seed dan counts yang sama menghasilkan file yang identik byte per byte
+     * @param counts Jumlah record per jenis, jenis yang tidak ada di map tidak ditulis
+     */
+    public TestDataCorpusWriter(long seed, Map<CorpusKind, Integer> counts) {
+        this.seed = seed;
+        this.counts = new EnumMap<>(counts);
+    }
+
+    /**
+     * Writer berdasarkan -Dcorpus.*
+     */
+    public static TestDataCorpusWriter fromConfig() {
+        Map<CorpusKind, Integer> counts = new EnumMap<>(CorpusKind.class);
+        counts.put(CorpusKind.USERS, TestConfig.CORPUS_USERS);
+        counts.put(CorpusKind.COMPANIES, TestConfig.CORPUS_COMPANIES);
+        counts.put(CorpusKind.PRODUCTS, TestConfig.CORPUS_PRODUCTS);
+        counts.put(CorpusKind.LOGINS, TestConfig.CORPUS_LOGINS);
+        return new TestDataCorpusWriter(TestConfig.CORPUS_SEED, counts);
+    }
+
+    /**
+     * Entry point untuk build step (mvn -Pcorpus), file ditulis ulang hanya jika seed atau jumlah record berubah
+     */
+    public static void main(String[] args) throws IOException {
+        Path file = Paths.get(args.length > 0 ? args[0] : TestConfig.CORPUS_FILE);
+        long start = System.nanoTime();
+        boolean written = fromConfig().writeIfStale(file);
+        System.out.println("[corpus] " + file + (written ? " ditulis (" + Files.size(file) / 1024 + " KB, "
+                + (System.nanoTime() - start) / 1_000_000 + " ms)" : " sudah up to date"));
+    }
+
+    /**
+     * Tulis corpus jika file belum ada, rusak, atau dibuat dengan seed/jumlah record yang berbeda
+     * @return true jika file ditulis
+     */
+    public boolean writeIfStale(Path file) throws IOException {
+        if (Files.isRegularFile(file)) {
+            try {
+                if (matches(TestDataCorpus.open(file))) {
+                    return false;
+                }
+            } catch (IllegalStateException | IOException e) {
+                // File lama rusak atau format lama, tulis ulang
+            }
+        }
+        write(file);
+        return true;
+    }
+
+    /**
+     * Generate dan tulis corpus, lewat file sementara supaya reader tidak pernah melihat file setengah jadi
+     */
+    public void write(Path file) throws IOException {
+        Faker faker = new Faker(TestDataGenerator.LOCALE, new Random(seed));
+        List<Table> tables = new ArrayList<>();
+        counts.forEach((kind, count) -> {
+            Table table = new Table(kind, count);
+            for (int i = 0; i < count; i++) {
+                table.add(generate(faker, kind));
+            }
+            tables.add(table);
+        });
+
+        Path absolute = file.toAbsolutePath();
+        Files.createDirectories(absolute.getParent());
+        Path temp = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+                writeTo(out, tables);
+            }
+            Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private boolean matches(TestDataCorpus corpus) {
+        if (corpus.seed() != seed || corpus.kinds().size() != counts.size()) {
+            return false;
+        }
+        return counts.entrySet().stream().allMatch(entry ->
+                corpus.kinds().contains(entry.getKey()) && corpus.table(entry.getKey()).size() == entry.getValue());
+    }
+
+    private void writeTo(DataOutputStream out, List<Table> tables) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(seed);
+        out.writeInt(tables.size());
+
+        long position = align(HEADER_BYTES + (long) tables.size() * DIRECTORY_ENTRY_BYTES);
+        for (Table table : tables) {
+            long poolPosition = position + 4L * table.offsets.length;
+            out.writeInt(table.kind.ordinal());
+            out.writeInt(table.records);
+            out.writeInt(table.columns);
+            out.writeLong(position);
+            out.writeLong(poolPosition);
+            out.writeLong(table.pool.size());
+            position = align(poolPosition + table.pool.size());
+        }
+        pad(out);
+
+        for (Table table : tables) {
+            for (int offset : table.offsets) {
+                out.writeInt(offset);
+            }
+            table.pool.writeTo(out);
+            pad(out);
+        }
+    }
+
+    private static void pad(DataOutputStream out) throws IOException {
+        while (out.size() % 8 != 0) {
+            out.writeByte(0);
+        }
+    }
+
+    /**
+     * Offsets table berikutnya dimulai di kelipatan 8 byte
+     */
+    private static long align(long position) {
+        return (position + 7) & ~7L;
+    }
+
+    private static List<String> generate(Faker faker, CorpusKind kind) {
+        return switch (kind) {
+            case USERS -> List.of(
+                    faker.name().fullName(),
+                    faker.name().username().replaceAll("[^a-zA-Z0-9]", ""),  // Sama seperti TestDataGenerator
+                    faker.internet().emailAddress(),
+                    faker.phoneNumber().phoneNumber(),
+                    faker.internet().url(),
+                    faker.address().streetAddress(),
+                    faker.address().city(),
+                    faker.address().zipCode(),
+                    faker.company().name(),
+                    faker.company().catchPhrase());
+            case COMPANIES -> List.of(faker.company().name(), faker.company().catchPhrase(), faker.company().bs());
+            case PRODUCTS -> List.of(faker.commerce().productName(), faker.commerce().price(),
+                    faker.commerce().department(), faker.commerce().material());
+            case LOGINS -> List.of(faker.internet().emailAddress(), faker.internet().password(8, 12, true, true));
+        };
+    }
+
+    /**
+     * Satu jenis record yang sedang dibangun di memory: offsets per cell dan UTF-8 pool
+     */
+    private static final class Table {
+        private final CorpusKind kind;
+        private final int records;
+        private final int columns;
+        private final int[] offsets;
+        private final ByteArrayOutputStream pool = new ByteArrayOutputStream();
+        private int cell;
+
+        Table(CorpusKind kind, int records) {
+            this.kind = kind;
+            this.records = records;
+            this.columns = kind.fields().size() + 1;  // + JSON body
+            this.offsets = new int[records * columns + 1];
+        }
+
+        void add(List<String> values) {
+            for (String value : values) {
+                append(value.getBytes(StandardCharsets.UTF_8));
+            }
+            append(json(kind, values));
+        }
+
+        private void append(byte[] bytes) {
+            if ((long) pool.size() + bytes.length > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Pool " + kind + " melebihi 2 GB, kurangi jumlah record");
+            }
+            offsets[cell++] = pool.size();
+            pool.writeBytes(bytes);
+            offsets[cell] = pool.size();
+        }
+
+        private static byte[] json(CorpusKind kind, List<String> values) {
+            try {
+                return mapper.writeValueAsBytes(TestDataCorpus.nest(kind.fields(), values));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Gagal serialize " + kind, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.praktikum.rest.filters;
+
+import com.praktikum.rest.metrics.LatencyHistogram;
+import com.praktikum.rest.metrics.SuiteMetrics;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.config.DecoderConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Filter yang mencatat bytes di wire (masih ter-compress) vs bytes setelah decode,
+ * dan CPU time yang dipakai thread client untuk decompress, per request
+ *
+ * Decode bawaan REST Assured terjadi di dalam HTTP client sehingga bytes di wire tidak terlihat,
+ * jadi filter ini mematikan content decoders untuk request tersebut, tetap mengirim Accept-Encoding yang sama,
+ * lalu men-decode gzip/deflate sendiri. Test menerima Response dengan body yang sudah di-decode
+ * dan header asli (Content-Encoding tetap ada)
+ *
+ * Metrics: counters http.bytes.wire, http.bytes.decoded, histogram http.decompress.cpu
+ * (plus versi per encoding, contoh: http.bytes.wire.gzip)
+ */
+
+public class CompressionMetricsFilter implements OrderedFilter {
+    private static final CompressionMetricsFilter shared = new CompressionMetricsFilter();
+
+    private static final String ACCEPT_ENCODING = "Accept-Encoding";
+    private static final String IDENTITY = "identity";
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final ThreadLocal<Exchange> lastExchange = new ThreadLocal<>();
+
+    // Aggregate per instance (benchmark memakai instance sendiri per endpoint x encoding)
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder wireBytes = new LongAdder();
+    private final LongAdder decodedBytes = new LongAdder();
+    private final LatencyHistogram decompressCpu = new LatencyHistogram();
+
+    /**
+     * Hasil satu request
+     * @param contentEncoding Content-Encoding dari server, "identity" jika tidak ada
+     * @param wireBytes Ukuran body seperti yang dikirim server
+     * @param decodedBytes Ukuran body setelah decode
+     * @param decompressCpuNanos CPU time thread client untuk decode, 0 untuk identity
+     */
+    public record Exchange(String contentEncoding, long wireBytes, long decodedBytes, long decompressCpuNanos) {
+
+        /**
+         * Rasio decoded / wire, contoh 4.0 berarti body 4x lebih kecil di wire
+         */
+        public double compressionRatio() {
+            return wireBytes == 0 ? 1 : (double) decodedBytes / wireBytes;
+        }
+    }
+
+    /**
+     * Instance bersama untuk seluruh suite (dipasang oleh BaseTest jika -Dhttp.compression.metrics=true)
+     */
+    public static CompressionMetricsFilter shared() {
+        return shared;
+    }
+
+    /**
+     * Jalankan setelah cache, supaya cache hit tidak dihitung sebagai bytes di wire,
+     * dan sebelum AdaptiveConcurrencyFilter, supaya sample latency limiter tidak termasuk waktu decode
+     */
+    @Override
+    public int getOrder() {
+        return DEFAULT_PRECEDENCE + 190;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        RestAssuredConfig config = requestSpec.getConfig();
+        DecoderConfig decoderConfig = config.getDecoderConfig();
+        if (!requestSpec.getHeaders().hasHeaderWithName(ACCEPT_ENCODING)) {
+            // Header yang biasanya ditambahkan REST Assured dari decoders yang dikonfigurasi (default "gzip,deflate")
+            String acceptEncoding = decoderConfig.contentDecoders().stream()
+                    .map(decoder -> decoder.name().toLowerCase(Locale.ROOT))
+                    .collect(Collectors.joining(","));
+            if (!acceptEncoding.isEmpty()) {
+                requestSpec.header(ACCEPT_ENCODING, acceptEncoding);
+            }
+        }
+        requestSpec.config(config.decoderConfig(decoderConfig.noContentDecoders()));
+
+        Response raw = ctx.next(requestSpec, responseSpec);
+        byte[] wire = raw.asByteArray();
+        String encoding = raw.header("Content-Encoding");
+        String normalized = encoding == null ? IDENTITY : encoding.trim().toLowerCase(Locale.ROOT);
+
+        long cpuBefore = threads.getCurrentThreadCpuTime();
+        byte[] decoded = decode(normalized, wire);
+        long cpuNanos = decoded == wire ? 0 : Math.max(0, threads.getCurrentThreadCpuTime() - cpuBefore);
+
+        record(new Exchange(normalized, wire.length, decoded.length, cpuNanos));
+        if (decoded == wire) {
+            return raw;
+        }
+        return new ResponseBuilder().clone(raw).setBody(decoded).build();
+    }
+
+    /**
+     * Exchange terakhir yang lewat filter ini di thread sekarang, null jika belum ada
+     */
+    public Exchange lastExchange() {
+        return lastExchange.get();
+    }
+
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    public long getWireBytes() {
+        return wireBytes.sum();
+    }
+
+    public long getDecodedBytes() {
+        return decodedBytes.sum();
+    }
+
+    /**
+     * Distribusi CPU time decompress per request (identity tercatat sebagai 0)
+     */
+    public LatencyHistogram getDecompressCpu() {
+        return decompressCpu;
+    }
+
+    private void record(Exchange exchange) {
+        lastExchange.set(exchange);
+        requests.increment();
+        wireBytes.add(exchange.wireBytes());
+        decodedBytes.add(exchange.decodedBytes());
+        decompressCpu.recordNanos(exchange.decompressCpuNanos());
+
+        SuiteMetrics.counter("http.bytes.wire").add(exchange.wireBytes());
+        SuiteMetrics.counter("http.bytes.decoded").add(exchange.decodedBytes());
+        SuiteMetrics.counter("http.bytes.wire." + exchange.contentEncoding()).add(exchange.wireBytes());
+        SuiteMetrics.counter("http.bytes.decoded." + exchange.contentEncoding()).add(exchange.decodedBytes());
+        if (exchange.decompressCpuNanos() > 0) {
+            SuiteMetrics.recordNanos("http.decompress.cpu", exchange.decompressCpuNanos());
+        }
+    }
+
+    /**
+     * Decode body sesuai Content-Encoding, body dikembalikan apa adanya untuk identity/encoding yang tidak dikenal
+     */
+    public static byte[] decode(String contentEncoding, byte[] body) {
+        if (body.length == 0) {
+            return body;
+        }
+        try {
+            return switch (contentEncoding) {
+                case "gzip", "x-gzip" -> readAll(new GZIPInputStream(new ByteArrayInputStream(body)), body.length);
+                // "deflate" seharusnya zlib-wrapped, tapi sebagian server mengirim raw deflate tanpa header
+                case "deflate" -> inflate(body);
+                default -> body;
+            };
+        } catch (IOException e) {
+            throw new UncheckedIOException("Gagal decode body " + contentEncoding + " (" + body.length + " bytes)", e);
+        }
+    }
+
+    private static byte[] inflate(byte[] body) throws IOException {
+        Inflater inflater = new Inflater(!hasZlibHeader(body));
+        try {
+            return readAll(new InflaterInputStream(new ByteArrayInputStream(body), inflater), body.length);
+        } finally {
+            inflater.end();  // Inflater custom tidak di-end oleh InflaterInputStream.close()
+        }
+    }
+
+    private static boolean hasZlibHeader(byte[] body) {
+        return body.length >= 2 && (body[0] & 0x0F) == 8 && ((body[0] & 0xFF) * 256 + (body[1] & 0xFF)) % 31 == 0;
+    }
+
+    private static byte[] readAll(InputStream in, int wireLength) throws IOException {
+        try (in) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(wireLength * 4);
+            in.transferTo(out);
+            return out.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.praktikum.rest.filters;
+
+import com.praktikum.rest.metrics.LatencyHistogram;
+import com.praktikum.rest.proxy.FaultInjectionProxy;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Filter yang mencatat setiap request per endpoint template (contoh: "GET jsonplaceholder.typicode.com/users/{id}")
+ * - latency histogram per endpoint
+ * - jumlah response per endpoint x status, dan error (status >= 400 atau exception) per status
+ * - request yang sedang in-flight dan request rate 10 detik terakhir
+ *
+ * Dibaca oleh OpenMetricsExporter selama run berjalan
+ */
+
+public class RequestMetricsFilter implements OrderedFilter {
+    private static final RequestMetricsFilter shared = new RequestMetricsFilter();
+
+    // Segment path yang berisi ID (angka, UUID, atau hex panjang) diganti {id} supaya cardinality tetap kecil
+    private static final Pattern ID_SEGMENT = Pattern.compile(
+            "\\d+|[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}|[0-9a-fA-F]{24,}");
+
+    // Status label untuk request yang gagal sebelum ada response (connection refused, timeout, reset)
+    public static final String IO_ERROR_STATUS = "io_error";
+
+    private static final int RATE_WINDOW_SECONDS = 10;
+
+    private final Map<String, LatencyHistogram> latencyByEndpoint = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, LongAdder>> responsesByEndpoint = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errorsByStatus = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    // Ring buffer per detik: slot = detik % window, isi = (epochSecond << 32) | count
+    private final AtomicLongArray rateSlots = new AtomicLongArray(RATE_WINDOW_SECONDS);
+
+    /**
+     * Instance bersama untuk seluruh suite (dipasang oleh BaseTest)
+     */
+    public static RequestMetricsFilter shared() {
+        return shared;
+    }
+
+    /**
+     * Jalankan setelah cache (cache hit bukan request ke server) dan RateLimitFilter (waktu tunggu rate permit
+     * bukan latency server), sebelum transport/compression
+     */
+    @Override
+    public int getOrder() {
+        return DEFAULT_PRECEDENCE + 160;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        String endpoint = endpointTemplate(requestSpec);
+        inFlight.incrementAndGet();
+        long start = System.nanoTime();
+        String status = IO_ERROR_STATUS;
+        try {
+            Response response = ctx.next(requestSpec, responseSpec);
+            status = String.valueOf(response.statusCode());
+            return response;
+        } finally {
+            inFlight.decrementAndGet();
+            record(endpoint, status, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Template endpoint dari request: method + host + path dengan placeholder, plus nama query params
+     * Host ikut di template supaya endpoint dengan path sama di service berbeda tidak tercampur
+     * Contoh: get("/users/{id}", 1) -> "GET jsonplaceholder.typicode.com/users/{id}",
+     * get("/posts?userId=1") -> "GET jsonplaceholder.typicode.com/posts?userId"
+     */
+    public static String endpointTemplate(FilterableRequestSpecification requestSpec) {
+        String path = requestSpec.getUserDefinedPath();
+        if (path == null || path.isEmpty()) {
+            path = requestSpec.getDerivedPath();
+        }
+        int pathQuery = path.indexOf('?');
+        if (pathQuery >= 0) {
+            path = path.substring(0, pathQuery);
+        }
+        // Query di URI final berisi queryParam(), params() untuk GET, dan query yang ditulis langsung di path
+        TreeSet<String> queryNames = new TreeSet<>(requestSpec.getQueryParams().keySet());
+        String uri = FaultInjectionProxy.upstreamUri(requestSpec.getURI());  // Host upstream, juga lewat proxy
+        int query = uri.indexOf('?');
+        if (query >= 0) {
+            for (String pair : uri.substring(query + 1).split("&")) {
+                if (!pair.isEmpty()) {
+                    queryNames.add(URLDecoder.decode(pair.split("=", 2)[0], StandardCharsets.UTF_8));
+                }
+            }
+        }
+        return endpointTemplate(requestSpec.getMethod(), host(uri), path, queryNames);
+    }
+
+    /**
+     * Template endpoint tanpa host dari method, path, dan nama query params (dipakai juga di luar filter chain)
+     */
+    public static String endpointTemplate(String method, String path, Iterable<String> queryNames) {
+        return endpointTemplate(method, null, path, queryNames);
+    }
+
+    /**
+     * Template endpoint dari method, host, path, dan nama query params
+     * @param host Host (dengan port jika bukan port default), contoh "reqres.in" atau "127.0.0.1:8080", null = tanpa host
+     */
+    public static String endpointTemplate(String method, String host, String path, Iterable<String> queryNames) {
+        StringJoiner segments = new StringJoiner("/");
+        for (String segment : (path.isEmpty() ? "/" : path).split("/", -1)) {
+            segments.add(ID_SEGMENT.matcher(segment).matches() ? "{id}" : segment);
+        }
+        StringBuilder template = new StringBuilder(method.toUpperCase(Locale.ROOT)).append(' ');
+        if (host != null) {
+            template.append(host);
+        }
+        template.append(segments);
+        String separator = "?";
+        for (String name : queryNames) {
+            template.append(separator).append(name);
+            separator = "&";
+        }
+        return template.toString();
+    }
+
+    /**
+     * Host dari URI absolut dalam lowercase, tanpa port default (80/443)
+     * Contoh: "https://ReqRes.in:443/api/users" -> "reqres.in", null jika URI tidak absolut
+     */
+    public static String host(String uri) {
+        int scheme = uri.indexOf("://");
+        if (scheme < 0) {
+            return null;
+        }
+        int start = scheme + 3;
+        int end = start;
+        while (end < uri.length() && "/?#".indexOf(uri.charAt(end)) < 0) {
+            end++;
+        }
+        String host = uri.substring(start, end).toLowerCase(Locale.ROOT);
+        int userInfo = host.lastIndexOf('@');
+        if (userInfo >= 0) {
+            host = host.substring(userInfo + 1);
+        }
+        String defaultPort = uri.regionMatches(true, 0, "https", 0, scheme) ? ":443" : ":80";
+        return host.endsWith(defaultPort) ? host.substring(0, host.length() - defaultPort.length()) : host;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Request per detik rata-rata dalam window 10 detik terakhir
+     */
+    public double getRequestRate() {
+        long now = System.currentTimeMillis() / 1000;
+        long total = 0;
+        for (int i = 0; i < RATE_WINDOW_SECONDS; i++) {
+            long slot = rateSlots.get(i);
+            long second = slot >>> 32;
+            if (second > now - RATE_WINDOW_SECONDS && second <= now) {
+                total += slot & 0xFFFFFFFFL;
+            }
+        }
+        return total / (double) RATE_WINDOW_SECONDS;
+    }
+
+    /**
+     * Latency per endpoint template, diurutkan berdasarkan endpoint
+     */
+    public Map<String, LatencyHistogram> latencySnapshot() {
+        return new TreeMap<>(latencyByEndpoint);
+    }
+
+    /**
+     * Jumlah response per endpoint template lalu per status
+     */
+    public Map<String, Map<String, Long>> responseSnapshot() {
+        Map<String, Map<String, Long>> snapshot = new TreeMap<>();
+        responsesByEndpoint.forEach((endpoint, statuses) -> {
+            Map<String, Long> counts = new TreeMap<>();
+            statuses.forEach((status, adder) -> counts.put(status, adder.sum()));
+            snapshot.put(endpoint, counts);
+        });
+        return snapshot;
+    }
+
+    /**
+     * Jumlah error per status (status >= 400 dan io_error)
+     */
+    public Map<String, Long> errorSnapshot() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        errorsByStatus.forEach((status, adder) -> snapshot.put(status, adder.sum()));
+        return snapshot;
+    }
+
+    private void record(String endpoint, String status, long nanos) {
+        latencyByEndpoint.computeIfAbsent(endpoint, key -> new LatencyHistogram()).recordNanos(nanos);
+        responsesByEndpoint.computeIfAbsent(endpoint, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(status, key -> new LongAdder()).increment();
+        if (status.equals(IO_ERROR_STATUS) || Integer.parseInt(status) >= 400) {
+            errorsByStatus.computeIfAbsent(status, key -> new LongAdder()).increment();
+        }
+        countForRate();
+    }
+
+    private void countForRate() {
+        long now = System.currentTimeMillis() / 1000;
+        int index = (int) (now % RATE_WINDOW_SECONDS);
+        while (true) {
+            long slot = rateSlots.get(index);
+            long updated = (slot >>> 32) == now ? slot + 1 : (now << 32) | 1;  // Slot lama ditimpa detik baru
+            if (rateSlots.compareAndSet(index, slot, updated)) {
+                return;
+            }
+        }
+    }
+}
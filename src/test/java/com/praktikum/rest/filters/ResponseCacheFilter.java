@@ -0,0 +1,185 @@
+package com.praktikum.rest.filters;
+
+import com.praktikum.rest.config.TestConfig;
+import com.praktikum.rest.metrics.SuiteMetrics;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Opt-in response cache untuk GET requests selama satu test run
+ * - Key: full URL (termasuk query) + header yang mempengaruhi response (Accept, Authorization, API key)
+ * - Request identik yang berjalan bersamaan berbagi satu network call (single-flight)
+ * - LRU eviction berdasarkan jumlah entry dan total body bytes
+ * Setiap test tetap menerima Response object sendiri (clone dari response yang di-cache)
+ */
+
+public class ResponseCacheFilter implements OrderedFilter {
+    // Header yang ikut menentukan isi response, jadi harus masuk ke cache key
+    private static final List<String> KEY_HEADERS = List.of("Accept", "Authorization", TestConfig.API_KEY_HEADER);
+
+    private static final ResponseCacheFilter shared = new ResponseCacheFilter(
+            TestConfig.RESPONSE_CACHE_MAX_ENTRIES, TestConfig.RESPONSE_CACHE_MAX_BYTES);
+
+    private final int maxEntries;
+    private final long maxBytes;
+
+    // Access-ordered LinkedHashMap = LRU, semua akses lewat lock "this"
+    private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    private final Map<String, CompletableFuture<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * @param maxEntries Jumlah maksimal response yang disimpan
+     * @param maxBytes Total maksimal body bytes yang disimpan
+     */
+    public ResponseCacheFilter(int maxEntries, long maxBytes) {
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Instance bersama untuk seluruh suite (dipasang oleh BaseTest jika -Dhttp.cache.enabled=true)
+     */
+    public static ResponseCacheFilter shared() {
+        return shared;
+    }
+
+    /**
+     * Jalankan setelah filter default (misalnya BearerTokenFilter) supaya Authorization sudah ada di key
+     */
+    @Override
+    public int getOrder() {
+        return DEFAULT_PRECEDENCE + 100;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        if (!"GET".equalsIgnoreCase(requestSpec.getMethod())) {
+            return ctx.next(requestSpec, responseSpec);  // Hanya GET yang idempotent dan aman di-cache
+        }
+
+        String key = cacheKey(requestSpec);
+        CachedResponse cached = lookup(key);
+        if (cached != null) {
+            SuiteMetrics.increment("http.cache.hit");
+            return cached.newResponse();
+        }
+
+        CompletableFuture<CachedResponse> mine = new CompletableFuture<>();
+        CompletableFuture<CachedResponse> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            // Request yang sama sedang berjalan di thread lain, pakai hasilnya
+            CachedResponse result = awaitQuietly(existing);
+            if (result != null) {
+                SuiteMetrics.increment("http.cache.coalesced");
+                return result.newResponse();
+            }
+            return ctx.next(requestSpec, responseSpec);  // Leader gagal atau tidak cacheable, kirim sendiri
+        }
+
+        try {
+            SuiteMetrics.increment("http.cache.miss");
+            Response response = ctx.next(requestSpec, responseSpec);
+            CachedResponse entry = isCacheable(response) ? new CachedResponse(response) : null;
+            if (entry != null) {
+                store(key, entry);
+            }
+            mine.complete(entry);
+            return response;
+        } catch (Throwable e) {
+            // ctx.next bisa melempar IOException tanpa di-wrap (connection refused/reset), waiter tetap harus dilepas
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * Kosongkan cache (misalnya di antara dua scenario yang mengubah data)
+     */
+    public synchronized void clear() {
+        entries.clear();
+        totalBytes = 0;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private synchronized CachedResponse lookup(String key) {
+        return entries.get(key);
+    }
+
+    private synchronized void store(String key, CachedResponse entry) {
+        if (entry.sizeBytes > maxBytes) {
+            return;  // Body terlalu besar untuk disimpan
+        }
+        CachedResponse previous = entries.put(key, entry);
+        if (previous != null) {
+            totalBytes -= previous.sizeBytes;
+        }
+        totalBytes += entry.sizeBytes;
+
+        // Evict entry yang paling lama tidak diakses sampai kembali di bawah batas
+        Iterator<Map.Entry<String, CachedResponse>> eldest = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || totalBytes > maxBytes) && eldest.hasNext()) {
+            totalBytes -= eldest.next().getValue().sizeBytes;
+            eldest.remove();
+            SuiteMetrics.increment("http.cache.eviction");
+        }
+    }
+
+    private static String cacheKey(FilterableRequestSpecification requestSpec) {
+        StringBuilder key = new StringBuilder(requestSpec.getURI());
+        for (String header : KEY_HEADERS) {
+            key.append('\n').append(header).append('=');
+            requestSpec.getHeaders().getValues(header).forEach(value -> key.append(value).append(','));
+        }
+        return key.toString();
+    }
+
+    private static boolean isCacheable(Response response) {
+        int status = response.statusCode();
+        return status < 500 && status != 429;  // Jangan cache error sementara dari server
+    }
+
+    private static CachedResponse awaitQuietly(CompletableFuture<CachedResponse> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Response yang sudah dibaca penuh, dipakai sebagai template untuk clone
+     */
+    private static final class CachedResponse {
+        private final Response template;
+        private final long sizeBytes;
+
+        CachedResponse(Response response) {
+            this.sizeBytes = response.asByteArray().length;  // Baca body sekali supaya bisa di-share
+            this.template = response;
+        }
+
+        Response newResponse() {
+            return new ResponseBuilder().clone(template).build();
+        }
+    }
+}
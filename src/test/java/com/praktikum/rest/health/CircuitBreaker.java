@@ -0,0 +1,103 @@
+package com.praktikum.rest.health;
+
+import java.time.Duration;
+
+/**
+ * Circuit breaker untuk satu host: CLOSED -> OPEN setelah N failure berturut-turut,
+ * OPEN -> HALF_OPEN setelah openDuration, lalu satu request percobaan menentukan CLOSED atau OPEN lagi
+ *
+ * Selama OPEN (dan selama percobaan HALF_OPEN berjalan) request lain langsung ditolak,
+ * jadi host yang mati tidak membuat setiap test menunggu connection timeout sendiri-sendiri
+ */
+
+public class CircuitBreaker {
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openNanos;
+
+    // Guarded by this
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+    private String lastFailure;
+
+    /**
+     * @param failureThreshold Jumlah failure berturut-turut sebelum OPEN
+     * @param openDuration Lama OPEN sebelum request percobaan (half-open) diizinkan
+     */
+    public CircuitBreaker(int failureThreshold, Duration openDuration) {
+        if (failureThreshold < 1) {
+            throw new IllegalArgumentException("failureThreshold harus >= 1: " + failureThreshold);
+        }
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+    }
+
+    /**
+     * Cek apakah request boleh dikirim, setiap true harus diikuti onSuccess() atau onFailure()
+     */
+    public synchronized boolean allowRequest() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (System.nanoTime() - openedAt < openNanos) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                trialInFlight = true;
+                return true;
+            default:
+                if (trialInFlight) {
+                    return false;  // Hanya satu request percobaan
+                }
+                trialInFlight = true;
+                return true;
+        }
+    }
+
+    public synchronized void onSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        trialInFlight = false;
+    }
+
+    /**
+     * @param reason Contoh: "ConnectException: Connection refused" atau "HTTP 503"
+     */
+    public synchronized void onFailure(String reason) {
+        lastFailure = reason;
+        trialInFlight = false;
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            open();
+        }
+    }
+
+    /**
+     * Langsung OPEN tanpa menunggu threshold (contoh: health probe saat startup gagal)
+     */
+    public synchronized void trip(String reason) {
+        lastFailure = reason;
+        trialInFlight = false;
+        open();
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Alasan failure terakhir, null jika belum pernah gagal
+     */
+    public synchronized String getLastFailure() {
+        return lastFailure;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = System.nanoTime();
+    }
+}
@@ -0,0 +1,184 @@
+package com.praktikum.rest.health;
+
+import com.praktikum.rest.config.TestConfig;
+import com.praktikum.rest.metrics.SuiteMetrics;
+import com.praktikum.rest.proxy.FaultInjectionProxy;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * REST Assured filter dengan circuit breaker per host (scheme://host:port)
+ *
+ * Failure = IOException (connection refused, unknown host, timeout, reset) atau status di failureStatuses.
+ * Ketika circuit OPEN, request langsung gagal dengan HostUnavailableException (test di-skip atau di-fail dengan alasan jelas),
+ * setelah openDuration satu request percobaan dikirim dan circuit tertutup lagi jika berhasil
+ */
+
+public class CircuitBreakerFilter implements OrderedFilter {
+    private static final CircuitBreakerFilter shared = new CircuitBreakerFilter(TestConfig.CIRCUIT_FAILURE_THRESHOLD,
+            Duration.ofSeconds(TestConfig.CIRCUIT_OPEN_SECONDS), parseStatuses(TestConfig.CIRCUIT_FAILURE_STATUSES),
+            parseSkip(TestConfig.CIRCUIT_OPEN_ACTION));
+
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final Set<Integer> failureStatuses;
+    private final boolean skip;
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    /**
+     * @param failureThreshold Failure berturut-turut sebelum circuit OPEN
+     * @param openDuration Lama OPEN sebelum half-open probe
+     * @param failureStatuses Status code yang dihitung sebagai failure, contoh: 502, 504
+     * @param skip true = test di-skip ketika circuit OPEN, false = test failed
+     */
+    public CircuitBreakerFilter(int failureThreshold, Duration openDuration, Set<Integer> failureStatuses, boolean skip) {
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        this.failureStatuses = Set.copyOf(failureStatuses);
+        this.skip = skip;
+    }
+
+    /**
+     * Instance bersama berdasarkan -Dcircuit.* (dipasang oleh BaseTest, di-trip oleh HealthProbeListener)
+     */
+    public static CircuitBreakerFilter shared() {
+        return shared;
+    }
+
+    /**
+     * Setelah cache (cache hit tetap dilayani ketika host mati), sebelum rate limit supaya request yang ditolak tidak memakai permit
+     */
+    @Override
+    public int getOrder() {
+        return DEFAULT_PRECEDENCE + 120;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        String host = hostKey(FaultInjectionProxy.upstreamUri(requestSpec.getURI()));  // Satu circuit per upstream, juga lewat proxy
+        CircuitBreaker breaker = breaker(host);
+        if (!breaker.allowRequest()) {
+            SuiteMetrics.increment("circuit.rejected");
+            throw new HostUnavailableException(host, breaker.getLastFailure(), skip);
+        }
+
+        CircuitBreaker.State before = breaker.getState();
+        try {
+            Response response = ctx.next(requestSpec, responseSpec);
+            if (isFailureStatus(response.statusCode())) {
+                failure(host, breaker, "HTTP " + response.statusCode());
+            } else {
+                breaker.onSuccess();
+                if (before == CircuitBreaker.State.HALF_OPEN) {
+                    SuiteMetrics.increment("circuit.closed");
+                    System.out.println("[circuit] " + host + " pulih, circuit tertutup kembali");
+                }
+            }
+            return response;
+        } catch (Throwable e) {  // IOException dilempar REST Assured tanpa wrapping; Error juga harus menyelesaikan percobaan HALF_OPEN
+            if (isConnectionFailure(e)) {
+                failure(host, breaker, e.getClass().getSimpleName() + ": " + e.getMessage());
+            } else {
+                breaker.onSuccess();  // Host menjawab, error berasal dari tempat lain (filter, parsing)
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Circuit breaker untuk host dari URL, dibuat jika belum ada
+     * @param url Base URL atau full URI, contoh: "https://reqres.in/api/users"
+     */
+    public CircuitBreaker breaker(String url) {
+        return breakers.computeIfAbsent(hostKey(url), key -> new CircuitBreaker(failureThreshold, openDuration));
+    }
+
+    /**
+     * Buka circuit host secara langsung
+     * @param reason Ditampilkan di HostUnavailableException
+     */
+    public void trip(String url, String reason) {
+        breaker(url).trip(reason);
+        SuiteMetrics.increment("circuit.opened");
+    }
+
+    /**
+     * true jika test di-skip ketika circuit OPEN, false jika di-fail
+     */
+    public boolean isSkip() {
+        return skip;
+    }
+
+    public boolean isFailureStatus(int status) {
+        return failureStatuses.contains(status);
+    }
+
+    /**
+     * State setiap host yang pernah dipanggil, diurutkan berdasarkan host
+     */
+    public Map<String, CircuitBreaker.State> states() {
+        Map<String, CircuitBreaker.State> states = new TreeMap<>();
+        breakers.forEach((host, breaker) -> states.put(host, breaker.getState()));
+        return states;
+    }
+
+    public void reset() {
+        breakers.clear();
+    }
+
+    private void failure(String host, CircuitBreaker breaker, String reason) {
+        boolean wasOpen = breaker.getState() != CircuitBreaker.State.CLOSED;
+        breaker.onFailure(reason);
+        if (breaker.getState() == CircuitBreaker.State.OPEN) {
+            SuiteMetrics.increment("circuit.opened");
+            System.out.println("[circuit] " + host + (wasOpen ? " masih gagal" : " dibuka") + " (" + reason
+                    + "), request berikutnya ditolak selama " + openDuration.toMillis() + " ms");
+        }
+    }
+
+    static String hostKey(String url) {
+        URI uri = URI.create(url);
+        String scheme = uri.getScheme() == null ? "http" : uri.getScheme().toLowerCase();
+        int port = uri.getPort() != -1 ? uri.getPort() : "https".equals(scheme) ? 443 : 80;
+        return scheme + "://" + uri.getHost() + ":" + port;
+    }
+
+    private static boolean isConnectionFailure(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static Set<Integer> parseStatuses(String statuses) {
+        return Arrays.stream(statuses.split(","))
+                .map(String::trim)
+                .filter(status -> !status.isEmpty())
+                .map(Integer::valueOf)
+                .collect(Collectors.toSet());
+    }
+
+    private static boolean parseSkip(String action) {
+        return switch (action.trim().toLowerCase()) {
+            case "skip" -> true;
+            case "fail" -> false;
+            default -> throw new IllegalArgumentException("circuit.open.action harus skip atau fail: " + action);
+        };
+    }
+}
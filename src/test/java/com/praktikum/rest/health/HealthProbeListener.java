@@ -0,0 +1,140 @@
+package com.praktikum.rest.health;
+
+import com.praktikum.rest.config.TestConfig;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * TestNG listener yang mem-probe setiap target (health.probe.targets) secara parallel saat suite mulai
+ * Target yang tidak bisa dihubungi atau membalas status unhealthy (health.probe.unhealthy.statuses, contoh 403)
+ * langsung di-trip di CircuitBreakerFilter,
+ * Probe mengirim header yang sama seperti test ke target tersebut (contoh X-API-Key untuk ReqRes), supaya 401/403 berarti test juga ditolak
+ * jadi test ke host tersebut gagal/skip dalam hitungan detik, bukan menunggu timeout satu per satu
+ */
+
+public class HealthProbeListener implements ISuiteListener {
+    private final CircuitBreakerFilter filter;
+    private final List<String> targets;
+    private final Duration timeout;
+    private final Set<Integer> unhealthyStatuses;
+    private final Function<String, Map<String, String>> headers;
+
+    /**
+     * Hasil probe satu target
+     * @param status HTTP status, -1 jika tidak ada response
+     * @param reason Alasan unhealthy, null jika healthy
+     */
+    public record Result(String target, boolean healthy, int status, long millis, String reason) {
+    }
+
+    /**
+     * Dipakai TestNG ketika listener didaftarkan di testng.xml
+     */
+    public HealthProbeListener() {
+        this(CircuitBreakerFilter.shared(), Arrays.stream(TestConfig.HEALTH_PROBE_TARGETS.split(","))
+                .map(String::trim).filter(target -> !target.isEmpty()).toList(),
+                Duration.ofMillis(TestConfig.HEALTH_PROBE_TIMEOUT_MS));
+    }
+
+    /**
+     * Probe dengan status unhealthy dari health.probe.unhealthy.statuses
+     * @param filter Circuit breaker yang di-trip untuk target yang unhealthy
+     * @param targets Base URL yang di-probe (GET base URL)
+     * @param timeout Batas connect dan response per probe
+     */
+    public HealthProbeListener(CircuitBreakerFilter filter, List<String> targets, Duration timeout) {
+        this(filter, targets, timeout, CircuitBreakerFilter.parseStatuses(TestConfig.HEALTH_PROBE_UNHEALTHY_STATUSES));
+    }
+
+    /**
+     * Probe dengan header dari suiteHeaders(target)
+     * @param unhealthyStatuses Status probe yang membuat target DOWN, contoh: 401, 403, 502, 503, 504
+     */
+    public HealthProbeListener(CircuitBreakerFilter filter, List<String> targets, Duration timeout, Set<Integer> unhealthyStatuses) {
+        this(filter, targets, timeout, unhealthyStatuses, HealthProbeListener::suiteHeaders);
+    }
+
+    /**
+     * @param headers Header request probe per target
+     */
+    public HealthProbeListener(CircuitBreakerFilter filter, List<String> targets, Duration timeout, Set<Integer> unhealthyStatuses,
+                               Function<String, Map<String, String>> headers) {
+        this.filter = filter;
+        this.targets = List.copyOf(targets);
+        this.timeout = timeout;
+        this.unhealthyStatuses = Set.copyOf(unhealthyStatuses);
+        this.headers = headers;
+    }
+
+    /**
+     * Header yang dikirim test ke target ini: API key untuk reqres.base.url (HttpSetup.apiKeySpecification dan AuthManager),
+     * tanpa header tambahan untuk target lain
+     */
+    public static Map<String, String> suiteHeaders(String target) {
+        if (stripTrailingSlash(target).equals(stripTrailingSlash(TestConfig.REQRES_BASE_URL))) {
+            return Map.of(TestConfig.API_KEY_HEADER, TestConfig.API_KEY);
+        }
+        return Map.of();
+    }
+
+    @Override
+    public void onStart(ISuite suite) {
+        for (Result result : probe()) {
+            if (result.healthy()) {
+                System.out.println("[health] UP   " + result.target() + " (HTTP " + result.status() + ", " + result.millis() + " ms)");
+            } else {
+                filter.trip(result.target(), "health probe: " + result.reason());
+                System.out.println("[health] DOWN " + result.target() + " (" + result.reason() + "), test ke host ini langsung di-"
+                        + (filter.isSkip() ? "skip" : "fail"));
+            }
+        }
+    }
+
+    /**
+     * Probe semua target secara parallel, total waktu ~ satu timeout
+     */
+    public List<Result> probe() {
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        List<CompletableFuture<Result>> probes = targets.stream().map(target -> probe(client, target)).toList();
+        return probes.stream().map(CompletableFuture::join).toList();
+    }
+
+    private CompletableFuture<Result> probe(HttpClient client, String target) {
+        long start = System.nanoTime();
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(target)).timeout(timeout).GET();
+        headers.apply(target).forEach(builder::header);
+        HttpRequest request = builder.build();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, error) -> {
+                    long millis = (System.nanoTime() - start) / 1_000_000;
+                    if (error != null) {
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                        return new Result(target, false, -1, millis, cause.getClass().getSimpleName()
+                                + (cause.getMessage() == null ? "" : ": " + cause.getMessage()));
+                    }
+                    if (unhealthyStatuses.contains(response.statusCode())) {
+                        return new Result(target, false, response.statusCode(), millis, "HTTP " + response.statusCode());
+                    }
+                    return new Result(target, true, response.statusCode(), millis, null);
+                });
+    }
+
+    private static String stripTrailingSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+}
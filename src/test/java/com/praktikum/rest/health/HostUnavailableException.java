@@ -0,0 +1,30 @@
+package com.praktikum.rest.health;
+
+import org.testng.SkipException;
+
+/**
+ * Dilempar oleh CircuitBreakerFilter ketika circuit host sedang OPEN
+ * TestNG menandai test sebagai skipped jika skip = true (circuit.open.action=skip), selain itu sebagai failed
+ */
+
+public class HostUnavailableException extends SkipException {
+    private static final long serialVersionUID = 1L;
+
+    private final String host;
+    private final boolean skip;
+
+    public HostUnavailableException(String host, String reason, boolean skip) {
+        super("Host " + host + " tidak tersedia (circuit open): " + reason);
+        this.host = host;
+        this.skip = skip;
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    @Override
+    public boolean isSkip() {
+        return skip;
+    }
+}
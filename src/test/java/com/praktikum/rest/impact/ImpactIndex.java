@@ -0,0 +1,241 @@
+package com.praktikum.rest.impact;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.praktikum.rest.filters.RequestMetricsFilter;
+import org.testng.annotations.Test;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Index endpoint template -> test methods yang memanggil endpoint tersebut
+ * Direkam oleh ImpactIndexFilter + ImpactIndexListener selama run, dipakai TestRunner untuk selective run
+ *
+ * Test ID: "<class>#<method>", atau "<class>#*" untuk request dari configuration method (@BeforeClass, dll.)
+ * yang berarti semua test di class tersebut terdampak
+ *
+ * Endpoint di index berisi host (lihat RequestMetricsFilter.endpointTemplate), jadi "GET /users/{id}" di
+ * JSONPlaceholder dan di ReqRes adalah dua entry berbeda
+ *
+ * Format file (JSON):
+ *   {"tests": [semua test ID yang pernah dijalankan],
+ *    "endpoints": {"GET jsonplaceholder.typicode.com/users/{id}": [test ID, ...], ...}}
+ */
+
+public class ImpactIndex {
+    public static final String CLASS_WIDE = "*";
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    // Sorted supaya file index stabil dan diff-nya di git/CI cache mudah dibaca
+    private final TreeMap<String, TreeSet<String>> testsByEndpoint = new TreeMap<>();
+    private final TreeSet<String> knownTests = new TreeSet<>();
+
+    /**
+     * Test yang terdampak perubahan endpoint
+     * @param impacted Test yang memanggil salah satu endpoint yang berubah
+     * @param unknown Kandidat test yang belum pernah direkam di index (test baru), ikut dijalankan supaya aman
+     * @param unmatchedEndpoints Endpoint yang berubah tetapi tidak dipanggil test mana pun di index
+     */
+    public record Selection(Set<String> impacted, Set<String> unknown, List<String> unmatchedEndpoints) {
+
+        /**
+         * Semua test yang perlu dijalankan (impacted + unknown)
+         */
+        public Set<String> tests() {
+            TreeSet<String> tests = new TreeSet<>(impacted);
+            tests.addAll(unknown);
+            return tests;
+        }
+    }
+
+    /**
+     * Baca index dari file, index kosong jika file belum ada
+     */
+    public static ImpactIndex load(Path file) {
+        ImpactIndex index = new ImpactIndex();
+        if (!Files.exists(file)) {
+            return index;
+        }
+        try {
+            JsonNode root = mapper.readTree(file.toFile());
+            root.path("tests").forEach(test -> index.knownTests.add(test.asText()));
+            root.path("endpoints").fields().forEachRemaining(entry -> {
+                TreeSet<String> tests = index.testsByEndpoint.computeIfAbsent(entry.getKey(), key -> new TreeSet<>());
+                entry.getValue().forEach(test -> tests.add(test.asText()));
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Gagal membaca impact index " + file, e);
+        }
+        return index;
+    }
+
+    /**
+     * Tulis index ke file (folder dibuat jika belum ada)
+     */
+    public void save(Path file) {
+        ObjectNode root = mapper.createObjectNode();
+        knownTests.forEach(root.putArray("tests")::add);
+        ObjectNode endpoints = root.putObject("endpoints");
+        testsByEndpoint.forEach((endpoint, tests) -> tests.forEach(endpoints.putArray(endpoint)::add));
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            mapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), root);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Gagal menulis impact index " + file, e);
+        }
+    }
+
+    /**
+     * Gabungkan hasil run: entry lama untuk test yang dijalankan di run ini diganti dengan observasi baru,
+     * entry untuk test yang tidak dijalankan (contoh: -Dtest=... atau selective run) tetap dipertahankan
+     * @param observed Endpoint template -> test ID yang terekam di run ini
+     * @param executedTests Semua test ID yang dijalankan di run ini, termasuk yang tidak mengirim request
+     */
+    public void merge(Map<String, ? extends Collection<String>> observed, Collection<String> executedTests) {
+        Set<String> executedClasses = new TreeSet<>();
+        executedTests.forEach(test -> executedClasses.add(className(test)));
+        testsByEndpoint.values().forEach(tests -> tests.removeIf(test -> executedTests.contains(test)
+                || (methodName(test).equals(CLASS_WIDE) && executedClasses.contains(className(test)))));
+        observed.forEach((endpoint, tests) -> testsByEndpoint.computeIfAbsent(endpoint, key -> new TreeSet<>()).addAll(tests));
+        testsByEndpoint.values().removeIf(TreeSet::isEmpty);
+        knownTests.addAll(executedTests);
+    }
+
+    /**
+     * Pilih test yang terdampak perubahan endpoint
+     * @param changedEndpoints Contoh: "POST /users" (semua host), "GET reqres.in/api/users/{id}", "GET /posts?userId",
+     *                         "/users/{id}" (semua method)
+     * @param candidateTests Semua test yang bisa dijalankan (lihat testIds), untuk mendeteksi test baru
+     */
+    public Selection select(Collection<String> changedEndpoints, Collection<String> candidateTests) {
+        TreeSet<String> impacted = new TreeSet<>();
+        List<String> unmatched = new ArrayList<>();
+        for (String changed : changedEndpoints) {
+            boolean matched = false;
+            for (Map.Entry<String, TreeSet<String>> entry : testsByEndpoint.entrySet()) {
+                if (matches(changed, entry.getKey())) {
+                    impacted.addAll(entry.getValue());
+                    matched = true;
+                }
+            }
+            if (!matched) {
+                unmatched.add(changed);
+            }
+        }
+        TreeSet<String> unknown = new TreeSet<>();
+        for (String candidate : candidateTests) {
+            if (!knownTests.contains(candidate)) {
+                unknown.add(candidate);
+            }
+        }
+        return new Selection(impacted, unknown, unmatched);
+    }
+
+    /**
+     * Endpoint yang berubah cocok dengan template di index jika method sama (atau tidak disebut),
+     * host sama (atau tidak disebut), path template sama, dan semua query param yang disebut ada di template
+     * Contoh: "GET /posts" cocok dengan "GET jsonplaceholder.typicode.com/posts?userId",
+     * "GET reqres.in/posts" dan "GET /posts?title" tidak
+     */
+    public static boolean matches(String changedEndpoint, String template) {
+        String[] changed = normalize(changedEndpoint);
+        String[] indexed = normalize(template);
+        if (!changed[0].equals("*") && !changed[0].equals(indexed[0])) {
+            return false;
+        }
+        // Template tanpa host (index lama) tetap dianggap cocok supaya test tidak terlewat
+        if (!changed[1].equals("*") && !indexed[1].equals("*") && !changed[1].equals(indexed[1])) {
+            return false;
+        }
+        if (!changed[2].equals(indexed[2])) {
+            return false;
+        }
+        Set<String> indexedQuery = new TreeSet<>(Arrays.asList(indexed[3].split("&")));
+        for (String name : changed[3].split("&")) {
+            if (!name.isEmpty() && !indexedQuery.contains(name)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Test ID untuk semua @Test method di class yang diberikan, contoh: "com.praktikum.rest.tests.UserAPITests#testGetAllUsers"
+     */
+    public static Set<String> testIds(Class<?>... testClasses) {
+        TreeSet<String> ids = new TreeSet<>();
+        for (Class<?> testClass : testClasses) {
+            for (Method method : testClass.getMethods()) {
+                if (method.isAnnotationPresent(Test.class)) {
+                    ids.add(testId(testClass.getName(), method.getName()));
+                }
+            }
+        }
+        return ids;
+    }
+
+    public static String testId(String className, String methodName) {
+        return className + "#" + methodName;
+    }
+
+    public static String className(String testId) {
+        return testId.substring(0, testId.indexOf('#'));
+    }
+
+    public static String methodName(String testId) {
+        return testId.substring(testId.indexOf('#') + 1);
+    }
+
+    public Map<String, Set<String>> endpoints() {
+        return new TreeMap<>(testsByEndpoint);
+    }
+
+    public Set<String> knownTests() {
+        return new TreeSet<>(knownTests);
+    }
+
+    // [method atau "*", host atau "*", path template, query names dipisah "&"]
+    // Target: "/path", "host/path", atau URL lengkap "https://host/path"
+    private static String[] normalize(String endpoint) {
+        String trimmed = endpoint.trim();
+        int space = trimmed.indexOf(' ');
+        String method = space > 0 ? trimmed.substring(0, space).toUpperCase(Locale.ROOT) : "*";
+        String target = space > 0 ? trimmed.substring(space + 1).trim() : trimmed;
+        String host = "*";
+        if (!target.startsWith("/")) {
+            String url = target.contains("://") ? target : "http://" + target;
+            host = RequestMetricsFilter.host(url);
+            int pathStart = url.indexOf('/', url.indexOf("://") + 3);
+            target = pathStart >= 0 ? url.substring(pathStart) : "/";
+        }
+        int query = target.indexOf('?');
+        String path = query >= 0 ? target.substring(0, query) : target;
+        TreeSet<String> queryNames = new TreeSet<>();
+        if (query >= 0) {
+            for (String pair : target.substring(query + 1).split("&")) {
+                if (!pair.isEmpty()) {
+                    queryNames.add(pair.split("=", 2)[0]);
+                }
+            }
+        }
+        // "/users/1", "/users/{userId}", dan "/users/{id}" semuanya menjadi "/users/{id}"
+        String template = RequestMetricsFilter.endpointTemplate("GET", path.replaceAll("\\{[^/}]*}", "0"), List.of());
+        return new String[] {method, host, template.substring(template.indexOf(' ') + 1), String.join("&", queryNames)};
+    }
+}
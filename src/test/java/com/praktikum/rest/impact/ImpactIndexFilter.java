@@ -0,0 +1,111 @@
+package com.praktikum.rest.impact;
+
+import com.praktikum.rest.filters.RequestMetricsFilter;
+import com.praktikum.rest.utils.TestAttribution;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Filter yang merekam endpoint template mana yang dipanggil oleh test method mana
+ *
+ * Test pemilik request ditentukan oleh TestAttribution: Reporter.getCurrentTestResult(), atau satu-satunya
+ * test yang sedang berjalan untuk request dari thread lain; selain itu dihitung sebagai unattributed
+ */
+
+public class ImpactIndexFilter implements OrderedFilter {
+    private static final ImpactIndexFilter shared = new ImpactIndexFilter();
+
+    private final Map<String, Set<String>> testsByEndpoint = new ConcurrentHashMap<>();
+    private final Set<String> executedTests = ConcurrentHashMap.newKeySet();
+
+    private final TestAttribution<String> attribution = new TestAttribution<>(ImpactIndexFilter::testId);
+    private final LongAdder unattributed = new LongAdder();
+
+    /**
+     * Instance bersama untuk seluruh suite (dipasang oleh BaseTest, diisi oleh ImpactIndexListener)
+     */
+    public static ImpactIndexFilter shared() {
+        return shared;
+    }
+
+    /**
+     * Jalankan paling luar, sebelum cache: cache hit tetap berarti test bergantung pada endpoint tersebut
+     */
+    @Override
+    public int getOrder() {
+        return DEFAULT_PRECEDENCE + 50;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        String test = attribution.current();
+        if (test == null) {
+            unattributed.increment();
+        } else {
+            testsByEndpoint.computeIfAbsent(RequestMetricsFilter.endpointTemplate(requestSpec),
+                    key -> ConcurrentHashMap.newKeySet()).add(test);
+        }
+        return ctx.next(requestSpec, responseSpec);
+    }
+
+    public void testStarted(String testId) {
+        executedTests.add(testId);
+        attribution.started(testId);
+    }
+
+    public void testFinished(String testId) {
+        attribution.finished(testId);
+    }
+
+    /**
+     * Endpoint template -> test ID yang terekam sejauh ini
+     */
+    public Map<String, Set<String>> observed() {
+        Map<String, Set<String>> snapshot = new TreeMap<>();
+        testsByEndpoint.forEach((endpoint, tests) -> snapshot.put(endpoint, new TreeSet<>(tests)));
+        return snapshot;
+    }
+
+    public Set<String> executedTests() {
+        return new TreeSet<>(executedTests);
+    }
+
+    /**
+     * Request yang tidak bisa di-attribute ke test (parallel test dan request dari thread di luar TestNG)
+     */
+    public long getUnattributed() {
+        return unattributed.sum();
+    }
+
+    /**
+     * Kosongkan observasi (untuk run berikutnya di JVM yang sama)
+     */
+    public void reset() {
+        testsByEndpoint.clear();
+        executedTests.clear();
+        attribution.clear();
+        unattributed.reset();
+    }
+
+    private static String testId(ITestResult result) {
+        ITestNGMethod method = result.getMethod();
+        if (method == null) {
+            return null;
+        }
+        String className = method.getRealClass().getName();
+        return ImpactIndex.testId(className, method.isTest() ? method.getMethodName() : ImpactIndex.CLASS_WIDE);
+    }
+}
@@ -0,0 +1,77 @@
+package com.praktikum.rest.impact;
+
+import com.praktikum.rest.config.TestConfig;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * TestNG listener yang memberi tahu ImpactIndexFilter test mana yang sedang berjalan,
+ * lalu di akhir suite menggabungkan observasi ke impact index file (impact.index.file)
+ */
+
+public class ImpactIndexListener implements ITestListener, ISuiteListener {
+    private final ImpactIndexFilter filter;
+    private final Path indexFile;
+
+    /**
+     * Dipakai TestNG ketika listener didaftarkan di testng.xml
+     */
+    public ImpactIndexListener() {
+        this(ImpactIndexFilter.shared(), Paths.get(TestConfig.IMPACT_INDEX_FILE));
+    }
+
+    /**
+     * @param filter Filter yang merekam endpoint per test
+     * @param indexFile File index yang di-merge di akhir suite
+     */
+    public ImpactIndexListener(ImpactIndexFilter filter, Path indexFile) {
+        this.filter = filter;
+        this.indexFile = indexFile;
+    }
+
+    @Override
+    public void onTestStart(ITestResult result) {
+        filter.testStarted(testId(result));
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        filter.testFinished(testId(result));
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        filter.testFinished(testId(result));
+    }
+
+    @Override
+    public void onTestFailedButWithinSuccessPercentage(ITestResult result) {
+        filter.testFinished(testId(result));
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        filter.testFinished(testId(result));
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (filter.executedTests().isEmpty()) {
+            return;
+        }
+        ImpactIndex index = ImpactIndex.load(indexFile);
+        index.merge(filter.observed(), filter.executedTests());
+        index.save(indexFile);
+        System.out.println("[impact] Index diperbarui: " + indexFile + " (" + index.endpoints().size() + " endpoints, "
+                + filter.getUnattributed() + " request tanpa test)");
+        filter.reset();
+    }
+
+    private static String testId(ITestResult result) {
+        return ImpactIndex.testId(result.getMethod().getRealClass().getName(), result.getMethod().getMethodName());
+    }
+}
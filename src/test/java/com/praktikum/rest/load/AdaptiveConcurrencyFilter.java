@@ -0,0 +1,51 @@
+package com.praktikum.rest.load;
+
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * REST Assured filter yang membatasi jumlah request in-flight lewat AdaptiveConcurrencyLimiter
+ * Status 429/503 dan connection error dihitung sebagai sinyal overload
+ */
+
+public class AdaptiveConcurrencyFilter implements OrderedFilter {
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    public AdaptiveConcurrencyFilter(AdaptiveConcurrencyLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    /**
+     * Jalankan setelah ResponseCacheFilter, supaya cache hit tidak memakai permit
+     */
+    @Override
+    public int getOrder() {
+        return DEFAULT_PRECEDENCE + 200;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        try {
+            limiter.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted saat menunggu concurrency permit", e);
+        }
+
+        long start = System.nanoTime();
+        boolean overloaded = true;  // Exception (timeout, connection reset) dianggap overload
+        try {
+            Response response = ctx.next(requestSpec, responseSpec);
+            int status = response.statusCode();
+            overloaded = status == 429 || status == 503;
+            return response;
+        } finally {
+            limiter.release(System.nanoTime() - start, overloaded);
+        }
+    }
+}
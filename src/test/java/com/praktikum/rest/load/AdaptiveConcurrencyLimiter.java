@@ -0,0 +1,182 @@
+package com.praktikum.rest.load;
+
+import com.praktikum.rest.metrics.SuiteMetrics;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * AIMD (additive increase, multiplicative decrease) concurrency limiter
+ * - Setiap response sukses dengan latency normal menaikkan limit sebesar 1/limit (~ +1 per round trip)
+ * - Response 429/503, connection error, atau latency jauh di atas baseline menurunkan limit (x backoffRatio)
+ * Dengan begitu sweep besar mendekati kapasitas server tanpa membuatnya overload
+ */
+
+public class AdaptiveConcurrencyLimiter {
+    // Smoothing factor untuk latency jangka pendek (reaktif) dan baseline jangka panjang (stabil)
+    private static final double SHORT_EWMA_ALPHA = 0.2;
+    private static final double BASELINE_EWMA_ALPHA = 0.01;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final double latencyTolerance;
+    private final LongSupplier nanoClock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition permitReleased = lock.newCondition();
+
+    // Semua field di bawah guarded by lock
+    private double limit;
+    private int inFlight;
+    private int waiting;
+    private double shortLatencyNanos;
+    private double baselineLatencyNanos;
+    private long lastDecreaseNanos = Long.MIN_VALUE;
+    private long completed;
+    private final long startNanos;
+
+    /**
+     * @param name Prefix untuk metrics, contoh: "concurrency" -> "concurrency.limit"
+     * @param initialLimit Limit awal
+     * @param minLimit Limit minimum (tidak pernah turun di bawah ini)
+     * @param maxLimit Limit maksimum (biasanya = ukuran thread pool DataProvider)
+     * @param backoffRatio Faktor pengali saat overload terdeteksi, contoh: 0.5
+     * @param latencyTolerance Latency dianggap naik jika > baseline * tolerance, contoh: 2.0
+     */
+    public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit,
+                                      double backoffRatio, double latencyTolerance) {
+        this(name, initialLimit, minLimit, maxLimit, backoffRatio, latencyTolerance, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit,
+                               double backoffRatio, double latencyTolerance, LongSupplier nanoClock) {
+        this.name = name;
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+        this.backoffRatio = backoffRatio;
+        this.latencyTolerance = latencyTolerance;
+        this.nanoClock = nanoClock;
+        this.startNanos = nanoClock.getAsLong();
+
+        SuiteMetrics.gauge(name + ".limit", this::getLimit);
+        SuiteMetrics.gauge(name + ".inflight", this::getInFlight);
+        SuiteMetrics.gauge(name + ".queue", this::getQueueDepth);
+        SuiteMetrics.gauge(name + ".throughput", this::getThroughputPerSecond);
+    }
+
+    /**
+     * Tunggu sampai ada permit (jumlah request in-flight < limit)
+     */
+    public void acquire() throws InterruptedException {
+        lock.lock();
+        try {
+            waiting++;
+            try {
+                while (inFlight >= (int) limit) {
+                    permitReleased.await(100, TimeUnit.MILLISECONDS);
+                }
+            } finally {
+                waiting--;
+            }
+            inFlight++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Kembalikan permit dan update limit berdasarkan hasil request
+     * @param latencyNanos Durasi request
+     * @param overloaded true jika server memberi sinyal overload (429/503/connection error)
+     */
+    public void release(long latencyNanos, boolean overloaded) {
+        lock.lock();
+        try {
+            inFlight--;
+            completed++;
+            updateLatency(latencyNanos);
+
+            boolean latencyRising = baselineLatencyNanos > 0
+                    && shortLatencyNanos > baselineLatencyNanos * latencyTolerance;
+            if (overloaded || latencyRising) {
+                decrease();
+            } else {
+                limit = Math.min(maxLimit, limit + 1.0 / limit);  // Additive increase
+            }
+            permitReleased.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public double getLimit() {
+        lock.lock();
+        try {
+            return limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public double getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public double getQueueDepth() {
+        lock.lock();
+        try {
+            return waiting;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Rata-rata request selesai per detik sejak limiter dibuat
+     */
+    public double getThroughputPerSecond() {
+        lock.lock();
+        try {
+            double elapsedSeconds = (nanoClock.getAsLong() - startNanos) / 1e9;
+            return elapsedSeconds <= 0 ? 0.0 : completed / elapsedSeconds;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    private void updateLatency(long latencyNanos) {
+        if (shortLatencyNanos == 0) {
+            shortLatencyNanos = latencyNanos;
+            baselineLatencyNanos = latencyNanos;
+            return;
+        }
+        shortLatencyNanos += SHORT_EWMA_ALPHA * (latencyNanos - shortLatencyNanos);
+        // Baseline hanya turun cepat (latency tanpa antrian), naik pelan supaya tidak ikut "terbiasa" overload
+        double alpha = latencyNanos < baselineLatencyNanos ? SHORT_EWMA_ALPHA : BASELINE_EWMA_ALPHA;
+        baselineLatencyNanos += alpha * (latencyNanos - baselineLatencyNanos);
+    }
+
+    private void decrease() {
+        long now = nanoClock.getAsLong();
+        // Maksimal satu decrease per round trip, supaya satu burst error tidak menjatuhkan limit ke minimum
+        if (lastDecreaseNanos != Long.MIN_VALUE && now - lastDecreaseNanos < (long) shortLatencyNanos) {
+            return;
+        }
+        lastDecreaseNanos = now;
+        limit = Math.max(minLimit, limit * backoffRatio);
+        SuiteMetrics.increment(name + ".decrease");
+    }
+}
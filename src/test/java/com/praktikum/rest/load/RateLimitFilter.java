@@ -0,0 +1,131 @@
+package com.praktikum.rest.load;
+
+import com.praktikum.rest.config.TestConfig;
+import com.praktikum.rest.metrics.SuiteMetrics;
+import com.praktikum.rest.proxy.FaultInjectionProxy;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * REST Assured filter yang menerapkan token bucket rate limit per base URL
+ * Limiter dibagi oleh semua thread dan test class, jadi total rate ke satu host tetap di bawah limit
+ * Format config: "baseUrl=permitsPerSecond[:burst];baseUrl2=..." (lihat TestConfig.RATE_LIMITS)
+ */
+
+public class RateLimitFilter implements OrderedFilter {
+    private static final RateLimitFilter shared = RateLimitFilter.fromConfig(TestConfig.RATE_LIMITS);
+
+    // Diurutkan dari base URL terpanjang supaya prefix paling spesifik yang menang
+    private final List<Map.Entry<String, TokenBucketRateLimiter>> limiters;
+
+    public RateLimitFilter(Map<String, TokenBucketRateLimiter> limitersByBaseUrl) {
+        this.limiters = new ArrayList<>(limitersByBaseUrl.entrySet());
+        this.limiters.sort(Comparator.comparingInt(
+                (Map.Entry<String, TokenBucketRateLimiter> entry) -> entry.getKey().length()).reversed());
+    }
+
+    /**
+     * Instance bersama berdasarkan -Drate.limits (dipasang oleh BaseTest jika tidak kosong)
+     */
+    public static RateLimitFilter shared() {
+        return shared;
+    }
+
+    /**
+     * Parse config string menjadi filter
+     * @param config Contoh: "https://reqres.in/api=5:10;https://jsonplaceholder.typicode.com=50"
+     */
+    public static RateLimitFilter fromConfig(String config) {
+        Map<String, TokenBucketRateLimiter> limitersByBaseUrl = new LinkedHashMap<>();
+        if (config != null) {
+            for (String entry : config.split(";")) {
+                String trimmed = entry.trim();
+                if (trimmed.isEmpty()) {
+                    continue;
+                }
+                int separator = trimmed.lastIndexOf('=');
+                if (separator <= 0) {
+                    throw new IllegalArgumentException("Format rate limit tidak valid: " + trimmed);
+                }
+                String baseUrl = trimmed.substring(0, separator).trim();
+                String[] rateAndBurst = trimmed.substring(separator + 1).trim().split(":");
+                double permitsPerSecond = Double.parseDouble(rateAndBurst[0]);
+                int burst = rateAndBurst.length > 1 ? Integer.parseInt(rateAndBurst[1]) : TestConfig.RATE_LIMIT_DEFAULT_BURST;
+                limitersByBaseUrl.put(baseUrl, new TokenBucketRateLimiter(permitsPerSecond, burst));
+            }
+        }
+        return new RateLimitFilter(limitersByBaseUrl);
+    }
+
+    public boolean isEmpty() {
+        return limiters.isEmpty();
+    }
+
+    /**
+     * Cari limiter untuk URI tertentu (null jika host tidak dibatasi)
+     */
+    public TokenBucketRateLimiter limiterFor(String uri) {
+        for (Map.Entry<String, TokenBucketRateLimiter> entry : limiters) {
+            if (uri.startsWith(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Tunggu rate permit sebelum concurrency permit (AdaptiveConcurrencyFilter), tapi setelah cache
+     */
+    @Override
+    public int getOrder() {
+        return DEFAULT_PRECEDENCE + 150;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        String uri = FaultInjectionProxy.upstreamUri(requestSpec.getURI());  // rate.limits berisi base URL upstream
+        TokenBucketRateLimiter limiter = limiterFor(uri);
+        if (limiter == null) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+
+        String host = URI.create(uri).getHost();
+        long waitedNanos = limiter.acquire();
+        SuiteMetrics.recordNanos("ratelimit.wait", waitedNanos);
+        SuiteMetrics.counter("ratelimit." + host + ".wait.nanos").add(waitedNanos);
+        if (waitedNanos > 0) {
+            SuiteMetrics.increment("ratelimit." + host + ".throttled");
+        }
+
+        Response response = ctx.next(requestSpec, responseSpec);
+        if (response.statusCode() == 429) {
+            // Limit terlalu tinggi untuk server, hormati Retry-After supaya thread lain ikut menunggu
+            SuiteMetrics.increment("ratelimit." + host + ".429");
+            limiter.pause(retryAfterNanos(response.getHeader("Retry-After")));
+        }
+        return response;
+    }
+
+    private static long retryAfterNanos(String retryAfter) {
+        if (retryAfter != null) {
+            try {
+                return TimeUnit.SECONDS.toNanos(Long.parseLong(retryAfter.trim()));
+            } catch (NumberFormatException e) {
+                // HTTP-date format tidak di-support, pakai default
+            }
+        }
+        return TimeUnit.SECONDS.toNanos(1);
+    }
+}
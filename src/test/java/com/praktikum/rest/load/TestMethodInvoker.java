@@ -0,0 +1,203 @@
+package com.praktikum.rest.load;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Menjalankan TestNG test methods berulang kali tanpa TestNG runner (untuk load/soak mode)
+ * Lifecycle yang di-support: @BeforeClass/@AfterClass sekali per class, @BeforeMethod per invocation
+ * Test dengan DataProvider dijalankan bergiliran untuk setiap row
+ */
+
+public class TestMethodInvoker {
+    // Batas rows yang di-materialize dari DataProvider lazy (Iterator) per test method
+    private static final int MAX_DATA_PROVIDER_ROWS = 1_000_000;
+
+    /**
+     * Hasil satu invocation
+     */
+    public enum Outcome { PASS, FAIL, ERROR }
+
+    private final Map<Class<?>, Object> instances = new LinkedHashMap<>();
+    private final List<Target> targets = new ArrayList<>();
+
+    /**
+     * @param selectors Format "fully.qualified.Class" (semua @Test) atau "fully.qualified.Class#method"
+     */
+    public TestMethodInvoker(List<String> selectors) {
+        for (String selector : selectors) {
+            String[] parts = selector.trim().split("#", 2);
+            Class<?> testClass = loadClass(parts[0]);
+            Object instance = instances.computeIfAbsent(testClass, TestMethodInvoker::newInstance);
+            for (Method method : testClass.getMethods()) {
+                boolean selected = parts.length == 1 || method.getName().equals(parts[1]);
+                if (selected && method.isAnnotationPresent(Test.class)) {
+                    targets.add(new Target(instance, method, dataProviderRows(instance, method)));
+                }
+            }
+        }
+        if (targets.isEmpty()) {
+            throw new IllegalArgumentException("Tidak ada @Test method yang cocok dengan " + selectors);
+        }
+    }
+
+    /**
+     * Jalankan semua @BeforeClass methods (superclass dulu), dipanggil sekali sebelum load dimulai
+     */
+    public void beforeClasses() {
+        instances.values().forEach(instance -> invokeLifecycle(instance, BeforeClass.class));
+    }
+
+    /**
+     * Jalankan semua @AfterClass methods setelah load selesai
+     */
+    public void afterClasses() {
+        instances.values().forEach(instance -> invokeLifecycle(instance, AfterClass.class));
+    }
+
+    public int size() {
+        return targets.size();
+    }
+
+    /**
+     * Nama test ke-n, format "SimpleClassName#method"
+     */
+    public String name(int index) {
+        return targets.get(index).name;
+    }
+
+    /**
+     * Jalankan test ke-n satu kali (dengan @BeforeMethod dan row DataProvider berikutnya)
+     * @return PASS, FAIL (assertion error), atau ERROR (exception lain)
+     */
+    public Outcome invoke(int index) {
+        Target target = targets.get(index);
+        try {
+            invokeLifecycle(target.instance, BeforeMethod.class);
+            target.method.invoke(target.instance, target.nextRow());
+            return Outcome.PASS;
+        } catch (InvocationTargetException e) {
+            return e.getCause() instanceof AssertionError ? Outcome.FAIL : Outcome.ERROR;
+        } catch (RuntimeException | IllegalAccessException e) {
+            return Outcome.ERROR;
+        }
+    }
+
+    private static void invokeLifecycle(Object instance, Class<? extends Annotation> annotation) {
+        for (Method method : lifecycleMethods(instance.getClass(), annotation)) {
+            try {
+                method.invoke(instance);
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new IllegalStateException("Gagal menjalankan @" + annotation.getSimpleName()
+                        + " " + method.getName(), e);
+            }
+        }
+    }
+
+    private static List<Method> lifecycleMethods(Class<?> type, Class<? extends Annotation> annotation) {
+        List<Method> methods = new ArrayList<>();
+        if (type.getSuperclass() != null) {
+            methods.addAll(lifecycleMethods(type.getSuperclass(), annotation));  // Superclass dulu, seperti TestNG
+        }
+        Arrays.stream(type.getDeclaredMethods())
+                .filter(method -> method.isAnnotationPresent(annotation) && method.getParameterCount() == 0)
+                .forEach(method -> {
+                    method.setAccessible(true);
+                    methods.add(method);
+                });
+        return methods;
+    }
+
+    private static List<Object[]> dataProviderRows(Object instance, Method testMethod) {
+        String providerName = testMethod.getAnnotation(Test.class).dataProvider();
+        if (providerName.isEmpty()) {
+            return Collections.singletonList(new Object[0]);  // Test tanpa parameter
+        }
+        for (Method candidate : instance.getClass().getMethods()) {
+            DataProvider provider = candidate.getAnnotation(DataProvider.class);
+            boolean matches = provider != null && (provider.name().equals(providerName)
+                    || (provider.name().isEmpty() && candidate.getName().equals(providerName)));
+            if (matches) {
+                return materialize(invokeProvider(instance, candidate));
+            }
+        }
+        throw new IllegalArgumentException("DataProvider '" + providerName + "' tidak ditemukan untuk "
+                + testMethod.getName());
+    }
+
+    private static Object invokeProvider(Object instance, Method provider) {
+        try {
+            return provider.invoke(instance);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Gagal menjalankan DataProvider " + provider.getName(), e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Object[]> materialize(Object rows) {
+        List<Object[]> result = new ArrayList<>();
+        if (rows instanceof Object[][] array) {
+            result.addAll(Arrays.asList(array));
+        } else if (rows instanceof Iterator<?> iterator) {
+            while (iterator.hasNext() && result.size() < MAX_DATA_PROVIDER_ROWS) {
+                result.add((Object[]) iterator.next());
+            }
+        }
+        if (result.isEmpty()) {
+            throw new IllegalArgumentException("DataProvider tidak menghasilkan row");
+        }
+        return result;
+    }
+
+    private static Class<?> loadClass(String className) {
+        try {
+            return Class.forName(className);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalArgumentException("Test class tidak ditemukan: " + className, e);
+        }
+    }
+
+    private static Object newInstance(Class<?> testClass) {
+        try {
+            return testClass.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("Tidak bisa membuat instance " + testClass.getName(), e);
+        }
+    }
+
+    /**
+     * Satu test method beserta rows DataProvider-nya
+     */
+    private static final class Target {
+        private final Object instance;
+        private final Method method;
+        private final List<Object[]> rows;
+        private final String name;
+        private final AtomicLong nextRow = new AtomicLong();
+
+        Target(Object instance, Method method, List<Object[]> rows) {
+            this.instance = instance;
+            this.method = method;
+            this.rows = rows;
+            this.name = instance.getClass().getSimpleName() + "#" + method.getName();
+        }
+
+        Object[] nextRow() {
+            return rows.get((int) (nextRow.getAndIncrement() % rows.size()));
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.praktikum.rest.load;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token bucket rate limiter (reservation style, seperti GCRA)
+ * State hanya satu AtomicLong: waktu paling awal permit berikutnya tersedia
+ * Burst sampai "burst" request langsung lolos, setelah itu request di-space rata sesuai rate
+ */
+
+public class TokenBucketRateLimiter {
+    private final double permitsPerSecond;
+    private final int burst;
+    private final long intervalNanos;
+    private final long burstToleranceNanos;
+    private final LongSupplier nanoClock;
+
+    // Waktu (nanoTime) paling awal permit berikutnya boleh dipakai
+    private final AtomicLong nextFreeNanos;
+
+    /**
+     * @param permitsPerSecond Rate maksimal rata-rata
+     * @param burst Jumlah request yang boleh lolos sekaligus setelah idle
+     */
+    public TokenBucketRateLimiter(double permitsPerSecond, int burst) {
+        this(permitsPerSecond, burst, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(double permitsPerSecond, int burst, LongSupplier nanoClock) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("permitsPerSecond harus > 0: " + permitsPerSecond);
+        }
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = Math.max(1, burst);
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / permitsPerSecond));
+        this.burstToleranceNanos = (this.burst - 1) * intervalNanos;
+        this.nanoClock = nanoClock;
+        this.nextFreeNanos = new AtomicLong(nanoClock.getAsLong() - burstToleranceNanos);  // Mulai dengan bucket penuh
+    }
+
+    /**
+     * Reserve satu permit tanpa menunggu
+     * @return Nanoseconds yang harus ditunggu sebelum request boleh dikirim (0 = langsung)
+     */
+    public long reserve() {
+        while (true) {
+            long now = nanoClock.getAsLong();
+            long current = nextFreeNanos.get();
+            // Bucket tidak bisa menyimpan lebih dari "burst" token, jadi jangan mundur lebih jauh dari toleransi
+            long permitAt = Math.max(current, now - burstToleranceNanos);
+            if (nextFreeNanos.compareAndSet(current, permitAt + intervalNanos)) {
+                return Math.max(0, permitAt - now);
+            }
+            // CAS gagal karena thread lain reserve duluan, ulangi dengan state terbaru
+        }
+    }
+
+    /**
+     * Reserve satu permit dan tunggu sampai permit tersebut berlaku
+     * @return Nanoseconds yang dihabiskan untuk menunggu
+     */
+    public long acquire() {
+        long waitNanos = reserve();
+        if (waitNanos > 0) {
+            long deadline = nanoClock.getAsLong() + waitNanos;
+            long remaining = waitNanos;
+            while (remaining > 0) {
+                LockSupport.parkNanos(remaining);
+                if (Thread.interrupted()) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                remaining = deadline - nanoClock.getAsLong();
+            }
+        }
+        return waitNanos;
+    }
+
+    /**
+     * Tahan semua permit sampai waktu tertentu, misalnya karena server membalas 429 dengan Retry-After
+     * @param delayNanos Jeda dari sekarang sebelum permit berikutnya
+     */
+    public void pause(long delayNanos) {
+        long resumeAt = nanoClock.getAsLong() + delayNanos;
+        nextFreeNanos.accumulateAndGet(resumeAt, Math::max);
+    }
+
+    public double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+}
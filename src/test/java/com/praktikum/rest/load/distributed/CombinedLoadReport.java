@@ -0,0 +1,111 @@
+package com.praktikum.rest.load.distributed;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.praktikum.rest.metrics.LatencyHistogram;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Gabungan metrics dari semua worker: histogram di-merge, counter dijumlahkan
+ * Thread-safe, karena report dari setiap worker dibaca oleh thread yang berbeda
+ */
+
+public class CombinedLoadReport {
+    private final Map<String, LatencyHistogram> histograms = new TreeMap<>();
+    private final Map<String, Long> counters = new TreeMap<>();
+    private final Map<Integer, Long> invocationsPerWorker = new TreeMap<>();
+    private long startNanos = System.nanoTime();
+    private long endNanos;
+
+    /**
+     * Tandai awal run (saat scenario dikirim ke worker), supaya startup JVM tidak masuk throughput
+     */
+    public synchronized void start() {
+        startNanos = System.nanoTime();
+    }
+
+    /**
+     * Merge satu WorkerReport (delta) ke total
+     */
+    public synchronized void merge(WorkerReport report) {
+        report.histograms().forEach((name, encoded) ->
+                histograms.computeIfAbsent(name, key -> new LatencyHistogram()).merge(LatencyHistogram.decode(encoded)));
+        report.counters().forEach((name, value) -> counters.merge(name, value, Long::sum));
+
+        LatencyHistogram invocations = LatencyHistogram.decode(report.histograms().get("scenario.invocation"));
+        invocationsPerWorker.merge(report.workerId(), invocations.getCount(), Long::sum);
+    }
+
+    /**
+     * Tandai akhir run, dipakai untuk menghitung throughput
+     */
+    public synchronized void finish() {
+        endNanos = System.nanoTime();
+    }
+
+    public synchronized LatencyHistogram histogram(String name) {
+        return histograms.getOrDefault(name, new LatencyHistogram());
+    }
+
+    public synchronized long counter(String name) {
+        return counters.getOrDefault(name, 0L);
+    }
+
+    public synchronized Map<Integer, Long> invocationsPerWorker() {
+        return new TreeMap<>(invocationsPerWorker);
+    }
+
+    public synchronized double elapsedSeconds() {
+        long end = endNanos == 0 ? System.nanoTime() : endNanos;
+        return (end - startNanos) / 1e9;
+    }
+
+    /**
+     * Print combined report ke console
+     */
+    public synchronized void print(PrintStream out) {
+        LatencyHistogram total = histogram("scenario.invocation");
+        out.println("===== COMBINED LOAD REPORT =====");
+        out.printf("Workers: %d, elapsed: %.1fs, invocations: %d, throughput: %.1f/s%n",
+                invocationsPerWorker.size(), elapsedSeconds(), total.getCount(), total.getCount() / elapsedSeconds());
+        out.printf("Pass: %d, fail: %d, error: %d, backpressure: %d%n",
+                counter("scenario.pass"), counter("scenario.fail"), counter("scenario.error"),
+                counter("scenario.backpressure"));
+        histograms.forEach((name, histogram) -> out.println(name + ": " + histogram.summary()));
+        invocationsPerWorker.forEach((workerId, count) ->
+                out.println("worker-" + workerId + ": " + count + " invocations"));
+    }
+
+    /**
+     * Tulis combined report sebagai JSON (untuk dibandingkan antar run)
+     */
+    public synchronized void writeJson(Path file) throws IOException {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("elapsedSeconds", elapsedSeconds());
+        json.put("counters", counters);
+        Map<String, Object> latency = new TreeMap<>();
+        histograms.forEach((name, histogram) -> {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("count", histogram.getCount());
+            stats.put("meanMs", histogram.getMeanMillis());
+            stats.put("p50Ms", histogram.getPercentileMillis(50));
+            stats.put("p90Ms", histogram.getPercentileMillis(90));
+            stats.put("p99Ms", histogram.getPercentileMillis(99));
+            stats.put("maxMs", histogram.getMaxMillis());
+            latency.put(name, stats);
+        });
+        json.put("latency", latency);
+        json.put("invocationsPerWorker", invocationsPerWorker);
+
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), json);
+    }
+}
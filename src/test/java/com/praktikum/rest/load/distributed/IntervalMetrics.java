@@ -0,0 +1,62 @@
+package com.praktikum.rest.load.distributed;
+
+import com.praktikum.rest.metrics.LatencyHistogram;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Metrics per interval di sisi worker: di-record oleh banyak thread, di-drain berkala oleh reporter
+ * Drain menukar map dengan yang baru, jadi setiap WorkerReport hanya berisi delta sejak drain sebelumnya
+ */
+
+class IntervalMetrics {
+    // Recorder memegang read lock (boleh parallel), drain memegang write lock supaya tidak ada sample yang hilang
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+
+    void recordNanos(String name, long nanos) {
+        swapLock.readLock().lock();
+        try {
+            histograms.computeIfAbsent(name, key -> new LatencyHistogram()).recordNanos(nanos);
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    void increment(String name) {
+        swapLock.readLock().lock();
+        try {
+            counters.computeIfAbsent(name, key -> new LongAdder()).increment();
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ambil semua metrics sejak drain sebelumnya sebagai WorkerReport
+     */
+    WorkerReport drain(int workerId, boolean done) {
+        Map<String, LatencyHistogram> drainedHistograms;
+        Map<String, LongAdder> drainedCounters;
+        swapLock.writeLock().lock();
+        try {
+            drainedHistograms = histograms;
+            drainedCounters = counters;
+            histograms = new ConcurrentHashMap<>();
+            counters = new ConcurrentHashMap<>();
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+
+        Map<String, long[]> encoded = new HashMap<>();
+        drainedHistograms.forEach((name, histogram) -> encoded.put(name, histogram.encode()));
+        Map<String, Long> counterValues = new HashMap<>();
+        drainedCounters.forEach((name, adder) -> counterValues.put(name, adder.sum()));
+        return new WorkerReport(workerId, encoded, counterValues, done);
+    }
+}
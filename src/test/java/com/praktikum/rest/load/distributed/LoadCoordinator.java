@@ -0,0 +1,196 @@
+package com.praktikum.rest.load.distributed;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Coordinator untuk distributed load mode
+ * Spawn N worker JVM di mesin lokal, kirim scenario (rate dibagi rata), kumpulkan WorkerReport
+ * dari semua worker, lalu hasilkan satu CombinedLoadReport
+ *
+ * Usage:
+ *   LoadCoordinator --workers=4 --tests=com.praktikum.rest.tests.UserAPITests#testGetUserById
+ *                   --rate=200 --duration=60 [--max-in-flight=64] [--report=target/load-report.json]
+ *                   [-Dsweep.base.url=http://localhost:8080 ...]
+ */
+
+public class LoadCoordinator {
+    private static final long CONNECT_TIMEOUT_MILLIS = 60_000L;
+    private static final long FINISH_GRACE_MILLIS = 60_000L;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        Map<String, String> systemProperties = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("-D") && arg.contains("=")) {
+                systemProperties.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            } else if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            } else {
+                throw new IllegalArgumentException("Argument tidak dikenal: " + arg);
+            }
+        }
+        if (!options.containsKey("tests")) {
+            System.err.println("Usage: LoadCoordinator --tests=Class[#method],... [--workers=2] [--rate=10]"
+                    + " [--duration=30] [--max-in-flight=64] [--report=target/load-report.json] [-Dkey=value]");
+            System.exit(2);
+        }
+
+        LoadScenario scenario = new LoadScenario(
+                Arrays.asList(options.get("tests").split(",")),
+                Double.parseDouble(options.getOrDefault("rate", "10")),
+                Long.parseLong(options.getOrDefault("duration", "30")),
+                Integer.parseInt(options.getOrDefault("max-in-flight", "64")),
+                Long.parseLong(options.getOrDefault("report-interval-millis", "1000")),
+                systemProperties);
+        int workers = Integer.parseInt(options.getOrDefault("workers", "2"));
+
+        CombinedLoadReport report = new LoadCoordinator().run(scenario, workers, Paths.get("target", "load-workers"));
+        report.print(System.out);
+        report.writeJson(Paths.get(options.getOrDefault("report", "target/load-report.json")));
+        System.exit(report.counter("scenario.fail") + report.counter("scenario.error") == 0 ? 0 : 1);
+    }
+
+    /**
+     * Jalankan scenario di N worker process lokal
+     * @param scenario Scenario dengan total rate (dibagi rata ke setiap worker)
+     * @param workers Jumlah worker JVM yang di-spawn
+     * @param logDir Folder untuk stdout/stderr setiap worker
+     * @return Report gabungan dari semua worker
+     */
+    public CombinedLoadReport run(LoadScenario scenario, int workers, Path logDir) throws IOException, InterruptedException {
+        Files.createDirectories(logDir);
+        LoadScenario perWorker = new LoadScenario(scenario.tests(), scenario.ratePerSecond() / workers,
+                scenario.durationSeconds(), scenario.maxInFlight(), scenario.reportIntervalMillis(),
+                scenario.systemProperties());
+
+        CombinedLoadReport report = new CombinedLoadReport();
+        CountDownLatch finished = new CountDownLatch(workers);
+        List<Process> processes = new ArrayList<>();
+        List<Socket> sockets = new ArrayList<>();
+
+        try (ServerSocket server = new ServerSocket(0, workers, InetAddress.getLoopbackAddress())) {
+            server.setSoTimeout((int) CONNECT_TIMEOUT_MILLIS);
+            for (int id = 1; id <= workers; id++) {
+                processes.add(spawnWorker(server.getLocalPort(), id, logDir));
+            }
+
+            // Tunggu semua worker connect dulu, supaya scenario dimulai hampir bersamaan
+            for (int i = 0; i < workers; i++) {
+                try {
+                    sockets.add(server.accept());
+                } catch (SocketTimeoutException e) {
+                    throw new IllegalStateException("Hanya " + i + " dari " + workers
+                            + " worker yang connect, cek log di " + logDir, e);
+                }
+            }
+
+            String scenarioJson = mapper.writeValueAsString(perWorker);
+            report.start();
+            for (Socket socket : sockets) {
+                BufferedWriter out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+                out.write(scenarioJson);
+                out.newLine();
+                out.flush();
+                startReader(socket, report, finished);
+            }
+
+            long timeoutMillis = TimeUnit.SECONDS.toMillis(scenario.durationSeconds()) + FINISH_GRACE_MILLIS;
+            if (!finished.await(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                System.err.println("[coordinator] " + finished.getCount() + " worker tidak selesai tepat waktu");
+            }
+        } finally {
+            report.finish();
+            for (Socket socket : sockets) {
+                socket.close();
+            }
+            for (Process process : processes) {
+                if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            }
+        }
+        return report;
+    }
+
+    private void startReader(Socket socket, CombinedLoadReport report, CountDownLatch finished) {
+        Thread reader = new Thread(() -> {
+            boolean done = false;
+            try (BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while (!done && (line = in.readLine()) != null) {
+                    WorkerReport workerReport = mapper.readValue(line, WorkerReport.class);
+                    report.merge(workerReport);
+                    done = workerReport.done();
+                    if (done) {
+                        System.out.println("[coordinator] worker-" + workerReport.workerId() + " selesai");
+                    }
+                }
+            } catch (IOException e) {
+                System.err.println("[coordinator] koneksi worker terputus: " + e.getMessage());
+            } finally {
+                finished.countDown();
+            }
+        }, "load-coordinator-reader");
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    private static Process spawnWorker(int port, int workerId, Path logDir) throws IOException {
+        String javaBinary = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        List<String> command = List.of(javaBinary, "-cp", resolveClasspath(),
+                LoadWorker.class.getName(), "127.0.0.1", String.valueOf(port), String.valueOf(workerId));
+        File log = logDir.resolve("worker-" + workerId + ".log").toFile();
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log)  // Request/response logging dari worker masuk ke file, bukan console
+                .start();
+    }
+
+    /**
+     * Classpath untuk worker: sama dengan classpath yang memuat coordinator
+     * (java.class.path tidak cukup ketika dijalankan dari surefire/exec:java dengan isolated classloader)
+     */
+    static String resolveClasspath() {
+        ClassLoader loader = LoadCoordinator.class.getClassLoader();
+        if (loader instanceof URLClassLoader urlLoader && urlLoader.getURLs().length > 0) {
+            return Arrays.stream(urlLoader.getURLs())
+                    .map(LoadCoordinator::toPath)
+                    .collect(Collectors.joining(File.pathSeparator));
+        }
+        return System.getProperty("java.class.path");
+    }
+
+    private static String toPath(URL url) {
+        try {
+            return Paths.get(url.toURI()).toString();
+        } catch (Exception e) {
+            return url.getPath();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.praktikum.rest.load.distributed;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Scenario yang dikirim coordinator ke setiap worker
+ * @param tests Test yang dijalankan, format "fully.qualified.Class" atau "fully.qualified.Class#method"
+ * @param ratePerSecond Target test invocations per detik untuk worker ini
+ * @param durationSeconds Lama scenario berjalan
+ * @param maxInFlight Batas invocation bersamaan di satu worker
+ * @param reportIntervalMillis Interval worker mengirim histogram/counter ke coordinator
+ * @param systemProperties System properties yang di-set worker sebelum load test classes
+ */
+public record LoadScenario(List<String> tests,
+                           double ratePerSecond,
+                           long durationSeconds,
+                           int maxInFlight,
+                           long reportIntervalMillis,
+                           Map<String, String> systemProperties) {
+}
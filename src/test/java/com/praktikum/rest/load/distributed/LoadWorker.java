@@ -0,0 +1,61 @@
+package com.praktikum.rest.load.distributed;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Worker process untuk distributed load mode
+ * Connect ke coordinator, terima satu LoadScenario (JSON line), jalankan, lalu stream
+ * WorkerReport (JSON lines) kembali sampai scenario selesai
+ *
+ * Usage: java -cp <test classpath> com.praktikum.rest.load.distributed.LoadWorker <host> <port> <workerId>
+ */
+
+public class LoadWorker {
+    public static void main(String[] args) throws Exception {
+        if (args.length != 3) {
+            System.err.println("Usage: LoadWorker <host> <port> <workerId>");
+            System.exit(2);
+        }
+        String host = args[0];
+        int port = Integer.parseInt(args[1]);
+        int workerId = Integer.parseInt(args[2]);
+        ObjectMapper mapper = new ObjectMapper();
+
+        try (Socket socket = new Socket(host, port);
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             BufferedWriter out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+
+            String line = in.readLine();
+            if (line == null) {
+                throw new IllegalStateException("Coordinator menutup koneksi sebelum mengirim scenario");
+            }
+            LoadScenario scenario = mapper.readValue(line, LoadScenario.class);
+            System.out.println("[worker-" + workerId + "] menjalankan " + scenario.tests()
+                    + " @ " + scenario.ratePerSecond() + "/s selama " + scenario.durationSeconds() + "s");
+
+            new ScenarioExecutor(workerId).run(scenario, report -> send(mapper, out, report));
+        }
+        System.exit(0);  // Pastikan thread non-daemon dari test classes tidak menahan worker
+    }
+
+    private static void send(ObjectMapper mapper, BufferedWriter out, WorkerReport report) {
+        // Dipanggil dari scheduler thread dan main thread, jadi write harus atomic per line
+        synchronized (out) {
+            try {
+                out.write(mapper.writeValueAsString(report));
+                out.newLine();
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.praktikum.rest.load.distributed;
+
+import com.praktikum.rest.load.TestMethodInvoker;
+import com.praktikum.rest.load.TokenBucketRateLimiter;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Menjalankan LoadScenario di JVM ini: test invocations di-pace dengan token bucket,
+ * dijalankan di virtual threads, dan metrics dikirim berkala sebagai WorkerReport
+ */
+
+public class ScenarioExecutor {
+    private final int workerId;
+    private final IntervalMetrics metrics = new IntervalMetrics();
+
+    public ScenarioExecutor(int workerId) {
+        this.workerId = workerId;
+    }
+
+    /**
+     * Jalankan scenario sampai durasi habis, lalu kirim report terakhir dengan done=true
+     * @param scenario Scenario dari coordinator
+     * @param reporter Tujuan WorkerReport (socket ke coordinator, atau langsung ke CombinedLoadReport)
+     */
+    public void run(LoadScenario scenario, Consumer<WorkerReport> reporter) throws InterruptedException {
+        // System properties harus di-set sebelum TestConfig ter-load oleh test classes
+        scenario.systemProperties().forEach(System::setProperty);
+
+        TestMethodInvoker invoker = new TestMethodInvoker(scenario.tests());
+        invoker.beforeClasses();
+
+        // Warm-up tidak dihitung: invocation pertama membayar class loading REST Assured/Groovy (detik, bukan ms)
+        for (int i = 0; i < invoker.size(); i++) {
+            invoker.invoke(i);
+        }
+
+        TokenBucketRateLimiter pacer = new TokenBucketRateLimiter(scenario.ratePerSecond(), 1);
+        Semaphore inFlight = new Semaphore(Math.max(1, scenario.maxInFlight()));
+        ScheduledExecutorService reportScheduler = Executors.newSingleThreadScheduledExecutor();
+        reportScheduler.scheduleAtFixedRate(() -> reporter.accept(metrics.drain(workerId, false)),
+                scenario.reportIntervalMillis(), scenario.reportIntervalMillis(), TimeUnit.MILLISECONDS);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(scenario.durationSeconds());
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            int next = 0;
+            while (System.nanoTime() < deadline) {
+                pacer.acquire();
+                if (!inFlight.tryAcquire()) {
+                    metrics.increment("scenario.backpressure");  // Worker tidak bisa mengejar target rate
+                    inFlight.acquire();
+                }
+                int index = next++ % invoker.size();
+                pool.submit(() -> {
+                    try {
+                        invokeOnce(invoker, index);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        } finally {
+            reportScheduler.shutdownNow();
+            reportScheduler.awaitTermination(5, TimeUnit.SECONDS);
+            invoker.afterClasses();
+        }
+        reporter.accept(metrics.drain(workerId, true));
+    }
+
+    private void invokeOnce(TestMethodInvoker invoker, int index) {
+        String name = invoker.name(index);
+        long start = System.nanoTime();
+        TestMethodInvoker.Outcome outcome = invoker.invoke(index);
+        long elapsed = System.nanoTime() - start;
+
+        metrics.recordNanos("test." + name, elapsed);
+        metrics.recordNanos("scenario.invocation", elapsed);
+        metrics.increment("test." + name + "." + outcome.name().toLowerCase());
+        metrics.increment("scenario." + outcome.name().toLowerCase());
+    }
+}
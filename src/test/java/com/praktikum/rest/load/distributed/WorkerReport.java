@@ -0,0 +1,16 @@
+package com.praktikum.rest.load.distributed;
+
+import java.util.Map;
+
+/**
+ * Pesan dari worker ke coordinator: delta metrics sejak report sebelumnya
+ * @param workerId ID worker pengirim
+ * @param histograms Encoded LatencyHistogram per nama metric (lihat LatencyHistogram.encode())
+ * @param counters Delta counter per nama metric
+ * @param done true untuk report terakhir setelah scenario selesai
+ */
+public record WorkerReport(int workerId,
+                           Map<String, long[]> histograms,
+                           Map<String, Long> counters,
+                           boolean done) {
+}
@@ -0,0 +1,128 @@
+package com.praktikum.rest.load.soak;
+
+import com.praktikum.rest.filters.ResponseCacheFilter;
+import com.praktikum.rest.metrics.SuiteMetrics;
+import com.praktikum.rest.utils.TestDataGenerator;
+import io.restassured.RestAssured;
+import io.restassured.specification.FilterableRequestSpecification;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+
+/**
+ * Mengambil snapshot resource client untuk soak mode
+ * Setiap resource adalah gauge bernama (long), jadi trend analysis tidak perlu tahu arti nilainya
+ *
+ * withDefaults() berisi resource JVM (heap setelah GC, thread, file descriptor, socket) dan state client yang
+ * bisa bocor antar invocation: filter list global REST Assured, filter di requestSpecification, response cache,
+ * jumlah series SuiteMetrics, dan biaya generate data Faker
+ */
+
+public class ResourceSampler {
+    public static final String HEAP_AFTER_GC = "heap.after.gc.bytes";
+    public static final String THREADS = "threads";
+    public static final String OPEN_FDS = "open.fds";
+    public static final String OPEN_SOCKETS = "open.sockets";
+    public static final String RESTASSURED_FILTERS = "restassured.filters";
+    public static final String RESTASSURED_SPEC_FILTERS = "restassured.spec.filters";
+    public static final String RESPONSE_CACHE_ENTRIES = "response.cache.entries";
+    public static final String SUITE_METRICS_SERIES = "suite.metrics.series";
+    public static final String GENERATOR_USER_MICROS = "generator.user.micros";
+
+    // Jumlah user yang di-generate per sample untuk mengukur biaya TestDataGenerator
+    private static final int GENERATOR_ROUNDS = 20;
+    private static final Path PROC_FD = Paths.get("/proc/self/fd");
+
+    private final Map<String, LongSupplier> gauges = new LinkedHashMap<>();
+
+    /**
+     * Sampler dengan semua resource bawaan
+     */
+    public static ResourceSampler withDefaults() {
+        return new ResourceSampler()
+                .gauge(HEAP_AFTER_GC, ResourceSampler::heapAfterGc)
+                .gauge(THREADS, () -> ManagementFactory.getThreadMXBean().getThreadCount())
+                .gauge(OPEN_FDS, ResourceSampler::openFileDescriptors)
+                .gauge(OPEN_SOCKETS, ResourceSampler::openSockets)
+                .gauge(RESTASSURED_FILTERS, () -> RestAssured.filters().size())
+                .gauge(RESTASSURED_SPEC_FILTERS, ResourceSampler::specificationFilters)
+                .gauge(RESPONSE_CACHE_ENTRIES, () -> ResponseCacheFilter.shared().size())
+                .gauge(SUITE_METRICS_SERIES, () -> SuiteMetrics.counterSnapshot().size() + SuiteMetrics.histogramSnapshot().size())
+                .gauge(GENERATOR_USER_MICROS, ResourceSampler::generatorMicros);
+    }
+
+    /**
+     * Tambah gauge, contoh: ukuran cache atau pool milik test yang di-soak
+     */
+    public ResourceSampler gauge(String name, LongSupplier supplier) {
+        gauges.put(name, supplier);
+        return this;
+    }
+
+    /**
+     * Ambil nilai semua gauge sesuai urutan pendaftaran
+     */
+    public Map<String, Long> sample() {
+        Map<String, Long> values = new LinkedHashMap<>();
+        gauges.forEach((name, supplier) -> values.put(name, supplier.getAsLong()));
+        return values;
+    }
+
+    /**
+     * Heap used tepat setelah full GC, jadi yang terukur hanya object yang masih reachable
+     */
+    static long heapAfterGc() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    static long openFileDescriptors() {
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        return os instanceof com.sun.management.UnixOperatingSystemMXBean unix ? unix.getOpenFileDescriptorCount() : -1;
+    }
+
+    /**
+     * Jumlah socket milik process ini (Linux /proc/self/fd), termasuk koneksi di connection pool yang belum ditutup
+     */
+    static long openSockets() {
+        if (!Files.isDirectory(PROC_FD)) {
+            return -1;
+        }
+        try (Stream<Path> fds = Files.list(PROC_FD)) {
+            return fds.filter(ResourceSampler::isSocket).count();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private static boolean isSocket(Path fd) {
+        try {
+            return Files.readSymbolicLink(fd).toString().startsWith("socket:");
+        } catch (IOException e) {
+            return false;  // fd sudah ditutup sejak directory di-list
+        }
+    }
+
+    private static long specificationFilters() {
+        return RestAssured.requestSpecification instanceof FilterableRequestSpecification spec
+                ? spec.getDefinedFilters().size() : 0;
+    }
+
+    /**
+     * Rata-rata microseconds per generateUserData(), naik jika state Faker/generator ikut tumbuh
+     */
+    private static long generatorMicros() {
+        long start = System.nanoTime();
+        for (int i = 0; i < GENERATOR_ROUNDS; i++) {
+            TestDataGenerator.generateUserData();
+        }
+        return (System.nanoTime() - start) / 1_000 / GENERATOR_ROUNDS;
+    }
+}
@@ -0,0 +1,235 @@
+package com.praktikum.rest.load.soak;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.praktikum.rest.config.TestConfig;
+import com.praktikum.rest.load.TestMethodInvoker;
+import com.praktikum.rest.load.TokenBucketRateLimiter;
+import com.praktikum.rest.metrics.LatencyHistogram;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Soak mode: loop test methods yang dipilih selama durasi panjang (jam) di JVM ini, ambil sample resource client
+ * dan latency/throughput per interval, lalu flag leak (growth monoton) atau degradation (throughput turun)
+ *
+ * Invocation dijalankan oleh platform threads yang tetap (bukan virtual threads), jadi jumlah thread JVM
+ * hanya naik jika ada thread yang bocor dari client/test
+ *
+ * Usage: -Dsoak.tests=Class[#method],... -Dsoak.duration.seconds=3600 ... (lihat TestConfig soak.*)
+ */
+
+public class SoakRunner {
+    private final List<String> tests;
+    private final Duration duration;
+    private final int concurrency;
+    private final double ratePerSecond;
+    private final Duration sampleInterval;
+    private final Duration warmup;
+    private final ResourceSampler sampler;
+    private final TrendAnalyzer analyzer;
+
+    // Worker memegang read lock saat record (boleh parallel), sampler memegang write lock saat menukar interval
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private LatencyHistogram interval = new LatencyHistogram();
+    private LongAdder intervalFailures = new LongAdder();
+
+    /**
+     * Hasil soak run
+     * @param samples Semua sample sesuai urutan waktu, termasuk warm-up
+     * @param findings Series yang tumbuh/turun secara konsisten, kosong jika run bersih
+     */
+    public record Report(List<String> tests, long durationSeconds, int concurrency, List<SoakSample> samples,
+                         List<TrendAnalyzer.Finding> findings) {
+
+        public boolean isClean() {
+            return findings.isEmpty();
+        }
+
+        public void print(PrintStream out) {
+            out.println();
+            out.println("===== SOAK REPORT (" + durationSeconds + " s, " + concurrency + " threads, "
+                    + samples.size() + " samples) =====");
+            out.println(String.format("%9s %8s %9s %9s %6s %9s %8s %6s %8s %8s",
+                    "Elapsed s", "Inv/s", "p50 ms", "p99 ms", "Fail", "Heap MB", "Threads", "FDs", "Sockets", "Filters"));
+            for (SoakSample sample : samples) {
+                long heap = sample.resource(ResourceSampler.HEAP_AFTER_GC);
+                out.println(String.format("%9.1f %8.1f %9.1f %9.1f %6d %9s %8d %6d %8d %8d%s",
+                        sample.elapsedMillis() / 1000.0, sample.throughputPerSecond(), sample.p50Millis(), sample.p99Millis(),
+                        sample.failures(), heap < 0 ? "-" : String.format("%.1f", heap / (1024.0 * 1024)),
+                        sample.resource(ResourceSampler.THREADS), sample.resource(ResourceSampler.OPEN_FDS),
+                        sample.resource(ResourceSampler.OPEN_SOCKETS), sample.resource(ResourceSampler.RESTASSURED_FILTERS),
+                        sample.warmup() ? "  (warm-up)" : ""));
+            }
+            if (findings.isEmpty()) {
+                out.println("Trend: tidak ada growth atau throughput decay setelah warm-up");
+            } else {
+                findings.forEach(finding -> out.println("Trend: " + finding.describe()));
+            }
+        }
+
+        public void writeJson(Path file) throws IOException {
+            Map<String, Object> json = new LinkedHashMap<>();
+            json.put("tests", tests);
+            json.put("durationSeconds", durationSeconds);
+            json.put("concurrency", concurrency);
+            json.put("findings", findings);
+            json.put("samples", samples);
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), json);
+        }
+    }
+
+    /**
+     * @param tests Format "fully.qualified.Class" atau "fully.qualified.Class#method", seperti LoadCoordinator
+     * @param concurrency Jumlah thread yang menjalankan invocation secara closed loop
+     * @param ratePerSecond Batas total invocations per detik, 0 = secepat mungkin
+     * @param warmup Sample sebelum waktu ini tidak ikut trend analysis (JIT, class loading, pool yang baru terisi)
+     */
+    public SoakRunner(List<String> tests, Duration duration, int concurrency, double ratePerSecond,
+                      Duration sampleInterval, Duration warmup, ResourceSampler sampler, TrendAnalyzer analyzer) {
+        if (sampleInterval.isZero() || sampleInterval.isNegative()) {
+            throw new IllegalArgumentException("sampleInterval harus > 0: " + sampleInterval);
+        }
+        this.tests = List.copyOf(tests);
+        this.duration = duration;
+        this.concurrency = Math.max(1, concurrency);
+        this.ratePerSecond = ratePerSecond;
+        this.sampleInterval = sampleInterval;
+        this.warmup = warmup;
+        this.sampler = sampler;
+        this.analyzer = analyzer;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (TestConfig.SOAK_TESTS.isBlank()) {
+            System.err.println("Usage: -Dsoak.tests=Class[#method],... [-Dsoak.duration.seconds=3600]"
+                    + " [-Dsoak.concurrency=4] [-Dsoak.sample.interval.seconds=60] [-Dsoak.warmup.seconds=300]");
+            System.exit(2);
+        }
+        SoakRunner runner = new SoakRunner(
+                Arrays.stream(TestConfig.SOAK_TESTS.split(",")).map(String::trim).filter(test -> !test.isEmpty()).toList(),
+                Duration.ofSeconds(TestConfig.SOAK_DURATION_SECONDS),
+                TestConfig.SOAK_CONCURRENCY,
+                TestConfig.SOAK_RATE,
+                Duration.ofSeconds(TestConfig.SOAK_SAMPLE_INTERVAL_SECONDS),
+                Duration.ofSeconds(TestConfig.SOAK_WARMUP_SECONDS),
+                ResourceSampler.withDefaults(),
+                new TrendAnalyzer(TestConfig.SOAK_GROWTH_TOLERANCE, TestConfig.SOAK_DECAY_TOLERANCE, TestConfig.SOAK_MIN_TAU));
+
+        Report report = runner.run();
+        report.print(System.out);
+        report.writeJson(Paths.get(TestConfig.SOAK_REPORT_FILE));
+        System.exit(report.isClean() ? 0 : 1);  // Thread non-daemon dari test classes tidak boleh menahan JVM
+    }
+
+    /**
+     * Jalankan soak sampai durasi habis, satu sample per sampleInterval
+     */
+    public Report run() throws InterruptedException {
+        TestMethodInvoker invoker = new TestMethodInvoker(tests);
+        invoker.beforeClasses();
+
+        // Warm-up class loading REST Assured/Groovy sebelum sample pertama, seperti ScenarioExecutor
+        for (int i = 0; i < invoker.size(); i++) {
+            invoker.invoke(i);
+        }
+
+        TokenBucketRateLimiter pacer = ratePerSecond > 0 ? new TokenBucketRateLimiter(ratePerSecond, 1) : null;
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger threadIds = new AtomicInteger();
+        List<SoakSample> samples = new ArrayList<>();
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency, task -> {
+            Thread thread = new Thread(task, "soak-worker-" + threadIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            for (int i = 0; i < concurrency; i++) {
+                workers.submit(() -> {
+                    while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                        if (pacer != null) {
+                            pacer.acquire();
+                        }
+                        invokeOnce(invoker, Math.floorMod(next.getAndIncrement(), invoker.size()));
+                    }
+                });
+            }
+
+            long intervalNanos = sampleInterval.toNanos();
+            long intervalStart = start;
+            for (long sampleAt = start + intervalNanos; sampleAt <= deadline; sampleAt += intervalNanos) {
+                TimeUnit.NANOSECONDS.sleep(Math.max(0, sampleAt - System.nanoTime()));
+                long drainedAt = System.nanoTime();
+                samples.add(sample(start, intervalStart, drainedAt));
+                intervalStart = drainedAt;
+            }
+        } finally {
+            workers.shutdownNow();
+            workers.awaitTermination(30, TimeUnit.SECONDS);
+            invoker.afterClasses();
+        }
+        return new Report(tests, duration.toSeconds(), concurrency, samples, analyzer.analyze(samples));
+    }
+
+    private SoakSample sample(long start, long intervalStart, long now) {
+        Drained drained = drain();
+        double seconds = Math.max(1e-9, (now - intervalStart) / 1e9);
+        long elapsedMillis = (now - start) / 1_000_000;
+        // Resource diambil setelah drain, waktu System.gc() dan generator probe masuk ke interval berikutnya (sama rata untuk semua sample)
+        Map<String, Long> resources = sampler.sample();
+        return new SoakSample(elapsedMillis, elapsedMillis < warmup.toMillis(), drained.latency.getCount(), drained.failures,
+                drained.latency.getCount() / seconds, drained.latency.getPercentileMillis(50),
+                drained.latency.getPercentileMillis(99), resources);
+    }
+
+    private void invokeOnce(TestMethodInvoker invoker, int index) {
+        long start = System.nanoTime();
+        TestMethodInvoker.Outcome outcome = invoker.invoke(index);
+        long elapsed = System.nanoTime() - start;
+        swapLock.readLock().lock();
+        try {
+            interval.recordNanos(elapsed);
+            if (outcome != TestMethodInvoker.Outcome.PASS) {
+                intervalFailures.increment();
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    private Drained drain() {
+        swapLock.writeLock().lock();
+        try {
+            Drained drained = new Drained(interval, intervalFailures.sum());
+            interval = new LatencyHistogram();
+            intervalFailures = new LongAdder();
+            return drained;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+    }
+
+    private record Drained(LatencyHistogram latency, long failures) {
+    }
+}
@@ -0,0 +1,19 @@
+package com.praktikum.rest.load.soak;
+
+import java.util.Map;
+
+/**
+ * Satu sample soak run: throughput dan latency selama interval terakhir, plus resource client saat sample diambil
+ * @param elapsedMillis Waktu sejak soak mulai
+ * @param warmup true jika sample diambil selama warm-up (tidak ikut trend analysis)
+ * @param invocations Test invocations selama interval
+ * @param failures Invocations FAIL/ERROR selama interval
+ * @param resources Nilai dari ResourceSampler, contoh "threads" -> 42 (-1 jika tidak tersedia di platform ini)
+ */
+public record SoakSample(long elapsedMillis, boolean warmup, long invocations, long failures,
+                         double throughputPerSecond, double p50Millis, double p99Millis, Map<String, Long> resources) {
+
+    public long resource(String name) {
+        return resources.getOrDefault(name, -1L);
+    }
+}
@@ -0,0 +1,113 @@
+package com.praktikum.rest.load.soak;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Mendeteksi leak dan degradation dari sample soak run (sample warm-up diabaikan)
+ *
+ * Satu series di-flag jika trend-nya konsisten (Kendall tau terhadap waktu >= minTau) DAN perubahannya besar
+ * (median sepertiga terakhir vs sepertiga pertama melebihi toleransi). Noise GC atau network tidak cukup untuk
+ * memenuhi keduanya, sedangkan leak yang tumbuh per invocation memenuhi keduanya
+ *
+ * Resource dan latency dicek untuk GROWTH, throughput untuk DECAY
+ */
+
+public class TrendAnalyzer {
+    public static final String THROUGHPUT = "throughput";
+    public static final String LATENCY_P50 = "latency.p50.ms";
+    public static final String LATENCY_P99 = "latency.p99.ms";
+
+    // Di bawah ini tau terlalu noisy untuk dipercaya
+    static final int MIN_SAMPLES = 4;
+
+    public enum Kind { GROWTH, DECAY }
+
+    /**
+     * Satu series yang di-flag
+     * @param change Perubahan relatif, contoh 0.35 = naik 35% (GROWTH) atau turun 35% (DECAY)
+     * @param tau Kendall tau, 1.0 = naik di setiap sample, -1.0 = turun di setiap sample
+     */
+    public record Finding(String metric, Kind kind, double first, double last, double change, double tau) {
+        public String describe() {
+            return String.format("%-6s %s: %.1f -> %.1f (%s%.0f%%, tau %.2f)", kind, metric, first, last,
+                    kind == Kind.GROWTH ? "+" : "-", change * 100, tau);
+        }
+    }
+
+    private final double growthTolerance;
+    private final double decayTolerance;
+    private final double minTau;
+
+    /**
+     * @param growthTolerance Growth relatif resource/latency yang masih diterima, contoh 0.2
+     * @param decayTolerance Penurunan relatif throughput yang masih diterima, contoh 0.2
+     * @param minTau Konsistensi trend minimal, contoh 0.6
+     */
+    public TrendAnalyzer(double growthTolerance, double decayTolerance, double minTau) {
+        this.growthTolerance = growthTolerance;
+        this.decayTolerance = decayTolerance;
+        this.minTau = minTau;
+    }
+
+    /**
+     * @return Findings, kosong jika tidak ada trend atau sample setelah warm-up kurang dari MIN_SAMPLES
+     */
+    public List<Finding> analyze(List<SoakSample> samples) {
+        List<SoakSample> steady = samples.stream().filter(sample -> !sample.warmup()).toList();
+        List<Finding> findings = new ArrayList<>();
+        if (steady.size() < MIN_SAMPLES) {
+            return findings;
+        }
+        for (String resource : steady.get(0).resources().keySet()) {
+            check(resource, series(steady, sample -> sample.resource(resource)), Kind.GROWTH, findings);
+        }
+        check(LATENCY_P50, series(steady, SoakSample::p50Millis), Kind.GROWTH, findings);
+        check(LATENCY_P99, series(steady, SoakSample::p99Millis), Kind.GROWTH, findings);
+        check(THROUGHPUT, series(steady, SoakSample::throughputPerSecond), Kind.DECAY, findings);
+        return findings;
+    }
+
+    private void check(String metric, double[] values, Kind kind, List<Finding> findings) {
+        if (Arrays.stream(values).anyMatch(value -> value < 0)) {
+            return;  // Resource tidak tersedia di platform ini
+        }
+        double tau = kendallTau(values);
+        int third = Math.max(1, values.length / 3);
+        double first = median(Arrays.copyOfRange(values, 0, third));
+        double last = median(Arrays.copyOfRange(values, values.length - third, values.length));
+        double base = Math.max(Math.abs(first), 1.0);  // Hindari division by zero untuk gauge yang mulai dari 0
+        if (kind == Kind.GROWTH && tau >= minTau && (last - first) / base > growthTolerance) {
+            findings.add(new Finding(metric, kind, first, last, (last - first) / base, tau));
+        } else if (kind == Kind.DECAY && tau <= -minTau && (first - last) / base > decayTolerance) {
+            findings.add(new Finding(metric, kind, first, last, (first - last) / base, tau));
+        }
+    }
+
+    /**
+     * Kendall tau-a antara urutan sample dan nilainya: (concordant - discordant) / jumlah pasangan
+     */
+    static double kendallTau(double[] values) {
+        long score = 0;
+        for (int i = 0; i < values.length; i++) {
+            for (int j = i + 1; j < values.length; j++) {
+                score += Double.compare(values[j], values[i]);
+            }
+        }
+        long pairs = (long) values.length * (values.length - 1) / 2;
+        return pairs == 0 ? 0 : (double) score / pairs;
+    }
+
+    private static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+
+    private static double[] series(List<SoakSample> samples, ToDoubleFunction<SoakSample> metric) {
+        return samples.stream().mapToDouble(metric).toArray();
+    }
+}
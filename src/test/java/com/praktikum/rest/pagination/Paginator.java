@@ -0,0 +1,414 @@
+package com.praktikum.rest.pagination;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.praktikum.rest.config.TestConfig;
+import com.praktikum.rest.metrics.SuiteMetrics;
+import io.restassured.RestAssured;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Mengambil semua halaman dari list endpoint sebagai lazy Stream, dengan prefetch concurrent yang dibatasi window
+ * Hasil tetap berurutan sesuai halaman; assertions bisa berjalan atas page awal selagi page berikutnya masih di-download
+ *
+ * Style pagination:
+ * - page number (default): ?_page=N&_limit=L. Halaman 1..window diminta bersamaan sejak awal, jumlah halaman
+ *   diketahui dari header X-Total-Count atau totalPages(jsonPath); tanpa itu berhenti di halaman yang tidak penuh
+ * - Link header: ikuti rel="next" (RFC 8288)
+ * - cursor: ikuti cursor di body (contoh: "meta.next_cursor") yang dikirim sebagai query param
+ * Untuk Link header dan cursor, URL halaman berikutnya baru diketahui dari response sebelumnya, jadi prefetch
+ * berarti halaman berikutnya langsung diminta begitu halaman sebelumnya tiba, tanpa menunggu consumer
+ *
+ * Contoh:
+ *   Paginator.of("/posts").pageNumbers("_page", "_limit", 10).prefetch(4).build().stream()
+ *           .forEach(post -> assertThat(post.get("title"), notNullValue()));
+ *
+ * Metrics di SuiteMetrics:
+ *   pagination.page               latency per halaman
+ *   pagination.prefetch.wasted    halaman yang terlanjur di-fetch setelah halaman terakhir
+ */
+
+public class Paginator {
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final Pattern LINK = Pattern.compile("<([^>]*)>\\s*((?:;\\s*[^;,]+)*)");
+    private static final Pattern REL_NEXT = Pattern.compile("rel\\s*=\\s*\"?[^\"]*\\bnext\\b");
+
+    private enum Style { PAGE_NUMBER, LINK_HEADER, CURSOR }
+
+    private final String path;
+    private final Style style;
+    private final String pageParam;
+    private final String limitParam;
+    private final int limit;
+    private final String cursorParam;
+    private final String cursorPath;
+    private final String itemsPath;
+    private final String totalPagesPath;
+    private final int prefetch;
+    private final Map<String, Object> queryParams;
+    private final Supplier<RequestSpecification> request;
+
+    /**
+     * Satu halaman hasil fetch
+     * @param number Nomor halaman mulai dari 1
+     * @param items Isi list dari itemsPath (Map untuk JSON object)
+     */
+    public record Page(int number, Response response, List<Object> items) {
+    }
+
+    private Paginator(Builder builder) {
+        this.path = builder.path;
+        this.style = builder.style;
+        this.pageParam = builder.pageParam;
+        this.limitParam = builder.limitParam;
+        this.limit = builder.limit;
+        this.cursorParam = builder.cursorParam;
+        this.cursorPath = builder.cursorPath;
+        this.itemsPath = builder.itemsPath;
+        this.totalPagesPath = builder.totalPagesPath;
+        this.prefetch = builder.prefetch;
+        this.queryParams = new LinkedHashMap<>(builder.queryParams);
+        this.request = builder.request;
+    }
+
+    /**
+     * Mulai definisi paginator untuk list endpoint
+     * @param path Path endpoint, contoh: "/posts"
+     */
+    public static Builder of(String path) {
+        return new Builder(path);
+    }
+
+    /**
+     * Semua halaman berurutan; fetch dimulai ketika element pertama diminta
+     * Tutup stream (try-with-resources) jika berhenti di tengah supaya prefetch yang tersisa dibatalkan
+     */
+    public Stream<Page> pages() {
+        PageIterator iterator = new PageIterator();
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+                Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(iterator::close);
+    }
+
+    /**
+     * Semua item dari semua halaman berurutan, JSON object sebagai Map
+     */
+    @SuppressWarnings("unchecked")
+    public Stream<Map<String, Object>> stream() {
+        return pages().flatMap(page -> page.items().stream().map(item -> (Map<String, Object>) item));
+    }
+
+    /**
+     * Semua item dari semua halaman berurutan, di-convert ke type dengan Jackson
+     */
+    public <T> Stream<T> stream(Class<T> type) {
+        return pages().flatMap(page -> page.items().stream().map(item -> mapper.convertValue(item, type)));
+    }
+
+    /**
+     * Iterator atas window futures: head = halaman berikutnya untuk consumer, diisi ulang setiap kali head diambil
+     */
+    private final class PageIterator implements Iterator<Page>, AutoCloseable {
+        private final Deque<CompletableFuture<Page>> window = new ArrayDeque<>();
+        private ExecutorService executor;
+        private CompletableFuture<Page> last;  // Untuk chaining Link header / cursor
+        private int nextPage = 1;
+        private int totalPages = Integer.MAX_VALUE;
+        private boolean lastPageSeen;
+        private boolean finished;
+        private Page next;
+
+        @Override
+        public boolean hasNext() {
+            if (next != null) {
+                return true;
+            }
+            if (finished) {
+                return false;
+            }
+            if (executor == null) {
+                executor = Executors.newVirtualThreadPerTaskExecutor();
+            }
+            fill();
+            CompletableFuture<Page> head = window.poll();
+            Page page = head == null ? null : join(head);
+            if (page == null || page.number() > totalPages || (style == Style.PAGE_NUMBER && page.items().isEmpty())) {
+                if (page != null) {
+                    SuiteMetrics.increment("pagination.prefetch.wasted");
+                }
+                close();
+                return false;
+            }
+            if (style == Style.PAGE_NUMBER) {
+                totalPages = Math.min(totalPages, totalPages(page.response()));
+                if (page.items().size() < limit || page.number() >= totalPages) {
+                    lastPageSeen = true;  // Halaman terakhir: future yang tersisa di window terbuang
+                }
+            }
+            next = page;
+            if (lastPageSeen) {
+                discardWindow();
+            } else {
+                fill();
+            }
+            return true;
+        }
+
+        @Override
+        public Page next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Page page = next;
+            next = null;
+            if (lastPageSeen) {
+                close();
+            }
+            return page;
+        }
+
+        @Override
+        public void close() {
+            finished = true;
+            discardWindow();
+            if (executor != null) {
+                // Tanpa interrupt: request yang di-interrupt akan di-retry oleh Apache HTTP client
+                executor.shutdown();
+            }
+        }
+
+        private void fill() {
+            while (!lastPageSeen && window.size() < prefetch) {
+                if (style == Style.PAGE_NUMBER) {
+                    if (nextPage > totalPages) {
+                        return;
+                    }
+                    int number = nextPage++;
+                    window.add(CompletableFuture.supplyAsync(() -> fetchPage(number), executor));
+                } else {
+                    if (last != null && last.isDone() && !last.isCompletedExceptionally() && last.join() == null) {
+                        return;  // Chain sudah selesai, tidak perlu menjadwalkan future kosong lagi
+                    }
+                    last = last == null
+                            ? CompletableFuture.supplyAsync(() -> fetch(1, path, queryParams, false), executor)
+                            : last.thenApplyAsync(this::fetchAfter, executor);
+                    window.add(last);
+                }
+            }
+        }
+
+        private void discardWindow() {
+            for (CompletableFuture<Page> pending : window) {
+                if (!pending.cancel(true)) {
+                    SuiteMetrics.increment("pagination.prefetch.wasted");
+                }
+            }
+            window.clear();
+        }
+
+        private Page fetchPage(int number) {
+            Map<String, Object> query = new LinkedHashMap<>(queryParams);
+            query.put(pageParam, number);
+            query.put(limitParam, limit);
+            return fetch(number, path, query, false);
+        }
+
+        // Halaman setelah previous (Link header / cursor), null jika previous adalah halaman terakhir
+        private Page fetchAfter(Page previous) {
+            if (previous == null) {
+                return null;
+            }
+            if (style == Style.LINK_HEADER) {
+                String nextUrl = nextLink(previous.response().getHeader("Link"));
+                return nextUrl == null ? null : fetch(previous.number() + 1, nextUrl, Map.of(), true);
+            }
+            Object cursor = previous.response().jsonPath().get(cursorPath);
+            if (cursor == null || cursor.toString().isEmpty() || previous.items().isEmpty()) {
+                return null;
+            }
+            Map<String, Object> query = new LinkedHashMap<>(queryParams);
+            query.put(cursorParam, cursor);
+            return fetch(previous.number() + 1, path, query, false);
+        }
+
+        private Page fetch(int number, String target, Map<String, Object> query, boolean absoluteUrl) {
+            long start = System.nanoTime();
+            RequestSpecification spec = request.get();
+            if (absoluteUrl) {
+                spec.urlEncodingEnabled(false);  // URL dari Link header sudah ter-encode
+            } else if (!query.isEmpty()) {
+                spec.queryParams(query);
+            }
+            Response response = spec.get(target);
+            SuiteMetrics.recordNanos("pagination.page", System.nanoTime() - start);
+            if (response.statusCode() >= 400) {
+                throw new IllegalStateException("Pagination " + target + " gagal di halaman " + number
+                        + ": status " + response.statusCode());
+            }
+            List<Object> items = response.jsonPath().getList(itemsPath);
+            return new Page(number, response, items == null ? List.of() : items);
+        }
+
+        private int totalPages(Response response) {
+            if (totalPagesPath != null) {
+                Object total = response.jsonPath().get(totalPagesPath);
+                return total == null ? Integer.MAX_VALUE : Integer.parseInt(total.toString());
+            }
+            String totalCount = response.getHeader("X-Total-Count");
+            if (totalCount != null && !totalCount.isBlank()) {
+                long count = Long.parseLong(totalCount.trim());
+                return (int) Math.max(1, (count + limit - 1) / limit);
+            }
+            return Integer.MAX_VALUE;
+        }
+
+        private Page join(CompletableFuture<Page> future) {
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                close();
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            } catch (CancellationException e) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * URL rel="next" dari Link header, null jika tidak ada
+     * Contoh: <https://api.example.com/posts?_page=2>; rel="next", <...?_page=10>; rel="last"
+     */
+    static String nextLink(String linkHeader) {
+        if (linkHeader == null) {
+            return null;
+        }
+        Matcher link = LINK.matcher(linkHeader);
+        while (link.find()) {
+            if (REL_NEXT.matcher(link.group(2)).find()) {
+                return link.group(1);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Builder untuk Paginator, selesai dengan build()
+     */
+    public static class Builder {
+        private final String path;
+        private Style style = Style.PAGE_NUMBER;
+        private String pageParam = "_page";
+        private String limitParam = "_limit";
+        private int limit = 10;
+        private String cursorParam;
+        private String cursorPath;
+        private String itemsPath = "$";
+        private String totalPagesPath;
+        private int prefetch = TestConfig.PAGINATION_PREFETCH;
+        private final Map<String, Object> queryParams = new LinkedHashMap<>();
+        private Supplier<RequestSpecification> request = RestAssured::given;
+
+        private Builder(String path) {
+            this.path = path;
+        }
+
+        /**
+         * Page number style (default: "_page", "_limit", 10), contoh ReqRes: pageNumbers("page", "per_page", 6)
+         */
+        public Builder pageNumbers(String pageParam, String limitParam, int limit) {
+            if (limit <= 0) {
+                throw new IllegalArgumentException("limit harus > 0: " + limit);
+            }
+            this.style = Style.PAGE_NUMBER;
+            this.pageParam = pageParam;
+            this.limitParam = limitParam;
+            this.limit = limit;
+            return this;
+        }
+
+        /**
+         * Ikuti Link header rel="next" sampai tidak ada lagi
+         */
+        public Builder linkHeader() {
+            this.style = Style.LINK_HEADER;
+            return this;
+        }
+
+        /**
+         * Cursor style
+         * @param cursorParam Query param untuk cursor, contoh: "cursor"
+         * @param cursorPath JSON path cursor berikutnya di body, contoh: "meta.next_cursor" (null/kosong = selesai)
+         */
+        public Builder cursor(String cursorParam, String cursorPath) {
+            this.style = Style.CURSOR;
+            this.cursorParam = cursorParam;
+            this.cursorPath = cursorPath;
+            return this;
+        }
+
+        /**
+         * JSON path list item di body (default "$" = body adalah array), contoh ReqRes: "data"
+         */
+        public Builder items(String itemsPath) {
+            this.itemsPath = itemsPath;
+            return this;
+        }
+
+        /**
+         * JSON path jumlah halaman di body, contoh ReqRes: "total_pages" (default: header X-Total-Count)
+         */
+        public Builder totalPages(String totalPagesPath) {
+            this.totalPagesPath = totalPagesPath;
+            return this;
+        }
+
+        /**
+         * Jumlah halaman maksimal yang di-fetch di depan consumer (dan request concurrent untuk page number style)
+         */
+        public Builder prefetch(int pages) {
+            if (pages <= 0) {
+                throw new IllegalArgumentException("prefetch harus > 0: " + pages);
+            }
+            this.prefetch = pages;
+            return this;
+        }
+
+        public Builder queryParam(String name, Object value) {
+            queryParams.put(name, value);
+            return this;
+        }
+
+        /**
+         * Sumber request specification per halaman (default: RestAssured::given dengan config global)
+         */
+        public Builder request(Supplier<RequestSpecification> request) {
+            this.request = request;
+            return this;
+        }
+
+        public Paginator build() {
+            return new Paginator(this);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.praktikum.rest.profiling;
+
+import com.praktikum.rest.utils.TestAttribution;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.http.Header;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Filter yang mencatat waktu tunggu HTTP dan bytes request/response ke Usage milik test yang sedang berjalan
+ *
+ * Test pemilik request ditentukan oleh TestAttribution (sama seperti ImpactIndexFilter): Usage dari attribute
+ * yang dipasang ResourceProfilingListener di Reporter.getCurrentTestResult(), atau satu-satunya invocation yang aktif
+ * untuk request dari thread lain; selain itu dihitung sebagai unattributed
+ */
+
+public class ResourceProfilingFilter implements OrderedFilter {
+    static final String USAGE_ATTRIBUTE = "profiling.usage";
+
+    private static final ResourceProfilingFilter shared = new ResourceProfilingFilter();
+
+    // Perkiraan overhead per header di wire: ": " dan CRLF
+    private static final int HEADER_OVERHEAD = 4;
+
+    private final TestAttribution<Usage> attribution = new TestAttribution<>(
+            result -> result.getAttribute(USAGE_ATTRIBUTE) instanceof Usage usage ? usage : null);
+    private final LongAdder unattributed = new LongAdder();
+
+    /**
+     * Instance bersama untuk seluruh suite (dipasang oleh BaseTest, dibaca oleh ResourceProfilingListener)
+     */
+    public static ResourceProfilingFilter shared() {
+        return shared;
+    }
+
+    /**
+     * Jalankan setelah cache dan compression filter: cache hit tidak dihitung, dan body yang terlihat masih ter-compress
+     */
+    @Override
+    public int getOrder() {
+        return DEFAULT_PRECEDENCE + 250;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        Usage usage = attribution.current();
+        if (usage == null) {
+            unattributed.increment();
+            return ctx.next(requestSpec, responseSpec);
+        }
+
+        long requestBytes = requestBytes(requestSpec);
+        long start = System.nanoTime();
+        Response response = ctx.next(requestSpec, responseSpec);
+        long responseBytes = responseBytes(response);  // Body dibaca di sini, jadi download ikut dalam waktu HTTP
+        usage.recordRequest(System.nanoTime() - start, requestBytes, responseBytes);
+        return response;
+    }
+
+    void started(Usage usage) {
+        attribution.started(usage);
+    }
+
+    void finished(Usage usage) {
+        attribution.finished(usage);
+    }
+
+    /**
+     * Request yang tidak bisa di-attribute ke test (parallel test dan request dari thread di luar TestNG)
+     */
+    public long getUnattributed() {
+        return unattributed.sum();
+    }
+
+    public void reset() {
+        attribution.clear();
+        unattributed.reset();
+    }
+
+    /**
+     * Request line + headers + body, perkiraan bytes di wire
+     */
+    static long requestBytes(FilterableRequestSpecification requestSpec) {
+        long bytes = requestSpec.getMethod().length() + requestSpec.getURI().length() + " HTTP/1.1\r\n".length() + 2;
+        for (Header header : requestSpec.getHeaders()) {
+            bytes += header.getName().length() + header.getValue().length() + HEADER_OVERHEAD;
+        }
+        Object body = requestSpec.getBody();
+        if (body instanceof byte[] raw) {
+            bytes += raw.length;
+        } else if (body instanceof String text) {
+            bytes += text.getBytes(StandardCharsets.UTF_8).length;
+        } else if (body instanceof File file) {
+            bytes += file.length();
+        } else if (body != null) {
+            bytes += String.valueOf(body).getBytes(StandardCharsets.UTF_8).length;
+        }
+        return bytes;
+    }
+
+    /**
+     * Status line + headers + body seperti yang diterima filter
+     */
+    static long responseBytes(Response response) {
+        long bytes = response.getStatusLine() == null ? 0 : response.getStatusLine().length() + 2;
+        for (Header header : response.getHeaders()) {
+            bytes += header.getName().length() + header.getValue().length() + HEADER_OVERHEAD;
+        }
+        return bytes + 2 + response.asByteArray().length;
+    }
+
+    /**
+     * Pemakaian resource HTTP satu test invocation, diisi dari thread mana pun
+     */
+    static final class Usage {
+        final LongAdder requests = new LongAdder();
+        final LongAdder httpNanos = new LongAdder();
+        final LongAdder requestBytes = new LongAdder();
+        final LongAdder responseBytes = new LongAdder();
+
+        void recordRequest(long nanos, long sent, long received) {
+            requests.increment();
+            httpNanos.add(nanos);
+            requestBytes.add(sent);
+            responseBytes.add(received);
+        }
+    }
+}
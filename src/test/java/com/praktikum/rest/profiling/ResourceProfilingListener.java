@@ -0,0 +1,234 @@
+package com.praktikum.rest.profiling;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.praktikum.rest.config.TestConfig;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+/**
+ * TestNG listener yang mengukur biaya client-side setiap test method (dan configuration method):
+ * wall time, CPU time dan allocated bytes thread test (ThreadMXBean), waktu tunggu HTTP, serta bytes request/response
+ *
+ * Client time = wall - HTTP, jadi hot spot di sisi client (generate data Faker, logging ke System.out, parsing)
+ * terlihat terpisah dari latency server. CPU dan allocation hanya dari thread yang menjalankan method,
+ * pekerjaan di thread pool lain tidak ikut terhitung (HTTP dari thread lain tetap ikut lewat ResourceProfilingFilter)
+ *
+ * Di akhir suite: ranked report ke console dan JSON ke profiling.report.file
+ */
+
+public class ResourceProfilingListener implements IInvokedMethodListener, ISuiteListener {
+    private static final String INVOCATION_ATTRIBUTE = "profiling.invocation";
+
+    // Kolom yang bisa dipakai untuk ranking (profiling.rank.by)
+    private static final Map<String, ToLongFunction<Profile>> RANKINGS = Map.of(
+            "wall", Profile::wallNanos,
+            "http", Profile::httpNanos,
+            "client", Profile::clientNanos,
+            "cpu", Profile::cpuNanos,
+            "alloc", Profile::allocatedBytes,
+            "bytes", profile -> profile.requestBytes() + profile.responseBytes());
+
+    private final ResourceProfilingFilter filter;
+    private final Path reportFile;
+    private final String rankBy;
+    private final int top;
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final Map<String, Accumulator> profiles = new ConcurrentHashMap<>();
+
+    /**
+     * Dipakai TestNG ketika listener didaftarkan di testng.xml
+     */
+    public ResourceProfilingListener() {
+        this(ResourceProfilingFilter.shared(), Paths.get(TestConfig.PROFILING_REPORT_FILE), TestConfig.PROFILING_RANK_BY,
+                TestConfig.PROFILING_TOP);
+    }
+
+    /**
+     * @param filter Filter yang mencatat HTTP per test
+     * @param reportFile File JSON berisi semua profile (urut sesuai ranking), null = tidak ditulis
+     * @param rankBy Kolom ranking: wall, http, client, cpu, alloc, atau bytes
+     * @param top Jumlah baris di console report
+     */
+    public ResourceProfilingListener(ResourceProfilingFilter filter, Path reportFile, String rankBy, int top) {
+        if (!RANKINGS.containsKey(rankBy)) {
+            throw new IllegalArgumentException("profiling.rank.by tidak dikenal: " + rankBy + ", pilihan: " + RANKINGS.keySet());
+        }
+        this.filter = filter;
+        this.reportFile = reportFile;
+        this.rankBy = rankBy;
+        this.top = top;
+        if (threads.isThreadCpuTimeSupported() && !threads.isThreadCpuTimeEnabled()) {
+            threads.setThreadCpuTimeEnabled(true);
+        }
+    }
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        ResourceProfilingFilter.Usage usage = new ResourceProfilingFilter.Usage();
+        testResult.setAttribute(ResourceProfilingFilter.USAGE_ATTRIBUTE, usage);
+        filter.started(usage);
+        // Snapshot terakhir, supaya overhead listener tidak ikut terhitung
+        testResult.setAttribute(INVOCATION_ATTRIBUTE, new Invocation(usage, Thread.currentThread(), threadCpuNanos(),
+                threadAllocatedBytes(), System.nanoTime()));
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        long wallEnd = System.nanoTime();
+        long cpuEnd = threadCpuNanos();
+        long allocEnd = threadAllocatedBytes();
+        if (!(testResult.getAttribute(INVOCATION_ATTRIBUTE) instanceof Invocation invocation)) {
+            return;
+        }
+        testResult.removeAttribute(INVOCATION_ATTRIBUTE);
+        testResult.removeAttribute(ResourceProfilingFilter.USAGE_ATTRIBUTE);
+        filter.finished(invocation.usage());
+
+        // Method dengan timeOut dijalankan TestNG di thread lain, CPU/allocation thread ini tidak relevan
+        boolean sameThread = invocation.thread() == Thread.currentThread();
+        Accumulator profile = profiles.computeIfAbsent(name(method.getTestMethod()), key -> new Accumulator());
+        profile.invocations.increment();
+        profile.wallNanos.add(wallEnd - invocation.wallStart());
+        if (sameThread && cpuEnd >= 0 && invocation.cpuStart() >= 0) {
+            profile.cpuNanos.add(cpuEnd - invocation.cpuStart());
+        }
+        if (sameThread && allocEnd >= 0 && invocation.allocStart() >= 0) {
+            profile.allocatedBytes.add(allocEnd - invocation.allocStart());
+        }
+        ResourceProfilingFilter.Usage usage = invocation.usage();
+        profile.requests.add(usage.requests.sum());
+        profile.httpNanos.add(usage.httpNanos.sum());
+        profile.requestBytes.add(usage.requestBytes.sum());
+        profile.responseBytes.add(usage.responseBytes.sum());
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (profiles.isEmpty()) {
+            return;
+        }
+        List<Profile> ranked = ranked();
+        printReport(System.out, ranked);
+        if (reportFile != null) {
+            write(ranked);
+        }
+        profiles.clear();
+        filter.reset();
+    }
+
+    /**
+     * Semua profile sejauh ini, urut menurun berdasarkan kolom ranking
+     */
+    public List<Profile> ranked() {
+        ToLongFunction<Profile> key = RANKINGS.get(rankBy);
+        return profiles.entrySet().stream()
+                .map(entry -> entry.getValue().snapshot(entry.getKey()))
+                .sorted(Comparator.comparingLong(key).reversed().thenComparing(Profile::name))
+                .toList();
+    }
+
+    public void printReport(PrintStream out, List<Profile> ranked) {
+        out.printf("===== RESOURCE PROFILE (top %d berdasarkan %s) =====%n", Math.min(top, ranked.size()), rankBy);
+        out.printf("%3s  %-55s %6s %9s %9s %9s %9s %9s %9s %9s%n",
+                "#", "Method", "Calls", "Wall ms", "HTTP ms", "Client ms", "CPU ms", "Alloc MB", "Req KB", "Resp KB");
+        for (int i = 0; i < Math.min(top, ranked.size()); i++) {
+            Profile p = ranked.get(i);
+            out.printf("%3d  %-55s %6d %9.1f %9.1f %9.1f %9.1f %9.2f %9.1f %9.1f%n", i + 1, abbreviate(p.name(), 55),
+                    p.invocations(), p.wallNanos() / 1e6, p.httpNanos() / 1e6, p.clientNanos() / 1e6, p.cpuNanos() / 1e6,
+                    p.allocatedBytes() / 1048576.0, p.requestBytes() / 1024.0, p.responseBytes() / 1024.0);
+        }
+        long wall = ranked.stream().mapToLong(Profile::wallNanos).sum();
+        long client = ranked.stream().mapToLong(Profile::clientNanos).sum();
+        long cpu = ranked.stream().mapToLong(Profile::cpuNanos).sum();
+        out.printf("Total: %d methods, wall %.1f ms, client %.1f ms (%.0f%%), CPU %.1f ms, %d request tanpa test%n",
+                ranked.size(), wall / 1e6, client / 1e6, wall == 0 ? 0.0 : client * 100.0 / wall, cpu / 1e6,
+                filter.getUnattributed());
+        if (reportFile != null) {
+            out.println("Report: " + reportFile.toAbsolutePath());
+        }
+    }
+
+    private void write(List<Profile> ranked) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("rankBy", rankBy);
+        report.put("unattributedRequests", filter.getUnattributed());
+        report.put("methods", ranked);
+        try {
+            if (reportFile.getParent() != null) {
+                Files.createDirectories(reportFile.getParent());
+            }
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(reportFile.toFile(), report);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Gagal menulis resource profile ke " + reportFile, e);
+        }
+    }
+
+    private long threadCpuNanos() {
+        return threads.isCurrentThreadCpuTimeSupported() ? threads.getCurrentThreadCpuTime() : -1;
+    }
+
+    private long threadAllocatedBytes() {
+        if (threads instanceof com.sun.management.ThreadMXBean hotspot && hotspot.isThreadAllocatedMemoryEnabled()) {
+            return hotspot.getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+
+    private static String name(ITestNGMethod method) {
+        String name = method.getRealClass().getSimpleName() + "#" + method.getMethodName();
+        return method.isTest() ? name : name + " (config)";
+    }
+
+    private static String abbreviate(String text, int max) {
+        return text.length() <= max ? text : "..." + text.substring(text.length() - max + 3);
+    }
+
+    /**
+     * Aggregate semua invocation satu method (DataProvider rows dan invocationCount)
+     * @param clientNanos Wall time di luar HTTP, minimal 0 (HTTP dari thread lain bisa overlap)
+     */
+    public record Profile(String name, long invocations, long wallNanos, long httpNanos, long clientNanos, long cpuNanos,
+                          long allocatedBytes, long requests, long requestBytes, long responseBytes) {
+    }
+
+    private record Invocation(ResourceProfilingFilter.Usage usage, Thread thread, long cpuStart, long allocStart, long wallStart) {
+    }
+
+    private static final class Accumulator {
+        final LongAdder invocations = new LongAdder();
+        final LongAdder wallNanos = new LongAdder();
+        final LongAdder cpuNanos = new LongAdder();
+        final LongAdder allocatedBytes = new LongAdder();
+        final LongAdder requests = new LongAdder();
+        final LongAdder httpNanos = new LongAdder();
+        final LongAdder requestBytes = new LongAdder();
+        final LongAdder responseBytes = new LongAdder();
+
+        Profile snapshot(String name) {
+            long wall = wallNanos.sum();
+            long http = httpNanos.sum();
+            return new Profile(name, invocations.sum(), wall, http, Math.max(0, wall - http), cpuNanos.sum(),
+                    allocatedBytes.sum(), requests.sum(), requestBytes.sum(), responseBytes.sum());
+        }
+    }
+}
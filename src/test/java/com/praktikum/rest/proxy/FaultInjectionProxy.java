@@ -0,0 +1,446 @@
+package com.praktikum.rest.proxy;
+
+import com.praktikum.rest.config.TestConfig;
+import com.praktikum.rest.metrics.SuiteMetrics;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reverse proxy HTTP/1.1 lokal yang meneruskan request ke satu upstream base URL sambil meng-inject fault
+ * per route (latency, bandwidth cap, injected 5xx, TCP reset)
+ * Ditulis di atas raw socket supaya reset benar-benar RST dan body bisa dikirim pelan-pelan
+ *
+ * Keputusan fault diambil dari Random yang di-seed per urutan request, jadi run sequential bisa direproduksi
+ *
+ * Filter yang membuat key per host atau base URL (rate.limits, circuit breaker, endpoint template metrics dan impact index)
+ * memakai upstreamUri(), jadi request lewat proxy tetap di-key ke upstream aslinya, bukan ke 127.0.0.1:<port>
+ *
+ * Metrics di SuiteMetrics:
+ *   proxy.request, proxy.fault.error, proxy.fault.reset, proxy.upstream.error  (counters)
+ *   proxy.fault.latency, proxy.upstream                                        (histograms)
+ */
+
+public class FaultInjectionProxy implements AutoCloseable {
+    // Satu proxy per upstream untuk seluruh suite (dipakai BaseTest ketika -Dproxy.enabled=true)
+    private static final Map<String, FaultInjectionProxy> shared = new ConcurrentHashMap<>();
+
+    // Semua proxy yang sedang berjalan (shared dan yang dibuat test), key = baseUrl()
+    private static final Map<String, FaultInjectionProxy> running = new ConcurrentHashMap<>();
+
+    // Header hop-by-hop dan header yang tidak boleh di-set manual di java.net.http
+    private static final Set<String> SKIPPED_HEADERS = Set.of("connection", "content-length", "expect", "host",
+            "keep-alive", "proxy-connection", "te", "trailer", "transfer-encoding", "upgrade");
+    private static final Duration UPSTREAM_TIMEOUT = Duration.ofSeconds(30);
+    private static final int IDLE_TIMEOUT_MILLIS = 30_000;
+
+    private final String upstreamBaseUrl;
+    private final long seed;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<String, FaultProfile> routes = new ConcurrentHashMap<>();
+    private final ServerSocket serverSocket;
+    private final ExecutorService connections = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "fault-proxy");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final HttpClient upstream = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .build();
+    private volatile boolean closed;
+
+    /**
+     * Start proxy di 127.0.0.1 dengan port random
+     * @param upstreamBaseUrl Tujuan request, contoh: "https://reqres.in/api" (path request ditambahkan di belakangnya)
+     * @param seed Seed untuk keputusan fault
+     */
+    public FaultInjectionProxy(String upstreamBaseUrl, long seed) {
+        this.upstreamBaseUrl = upstreamBaseUrl.endsWith("/")
+                ? upstreamBaseUrl.substring(0, upstreamBaseUrl.length() - 1) : upstreamBaseUrl;
+        this.seed = seed;
+        try {
+            serverSocket = new ServerSocket(0, 128, InetAddress.getLoopbackAddress());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        running.put(baseUrl(), this);
+        connections.execute(this::acceptLoop);
+    }
+
+    /**
+     * Base URL yang dipakai test: RestAssured.baseURI = baseUrlFor(TestConfig.BASE_URL)
+     * @return URL proxy jika -Dproxy.enabled=true, selain itu upstream apa adanya
+     */
+    public static String baseUrlFor(String upstreamBaseUrl) {
+        if (!TestConfig.PROXY_ENABLED) {
+            return upstreamBaseUrl;
+        }
+        return shared.computeIfAbsent(upstreamBaseUrl, url ->
+                new FaultInjectionProxy(url, TestConfig.PROXY_SEED).routes(TestConfig.PROXY_FAULTS)).baseUrl();
+    }
+
+    /**
+     * URI upstream untuk URI yang menuju proxy yang sedang berjalan
+     * Contoh: "http://127.0.0.1:51234/login" -> "https://reqres.in/api/login"
+     * @return URI apa adanya jika tidak menuju proxy
+     */
+    public static String upstreamUri(String uri) {
+        if (running.isEmpty()) {
+            return uri;
+        }
+        for (FaultInjectionProxy proxy : running.values()) {
+            String base = proxy.baseUrl();
+            if (uri.startsWith(base) && (uri.length() == base.length() || "/?#".indexOf(uri.charAt(base.length())) >= 0)) {
+                return proxy.upstreamBaseUrl + uri.substring(base.length());
+            }
+        }
+        return uri;
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + serverSocket.getLocalPort();
+    }
+
+    /**
+     * Set fault profile untuk path prefix (relatif terhadap proxy), prefix terpanjang yang menang
+     * @param pathPrefix Contoh: "/users" atau "/" untuk semua request
+     */
+    public FaultInjectionProxy route(String pathPrefix, FaultProfile profile) {
+        routes.put(pathPrefix, profile);
+        return this;
+    }
+
+    /**
+     * Set beberapa route dari format config "prefix=options;prefix=options"
+     * Contoh: "/users=latency:100-300,error:0.1@503;/=bandwidth:65536"
+     */
+    public FaultInjectionProxy routes(String spec) {
+        for (String entry : spec.split(";")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int separator = entry.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Format proxy.faults harus prefix=options, ditemukan: " + entry);
+            }
+            route(entry.substring(0, separator).trim(), FaultProfile.parse(entry.substring(separator + 1)));
+        }
+        return this;
+    }
+
+    /**
+     * Profile untuk path tertentu (prefix terpanjang), none() jika tidak ada route yang cocok
+     */
+    public FaultProfile profileFor(String path) {
+        FaultProfile match = FaultProfile.none();
+        int longest = -1;
+        for (Map.Entry<String, FaultProfile> entry : routes.entrySet()) {
+            if (path.startsWith(entry.getKey()) && entry.getKey().length() > longest) {
+                match = entry.getValue();
+                longest = entry.getKey().length();
+            }
+        }
+        return match;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        running.remove(baseUrl(), this);
+        try {
+            serverSocket.close();
+        } catch (IOException ignored) {
+            // Sudah tertutup
+        }
+        connections.shutdownNow();
+    }
+
+    private void acceptLoop() {
+        while (!closed) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.execute(() -> serve(socket));
+            } catch (IOException e) {
+                if (!closed) {
+                    System.err.println("[proxy] accept gagal: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Layani satu koneksi client (keep-alive: beberapa request berurutan di socket yang sama)
+     */
+    private void serve(Socket socket) {
+        try (socket) {
+            socket.setSoTimeout(IDLE_TIMEOUT_MILLIS);
+            InputStream in = new BufferedInputStream(socket.getInputStream());
+            OutputStream out = new BufferedOutputStream(socket.getOutputStream());
+            ProxyRequest request;
+            while ((request = readRequest(in)) != null) {
+                if (!handle(request, socket, out) || request.closeAfterResponse()) {
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            // Client menutup koneksi atau idle timeout, tidak perlu dilaporkan
+        }
+    }
+
+    /**
+     * @return false jika koneksi sudah di-reset dan tidak boleh dipakai lagi
+     */
+    private boolean handle(ProxyRequest request, Socket socket, OutputStream out) throws IOException {
+        SuiteMetrics.increment("proxy.request");
+        FaultProfile profile = profileFor(request.path());
+        SplittableRandom random = new SplittableRandom(seed + sequence.getAndIncrement() * 0x9E3779B97F4A7C15L);
+
+        long delay = profile.latency().sampleMillis(random);
+        if (delay > 0) {
+            SuiteMetrics.recordNanos("proxy.fault.latency", TimeUnit.MILLISECONDS.toNanos(delay));
+            sleep(delay);
+        }
+
+        if (random.nextDouble() < profile.resetRate()) {
+            SuiteMetrics.increment("proxy.fault.reset");
+            socket.setSoLinger(true, 0);  // close() dengan linger 0 mengirim RST, bukan FIN
+            socket.close();
+            return false;
+        }
+
+        if (random.nextDouble() < profile.errorRate()) {
+            SuiteMetrics.increment("proxy.fault.error");
+            byte[] body = "{\"error\": \"injected fault\"}".getBytes(StandardCharsets.UTF_8);
+            writeResponse(out, request, profile.errorStatus(),
+                    List.of(new String[] {"Content-Type", "application/json"}, new String[] {"X-Fault-Injected", "error"}),
+                    body, profile.bandwidthBytesPerSecond());
+            return true;
+        }
+
+        long start = System.nanoTime();
+        HttpResponse<byte[]> response;
+        try {
+            response = upstream.send(toUpstreamRequest(request), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            SuiteMetrics.increment("proxy.upstream.error");
+            writeResponse(out, request, 502, Collections.singletonList(new String[] {"Content-Type", "application/json"}),
+                    ("{\"error\": \"upstream unavailable\"}").getBytes(StandardCharsets.UTF_8), 0);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        SuiteMetrics.recordNanos("proxy.upstream", System.nanoTime() - start);
+
+        List<String[]> headers = new ArrayList<>();
+        response.headers().map().forEach((name, values) -> {
+            if (!SKIPPED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                values.forEach(value -> headers.add(new String[] {name, value}));
+            }
+        });
+        writeResponse(out, request, response.statusCode(), headers, response.body(), profile.bandwidthBytesPerSecond());
+        return true;
+    }
+
+    private HttpRequest toUpstreamRequest(ProxyRequest request) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(upstreamBaseUrl + request.target()))
+                .timeout(UPSTREAM_TIMEOUT)
+                .method(request.method(), request.body().length == 0
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(request.body()));
+        for (String[] header : request.headers()) {
+            if (!SKIPPED_HEADERS.contains(header[0].toLowerCase(Locale.ROOT))) {
+                builder.header(header[0], header[1]);
+            }
+        }
+        return builder.build();
+    }
+
+    private static void writeResponse(OutputStream out, ProxyRequest request, int status, List<String[]> headers,
+                                      byte[] body, long bytesPerSecond) throws IOException {
+        boolean hasBody = !request.method().equals("HEAD") && status != 204 && status != 304;
+        StringBuilder head = new StringBuilder("HTTP/1.1 ").append(status).append(' ').append(reason(status)).append("\r\n");
+        for (String[] header : headers) {
+            head.append(header[0]).append(": ").append(header[1]).append("\r\n");
+        }
+        if (hasBody) {
+            head.append("Content-Length: ").append(body.length).append("\r\n");
+        }
+        head.append("Connection: ").append(request.closeAfterResponse() ? "close" : "keep-alive").append("\r\n\r\n");
+        out.write(head.toString().getBytes(StandardCharsets.ISO_8859_1));
+        out.flush();  // Header langsung dikirim, body menyusul sesuai bandwidth cap
+        if (hasBody) {
+            writeBody(out, body, bytesPerSecond);
+        }
+    }
+
+    /**
+     * Kirim body dalam potongan kecil dengan pacing, sehingga client menerima ~bytesPerSecond
+     */
+    private static void writeBody(OutputStream out, byte[] body, long bytesPerSecond) throws IOException {
+        if (bytesPerSecond <= 0) {
+            out.write(body);
+            out.flush();
+            return;
+        }
+        int chunk = (int) Math.max(1, Math.min(body.length, bytesPerSecond / 20));  // ~20 writes per detik
+        long start = System.nanoTime();
+        for (int offset = 0; offset < body.length; offset += chunk) {
+            int length = Math.min(chunk, body.length - offset);
+            out.write(body, offset, length);
+            out.flush();
+            long dueNanos = start + (offset + length) * 1_000_000_000L / bytesPerSecond;
+            long waitNanos = dueNanos - System.nanoTime();
+            if (waitNanos > 0) {
+                sleep(TimeUnit.NANOSECONDS.toMillis(waitNanos));
+            }
+        }
+    }
+
+    /**
+     * Baca satu request HTTP/1.1 (request line, headers, body via Content-Length atau chunked)
+     * @return null jika client sudah menutup koneksi
+     */
+    private static ProxyRequest readRequest(InputStream in) throws IOException {
+        String requestLine = readLine(in);
+        while (requestLine != null && requestLine.isEmpty()) {
+            requestLine = readLine(in);  // CRLF sisa request sebelumnya
+        }
+        if (requestLine == null) {
+            return null;
+        }
+        String[] parts = requestLine.split(" ");
+        if (parts.length < 3) {
+            throw new SocketException("Request line tidak valid: " + requestLine);
+        }
+
+        List<String[]> headers = new ArrayList<>();
+        long contentLength = 0;
+        boolean chunked = false;
+        boolean close = parts[2].equals("HTTP/1.0");
+        String line;
+        while ((line = readLine(in)) != null && !line.isEmpty()) {
+            int colon = line.indexOf(':');
+            if (colon <= 0) {
+                continue;
+            }
+            String name = line.substring(0, colon).trim();
+            String value = line.substring(colon + 1).trim();
+            headers.add(new String[] {name, value});
+            switch (name.toLowerCase(Locale.ROOT)) {
+                case "content-length" -> contentLength = Long.parseLong(value);
+                case "transfer-encoding" -> chunked = value.toLowerCase(Locale.ROOT).contains("chunked");
+                case "connection" -> close = value.equalsIgnoreCase("close");
+                default -> {
+                }
+            }
+        }
+
+        byte[] body = chunked ? readChunked(in) : in.readNBytes((int) contentLength);
+        return new ProxyRequest(parts[0], parts[1], headers, body, close);
+    }
+
+    private static byte[] readChunked(InputStream in) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        while (true) {
+            String sizeLine = readLine(in);
+            if (sizeLine == null) {
+                throw new SocketException("Chunked body terpotong");
+            }
+            int size = Integer.parseInt(sizeLine.split(";", 2)[0].trim(), 16);
+            if (size == 0) {
+                String trailer;
+                while ((trailer = readLine(in)) != null && !trailer.isEmpty()) {
+                    // Abaikan trailers
+                }
+                return body.toByteArray();
+            }
+            body.write(in.readNBytes(size));
+            readLine(in);  // CRLF setelah data chunk
+        }
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int b;
+        while ((b = in.read()) != -1) {
+            if (b == '\n') {
+                break;
+            }
+            if (b != '\r') {
+                line.write(b);
+            }
+        }
+        if (b == -1 && line.size() == 0) {
+            return null;
+        }
+        return line.toString(StandardCharsets.ISO_8859_1);
+    }
+
+    private static String reason(int status) {
+        return switch (status) {
+            case 200 -> "OK";
+            case 201 -> "Created";
+            case 204 -> "No Content";
+            case 304 -> "Not Modified";
+            case 400 -> "Bad Request";
+            case 401 -> "Unauthorized";
+            case 404 -> "Not Found";
+            case 429 -> "Too Many Requests";
+            case 500 -> "Internal Server Error";
+            case 502 -> "Bad Gateway";
+            case 503 -> "Service Unavailable";
+            case 504 -> "Gateway Timeout";
+            default -> "Status " + status;
+        };
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Request yang sudah di-parse dari socket client
+     * @param target Path + query string, contoh: "/users?id=1"
+     */
+    private record ProxyRequest(String method, String target, List<String[]> headers, byte[] body,
+                                boolean closeAfterResponse) {
+
+        String path() {
+            int query = target.indexOf('?');
+            return query < 0 ? target : target.substring(0, query);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.praktikum.rest.proxy;
+
+/**
+ * Fault yang di-inject untuk satu route di FaultInjectionProxy
+ * @param latency Delay sebelum request diteruskan (server think time + network jitter)
+ * @param bandwidthBytesPerSecond Batas kecepatan response body, 0 = tanpa batas
+ * @param errorRate Probabilitas (0..1) request langsung dibalas errorStatus tanpa ke upstream
+ * @param errorStatus Status code untuk injected error, contoh 503
+ * @param resetRate Probabilitas (0..1) koneksi di-reset (TCP RST) sebelum response dikirim
+ */
+public record FaultProfile(LatencyDistribution latency, long bandwidthBytesPerSecond,
+                           double errorRate, int errorStatus, double resetRate) {
+
+    public FaultProfile {
+        if (errorRate < 0 || errorRate > 1 || resetRate < 0 || resetRate > 1) {
+            throw new IllegalArgumentException("errorRate dan resetRate harus di antara 0 dan 1");
+        }
+    }
+
+    /**
+     * Profile tanpa fault: proxy meneruskan request apa adanya
+     */
+    public static FaultProfile none() {
+        return new FaultProfile(LatencyDistribution.none(), 0, 0, 503, 0);
+    }
+
+    public FaultProfile withLatency(LatencyDistribution distribution) {
+        return new FaultProfile(distribution, bandwidthBytesPerSecond, errorRate, errorStatus, resetRate);
+    }
+
+    public FaultProfile withBandwidth(long bytesPerSecond) {
+        return new FaultProfile(latency, bytesPerSecond, errorRate, errorStatus, resetRate);
+    }
+
+    public FaultProfile withErrors(double rate, int status) {
+        return new FaultProfile(latency, bandwidthBytesPerSecond, rate, status, resetRate);
+    }
+
+    public FaultProfile withResets(double rate) {
+        return new FaultProfile(latency, bandwidthBytesPerSecond, errorRate, errorStatus, rate);
+    }
+
+    /**
+     * Parse opsi satu route, dipisah koma
+     * Contoh: "latency:100-300,bandwidth:65536,error:0.1@503,reset:0.02"
+     */
+    public static FaultProfile parse(String options) {
+        FaultProfile profile = none();
+        for (String option : options.split(",")) {
+            if (option.isBlank()) {
+                continue;
+            }
+            String[] parts = option.trim().split(":", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Format fault harus name:value, ditemukan: " + option);
+            }
+            String value = parts[1].trim();
+            switch (parts[0].trim()) {
+                case "latency" -> profile = profile.withLatency(LatencyDistribution.parse(value));
+                case "bandwidth" -> profile = profile.withBandwidth(Long.parseLong(value));
+                case "reset" -> profile = profile.withResets(Double.parseDouble(value));
+                case "error" -> {
+                    String[] rateAndStatus = value.split("@", 2);
+                    int status = rateAndStatus.length == 2 ? Integer.parseInt(rateAndStatus[1]) : 503;
+                    profile = profile.withErrors(Double.parseDouble(rateAndStatus[0]), status);
+                }
+                default -> throw new IllegalArgumentException("Fault tidak dikenal: " + parts[0]);
+            }
+        }
+        return profile;
+    }
+
+    @Override
+    public String toString() {
+        return "latency=" + latency + ", bandwidth=" + (bandwidthBytesPerSecond == 0 ? "unlimited" : bandwidthBytesPerSecond + "B/s")
+                + ", error=" + errorRate + "@" + errorStatus + ", reset=" + resetRate;
+    }
+}
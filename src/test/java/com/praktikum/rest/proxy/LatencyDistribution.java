@@ -0,0 +1,93 @@
+package com.praktikum.rest.proxy;
+
+import java.util.SplittableRandom;
+
+/**
+ * Distribusi latency yang di-inject oleh FaultInjectionProxy sebelum request diteruskan ke upstream
+ */
+
+public interface LatencyDistribution {
+    /**
+     * Ambil satu sample delay
+     * @param random Random per request (seeded), supaya run bisa direproduksi
+     * @return Delay dalam milliseconds, >= 0
+     */
+    long sampleMillis(SplittableRandom random);
+
+    /**
+     * Tanpa delay tambahan
+     */
+    static LatencyDistribution none() {
+        return fixed(0);
+    }
+
+    /**
+     * Delay konstan
+     */
+    static LatencyDistribution fixed(long millis) {
+        return new LatencyDistribution() {
+            @Override
+            public long sampleMillis(SplittableRandom random) {
+                return millis;
+            }
+
+            @Override
+            public String toString() {
+                return millis + "ms";
+            }
+        };
+    }
+
+    /**
+     * Jitter merata antara min dan max (inclusive)
+     */
+    static LatencyDistribution uniform(long minMillis, long maxMillis) {
+        if (minMillis < 0 || maxMillis < minMillis) {
+            throw new IllegalArgumentException("Range latency tidak valid: " + minMillis + "-" + maxMillis);
+        }
+        return new LatencyDistribution() {
+            @Override
+            public long sampleMillis(SplittableRandom random) {
+                return random.nextLong(minMillis, maxMillis + 1);
+            }
+
+            @Override
+            public String toString() {
+                return minMillis + "-" + maxMillis + "ms";
+            }
+        };
+    }
+
+    /**
+     * Distribusi eksponensial (long tail), dipotong di 10x mean supaya satu sample tidak menahan test terlalu lama
+     */
+    static LatencyDistribution exponential(long meanMillis) {
+        return new LatencyDistribution() {
+            @Override
+            public long sampleMillis(SplittableRandom random) {
+                double sample = -meanMillis * Math.log(1.0 - random.nextDouble());
+                return Math.min(Math.round(sample), meanMillis * 10);
+            }
+
+            @Override
+            public String toString() {
+                return "exp(" + meanMillis + "ms)";
+            }
+        };
+    }
+
+    /**
+     * Parse format config: "200" (fixed), "100-300" (uniform), atau "exp200" (exponential dengan mean 200 ms)
+     */
+    static LatencyDistribution parse(String spec) {
+        String value = spec.trim();
+        if (value.startsWith("exp")) {
+            return exponential(Long.parseLong(value.substring(3)));
+        }
+        int dash = value.indexOf('-');
+        if (dash > 0) {
+            return uniform(Long.parseLong(value.substring(0, dash)), Long.parseLong(value.substring(dash + 1)));
+        }
+        return fixed(Long.parseLong(value));
+    }
+}
@@ -0,0 +1,244 @@
+package com.praktikum.rest.reporting;
+
+import com.praktikum.rest.filters.RequestMetricsFilter;
+import com.praktikum.rest.metrics.LatencyHistogram;
+import com.praktikum.rest.metrics.SuiteMetrics;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * HTTP endpoint di localhost yang meng-expose metrics suite dalam format OpenMetrics (text)
+ * selama run berjalan, untuk di-scrape Prometheus atau dilihat dengan curl
+ *
+ * Isi /metrics:
+ *   api_test_http_requests_total{endpoint,status}          response per endpoint template x status
+ *   api_test_http_errors_total{status}                     status >= 400 dan io_error
+ *   api_test_http_request_duration_seconds{endpoint}       histogram latency per endpoint template
+ *   api_test_http_in_flight_requests, api_test_http_request_rate   gauges
+ *   api_test_tests_total{result}                           pass/fail/skip dari OpenMetricsListener
+ *   api_test_suite_*                                       semua counters/gauges/histograms di SuiteMetrics
+ *   jvm_memory_heap_*_bytes, jvm_gc_*{gc}, jvm_threads_live            JVM
+ */
+
+public class OpenMetricsExporter implements AutoCloseable {
+    private static final String CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+
+    // Batas bucket histogram dalam detik (cukup untuk API publik sampai timeout)
+    private static final double[] BUCKET_SECONDS = {0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30};
+    private static final long[] BUCKET_MICROS = new long[BUCKET_SECONDS.length];
+
+    static {
+        for (int i = 0; i < BUCKET_SECONDS.length; i++) {
+            BUCKET_MICROS[i] = Math.round(BUCKET_SECONDS[i] * 1_000_000);
+        }
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final RequestMetricsFilter requests;
+    private final OpenMetricsListener results;
+
+    /**
+     * Start endpoint di 127.0.0.1
+     * @param port Port, 0 = random (lihat getPort())
+     * @param requests Sumber metrics request HTTP, contoh: RequestMetricsFilter.shared()
+     * @param results Sumber pass/fail/skip, boleh null
+     */
+    public OpenMetricsExporter(int port, RequestMetricsFilter requests, OpenMetricsListener results) {
+        this.requests = requests;
+        this.results = results;
+        try {
+            server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Gagal membuka metrics endpoint di port " + port, e);
+        }
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "openmetrics-exporter");
+            thread.setDaemon(true);  // Jangan menahan JVM exit
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/metrics", this::handle);
+        server.start();
+    }
+
+    /**
+     * URL untuk di-scrape, contoh: http://127.0.0.1:9464/metrics
+     */
+    public String getUrl() {
+        return "http://127.0.0.1:" + getPort() + "/metrics";
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Render semua metrics dalam format OpenMetrics text, diakhiri "# EOF"
+     */
+    public String scrape() {
+        StringBuilder out = new StringBuilder(8192);
+        writeRequestMetrics(out);
+        writeTestResults(out);
+        writeSuiteMetrics(out);
+        writeJvmMetrics(out);
+        out.append("# EOF\n");
+        return out.toString();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!exchange.getRequestMethod().equals("GET")) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body = scrape().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream response = exchange.getResponseBody()) {
+                response.write(body);
+            }
+        }
+    }
+
+    private void writeRequestMetrics(StringBuilder out) {
+        header(out, "api_test_http_requests", "counter", "HTTP responses per endpoint template and status");
+        requests.responseSnapshot().forEach((endpoint, statuses) -> statuses.forEach((status, count) ->
+                sample(out, "api_test_http_requests_total", labels("endpoint", endpoint, "status", status), count)));
+
+        header(out, "api_test_http_errors", "counter", "HTTP errors (status >= 400 or io_error) per status");
+        requests.errorSnapshot().forEach((status, count) ->
+                sample(out, "api_test_http_errors_total", labels("status", status), count));
+
+        header(out, "api_test_http_in_flight_requests", "gauge", "HTTP requests currently in flight");
+        sample(out, "api_test_http_in_flight_requests", "", requests.getInFlight());
+
+        header(out, "api_test_http_request_rate", "gauge", "HTTP requests per second over the last 10 seconds");
+        sample(out, "api_test_http_request_rate", "", requests.getRequestRate());
+
+        header(out, "api_test_http_request_duration_seconds", "histogram", "HTTP request latency per endpoint template");
+        requests.latencySnapshot().forEach((endpoint, histogram) ->
+                histogram(out, "api_test_http_request_duration_seconds", "endpoint", endpoint, histogram));
+    }
+
+    private void writeTestResults(StringBuilder out) {
+        if (results == null) {
+            return;
+        }
+        header(out, "api_test_tests", "counter", "Finished test invocations per result");
+        sample(out, "api_test_tests_total", labels("result", "pass"), results.getPassed());
+        sample(out, "api_test_tests_total", labels("result", "fail"), results.getFailed());
+        sample(out, "api_test_tests_total", labels("result", "skip"), results.getSkipped());
+    }
+
+    private void writeSuiteMetrics(StringBuilder out) {
+        for (Map.Entry<String, Long> counter : SuiteMetrics.counterSnapshot().entrySet()) {
+            String name = "api_test_suite_" + sanitize(counter.getKey());
+            header(out, name, "counter", "SuiteMetrics counter " + counter.getKey());
+            sample(out, name + "_total", "", counter.getValue());
+        }
+        for (Map.Entry<String, Double> gauge : SuiteMetrics.gaugeSnapshot().entrySet()) {
+            String name = "api_test_suite_" + sanitize(gauge.getKey());
+            header(out, name, "gauge", "SuiteMetrics gauge " + gauge.getKey());
+            sample(out, name, "", gauge.getValue());
+        }
+        for (Map.Entry<String, LatencyHistogram> histogram : SuiteMetrics.histogramSnapshot().entrySet()) {
+            String name = "api_test_suite_" + sanitize(histogram.getKey()) + "_seconds";
+            header(out, name, "histogram", "SuiteMetrics histogram " + histogram.getKey());
+            histogram(out, name, null, null, histogram.getValue());
+        }
+    }
+
+    private void writeJvmMetrics(StringBuilder out) {
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        header(out, "jvm_memory_heap_used_bytes", "gauge", "Used heap memory");
+        sample(out, "jvm_memory_heap_used_bytes", "", heap.getUsed());
+        header(out, "jvm_memory_heap_committed_bytes", "gauge", "Committed heap memory");
+        sample(out, "jvm_memory_heap_committed_bytes", "", heap.getCommitted());
+        header(out, "jvm_memory_heap_max_bytes", "gauge", "Max heap memory, -1 if undefined");
+        sample(out, "jvm_memory_heap_max_bytes", "", heap.getMax());
+
+        header(out, "jvm_gc_collections", "counter", "GC collections per collector");
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            sample(out, "jvm_gc_collections_total", labels("gc", gc.getName()), Math.max(0, gc.getCollectionCount()));
+        }
+        header(out, "jvm_gc_collection_seconds", "counter", "Accumulated GC time per collector");
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            sample(out, "jvm_gc_collection_seconds_total", labels("gc", gc.getName()), Math.max(0, gc.getCollectionTime()) / 1000.0);
+        }
+
+        header(out, "jvm_threads_live", "gauge", "Live threads");
+        sample(out, "jvm_threads_live", "", ManagementFactory.getThreadMXBean().getThreadCount());
+    }
+
+    private static void histogram(StringBuilder out, String name, String labelName, String labelValue, LatencyHistogram histogram) {
+        long count = histogram.getCount();
+        long[] cumulative = histogram.cumulativeCounts(BUCKET_MICROS);
+        String prefix = labelName == null ? "" : labelName + "=\"" + escape(labelValue) + "\",";
+        for (int i = 0; i < BUCKET_SECONDS.length; i++) {
+            out.append(name).append("_bucket{").append(prefix).append("le=\"").append(number(BUCKET_SECONDS[i]))
+                    .append("\"} ").append(Math.min(cumulative[i], count)).append('\n');
+        }
+        out.append(name).append("_bucket{").append(prefix).append("le=\"+Inf\"} ").append(count).append('\n');
+        String labels = labelName == null ? "" : labels(labelName, labelValue);
+        sample(out, name + "_count", labels, count);
+        sample(out, name + "_sum", labels, histogram.getTotalMillis() / 1000.0);
+    }
+
+    private static void header(StringBuilder out, String name, String type, String help) {
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        out.append("# HELP ").append(name).append(' ').append(escape(help)).append('\n');
+    }
+
+    private static void sample(StringBuilder out, String name, String labels, double value) {
+        out.append(name).append(labels).append(' ').append(number(value)).append('\n');
+    }
+
+    private static String labels(String... namesAndValues) {
+        StringBuilder labels = new StringBuilder("{");
+        for (int i = 0; i + 1 < namesAndValues.length; i += 2) {
+            if (i > 0) {
+                labels.append(',');
+            }
+            labels.append(namesAndValues[i]).append("=\"").append(escape(namesAndValues[i + 1])).append('"');
+        }
+        return labels.append('}').toString();
+    }
+
+    private static String number(double value) {
+        if (value == Math.rint(value) && !Double.isInfinite(value) && Math.abs(value) < 1e15) {
+            return String.valueOf((long) value);
+        }
+        return String.format(Locale.ROOT, "%s", value);
+    }
+
+    /**
+     * Nama SuiteMetrics (contoh: "http.cache.hit") menjadi nama metric valid (contoh: "http_cache_hit")
+     */
+    static String sanitize(String name) {
+        String sanitized = name.replaceAll("[^a-zA-Z0-9_]", "_");
+        return Character.isDigit(sanitized.charAt(0)) ? "_" + sanitized : sanitized;
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
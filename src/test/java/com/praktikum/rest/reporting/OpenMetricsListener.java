@@ -0,0 +1,105 @@
+package com.praktikum.rest.reporting;
+
+import com.praktikum.rest.config.TestConfig;
+import com.praktikum.rest.filters.RequestMetricsFilter;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * TestNG listener yang membuka OpenMetricsExporter di metrics.port selama suite berjalan
+ * dan menghitung pass/fail/skip untuk api_test_tests_total
+ *
+ * Jika port dipakai proses lain (contoh: dua run bersamaan), suite tetap jalan tanpa endpoint
+ */
+
+public class OpenMetricsListener implements ISuiteListener, ITestListener {
+    private final int port;
+    private final RequestMetricsFilter requests;
+
+    private final LongAdder passed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+
+    // Guarded by this
+    private OpenMetricsExporter exporter;
+
+    /**
+     * Dipakai TestNG ketika listener didaftarkan di testng.xml
+     */
+    public OpenMetricsListener() {
+        this(TestConfig.METRICS_PORT, RequestMetricsFilter.shared());
+    }
+
+    /**
+     * @param port Port OpenMetrics endpoint, 0 = random, negatif = tanpa endpoint (hanya menghitung results)
+     * @param requests Sumber metrics request HTTP, contoh: RequestMetricsFilter.shared()
+     */
+    public OpenMetricsListener(int port, RequestMetricsFilter requests) {
+        this.port = port;
+        this.requests = requests;
+    }
+
+    @Override
+    public synchronized void onStart(ISuite suite) {
+        if (port < 0 || exporter != null) {
+            return;
+        }
+        try {
+            exporter = new OpenMetricsExporter(port, requests, this);
+            System.out.println("[metrics] OpenMetrics endpoint: " + exporter.getUrl());
+        } catch (UncheckedIOException e) {
+            System.out.println("[metrics] OpenMetrics endpoint tidak aktif: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void onFinish(ISuite suite) {
+        if (exporter != null) {
+            exporter.close();
+            exporter = null;
+        }
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        passed.increment();
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        failed.increment();
+    }
+
+    @Override
+    public void onTestFailedButWithinSuccessPercentage(ITestResult result) {
+        failed.increment();
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        skipped.increment();
+    }
+
+    /**
+     * OpenMetrics endpoint yang sedang aktif, null jika tidak ada
+     */
+    public synchronized OpenMetricsExporter getExporter() {
+        return exporter;
+    }
+
+    public long getPassed() {
+        return passed.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    public long getSkipped() {
+        return skipped.sum();
+    }
+}
@@ -0,0 +1,288 @@
+package com.praktikum.rest.reporting;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.praktikum.rest.config.TestConfig;
+import com.praktikum.rest.metrics.LatencyHistogram;
+import com.praktikum.rest.metrics.PeriodicMetricsReporter;
+import com.praktikum.rest.metrics.SuiteMetrics;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * TestNG listener yang menulis setiap result langsung ke disk begitu test selesai
+ * (satu baris JSONL + satu testcase JUnit XML), dan hanya menyimpan aggregate O(1) di memory:
+ * counters pass/fail/skip dan satu duration histogram ukuran tetap
+ *
+ * Pengganti TestListenerAdapter untuk run dengan jutaan DataProvider rows
+ *
+ * Output per suite di results.dir:
+ *   <suite>.jsonl       satu JSON object per test invocation
+ *   <suite>-junit.xml   JUnit XML (tanpa count di testsuite element, CI menghitung dari testcase)
+ */
+
+public class StreamingResultListener implements ITestListener, ISuiteListener {
+    // Batas panjang field yang ditulis, supaya parameter/message besar tidak membengkakkan file
+    private static final int MAX_PARAMETER_LENGTH = 200;
+    private static final int MAX_MESSAGE_LENGTH = 1000;
+    private static final int MAX_STACK_FRAMES = 10;
+
+    private final Path directory;
+    private final String metricsPrefix;
+    private final Duration progressInterval;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private final LongAdder passed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LatencyHistogram durations = new LatencyHistogram();
+    private volatile long startNanos = System.nanoTime();
+
+    // Guarded by this: writers untuk suite yang sedang berjalan
+    private Writer jsonl;
+    private Writer junit;
+    private PeriodicMetricsReporter progress;
+
+    /**
+     * Dipakai TestNG ketika listener didaftarkan di testng.xml
+     */
+    public StreamingResultListener() {
+        this(Paths.get(TestConfig.RESULTS_DIR), "results.",
+                Duration.ofSeconds(TestConfig.RESULTS_PROGRESS_INTERVAL_SECONDS));
+    }
+
+    /**
+     * @param directory Folder output JSONL dan JUnit XML
+     * @param metricsPrefix Prefix gauges progress di SuiteMetrics, contoh: "results."
+     * @param progressInterval Jarak antar print progress, Duration.ZERO = tanpa progress
+     */
+    public StreamingResultListener(Path directory, String metricsPrefix, Duration progressInterval) {
+        this.directory = directory;
+        this.metricsPrefix = metricsPrefix;
+        this.progressInterval = progressInterval;
+
+        SuiteMetrics.gauge(metricsPrefix + "completed", this::getTotal);
+        SuiteMetrics.gauge(metricsPrefix + "pass.rate", () -> getTotal() == 0 ? 0 : 100.0 * getPassed() / getTotal());
+        SuiteMetrics.gauge(metricsPrefix + "throughput", this::getThroughput);
+        SuiteMetrics.gauge(metricsPrefix + "duration.p99.ms", () -> durations.getPercentileMillis(99));
+    }
+
+    @Override
+    public synchronized void onStart(ISuite suite) {
+        startNanos = System.nanoTime();
+        String fileName = suite.getName().replaceAll("[^A-Za-z0-9._-]+", "-");
+        try {
+            Files.createDirectories(directory);
+            jsonl = Files.newBufferedWriter(directory.resolve(fileName + ".jsonl"), StandardCharsets.UTF_8);
+            junit = Files.newBufferedWriter(directory.resolve(fileName + "-junit.xml"), StandardCharsets.UTF_8);
+            junit.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+            junit.write("<testsuite name=\"" + xml(suite.getName()) + "\">\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Gagal membuka result files di " + directory, e);
+        }
+        if (!progressInterval.isZero()) {
+            progress = PeriodicMetricsReporter.start(metricsPrefix, progressInterval, System.out);
+        }
+    }
+
+    @Override
+    public synchronized void onFinish(ISuite suite) {
+        if (progress != null) {
+            progress.close();
+            progress = null;
+        }
+        try {
+            if (junit != null) {
+                junit.write("</testsuite>\n");
+                junit.close();
+            }
+            if (jsonl != null) {
+                jsonl.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            junit = null;
+            jsonl = null;
+        }
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        passed.increment();
+        record(result, "PASS");
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        failed.increment();
+        record(result, "FAIL");
+    }
+
+    @Override
+    public void onTestFailedButWithinSuccessPercentage(ITestResult result) {
+        failed.increment();
+        record(result, "FAIL");
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        skipped.increment();
+        record(result, "SKIP");
+    }
+
+    public long getPassed() {
+        return passed.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    public long getSkipped() {
+        return skipped.sum();
+    }
+
+    public long getTotal() {
+        return getPassed() + getFailed() + getSkipped();
+    }
+
+    /**
+     * Test invocations per detik sejak suite dimulai
+     */
+    public double getThroughput() {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        return seconds <= 0 ? 0 : getTotal() / seconds;
+    }
+
+    /**
+     * Distribusi durasi semua test invocations
+     */
+    public LatencyHistogram getDurations() {
+        return durations;
+    }
+
+    /**
+     * Print summary dengan format yang sama seperti TestRunner sebelumnya
+     */
+    public void printSummary(PrintStream out) {
+        out.println("===== TEST EXECUTION SUMMARY =====");
+        out.println("Passed tests: " + getPassed());
+        out.println("Failed tests: " + getFailed());
+        out.println("Skipped tests: " + getSkipped());
+        out.println("Total tests: " + getTotal());
+        out.printf("Throughput: %.1f tests/s, duration %s%n", getThroughput(), durations.summary());
+        out.println("Results: " + directory.toAbsolutePath());
+    }
+
+    private void record(ITestResult result, String status) {
+        long durationMillis = Math.max(0, result.getEndMillis() - result.getStartMillis());
+        durations.recordMicros(TimeUnit.MILLISECONDS.toMicros(durationMillis));
+
+        String className = result.getTestClass().getName();
+        String methodName = result.getMethod().getMethodName();
+        String parameters = parameters(result.getParameters());
+        Throwable error = result.getThrowable();
+
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("class", className);
+        line.put("method", methodName);
+        line.put("parameters", parameters);
+        line.put("status", status);
+        line.put("startMillis", result.getStartMillis());
+        line.put("durationMillis", durationMillis);
+        line.put("thread", Thread.currentThread().getName());
+        if (error != null) {
+            line.put("error", error.getClass().getName() + ": " + truncate(String.valueOf(error.getMessage()), MAX_MESSAGE_LENGTH));
+        }
+
+        StringBuilder testcase = new StringBuilder("  <testcase classname=\"").append(xml(className))
+                .append("\" name=\"").append(xml(parameters.isEmpty() ? methodName : methodName + "(" + parameters + ")"))
+                .append("\" time=\"").append(durationMillis / 1000.0).append('"');
+        switch (status) {
+            case "PASS" -> testcase.append("/>\n");
+            case "SKIP" -> testcase.append(">\n    <skipped/>\n  </testcase>\n");
+            default -> testcase.append(">\n    <failure type=\"").append(xml(error == null ? "" : error.getClass().getName()))
+                    .append("\" message=\"").append(xml(error == null ? "" : truncate(String.valueOf(error.getMessage()), MAX_MESSAGE_LENGTH)))
+                    .append("\">").append(xml(stackTrace(error))).append("</failure>\n  </testcase>\n");
+        }
+
+        try {
+            String json = mapper.writeValueAsString(line);
+            synchronized (this) {
+                if (jsonl == null) {
+                    return;  // Listener dipakai tanpa ISuite lifecycle, aggregates tetap dihitung
+                }
+                jsonl.write(json);
+                jsonl.write('\n');
+                junit.write(testcase.toString());
+                // Flush per record: result di disk selalu up to date dan tidak hilang jika JVM mati di tengah sweep
+                jsonl.flush();
+                junit.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String parameters(Object[] parameters) {
+        if (parameters == null || parameters.length == 0) {
+            return "";
+        }
+        StringJoiner joiner = new StringJoiner(", ");
+        for (Object parameter : parameters) {
+            joiner.add(String.valueOf(parameter));
+        }
+        return truncate(joiner.toString(), MAX_PARAMETER_LENGTH);
+    }
+
+    private static String stackTrace(Throwable error) {
+        if (error == null) {
+            return "";
+        }
+        StringBuilder trace = new StringBuilder(error.toString());
+        StackTraceElement[] frames = error.getStackTrace();
+        for (int i = 0; i < Math.min(frames.length, MAX_STACK_FRAMES); i++) {
+            trace.append("\n\tat ").append(frames[i]);
+        }
+        return truncate(trace.toString(), MAX_MESSAGE_LENGTH * 4);
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value.length() <= maxLength ? value : value.substring(0, maxLength) + "...";
+    }
+
+    private static String xml(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '<' -> escaped.append("&lt;");
+                case '>' -> escaped.append("&gt;");
+                case '&' -> escaped.append("&amp;");
+                case '"' -> escaped.append("&quot;");
+                case '\'' -> escaped.append("&apos;");
+                default -> {
+                    if (c >= 0x20 || c == '\n' || c == '\r' || c == '\t') {
+                        escaped.append(c);  // Karakter control lain tidak valid di XML 1.0
+                    }
+                }
+            }
+        }
+        return escaped.toString();
+    }
+}
@@ -1,49 +1,163 @@
 package com.praktikum.rest.runners;
 
-import org.testng.TestListenerAdapter;
+import com.praktikum.rest.config.TestConfig;
+import com.praktikum.rest.health.HealthProbeListener;
+import com.praktikum.rest.impact.ImpactIndex;
+import com.praktikum.rest.impact.ImpactIndexListener;
+import com.praktikum.rest.metrics.SuiteMetrics;
+import com.praktikum.rest.profiling.ResourceProfilingListener;
+import com.praktikum.rest.reporting.OpenMetricsListener;
+import com.praktikum.rest.reporting.StreamingResultListener;
 import org.testng.TestNG;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlInclude;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * Optional test runner class untuk execute tests via main method
  * Berguna untuk custom test execution atau integration dengan CI/CD
+ *
+ * Selective run: endpoint yang berubah sebagai arguments (atau -Dimpact.changed, dipisah koma),
+ * hanya test yang memanggil endpoint tersebut menurut impact index yang dijalankan
+ *   java ... TestRunner "POST /users" "GET /posts?userId"
  */
 
 public class TestRunner {
+    // Semua test classes yang dijalankan pada full run
+    private static final Class<?>[] TEST_CLASSES = {
+            com.praktikum.rest.tests.UserAPITests.class,
+            com.praktikum.rest.tests.AuthenticationTests.class,
+            com.praktikum.rest.tests.AdvancedAPITests.class,
+            com.praktikum.rest.tests.FakerDataTests.class,
+            com.praktikum.rest.tests.ResponseCacheTests.class,
+            com.praktikum.rest.tests.AdaptiveConcurrencyTests.class,
+            com.praktikum.rest.tests.RateLimitTests.class,
+            com.praktikum.rest.tests.DistributedLoadTests.class,
+            com.praktikum.rest.tests.WorkflowTests.class,
+            com.praktikum.rest.tests.FaultInjectionProxyTests.class,
+            com.praktikum.rest.tests.StreamingResultListenerTests.class,
+            com.praktikum.rest.tests.PayloadScalingTests.class,
+            com.praktikum.rest.tests.CompressionTests.class,
+            com.praktikum.rest.tests.TransportTests.class,
+            com.praktikum.rest.tests.OpenMetricsExporterTests.class,
+            com.praktikum.rest.tests.JsonSnapshotTests.class,
+            com.praktikum.rest.tests.ImpactIndexTests.class,
+            com.praktikum.rest.tests.PaginatorTests.class,
+            com.praktikum.rest.tests.TrafficReplayTests.class,
+            com.praktikum.rest.tests.ResourceProfilingTests.class,
+            com.praktikum.rest.tests.CircuitBreakerTests.class,
+            com.praktikum.rest.tests.SoakTests.class,
+            com.praktikum.rest.tests.TestDataCorpusTests.class
+    };
+
     /**
      * Main method untuk execute tests programmatically
+     * @param args Endpoint yang berubah (opsional, host opsional), contoh: "POST /users" "GET reqres.in/api/users/{id}"
      */
     public static void main(String[] args) {
         // Create TestNG instance
         TestNG testng = new TestNG();
 
-        // Create test listener untuk capture results
-        TestListenerAdapter tla = new TestListenerAdapter();
+        // Listener yang men-stream setiap result ke disk, memory tetap O(1) meskipun jutaan DataProvider rows
+        StreamingResultListener results = new StreamingResultListener();
 
-        // Set test classes to run
-        testng.setTestClasses(new Class[] {
-                com.praktikum.rest.tests.UserAPITests.class,
-                com.praktikum.rest.tests.AuthenticationTests.class,
-                com.praktikum.rest.tests.AdvancedAPITests.class,
-                com.praktikum.rest.tests.FakerDataTests.class
-        });
+        List<String> changedEndpoints = changedEndpoints(args);
+        if (changedEndpoints.isEmpty()) {
+            // Set test classes to run
+            testng.setTestClasses(TEST_CLASSES);
+        } else {
+            // Hanya test yang terdampak perubahan endpoint
+            XmlSuite suite = selectiveSuite(changedEndpoints);
+            if (suite == null) {
+                return;
+            }
+            testng.setXmlSuites(List.of(suite));
+        }
+
+        // Pool untuk parallel DataProvider, adaptive limiter mengatur concurrency di dalamnya
+        testng.setDataProviderThreadCount(TestConfig.SWEEP_MAX_CONCURRENCY);
+
+        // Probe target di awal suite, host yang DOWN langsung di-skip/fail oleh circuit breaker
+        testng.addListener(new HealthProbeListener());
 
         // Add listeners untuk result capture
-        testng.addListener(tla);
+        testng.addListener(results);
+
+        // OpenMetrics endpoint di metrics.port selama suite berjalan
+        testng.addListener(new OpenMetricsListener());
+
+        // Perbarui impact index dengan endpoint yang dipanggil setiap test di run ini
+        testng.addListener(new ImpactIndexListener());
+
+        // Ranked report biaya client-side per test method (CPU, allocation, wall vs HTTP, bytes)
+        testng.addListener(new ResourceProfilingListener());
+
+        // Default reporters (HTML/XML) membangun report dari semua results di memory, JSONL/JUnit XML sudah cukup
+        testng.setUseDefaultListeners(false);
 
         // Run tests
         testng.run();
 
         // Print test results summary
-        System.out.println("===== TEST EXECUTION SUMMARY =====");
-        System.out.println("Passed tests: " +
-                tla.getPassedTests().size());
-        System.out.println("Failed tests: " +
-                tla.getFailedTests().size());
-        System.out.println("Skipped tests: " +
-                tla.getSkippedTests().size());
-        System.out.println("Total tests: " +
-                (tla.getPassedTests().size() +
-                        tla.getFailedTests().size() +
-                        tla.getSkippedTests().size()));
+        results.printSummary(System.out);
+
+        // Print metrics tambahan (auth overhead, dll.) jika ada
+        SuiteMetrics.printSummary(System.out);
+    }
+
+    private static List<String> changedEndpoints(String[] args) {
+        List<String> changed = new ArrayList<>();
+        Arrays.stream(args).map(String::trim).filter(arg -> !arg.isEmpty()).forEach(changed::add);
+        Arrays.stream(TestConfig.IMPACT_CHANGED.split(",")).map(String::trim).filter(arg -> !arg.isEmpty()).forEach(changed::add);
+        return changed;
+    }
+
+    /**
+     * Suite berisi test yang terdampak, null jika tidak ada test yang perlu dijalankan
+     */
+    private static XmlSuite selectiveSuite(List<String> changedEndpoints) {
+        ImpactIndex index = ImpactIndex.load(Paths.get(TestConfig.IMPACT_INDEX_FILE));
+        if (index.knownTests().isEmpty()) {
+            System.out.println("[impact] Index " + TestConfig.IMPACT_INDEX_FILE + " belum ada, jalankan full run dulu");
+        }
+        ImpactIndex.Selection selection = index.select(changedEndpoints, ImpactIndex.testIds(TEST_CLASSES));
+        System.out.println("[impact] Endpoint berubah: " + changedEndpoints);
+        System.out.println("[impact] Test terdampak: " + selection.impacted().size()
+                + ", test baru (belum ada di index): " + selection.unknown().size());
+        if (!selection.unmatchedEndpoints().isEmpty()) {
+            System.out.println("[impact] Tidak dipanggil test mana pun: " + selection.unmatchedEndpoints());
+        }
+        if (selection.tests().isEmpty()) {
+            return null;
+        }
+
+        // Class -> methods, "*" berarti seluruh class (request dari configuration method)
+        Map<String, List<String>> methodsByClass = new TreeMap<>();
+        for (String test : selection.tests()) {
+            methodsByClass.computeIfAbsent(ImpactIndex.className(test), key -> new ArrayList<>())
+                    .add(ImpactIndex.methodName(test));
+        }
+        XmlSuite suite = new XmlSuite();
+        suite.setName("Impacted Tests");
+        suite.setDataProviderThreadCount(TestConfig.SWEEP_MAX_CONCURRENCY);
+        XmlTest test = new XmlTest(suite);
+        test.setName("Impacted by " + String.join(", ", changedEndpoints));
+        List<XmlClass> classes = new ArrayList<>();
+        methodsByClass.forEach((className, methods) -> {
+            XmlClass xmlClass = new XmlClass(className);
+            if (!methods.contains(ImpactIndex.CLASS_WIDE)) {
+                xmlClass.setIncludedMethods(methods.stream().map(XmlInclude::new).toList());
+            }
+            classes.add(xmlClass);
+        });
+        test.setXmlClasses(classes);
+        return suite;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,369 @@
+package com.praktikum.rest.snapshot;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.praktikum.rest.config.TestConfig;
+import com.praktikum.rest.metrics.SuiteMetrics;
+import io.restassured.response.Response;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Golden snapshot untuk JSON response body: satu assertion yang meng-cover seluruh response
+ *
+ * Body di-canonicalize (keys diurutkan, field volatile seperti createdAt dibuang di semua level,
+ * angka dinormalisasi) lalu di-hash 64-bit sambil menelusuri tree, tanpa membuat String canonical.
+ * Hash dibandingkan dengan hash di golden file (di-cache setelah dibaca pertama kali); diff struktural
+ * baru dihitung ketika hash berbeda
+ *
+ * Golden file: <snapshot.dir>/<name>.json berisi {"hash": "<16 hex>", "body": <canonical body>}
+ * snapshot.dir relatif di-resolve terhadap root project, bukan working directory
+ * Golden yang belum ada membuat assertion gagal; -Dsnapshot.update=true merekam golden baru dan menimpa yang sudah ada
+ */
+
+public class JsonSnapshot {
+    private static final JsonSnapshot shared = new JsonSnapshot(resolveDirectory(TestConfig.SNAPSHOT_DIR),
+            parseFields(TestConfig.SNAPSHOT_IGNORED_FIELDS), TestConfig.SNAPSHOT_UPDATE);
+
+    // Diff dipotong supaya error message tetap terbaca untuk response besar
+    private static final int MAX_DIFFERENCES = 20;
+
+    // FNV-1a 64-bit
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final Path directory;
+    private final Set<String> ignoredFields;
+    private final boolean update;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    // Golden yang sudah dibaca: path file -> golden (hash + canonical body untuk diff)
+    private final Map<Path, Golden> goldens = new ConcurrentHashMap<>();
+
+    private record Golden(long hash, JsonNode body) {
+    }
+
+    /**
+     * Instance bersama yang dikonfigurasi dari snapshot.dir, snapshot.ignored.fields, dan snapshot.update
+     */
+    public static JsonSnapshot shared() {
+        return shared;
+    }
+
+    /**
+     * @param directory Folder golden files
+     * @param ignoredFields Nama field volatile yang dibuang di semua level, contoh: createdAt
+     * @param update true = tulis ulang golden dengan body saat ini (untuk perubahan API yang disengaja)
+     */
+    public JsonSnapshot(Path directory, Set<String> ignoredFields, boolean update) {
+        this.directory = directory;
+        this.ignoredFields = Set.copyOf(ignoredFields);
+        this.update = update;
+    }
+
+    /**
+     * Assert body response sama dengan golden snapshot
+     * @param name Nama snapshot (nama file tanpa .json), contoh: "users-1"
+     * @param response Response dengan JSON body
+     * @param extraIgnoredFields Field volatile tambahan khusus untuk snapshot ini
+     * @throws AssertionError Berisi diff struktural (path JSON, expected, actual) jika berbeda, atau golden belum ada
+     */
+    public void assertMatches(String name, Response response, String... extraIgnoredFields) {
+        assertMatches(name, response.asByteArray(), extraIgnoredFields);
+    }
+
+    /**
+     * Sama dengan assertMatches(String, Response, String...) untuk body yang sudah berupa bytes
+     */
+    public void assertMatches(String name, byte[] body, String... extraIgnoredFields) {
+        long start = System.nanoTime();
+        Set<String> ignored = ignored(extraIgnoredFields);
+        JsonNode actual = readTree(body);
+        long actualHash = hash(actual, ignored);
+        Path file = directory.resolve(name + ".json");
+
+        try {
+            if (update) {
+                record(file, actualHash, actual, ignored);
+                SuiteMetrics.increment("snapshot.recorded");
+                System.out.println("[snapshot] Golden direkam: " + file);
+                return;
+            }
+            Golden golden = golden(file);
+            if (golden == null) {
+                SuiteMetrics.increment("snapshot.missing");
+                throw new AssertionError("Golden snapshot '" + name + "' belum ada (" + file + ")"
+                        + "\nRekam dengan -Dsnapshot.update=true lalu commit golden file-nya");
+            }
+            if (golden.hash() == actualHash) {
+                SuiteMetrics.increment("snapshot.match");
+                return;
+            }
+            SuiteMetrics.increment("snapshot.mismatch");
+            List<String> differences = diff(golden.body(), canonicalize(actual, ignored));
+            throw new AssertionError("Response berbeda dari snapshot '" + name + "' (" + file + ")\n  "
+                    + String.join("\n  ", differences)
+                    + "\nJika perubahan ini disengaja, jalankan ulang dengan -Dsnapshot.update=true");
+        } finally {
+            SuiteMetrics.recordNanos("snapshot.compare", System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Folder golden sebagai absolute path. Path relatif di-resolve terhadap root project:
+     * -Dbasedir (di-set oleh Maven Surefire), atau folder pertama yang berisi pom.xml di atas lokasi class ini
+     * (run dari IDE atau TestRunner), atau working directory jika keduanya tidak ada
+     */
+    public static Path resolveDirectory(String directory) {
+        Path path = Paths.get(directory);
+        return path.isAbsolute() ? path : projectRoot().resolve(path).normalize();
+    }
+
+    private static Path projectRoot() {
+        String basedir = System.getProperty("basedir");
+        if (basedir != null && !basedir.isBlank()) {
+            return Paths.get(basedir).toAbsolutePath();
+        }
+        try {
+            // Contoh: <project>/target/test-classes -> <project>
+            for (Path candidate = Paths.get(JsonSnapshot.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+                 candidate != null; candidate = candidate.getParent()) {
+                if (Files.isRegularFile(candidate.resolve("pom.xml"))) {
+                    return candidate;
+                }
+            }
+        } catch (URISyntaxException | RuntimeException e) {
+            // Code source tidak tersedia (contoh: custom class loader), pakai working directory
+        }
+        return Paths.get("").toAbsolutePath();
+    }
+
+    /**
+     * Hash 64-bit dari bentuk canonical: urutan keys dan field yang di-ignore tidak mempengaruhi hasil
+     */
+    public static long hash(JsonNode node, Set<String> ignoredFields) {
+        return mix(hash(node, ignoredFields, FNV_OFFSET));
+    }
+
+    /**
+     * Bentuk canonical sebagai tree (isi golden file): keys diurutkan dan field yang di-ignore dibuang
+     */
+    public static JsonNode canonicalize(JsonNode node, Set<String> ignoredFields) {
+        if (node.isObject()) {
+            ObjectNode sorted = JsonNodeFactory.instance.objectNode();
+            for (String field : sortedFieldNames(node, ignoredFields)) {
+                sorted.set(field, canonicalize(node.get(field), ignoredFields));
+            }
+            return sorted;
+        }
+        if (node.isArray()) {
+            ArrayNode array = JsonNodeFactory.instance.arrayNode(node.size());
+            node.forEach(element -> array.add(canonicalize(element, ignoredFields)));
+            return array;
+        }
+        return node;  // Angka tetap ditulis apa adanya, hash dan diff membandingkan canonicalNumber
+    }
+
+    /**
+     * Diff struktural expected vs actual (keduanya canonical), maksimal 20 baris
+     * Format: "$.address.city: expected "Gwenborough" but was "Jakarta"", "$.phone: missing", "$.extra: unexpected"
+     */
+    public static List<String> diff(JsonNode expected, JsonNode actual) {
+        List<String> differences = new ArrayList<>();
+        diff("$", expected, actual, differences);
+        if (differences.isEmpty()) {
+            differences.add("$: hash berbeda tetapi tidak ada perbedaan struktural (golden file diedit manual?)");
+        }
+        return differences;
+    }
+
+    private static void diff(String path, JsonNode expected, JsonNode actual, List<String> differences) {
+        if (differences.size() > MAX_DIFFERENCES) {
+            return;
+        }
+        if (expected.isObject() && actual.isObject()) {
+            TreeSet<String> fields = new TreeSet<>();
+            expected.fieldNames().forEachRemaining(fields::add);
+            actual.fieldNames().forEachRemaining(fields::add);
+            for (String field : fields) {
+                String child = path + "." + field;
+                if (!actual.has(field)) {
+                    add(differences, child + ": missing (expected " + expected.get(field) + ")");
+                } else if (!expected.has(field)) {
+                    add(differences, child + ": unexpected " + actual.get(field));
+                } else {
+                    diff(child, expected.get(field), actual.get(field), differences);
+                }
+            }
+        } else if (expected.isArray() && actual.isArray()) {
+            if (expected.size() != actual.size()) {
+                add(differences, path + ": expected " + expected.size() + " elements but was " + actual.size());
+            }
+            for (int i = 0; i < Math.min(expected.size(), actual.size()); i++) {
+                diff(path + "[" + i + "]", expected.get(i), actual.get(i), differences);
+            }
+        } else if (expected.isNumber() && actual.isNumber()) {
+            if (!canonicalNumber(expected).equals(canonicalNumber(actual))) {
+                add(differences, path + ": expected " + expected + " but was " + actual);
+            }
+        } else if (!expected.equals(actual)) {
+            add(differences, path + ": expected " + expected + " but was " + actual);
+        }
+    }
+
+    private static void add(List<String> differences, String difference) {
+        if (differences.size() < MAX_DIFFERENCES) {
+            differences.add(difference);
+        } else if (differences.size() == MAX_DIFFERENCES) {
+            differences.add("...");
+        }
+    }
+
+    private static long hash(JsonNode node, Set<String> ignoredFields, long hash) {
+        switch (node.getNodeType()) {
+            case OBJECT -> {
+                hash = hashChar(hash, '{');
+                for (String field : sortedFieldNames(node, ignoredFields)) {
+                    hash = hashString(hash, field);
+                    hash = hash(node.get(field), ignoredFields, hashChar(hash, ':'));
+                }
+                return hashChar(hash, '}');
+            }
+            case ARRAY -> {
+                hash = hashChar(hash, '[');
+                for (JsonNode element : node) {
+                    hash = hashChar(hash(element, ignoredFields, hash), ',');
+                }
+                return hashChar(hash, ']');
+            }
+            case STRING -> {
+                return hashString(hashChar(hash, 's'), node.textValue());
+            }
+            case NUMBER -> {
+                return hashString(hashChar(hash, 'n'), canonicalNumber(node));
+            }
+            case BOOLEAN -> {
+                return hashChar(hash, node.booleanValue() ? 't' : 'f');
+            }
+            default -> {
+                return hashChar(hash, '0');  // null dan node lain
+            }
+        }
+    }
+
+    private static List<String> sortedFieldNames(JsonNode node, Set<String> ignoredFields) {
+        List<String> fields = new ArrayList<>(node.size());
+        for (Iterator<String> names = node.fieldNames(); names.hasNext(); ) {
+            String field = names.next();
+            if (!ignoredFields.contains(field)) {
+                fields.add(field);
+            }
+        }
+        fields.sort(null);
+        return fields;
+    }
+
+    // 1, 1.0, dan 1.00 di-hash sama
+    private static String canonicalNumber(JsonNode node) {
+        return node.isIntegralNumber() ? node.bigIntegerValue().toString()
+                : node.decimalValue().stripTrailingZeros().toPlainString();
+    }
+
+    // Panjang di-hash dulu supaya batas antar string tidak ambigu ("ab"+"c" != "a"+"bc")
+    private static long hashString(long hash, String value) {
+        hash = hashChar(hash, (char) value.length());
+        for (int i = 0; i < value.length(); i++) {
+            hash = hashChar(hash, value.charAt(i));
+        }
+        return hash;
+    }
+
+    private static long hashChar(long hash, char value) {
+        hash = (hash ^ (value & 0xFF)) * FNV_PRIME;
+        return (hash ^ (value >>> 8)) * FNV_PRIME;
+    }
+
+    // Finalizer murmur3 supaya bit hasil FNV tersebar merata
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    private Golden golden(Path file) {
+        Golden cached = goldens.get(file);
+        if (cached != null || !Files.exists(file)) {
+            return cached;
+        }
+        JsonNode stored;
+        try {
+            stored = mapper.readTree(file.toFile());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Gagal membaca golden snapshot " + file, e);
+        }
+        JsonNode body = stored.get("body");
+        long hash = Long.parseUnsignedLong(stored.path("hash").asText(), 16);
+        if (body == null || hash(body, Set.of()) != hash) {
+            throw new IllegalStateException("Golden snapshot " + file + " tidak konsisten dengan hash-nya, "
+                    + "rekam ulang dengan -Dsnapshot.update=true");
+        }
+        Golden golden = new Golden(hash, body);
+        goldens.put(file, golden);
+        return golden;
+    }
+
+    private void record(Path file, long hash, JsonNode actual, Set<String> ignored) {
+        ObjectNode stored = JsonNodeFactory.instance.objectNode();
+        stored.put("hash", String.format("%016x", hash));
+        stored.set("body", canonicalize(actual, ignored));
+        try {
+            Files.createDirectories(file.getParent());
+            mapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), stored);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Gagal menulis golden snapshot " + file, e);
+        }
+        goldens.put(file, new Golden(hash, stored.get("body")));
+    }
+
+    private JsonNode readTree(byte[] body) {
+        try {
+            return mapper.readTree(body);
+        } catch (IOException e) {
+            throw new AssertionError("Response body bukan JSON yang valid: " + e.getMessage(), e);
+        }
+    }
+
+    private Set<String> ignored(String... extraIgnoredFields) {
+        if (extraIgnoredFields.length == 0) {
+            return ignoredFields;
+        }
+        Set<String> ignored = new TreeSet<>(ignoredFields);
+        ignored.addAll(Arrays.asList(extraIgnoredFields));
+        return ignored;
+    }
+
+    private static Set<String> parseFields(String fields) {
+        return Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(field -> !field.isEmpty())
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,145 @@
+package com.praktikum.rest.tests;
+
+import com.praktikum.rest.load.AdaptiveConcurrencyFilter;
+import com.praktikum.rest.load.AdaptiveConcurrencyLimiter;
+import com.praktikum.rest.metrics.SuiteMetrics;
+import com.praktikum.rest.utils.LocalStubServer;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Test class untuk AdaptiveConcurrencyLimiter (AIMD)
+ * Menggunakan LocalStubServer yang membalas 429 saat terlalu banyak request bersamaan
+ */
+
+public class AdaptiveConcurrencyTests extends BaseTest {
+    // Kapasitas server stub: lebih dari ini request bersamaan dibalas 429
+    private static final int SERVER_CAPACITY = 3;
+
+    private LocalStubServer server;
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger maxObserved = new AtomicInteger();
+
+    @BeforeMethod
+    public void setupMethod() {
+        useJSONPlaceholderAPI();
+        active.set(0);
+        maxObserved.set(0);
+        server = new LocalStubServer().handle("/users", exchange -> {
+            int current = active.incrementAndGet();
+            maxObserved.accumulateAndGet(current, Math::max);
+            try {
+                Thread.sleep(30);  // Simulate processing time
+                LocalStubServer.respond(exchange, current > SERVER_CAPACITY ? 429 : 200, "{\"id\": 1}");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                active.decrementAndGet();
+            }
+        });
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDownMethod() {
+        server.close();
+    }
+
+    /**
+     * Test limit naik perlahan selama response sehat
+     * Validates: additive increase sampai batas maksimum
+     */
+    @Test
+    public void testLimitGrowsOnHealthyResponses() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test.grow", 2, 1, 8, 0.5, 2.0);
+
+        for (int i = 0; i < 50; i++) {
+            limiter.acquire();
+            limiter.release(1_000_000L, false);  // 1 ms, tidak overload
+        }
+
+        assertThat(limiter.getLimit(), greaterThan(2.0));
+        assertThat(limiter.getLimit(), lessThanOrEqualTo(8.0));
+        assertThat(limiter.getInFlight(), equalTo(0.0));
+    }
+
+    /**
+     * Test limit turun secara multiplicative saat server overload
+     * Validates: respon 429 menurunkan limit, tapi tidak di bawah minimum
+     */
+    @Test
+    public void testLimitBacksOffOnOverload() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test.backoff", 8, 2, 8, 0.5, 2.0);
+
+        limiter.acquire();
+        limiter.release(1_000_000L, true);  // Overload signal
+
+        assertThat(limiter.getLimit(), closeTo(4.0, 0.001));
+
+        for (int i = 0; i < 10; i++) {
+            limiter.acquire();
+            Thread.sleep(2);  // Lewati cooldown satu round trip
+            limiter.release(1_000_000L, true);
+        }
+
+        assertThat(limiter.getLimit(), equalTo(2.0));  // Berhenti di minimum
+    }
+
+    /**
+     * Test limiter melindungi server dengan kapasitas terbatas
+     * Validates: concurrency turun ke sekitar kapasitas server setelah menerima 429
+     */
+    @Test
+    public void testFilterConvergesBelowServerCapacity() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test.filter", 8, 1, 8, 0.5, 2.0);
+        AdaptiveConcurrencyFilter filter = new AdaptiveConcurrencyFilter(limiter);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int i = 0; i < 80; i++) {
+                futures.add(executor.submit(() -> given()
+                        .baseUri(server.baseUrl())
+                        .filter(filter)
+                        .when()
+                        .get("/users")
+                        .statusCode()));
+            }
+            for (Future<Integer> future : futures) {
+                assertThat(future.get(), anyOf(equalTo(200), equalTo(429)));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(SuiteMetrics.counter("test.filter.decrease").sum(), greaterThan(0L));  // Backoff terjadi
+        assertThat(limiter.getLimit(), lessThan(8.0));
+        assertThat(limiter.getQueueDepth(), equalTo(0.0));  // Semua antrian sudah selesai
+    }
+
+    /**
+     * Test limit, queue depth, in-flight, dan throughput tersedia sebagai metrics
+     */
+    @Test
+    public void testLimiterExposesMetrics() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test.metrics", 4, 1, 8, 0.5, 2.0);
+        limiter.acquire();
+        limiter.release(1_000_000L, false);
+
+        assertThat(SuiteMetrics.gaugeSnapshot(), allOf(
+                hasKey("test.metrics.limit"),
+                hasKey("test.metrics.queue"),
+                hasKey("test.metrics.inflight"),
+                hasKey("test.metrics.throughput")));
+        assertThat(SuiteMetrics.gaugeSnapshot().get("test.metrics.throughput"), greaterThan(0.0));
+    }
+}
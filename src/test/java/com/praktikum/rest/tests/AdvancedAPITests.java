@@ -1,14 +1,31 @@
 package com.praktikum.rest.tests;
 
+import com.praktikum.rest.config.TestConfig;
+import com.praktikum.rest.filters.CompressionMetricsFilter;
+import com.praktikum.rest.load.AdaptiveConcurrencyFilter;
+import com.praktikum.rest.load.AdaptiveConcurrencyLimiter;
+import com.praktikum.rest.metrics.PeriodicMetricsReporter;
+import com.praktikum.rest.pagination.Paginator;
+import com.praktikum.rest.proxy.FaultInjectionProxy;
 import com.praktikum.rest.utils.TestDataGenerator;
 import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import org.testng.SkipException;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 import static io.restassured.RestAssured.given;
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * Test class untuk advanced API testing scenarios
@@ -16,6 +33,38 @@ import java.util.Map;
  */
 
 public class AdvancedAPITests extends BaseTest {
+    // Shared limiter untuk semua parallel DataProvider rows di class ini
+    private static final AdaptiveConcurrencyLimiter sweepLimiter = new AdaptiveConcurrencyLimiter(
+            "sweep.concurrency",
+            TestConfig.SWEEP_INITIAL_CONCURRENCY,
+            TestConfig.SWEEP_MIN_CONCURRENCY,
+            TestConfig.SWEEP_MAX_CONCURRENCY,
+            TestConfig.SWEEP_BACKOFF_RATIO,
+            TestConfig.SWEEP_LATENCY_TOLERANCE);
+    private static final AdaptiveConcurrencyFilter sweepFilter = new AdaptiveConcurrencyFilter(sweepLimiter);
+
+    // Batas rows testUserIdSweep, semua rows (dan worker-nya) dibuat TestNG sekaligus
+    private static final int MAX_SWEEP_IDS = 10_000;
+
+    private PeriodicMetricsReporter sweepReporter;
+
+    /**
+     * Print limit, queue depth, dan throughput secara berkala selama sweep berjalan
+     */
+    @BeforeClass
+    public void startSweepReporter() {
+        sweepReporter = PeriodicMetricsReporter.start("sweep.concurrency.",
+                Duration.ofSeconds(TestConfig.SWEEP_REPORT_INTERVAL_SECONDS), System.out);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopSweepReporter() {
+        if (sweepReporter != null) {
+            sweepReporter.report();  // Snapshot terakhir
+            sweepReporter.close();
+        }
+    }
+
     /**
      * Setup method untuk setiap test
      */
@@ -43,6 +92,30 @@ public class AdvancedAPITests extends BaseTest {
                 .header("Content-Encoding", equalTo("gzip"));  // Validate compression
     }
 
+    /**
+     * Test untuk mengukur apa yang didapat dari compression di atas
+     * Validates: body gzip di wire lebih kecil dari body setelah decode, dan body tetap bisa di-parse
+     */
+    @Test
+    public void testCompressionReducesWireBytes() {
+        if (!TestConfig.COMPRESSION_METRICS_ENABLED) {
+            throw new SkipException("CompressionMetricsFilter tidak aktif (aktifkan dengan -Dhttp.compression.metrics=true)");
+        }
+
+        given()
+                .when()
+                .get("/users")
+                .then()
+                .statusCode(200)
+                .header("Content-Encoding", equalTo("gzip"))
+                .body("size()", equalTo(10));  // Body sudah di-decode oleh filter
+
+        CompressionMetricsFilter.Exchange exchange = CompressionMetricsFilter.shared().lastExchange();
+        assertThat(exchange.contentEncoding(), equalTo("gzip"));
+        assertThat(exchange.wireBytes(), lessThan(exchange.decodedBytes()));
+        assertThat(exchange.compressionRatio(), greaterThan(1.5));
+    }
+
     /**
      * Performance test untuk mengukur response time
      * Validates API performance under normal conditions
@@ -62,7 +135,7 @@ public class AdvancedAPITests extends BaseTest {
      * DataProvider untuk provide multiple user IDs
      * @return Array of user IDs untuk data-driven testing
      */
-    @DataProvider(name = "validUserIds")
+    @DataProvider(name = "validUserIds", parallel = true)
     public Object[][] provideValidUserIds() {
         return new Object[][] {
                 {1}, {2}, {3}, {4}, {5}  // Multiple user IDs untuk testing
@@ -77,6 +150,7 @@ public class AdvancedAPITests extends BaseTest {
     public void testMultipleUsersWithDataProvider(int userId) {
         given()
                 .contentType(ContentType.JSON)
+                .filter(sweepFilter)  // Rows berjalan parallel, dibatasi adaptive limiter
                 .pathParam("id", userId)  // Dynamic user ID dari DataProvider
                 .when()
                 .get("/users/{id}")
@@ -88,6 +162,45 @@ public class AdvancedAPITests extends BaseTest {
                 .body("username", not(emptyOrNullString()));  // Validate username exists
     }
 
+    /**
+     * DataProvider untuk sweep range user ID
+     * Dengan parallel = true TestNG membuat worker untuk semua rows sebelum test pertama jalan (Iterator juga di-drain),
+     * jadi range dibatasi MAX_SWEEP_IDS, concurrency request tetap diatur oleh AIMD limiter
+     * @return User IDs (-Dsweep.user.id.start / -Dsweep.user.id.end)
+     */
+    @DataProvider(name = "userIdSweep", parallel = true)
+    public Object[][] provideUserIdSweep() {
+        long size = (long) TestConfig.SWEEP_USER_ID_END - TestConfig.SWEEP_USER_ID_START + 1;
+        if (size > MAX_SWEEP_IDS) {
+            throw new IllegalArgumentException("Range sweep.user.id " + TestConfig.SWEEP_USER_ID_START + ".."
+                    + TestConfig.SWEEP_USER_ID_END + " lebih dari " + MAX_SWEEP_IDS + " ID, pecah menjadi beberapa run");
+        }
+        return IntStream.rangeClosed(TestConfig.SWEEP_USER_ID_START, TestConfig.SWEEP_USER_ID_END)
+                .mapToObj(id -> new Object[] {id})
+                .toArray(Object[][]::new);
+    }
+
+    /**
+     * Sweep GET /users/{id} untuk range ID, concurrency diatur oleh AIMD limiter
+     * Limiter turun saat latency naik atau server membalas 429/503, dan naik pelan saat sehat
+     */
+    @Test(dataProvider = "userIdSweep")
+    public void testUserIdSweep(int userId) {
+        Response response = given()
+                .baseUri(FaultInjectionProxy.baseUrlFor(TestConfig.SWEEP_BASE_URL))
+                .contentType(ContentType.JSON)
+                .filter(sweepFilter)
+                .pathParam("id", userId)
+                .when()
+                .get("/users/{id}");
+
+        response.then()
+                .statusCode(anyOf(equalTo(200), equalTo(404)));  // ID yang tidak ada boleh 404
+        if (response.statusCode() == 200) {
+            response.then().body("id", equalTo(userId));  // Validate ID matches input
+        }
+    }
+
     /**
      * Test untuk pagination functionality
      * Validates API behavior dengan query parameters
@@ -107,6 +220,28 @@ public class AdvancedAPITests extends BaseTest {
                 .body("[0].body", not(emptyOrNullString()));  // Validate body exists
     }
 
+    /**
+     * Test pagination dengan Paginator: semua posts user 1 diambil per 3 item, halaman di-prefetch concurrent
+     * Validates: setiap post milik user 1 (assertion berjalan selagi halaman berikutnya masih di-download),
+     * urutan id tetap naik, dan jumlah total sama dengan X-Total-Count
+     */
+    @Test
+    public void testPaginatedPostsWithPrefetch() {
+        List<Integer> ids;
+        try (Stream<Map<String, Object>> posts = Paginator.of("/posts")
+                .pageNumbers("_page", "_limit", 3)
+                .queryParam("userId", 1)
+                .build()
+                .stream()) {
+            ids = posts.peek(post -> assertThat(post.get("userId"), equalTo(1)))
+                    .map(post -> (Integer) post.get("id"))
+                    .collect(Collectors.toList());
+        }
+
+        assertThat(ids, hasSize(10));  // JSONPlaceholder: 10 posts per user
+        assertThat(ids, equalTo(ids.stream().sorted().collect(Collectors.toList())));
+    }
+
     /**
      * Test untuk create user menggunakan HashMap
      * Demonstrates different ways to create request body
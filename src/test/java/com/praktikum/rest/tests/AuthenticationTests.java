@@ -1,10 +1,27 @@
 package com.praktikum.rest.tests;
 
+import com.praktikum.rest.auth.Credentials;
+import com.praktikum.rest.auth.AuthManager;
+import com.praktikum.rest.auth.TokenCache;
+import com.praktikum.rest.config.TestConfig;
+import com.praktikum.rest.metrics.SuiteMetrics;
 import io.restassured.http.ContentType;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import static io.restassured.RestAssured.given;
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
+import static org.testng.Assert.expectThrows;
 
 /**
  * Test class untuk authentication related API endpoints
@@ -135,4 +152,132 @@ public class AuthenticationTests extends BaseTest{
                 .header("Server", not(emptyOrNullString()))  // Validate server header
                 .header("Cache-Control", not(emptyOrNullString()));  // Validate cache header
     }
-}
\ No newline at end of file
+
+    /**
+     * Test login sungguhan ke ReqRes API menggunakan valid credentials
+     * Validates: token dikembalikan dan disimpan di cache
+     */
+    @Test
+    public void testLoginWithValidCredentials() {
+        String token = AuthManager.getToken(TestConfig.VALID_EMAIL, TestConfig.VALID_PASSWORD);
+
+        assertThat(token, not(emptyOrNullString()));  // Token harus ada
+        assertThat(AuthManager.getToken(TestConfig.VALID_EMAIL, TestConfig.VALID_PASSWORD),
+                equalTo(token));  // Call kedua harus dari cache
+    }
+
+    /**
+     * Test request dengan bearer token yang di-inject lewat request specification
+     * Validates: beberapa request hanya butuh satu login
+     */
+    @Test
+    public void testAuthenticatedRequestsReuseCachedToken() {
+        try {
+            useAuthenticatedReqResAPI();
+            long loginsBefore = SuiteMetrics.counter("auth.token.miss").sum();
+
+            for (int userId = 1; userId <= 3; userId++) {
+                given()
+                        .pathParam("id", userId)
+                        .when()
+                        .get("/users/{id}")
+                        .then()
+                        .statusCode(200)
+                        .body("data.id", equalTo(userId));
+            }
+
+            // Maksimal satu login untuk tiga request (nol jika token sudah di-cache test lain)
+            assertThat(SuiteMetrics.counter("auth.token.miss").sum() - loginsBefore, lessThanOrEqualTo(1L));
+        } finally {
+            useJSONPlaceholderAPI();
+        }
+    }
+
+    /**
+     * Test single-flight login: banyak thread minta token bersamaan
+     * Validates: hanya satu login yang dikirim dan semua thread dapat token yang sama
+     */
+    @Test
+    public void testConcurrentTokenRequestsShareSingleLogin() throws Exception {
+        AtomicInteger loginCount = new AtomicInteger();
+        TokenCache cache = new TokenCache(credentials -> {
+            loginCount.incrementAndGet();
+            sleepQuietly(200);  // Simulate network latency dari login endpoint
+            return "token-" + credentials.email();
+        }, Duration.ofMinutes(5), Duration.ofSeconds(30), Clock.systemUTC());
+
+        Credentials credentials = new Credentials(TestConfig.VALID_EMAIL, TestConfig.VALID_PASSWORD);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> cache.getToken(credentials)));
+            }
+            for (Future<String> future : futures) {
+                assertThat(future.get(), equalTo("token-" + TestConfig.VALID_EMAIL));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(loginCount.get(), equalTo(1));  // Semua request di-coalesce jadi satu login
+    }
+
+    /**
+     * Test single-flight login yang gagal, contoh status 401 dari .then().statusCode(200)
+     * Validates: thread yang menunggu login yang sama ikut gagal (tidak hang) dan login berikutnya dicoba ulang
+     */
+    @Test
+    public void testFailedCoalescedLoginReleasesWaiters() throws Exception {
+        AtomicInteger loginCount = new AtomicInteger();
+        TokenCache cache = new TokenCache(credentials -> {
+            if (loginCount.incrementAndGet() == 1) {
+                sleepQuietly(300);  // Thread kedua join ke login ini selama menunggu
+                throw new AssertionError("Expected status code <200> but was <401>");
+            }
+            return "token-" + loginCount.get();
+        }, Duration.ofMinutes(5), Duration.ofSeconds(30), Clock.systemUTC());
+
+        Credentials credentials = new Credentials(TestConfig.INVALID_EMAIL, "secret");
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> leader = executor.submit(() -> cache.getToken(credentials));
+            sleepQuietly(50);
+            Future<String> waiter = executor.submit(() -> cache.getToken(credentials));
+
+            for (Future<String> future : List.of(leader, waiter)) {
+                ExecutionException failure = expectThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+                assertThat(failure.getCause(), instanceOf(AssertionError.class));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(loginCount.get(), equalTo(1));  // Waiter memakai hasil login yang gagal, bukan login sendiri
+        assertThat(cache.getToken(credentials), equalTo("token-2"));  // Kegagalan tidak di-cache
+    }
+
+    /**
+     * Test token yang sudah expired harus di-refresh
+     * Validates: TTL dan refresh skew dihormati oleh cache
+     */
+    @Test
+    public void testExpiredTokenIsRefreshed() {
+        AtomicInteger loginCount = new AtomicInteger();
+        TokenCache cache = new TokenCache(credentials -> "token-" + loginCount.incrementAndGet(),
+                Duration.ofSeconds(10), Duration.ofSeconds(30), Clock.systemUTC());  // Skew > TTL: selalu expired
+
+        Credentials credentials = new Credentials(TestConfig.INVALID_EMAIL, "secret");
+
+        assertThat(cache.getToken(credentials), equalTo("token-1"));
+        assertThat(cache.getToken(credentials), equalTo("token-2"));  // Login ulang karena expired
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,6 +1,17 @@
 package com.praktikum.rest.tests;
 
+import com.praktikum.rest.auth.AuthManager;
 import com.praktikum.rest.config.TestConfig;
+import com.praktikum.rest.filters.CompressionMetricsFilter;
+import com.praktikum.rest.filters.RequestMetricsFilter;
+import com.praktikum.rest.http.HttpSetup;
+import com.praktikum.rest.filters.ResponseCacheFilter;
+import com.praktikum.rest.health.CircuitBreakerFilter;
+import com.praktikum.rest.impact.ImpactIndexFilter;
+import com.praktikum.rest.load.RateLimitFilter;
+import com.praktikum.rest.profiling.ResourceProfilingFilter;
+import com.praktikum.rest.proxy.FaultInjectionProxy;
+import com.praktikum.rest.transport.Http2TransportFilter;
 import io.restassured.RestAssured;
 import io.restassured.filter.log.RequestLoggingFilter;
 import io.restassured.filter.log.ResponseLoggingFilter;
@@ -12,28 +23,79 @@ import org.testng.annotations.BeforeClass;
  */
 
 public class BaseTest {
+    // Nama API yang sedang aktif di global RestAssured configuration (guarded by BaseTest.class)
+    private static final String JSONPLACEHOLDER_API = "jsonplaceholder";
+    private static final String REQRES_API = "reqres";
+    private static final String AUTHENTICATED_REQRES_API = "reqres-authenticated";
+    private static String activeApi;
+
     /**
      * Setup method yang di-execute sebelum semua tests dalam class ini
      * Mengkonfigurasi REST Assured dengan base settings
      */
     @BeforeClass
     public void setup() {
-        // Set base URI untuk semua API requests dalam test class ini
-        RestAssured.baseURI = TestConfig.BASE_URL;
+        // Set base URI untuk semua API requests dalam test class ini (lewat fault proxy jika -Dproxy.enabled=true)
+        RestAssured.baseURI = FaultInjectionProxy.baseUrlFor(TestConfig.BASE_URL);
+
+        // Enable request dan response logging untuk debugging, dipasang sekali untuk seluruh suite
+        // (setup berjalan per test class, tanpa guard setiap request di-log N kali dan filter list terus tumbuh)
+        if (RestAssured.filters().stream().noneMatch(RequestLoggingFilter.class::isInstance)) {
+            RestAssured.filters(
+                    new RequestLoggingFilter(),  // Log semua request details
+                    new ResponseLoggingFilter()  // Log semua response details
+            );
+        }
+
+        // Opt-in cache untuk GET requests, dipasang sekali untuk seluruh suite
+        if (TestConfig.RESPONSE_CACHE_ENABLED && !RestAssured.filters().contains(ResponseCacheFilter.shared())) {
+            RestAssured.filters(ResponseCacheFilter.shared());
+        }
+
+        // Circuit breaker per host: host yang mati (atau di-trip health probe) langsung skip/fail tanpa menunggu timeout
+        if (!RestAssured.filters().contains(CircuitBreakerFilter.shared())) {
+            RestAssured.filters(CircuitBreakerFilter.shared());
+        }
+
+        // Rate limit per base URL (shared antar thread), dipasang sekali jika -Drate.limits di-set
+        if (!RateLimitFilter.shared().isEmpty() && !RestAssured.filters().contains(RateLimitFilter.shared())) {
+            RestAssured.filters(RateLimitFilter.shared());
+        }
 
-        // Enable request dan response logging untuk debugging
-        RestAssured.filters(
-                new RequestLoggingFilter(),  // Log semua request details
-                new ResponseLoggingFilter()  // Log semua response details
-        );
+        // Rekam endpoint yang dipanggil setiap test untuk impact index (selective run), dipasang sekali untuk seluruh suite
+        if (!RestAssured.filters().contains(ImpactIndexFilter.shared())) {
+            RestAssured.filters(ImpactIndexFilter.shared());
+        }
+
+        // Latency, status, dan error per endpoint template untuk OpenMetrics endpoint, dipasang sekali untuk seluruh suite
+        if (!RestAssured.filters().contains(RequestMetricsFilter.shared())) {
+            RestAssured.filters(RequestMetricsFilter.shared());
+        }
+
+        // Catat bytes di wire vs setelah decode dan CPU decompress per request (opt-in), dipasang sekali untuk seluruh suite
+        if (TestConfig.COMPRESSION_METRICS_ENABLED && !RestAssured.filters().contains(CompressionMetricsFilter.shared())) {
+            RestAssured.filters(CompressionMetricsFilter.shared());
+        }
+
+        // Waktu tunggu HTTP dan bytes request/response per test untuk resource profile, dipasang sekali untuk seluruh suite
+        if (!RestAssured.filters().contains(ResourceProfilingFilter.shared())) {
+            RestAssured.filters(ResourceProfilingFilter.shared());
+        }
+
+        // Opt-in transport HTTP/2 (java.net.http) untuk semua request, assertions tetap sama
+        if ("http2".equalsIgnoreCase(TestConfig.HTTP_TRANSPORT) && !RestAssured.filters().contains(Http2TransportFilter.shared())) {
+            RestAssured.filters(Http2TransportFilter.shared());
+        }
 
         // Enable detailed logging hanya ketika test validation fails
         RestAssured.enableLoggingOfRequestAndResponseIfValidationFails();
 
         // Set default headers untuk semua requests
-        RestAssured.requestSpecification = RestAssured.given()
-                .header("Content-Type", "application/json")  // Set content type sebagai JSON
-                .header("Accept", "application/json");  // Accept JSON responses
+        synchronized (BaseTest.class) {
+            RestAssured.requestSpecification = null;  // Jangan merge specification dari test class sebelumnya
+            RestAssured.requestSpecification = HttpSetup.jsonSpecification();  // Content-Type dan Accept JSON
+            activeApi = JSONPLACEHOLDER_API;
+        }
     }
 
     /**
@@ -41,14 +103,41 @@ public class BaseTest {
      * Digunakan untuk tests yang membutuhkan authentication features
      */
     protected void useReqResAPI() {
-        // Switch base URL ke ReqRes API
-        RestAssured.baseURI = TestConfig.REQRES_BASE_URL;
-
-        // Update request specification dengan API Key
-        RestAssured.requestSpecification = RestAssured.given()
-                .header(TestConfig.API_KEY_HEADER, TestConfig.API_KEY)  // Add API Key header
-                .header("Content-Type", "application/json")
-                .header("Accept", "application/json");
+        synchronized (BaseTest.class) {
+            if (REQRES_API.equals(activeApi)) {
+                return;  // Sudah aktif, hindari rebuild saat DataProvider berjalan parallel
+            }
+
+            // Switch base URL ke ReqRes API
+            RestAssured.baseURI = FaultInjectionProxy.baseUrlFor(TestConfig.REQRES_BASE_URL);
+
+            // Reset dulu supaya header/filter dari specification sebelumnya tidak ikut ter-merge
+            RestAssured.requestSpecification = null;
+
+            // Update request specification dengan API Key
+            RestAssured.requestSpecification = HttpSetup.apiKeySpecification();
+            activeApi = REQRES_API;
+        }
+    }
+
+    /**
+     * Method helper untuk switch ke ReqRes API dengan bearer token authentication
+     * Token diambil dari shared cache, jadi login hanya terjadi sekali per credential
+     */
+    protected void useAuthenticatedReqResAPI() {
+        synchronized (BaseTest.class) {
+            if (AUTHENTICATED_REQRES_API.equals(activeApi)) {
+                return;
+            }
+
+            RestAssured.baseURI = FaultInjectionProxy.baseUrlFor(TestConfig.REQRES_BASE_URL);
+            RestAssured.requestSpecification = null;
+
+            // Tambahkan filter yang meng-inject "Authorization: Bearer <token>" ke setiap request
+            RestAssured.requestSpecification = HttpSetup.apiKeySpecification()
+                    .filter(AuthManager.bearerTokenFilter(TestConfig.VALID_EMAIL, TestConfig.VALID_PASSWORD));
+            activeApi = AUTHENTICATED_REQRES_API;
+        }
     }
 
     /**
@@ -56,12 +145,20 @@ public class BaseTest {
      * JSONPlaceholder lebih reliable untuk basic testing
      */
     protected void useJSONPlaceholderAPI() {
-        // Switch back ke JSONPlaceholder API
-        RestAssured.baseURI = TestConfig.BASE_URL;
+        synchronized (BaseTest.class) {
+            if (JSONPLACEHOLDER_API.equals(activeApi)) {
+                return;
+            }
+
+            // Switch back ke JSONPlaceholder API
+            RestAssured.baseURI = FaultInjectionProxy.baseUrlFor(TestConfig.BASE_URL);
+
+            // Reset dulu supaya API Key dan bearer token filter tidak ikut ter-merge
+            RestAssured.requestSpecification = null;
 
-        // Update request specification tanpa API Key
-        RestAssured.requestSpecification = RestAssured.given()
-                .header("Content-Type", "application/json")
-                .header("Accept", "application/json");
+            // Update request specification tanpa API Key
+            RestAssured.requestSpecification = HttpSetup.jsonSpecification();
+            activeApi = JSONPLACEHOLDER_API;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,237 @@
+package com.praktikum.rest.tests;
+
+import com.praktikum.rest.config.TestConfig;
+import com.praktikum.rest.health.CircuitBreaker;
+import com.praktikum.rest.health.CircuitBreakerFilter;
+import com.praktikum.rest.health.HealthProbeListener;
+import com.praktikum.rest.health.HostUnavailableException;
+import com.praktikum.rest.utils.LocalStubServer;
+import com.praktikum.rest.utils.NestedTestNG;
+import io.restassured.RestAssured;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.testng.ITestResult;
+import org.testng.TestListenerAdapter;
+import org.testng.annotations.Test;
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.testng.Assert.expectThrows;
+
+/**
+ * Test class untuk CircuitBreaker, CircuitBreakerFilter, dan HealthProbeListener (tanpa network)
+ * Host mati disimulasikan dengan port LocalStubServer yang sudah ditutup
+ */
+
+public class CircuitBreakerTests {
+
+    /**
+     * Test state machine: CLOSED -> OPEN setelah threshold, HALF_OPEN hanya mengizinkan satu percobaan
+     * Validates: success mereset failure count, percobaan yang gagal membuka circuit lagi, percobaan yang berhasil menutupnya
+     */
+    @Test
+    public void testStateTransitions() throws InterruptedException {
+        CircuitBreaker breaker = new CircuitBreaker(2, Duration.ofMillis(100));
+        breaker.onFailure("a");
+        breaker.onSuccess();
+        breaker.onFailure("b");
+        assertThat(breaker.getState(), equalTo(CircuitBreaker.State.CLOSED));  // Tidak berturut-turut
+        breaker.onFailure("c");
+        assertThat(breaker.getState(), equalTo(CircuitBreaker.State.OPEN));
+        assertThat(breaker.allowRequest(), equalTo(false));
+        assertThat(breaker.getLastFailure(), equalTo("c"));
+
+        Thread.sleep(120);
+        assertThat(breaker.allowRequest(), equalTo(true));
+        assertThat(breaker.getState(), equalTo(CircuitBreaker.State.HALF_OPEN));
+        assertThat(breaker.allowRequest(), equalTo(false));  // Percobaan kedua ditolak selama yang pertama berjalan
+        breaker.onFailure("d");
+        assertThat(breaker.getState(), equalTo(CircuitBreaker.State.OPEN));
+
+        Thread.sleep(120);
+        assertThat(breaker.allowRequest(), equalTo(true));
+        breaker.onSuccess();
+        assertThat(breaker.getState(), equalTo(CircuitBreaker.State.CLOSED));
+        assertThat(breaker.allowRequest(), equalTo(true));
+    }
+
+    /**
+     * Test host mati: setelah threshold, request berikutnya gagal seketika dengan alasan yang jelas
+     * Validates: connection error asli dilempar sampai threshold, lalu HostUnavailableException (skip) tanpa menyentuh network,
+     * dan host lain tidak terpengaruh
+     */
+    @Test
+    public void testDeadHostFailsFast() {
+        CircuitBreakerFilter filter = new CircuitBreakerFilter(2, Duration.ofSeconds(30), Set.of(), true);
+        String deadUrl = deadUrl();
+        try (LocalStubServer alive = new LocalStubServer().stub("/users", 200, "[]", 0)) {
+            for (int i = 0; i < 2; i++) {
+                expectThrows(ConnectException.class, () -> RestAssured.given().noFilters().filter(filter).baseUri(deadUrl).get("/users"));
+            }
+
+            long start = System.nanoTime();
+            HostUnavailableException error = expectThrows(HostUnavailableException.class,
+                    () -> RestAssured.given().noFilters().filter(filter).baseUri(deadUrl).get("/users/1"));
+            assertThat((System.nanoTime() - start) / 1_000_000, lessThan(500L));
+            assertThat(error.isSkip(), equalTo(true));
+            assertThat(error.getMessage(), allOf(containsString(deadUrl), containsString("ConnectException")));
+
+            RestAssured.given().noFilters().filter(filter).baseUri(alive.baseUrl()).get("/users").then().statusCode(200);
+            assertThat(filter.states().values(), containsInAnyOrder(CircuitBreaker.State.OPEN, CircuitBreaker.State.CLOSED));
+        }
+    }
+
+    /**
+     * Test status failure dan half-open probe: host yang membalas 503 dibuka, lalu pulih lewat satu request percobaan
+     * Validates: circuit.open.action=fail menghasilkan exception non-skip, dan status di luar failureStatuses tidak dihitung
+     */
+    @Test
+    public void testHalfOpenProbeRestoresHost() throws InterruptedException {
+        CircuitBreakerFilter filter = new CircuitBreakerFilter(1, Duration.ofMillis(200), Set.of(503), false);
+        AtomicInteger status = new AtomicInteger(503);
+        try (LocalStubServer server = new LocalStubServer()
+                .handle("/users", exchange -> LocalStubServer.respond(exchange, status.get(), "{}"))) {
+            RestAssured.given().noFilters().filter(filter).baseUri(server.baseUrl()).get("/users").then().statusCode(503);
+            HostUnavailableException error = expectThrows(HostUnavailableException.class,
+                    () -> RestAssured.given().noFilters().filter(filter).baseUri(server.baseUrl()).get("/users"));
+            assertThat(error.isSkip(), equalTo(false));
+            assertThat(error.getMessage(), containsString("HTTP 503"));
+            assertThat(server.hits("/users"), equalTo(1));
+
+            status.set(404);  // Host sudah pulih, 404 bukan failure
+            Thread.sleep(250);
+            RestAssured.given().noFilters().filter(filter).baseUri(server.baseUrl()).get("/users").then().statusCode(404);
+            assertThat(filter.breaker(server.baseUrl()).getState(), equalTo(CircuitBreaker.State.CLOSED));
+            RestAssured.given().noFilters().filter(filter).baseUri(server.baseUrl()).get("/users").then().statusCode(404);
+            assertThat(server.hits("/users"), equalTo(3));
+        }
+    }
+
+    /**
+     * Test percobaan HALF_OPEN yang berakhir dengan Error (contoh: AssertionError dari filter lain) tetap diselesaikan
+     * Validates: Error dilempar apa adanya, circuit tidak tertahan di HALF_OPEN, dan request berikutnya diizinkan
+     */
+    @Test
+    public void testHalfOpenTrialEndingInErrorIsResolved() throws InterruptedException {
+        CircuitBreakerFilter filter = new CircuitBreakerFilter(1, Duration.ofMillis(100), Set.of(), true);
+        try (LocalStubServer server = new LocalStubServer().stub("/users", 200, "[]", 0)) {
+            filter.trip(server.baseUrl(), "test");
+            Thread.sleep(120);
+
+            OrderedFilter failing = new OrderedFilter() {
+                @Override
+                public int getOrder() {
+                    return filter.getOrder() + 1;  // Di dalam circuit breaker
+                }
+
+                @Override
+                public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+                                       FilterContext ctx) {
+                    throw new AssertionError("assertion di dalam filter chain");
+                }
+            };
+            AssertionError error = expectThrows(AssertionError.class, () -> RestAssured.given().noFilters().filter(filter)
+                    .filter(failing).baseUri(server.baseUrl()).get("/users"));
+            assertThat(error.getMessage(), containsString("filter chain"));
+            assertThat(filter.breaker(server.baseUrl()).getState(), not(equalTo(CircuitBreaker.State.HALF_OPEN)));
+
+            RestAssured.given().noFilters().filter(filter).baseUri(server.baseUrl()).get("/users").then().statusCode(200);
+            assertThat(filter.breaker(server.baseUrl()).getState(), equalTo(CircuitBreaker.State.CLOSED));
+        }
+    }
+
+    /**
+     * Test health probe saat suite mulai: target yang mati atau menolak (403) langsung di-trip, test ke host tersebut di-skip
+     * Validates: hasil probe UP/DOWN, status unhealthy probe terpisah dari failure status circuit, total waktu probe,
+     * dan TestNG nested menandai test sebagai skipped dengan alasan probe
+     */
+    @Test
+    public void testHealthProbeTripsDeadTargetsAtStartup() {
+        CircuitBreakerFilter filter = new CircuitBreakerFilter(3, Duration.ofSeconds(30), Set.of(502), true);
+        String deadUrl = deadUrl();
+        try (LocalStubServer alive = new LocalStubServer().stub("/", 200, "{}", 0);
+             LocalStubServer forbidden = new LocalStubServer().stub("/", 403, "{}", 0)) {
+            HealthProbeListener listener = new HealthProbeListener(filter, List.of(alive.baseUrl(), deadUrl, forbidden.baseUrl()),
+                    Duration.ofSeconds(2), Set.of(401, 403, 502));
+            List<HealthProbeListener.Result> results = listener.probe();
+            assertThat(results.get(0).healthy(), equalTo(true));
+            assertThat(results.get(0).status(), equalTo(200));
+            assertThat(results.get(1).healthy(), equalTo(false));
+            assertThat(results.get(1).reason(), containsString("ConnectException"));
+            assertThat(results.get(2).healthy(), equalTo(false));
+            assertThat(results.get(2).reason(), equalTo("HTTP 403"));
+            assertThat(filter.isFailureStatus(403), equalTo(false));  // Request 403 biasa tetap tidak membuka circuit
+
+            SampleDependentTests.baseUrl = deadUrl;
+            SampleDependentTests.filter = filter;
+            TestListenerAdapter listenerResults = new TestListenerAdapter();
+            long start = System.nanoTime();
+            NestedTestNG.runNested(SampleDependentTests.class, listener, listenerResults);
+            assertThat((System.nanoTime() - start) / 1_000_000, lessThan(5_000L));
+
+            assertThat(listenerResults.getSkippedTests(), hasSize(3));
+            assertThat(listenerResults.getFailedTests(), empty());
+            ITestResult skipped = listenerResults.getSkippedTests().get(0);
+            assertThat(skipped.getThrowable().getMessage(), containsString("health probe"));
+            assertThat(filter.breaker(alive.baseUrl()).getState(), equalTo(CircuitBreaker.State.CLOSED));
+            assertThat(filter.breaker(forbidden.baseUrl()).getState(), equalTo(CircuitBreaker.State.OPEN));
+        } finally {
+            SampleDependentTests.baseUrl = null;
+            SampleDependentTests.filter = null;
+        }
+    }
+
+    /**
+     * Test probe mengirim header yang sama seperti test ke target tersebut
+     * Validates: target yang membalas 403 tanpa API key tetap UP jika probe membawa key-nya, dan reqres.base.url mendapat X-API-Key
+     */
+    @Test
+    public void testHealthProbeSendsTargetHeaders() {
+        CircuitBreakerFilter filter = new CircuitBreakerFilter(3, Duration.ofSeconds(30), Set.of(502), true);
+        try (LocalStubServer keyed = new LocalStubServer().handle("/", exchange -> LocalStubServer.respond(exchange,
+                "secret".equals(exchange.getRequestHeaders().getFirst(TestConfig.API_KEY_HEADER)) ? 200 : 403, "{}"))) {
+            List<String> targets = List.of(keyed.baseUrl());
+            List<HealthProbeListener.Result> withKey = new HealthProbeListener(filter, targets, Duration.ofSeconds(2), Set.of(401, 403),
+                    target -> Map.of(TestConfig.API_KEY_HEADER, "secret")).probe();
+            List<HealthProbeListener.Result> withoutKey = new HealthProbeListener(filter, targets, Duration.ofSeconds(2), Set.of(401, 403),
+                    target -> Map.of()).probe();
+
+            assertThat(withKey.get(0).healthy(), equalTo(true));
+            assertThat(withoutKey.get(0).reason(), equalTo("HTTP 403"));
+        }
+
+        assertThat(HealthProbeListener.suiteHeaders(TestConfig.REQRES_BASE_URL + "/"),
+                equalTo(Map.of(TestConfig.API_KEY_HEADER, TestConfig.API_KEY)));
+        assertThat(HealthProbeListener.suiteHeaders(TestConfig.BASE_URL), equalTo(Map.of()));
+    }
+
+    private static String deadUrl() {
+        try (LocalStubServer closed = new LocalStubServer()) {
+            return closed.baseUrl();
+        }
+    }
+
+    /**
+     * Test class contoh yang dijalankan oleh TestNG nested (tidak terdaftar di testng.xml)
+     * Surefire -Dtest=... ikut menjalankan nested class, jadi tanpa baseUrl dari test di atas class ini no-op
+     */
+    public static class SampleDependentTests {
+        static volatile String baseUrl;
+        static volatile CircuitBreakerFilter filter;
+
+        @Test(invocationCount = 3)
+        public void testGetUsers() {
+            if (baseUrl != null) {
+                RestAssured.given().noFilters().filter(filter).baseUri(baseUrl).get("/users").then().statusCode(200);
+            }
+        }
+    }
+}
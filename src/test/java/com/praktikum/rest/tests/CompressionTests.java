@@ -0,0 +1,212 @@
+package com.praktikum.rest.tests;
+
+import com.praktikum.rest.benchmark.CompressionBenchmark;
+import com.praktikum.rest.config.TestConfig;
+import com.praktikum.rest.filters.CompressionMetricsFilter;
+import com.praktikum.rest.utils.LocalStubServer;
+import com.sun.net.httpserver.HttpExchange;
+import io.restassured.RestAssured;
+import io.restassured.response.Response;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Test class untuk CompressionMetricsFilter dan CompressionBenchmark
+ * testCompressionNegotiation menembak COMPRESSION_BASE_URL, test lainnya memakai LocalStubServer
+ * yang menghormati Accept-Encoding (gzip, deflate, atau identity)
+ */
+
+public class CompressionTests {
+    // Body JSON besar dan repetitif (mirip list endpoint), mudah di-compress
+    private static final String USERS_JSON = IntStream.rangeClosed(1, 200)
+            .mapToObj(id -> "{\"id\": " + id + ", \"name\": \"User " + id + "\", \"email\": \"user" + id + "@example.com\"}")
+            .collect(Collectors.joining(", ", "[", "]"));
+    private static final String USER_JSON = "{\"id\": 1, \"name\": \"Leanne Graham\"}";
+
+    // Hasil per endpoint dari DataProvider benchmark, digabung jadi satu report di @AfterClass
+    private final List<CompressionBenchmark.Result> benchmarkResults = new ArrayList<>();
+
+    @DataProvider(name = "compressionEndpoints")
+    public Object[][] compressionEndpoints() {
+        return Arrays.stream(TestConfig.COMPRESSION_ENDPOINTS.split(","))
+                .map(String::trim)
+                .filter(endpoint -> !endpoint.isEmpty())
+                .map(endpoint -> new Object[] {endpoint})
+                .toArray(Object[][]::new);
+    }
+
+    /**
+     * Benchmark identity vs gzip vs deflate untuk setiap endpoint
+     * Validates: setiap encoding dibalas 2xx dan body yang di-decode sama besar untuk semua encoding
+     */
+    @Test(dataProvider = "compressionEndpoints")
+    public void testCompressionNegotiation(String endpoint) {
+        CompressionBenchmark benchmark = new CompressionBenchmark(TestConfig.COMPRESSION_BASE_URL, 1, TestConfig.COMPRESSION_ITERATIONS);
+        List<CompressionBenchmark.Result> results = CompressionBenchmark.ENCODINGS.stream()
+                .map(encoding -> benchmark.measure(endpoint, encoding))
+                .toList();
+        synchronized (benchmarkResults) {
+            benchmarkResults.addAll(results);
+        }
+
+        long identityBytes = results.get(0).decodedBytesPerRequest();
+        for (CompressionBenchmark.Result result : results) {
+            assertThat(result.latency().getCount(), equalTo((long) TestConfig.COMPRESSION_ITERATIONS));
+            assertThat(result.decodedBytesPerRequest(), equalTo(identityBytes));
+        }
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void printBenchmarkReport() throws IOException {
+        if (benchmarkResults.isEmpty()) {
+            return;
+        }
+        CompressionBenchmark.print(benchmarkResults, System.out);
+        CompressionBenchmark.writeCsv(benchmarkResults, Paths.get("target", "benchmarks", "compression.csv"));
+    }
+
+    /**
+     * Test filter mencatat bytes di wire vs decoded dan CPU decompress untuk setiap encoding
+     * Validates: body di-decode dengan benar, Content-Encoding asli tetap terlihat, dan bytes wire < decoded untuk gzip/deflate
+     */
+    @Test
+    public void testFilterRecordsWireAndDecodedBytes() {
+        try (LocalStubServer server = negotiatingServer()) {
+            for (String encoding : CompressionBenchmark.ENCODINGS) {
+                CompressionMetricsFilter filter = new CompressionMetricsFilter();
+                Response response = RestAssured.given()
+                        .noFilters()
+                        .filter(filter)
+                        .baseUri(server.baseUrl())
+                        .header("Accept-Encoding", encoding)
+                        .when()
+                        .get("/users");
+
+                response.then()
+                        .statusCode(200)
+                        .body("size()", equalTo(200))
+                        .body("[199].email", equalTo("user200@example.com"));
+
+                CompressionMetricsFilter.Exchange exchange = filter.lastExchange();
+                int decodedLength = USERS_JSON.getBytes(StandardCharsets.UTF_8).length;
+                assertThat(exchange.contentEncoding(), equalTo(encoding));
+                assertThat(exchange.decodedBytes(), equalTo((long) decodedLength));
+                if (encoding.equals("identity")) {
+                    assertThat(response.header("Content-Encoding"), nullValue());
+                    assertThat(exchange.wireBytes(), equalTo((long) decodedLength));
+                    assertThat(exchange.decompressCpuNanos(), equalTo(0L));
+                } else {
+                    assertThat(response.header("Content-Encoding"), equalTo(encoding));
+                    assertThat(exchange.compressionRatio(), greaterThan(4.0));
+                }
+                assertThat(filter.getRequests(), equalTo(1L));
+            }
+        }
+    }
+
+    /**
+     * Test filter tanpa Accept-Encoding eksplisit tetap menegosiasikan compression seperti REST Assured biasanya
+     * Validates: request membawa Accept-Encoding dari decoders default (gzip,deflate) dan response gzip di-decode
+     */
+    @Test
+    public void testFilterKeepsDefaultAcceptEncoding() {
+        List<String> acceptEncodings = new CopyOnWriteArrayList<>();
+        try (LocalStubServer server = new LocalStubServer().handle("/users", exchange -> {
+            acceptEncodings.add(exchange.getRequestHeaders().getFirst("Accept-Encoding"));
+            respondNegotiated(exchange, USERS_JSON);
+        })) {
+            CompressionMetricsFilter filter = new CompressionMetricsFilter();
+            RestAssured.given()
+                    .noFilters()
+                    .filter(filter)
+                    .baseUri(server.baseUrl())
+                    .when()
+                    .get("/users")
+                    .then()
+                    .statusCode(200)
+                    .body("[0].name", equalTo("User 1"));
+
+            assertThat(acceptEncodings, contains(allOf(containsString("gzip"), containsString("deflate"))));
+            assertThat(filter.lastExchange().contentEncoding(), equalTo("gzip"));
+            assertThat(filter.getWireBytes(), lessThan(filter.getDecodedBytes()));
+        }
+    }
+
+    /**
+     * Test benchmark membandingkan encoding per endpoint dan memberi rekomendasi
+     * Validates: endpoint besar -> compression untuk bandwidth-bound, identity untuk CPU-bound dan untuk body kecil
+     */
+    @Test
+    public void testBenchmarkRecommendsPerEndpoint() {
+        try (LocalStubServer server = negotiatingServer()) {
+            CompressionBenchmark benchmark = new CompressionBenchmark(server.baseUrl(), 1, 5);
+            List<CompressionBenchmark.Result> results = benchmark.run(List.of("/users", "/users/1"));
+            CompressionBenchmark.print(results, System.out);
+
+            assertThat(results, hasSize(2 * CompressionBenchmark.ENCODINGS.size()));
+            CompressionBenchmark.Result gzip = results.get(1);
+            assertThat(gzip.servedEncoding(), equalTo("gzip"));
+            assertThat(gzip.decompressCpuMicros(), greaterThanOrEqualTo(0.0));
+            assertThat(gzip.clientCpuMicros(), greaterThan(0.0));
+
+            List<CompressionBenchmark.Recommendation> recommendations = CompressionBenchmark.recommend(results);
+            assertThat(recommendations, hasSize(2));
+            assertThat(recommendations.get(0).endpoint(), equalTo("/users"));
+            assertThat(recommendations.get(0).bandwidthBound(), anyOf(equalTo("gzip"), equalTo("deflate")));
+            assertThat(recommendations.get(0).cpuBound(), equalTo("identity"));  // Tanpa biaya decompress
+            assertThat(recommendations.get(1).bandwidthBound(), equalTo("identity"));  // Body kecil membesar setelah gzip
+        }
+    }
+
+    /**
+     * Stub server yang memilih encoding dari Accept-Encoding seperti server sungguhan
+     */
+    private static LocalStubServer negotiatingServer() {
+        return new LocalStubServer()
+                .handle("/users/1", exchange -> respondNegotiated(exchange, USER_JSON))
+                .handle("/users", exchange -> respondNegotiated(exchange, USERS_JSON));
+    }
+
+    private static void respondNegotiated(HttpExchange exchange, String json) throws IOException {
+        String accept = String.valueOf(exchange.getRequestHeaders().getFirst("Accept-Encoding"));
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        if (accept.contains("gzip")) {
+            body = compress(body, GZIPOutputStream::new);
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+        } else if (accept.contains("deflate")) {
+            body = compress(body, DeflaterOutputStream::new);
+            exchange.getResponseHeaders().set("Content-Encoding", "deflate");
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(200, body.length);
+        exchange.getResponseBody().write(body);
+    }
+
+    private interface Compressor {
+        OutputStream wrap(OutputStream out) throws IOException;
+    }
+
+    private static byte[] compress(byte[] body, Compressor compressor) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (OutputStream out = compressor.wrap(buffer)) {
+            out.write(body);
+        }
+        return buffer.toByteArray();
+    }
+}
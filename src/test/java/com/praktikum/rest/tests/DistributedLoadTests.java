@@ -0,0 +1,96 @@
+package com.praktikum.rest.tests;
+
+import com.praktikum.rest.load.distributed.CombinedLoadReport;
+import com.praktikum.rest.load.distributed.LoadCoordinator;
+import com.praktikum.rest.load.distributed.LoadScenario;
+import com.praktikum.rest.metrics.LatencyHistogram;
+import com.praktikum.rest.utils.LocalStubServer;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Test class untuk distributed load mode (coordinator + worker processes)
+ * Worker JVM dijalankan di mesin lokal dan menembak LocalStubServer
+ */
+
+public class DistributedLoadTests extends BaseTest {
+    private LocalStubServer server;
+
+    @BeforeMethod
+    public void setupMethod() {
+        useJSONPlaceholderAPI();
+        server = new LocalStubServer().handle("/users/", exchange -> {
+            // Balas {"id": n} sesuai path /users/{n}, seperti JSONPlaceholder
+            String id = exchange.getRequestURI().getPath().substring("/users/".length());
+            LocalStubServer.respond(exchange, 200, "{\"id\": " + id + "}");
+        });
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDownMethod() {
+        server.close();
+    }
+
+    /**
+     * Test histogram dari beberapa JVM bisa di-encode, dikirim, lalu di-merge tanpa kehilangan data
+     */
+    @Test
+    public void testHistogramEncodeDecodeMerge() {
+        LatencyHistogram workerOne = new LatencyHistogram();
+        LatencyHistogram workerTwo = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            workerOne.recordMicros(i * 1_000L);  // 1..100 ms
+            workerTwo.recordMicros(i * 10_000L);  // 10..1000 ms
+        }
+
+        LatencyHistogram merged = new LatencyHistogram();
+        merged.merge(LatencyHistogram.decode(workerOne.encode()));
+        merged.merge(LatencyHistogram.decode(workerTwo.encode()));
+
+        assertThat(merged.getCount(), equalTo(200L));
+        assertThat(merged.getMaxMillis(), equalTo(1000.0));
+        assertThat(merged.getPercentileMillis(50), closeTo(91.0, 3.0));  // Sample ke-100 dari 200 = 91 ms (resolusi ~3%)
+        assertThat(merged.getMeanMillis(), closeTo((50.5 + 505.0) / 2, 0.01));
+    }
+
+    /**
+     * Test coordinator dengan dua worker process lokal
+     * Validates: scenario dibagi ke semua worker dan report digabung menjadi satu
+     */
+    @Test
+    public void testCoordinatorMergesReportsFromWorkerProcesses() throws Exception {
+        LoadScenario scenario = new LoadScenario(
+                List.of("com.praktikum.rest.tests.AdvancedAPITests#testUserIdSweep"),
+                20.0,  // Total 20 invocations per detik, 10 per worker
+                3,
+                16,
+                500,
+                Map.of("sweep.base.url", server.baseUrl(),
+                        "sweep.user.id.end", "3",
+                        "sweep.report.interval.seconds", "60"));
+        Path logDir = Paths.get("target", "load-workers", "distributed-test");
+
+        CombinedLoadReport report = new LoadCoordinator().run(scenario, 2, logDir);
+        report.print(System.out);
+
+        long invocations = report.histogram("scenario.invocation").getCount();
+        Map<Integer, Long> perWorker = report.invocationsPerWorker();
+        assertThat(perWorker.keySet(), contains(1, 2));  // Kedua worker mengirim report
+        assertThat(perWorker.values().stream().mapToLong(Long::longValue).sum(), equalTo(invocations));
+        assertThat(invocations, greaterThanOrEqualTo(20L));  // Target ~60 (20/s x 3s), margin untuk mesin single-core
+        assertThat(report.counter("scenario.pass"), equalTo(invocations));
+        assertThat(report.counter("scenario.fail") + report.counter("scenario.error"), equalTo(0L));
+        assertThat(server.hits("/users/"), equalTo((int) invocations + 2));  // + 1 warm-up (tidak dihitung) per worker
+
+        report.writeJson(logDir.resolve("report.json"));
+        assertThat(Files.readString(logDir.resolve("report.json")), containsString("AdvancedAPITests#testUserIdSweep"));
+    }
+}
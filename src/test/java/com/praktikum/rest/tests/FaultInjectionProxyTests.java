@@ -0,0 +1,206 @@
+package com.praktikum.rest.tests;
+
+import com.praktikum.rest.filters.RequestMetricsFilter;
+import com.praktikum.rest.load.RateLimitFilter;
+import com.praktikum.rest.load.TokenBucketRateLimiter;
+import com.praktikum.rest.proxy.FaultInjectionProxy;
+import com.praktikum.rest.proxy.FaultProfile;
+import com.praktikum.rest.proxy.LatencyDistribution;
+import com.praktikum.rest.utils.LocalStubServer;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.testng.Assert.expectThrows;
+
+/**
+ * Test class untuk FaultInjectionProxy
+ * Upstream adalah LocalStubServer, proxy dipasang di depannya dengan fault per route
+ */
+
+public class FaultInjectionProxyTests extends BaseTest {
+    private static final int LARGE_BODY_BYTES = 20_000;
+
+    private LocalStubServer upstream;
+    private FaultInjectionProxy proxy;
+
+    @BeforeMethod
+    public void setupMethod() {
+        useJSONPlaceholderAPI();
+        upstream = new LocalStubServer()
+                .stub("/users/1", 200, "{\"id\": 1, \"name\": \"Leanne Graham\"}", 0)
+                .stub("/slow", 200, "{\"id\": 2}", 0)
+                .stub("/large", 200, "{\"data\": \"" + "x".repeat(LARGE_BODY_BYTES) + "\"}", 0)
+                .handle("/posts", exchange -> {
+                    // Echo body POST supaya forwarding body dan header bisa dicek
+                    byte[] body = exchange.getRequestBody().readAllBytes();
+                    exchange.getResponseHeaders().set("X-Upstream-Method", exchange.getRequestMethod());
+                    LocalStubServer.respond(exchange, 201, new String(body));
+                });
+        proxy = new FaultInjectionProxy(upstream.baseUrl(), 42);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDownMethod() {
+        proxy.close();
+        upstream.close();
+    }
+
+    /**
+     * Test proxy tanpa fault meneruskan request dan response apa adanya
+     * Validates: status, body, header upstream, dan koneksi keep-alive dipakai ulang
+     */
+    @Test
+    public void testForwardsRequestsTransparently() {
+        given()
+                .baseUri(proxy.baseUrl())
+                .when()
+                .get("/users/1")
+                .then()
+                .statusCode(200)
+                .body("name", equalTo("Leanne Graham"));
+
+        given()
+                .baseUri(proxy.baseUrl())
+                .contentType(ContentType.JSON)
+                .body("{\"title\": \"foo\"}")
+                .when()
+                .post("/posts")
+                .then()
+                .statusCode(201)
+                .header("X-Upstream-Method", "POST")
+                .body("title", equalTo("foo"));
+
+        assertThat(upstream.hits("/users/1"), equalTo(1));
+        assertThat(upstream.hits("/posts"), equalTo(1));
+    }
+
+    /**
+     * Test latency hanya di-inject pada route yang dikonfigurasi
+     */
+    @Test
+    public void testInjectsLatencyPerRoute() {
+        proxy.route("/slow", FaultProfile.none().withLatency(LatencyDistribution.uniform(300, 400)));
+
+        long fast = given().baseUri(proxy.baseUrl()).when().get("/users/1").then().statusCode(200)
+                .extract().timeIn(TimeUnit.MILLISECONDS);
+        long slow = given().baseUri(proxy.baseUrl()).when().get("/slow").then().statusCode(200)
+                .extract().timeIn(TimeUnit.MILLISECONDS);
+
+        assertThat(slow, greaterThanOrEqualTo(300L));
+        assertThat(slow - fast, greaterThan(200L));
+    }
+
+    /**
+     * Test injected 5xx mengikuti error rate, dan urutan fault sama untuk seed yang sama
+     */
+    @Test
+    public void testErrorRateIsReproducibleWithSeed() {
+        proxy.routes("/users=error:0.3@503");
+        List<Integer> first = statusSequence(proxy, 40);
+
+        try (FaultInjectionProxy replay = new FaultInjectionProxy(upstream.baseUrl(), 42).routes("/users=error:0.3@503")) {
+            assertThat(statusSequence(replay, 40), equalTo(first));  // Seed sama, urutan fault sama
+        }
+
+        long injected = first.stream().filter(status -> status == 503).count();
+        assertThat(injected, allOf(greaterThanOrEqualTo(4L), lessThanOrEqualTo(24L)));  // ~12 dari 40
+        assertThat(upstream.hits("/users/1"), equalTo((int) (2 * (40 - injected))));  // Error tidak sampai upstream
+    }
+
+    /**
+     * Test reset: client melihat koneksi putus, bukan HTTP response
+     */
+    @Test
+    public void testResetDropsConnection() {
+        proxy.route("/users", FaultProfile.none().withResets(1.0));
+
+        Exception failure = expectThrows(Exception.class, () -> given().baseUri(proxy.baseUrl()).when().get("/users/1"));
+        assertThat(rootCause(failure), instanceOf(IOException.class));
+        assertThat(upstream.hits("/users/1"), equalTo(0));
+    }
+
+    /**
+     * Test bandwidth cap memperlambat transfer body
+     * Validates: 20 KB dengan cap 40 KB/s butuh ~500 ms
+     */
+    @Test
+    public void testBandwidthCapThrottlesBody() {
+        proxy.routes("/large=bandwidth:40000");
+
+        // response.time() berhenti saat header diterima, jadi ukur wall time sampai body selesai dibaca
+        long start = System.nanoTime();
+        Response response = given().baseUri(proxy.baseUrl()).when().get("/large");
+        int bodyLength = response.asByteArray().length;
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        response.then().statusCode(200);
+        assertThat(bodyLength, greaterThan(LARGE_BODY_BYTES));
+        assertThat(elapsedMillis, greaterThanOrEqualTo(400L));
+    }
+
+    /**
+     * Test parsing format -Dproxy.faults
+     */
+    @Test
+    public void testFaultSpecParsing() {
+        proxy.routes("/users=latency:100-300,bandwidth:65536,error:0.1@500,reset:0.02;/=latency:exp50");
+
+        FaultProfile users = proxy.profileFor("/users/1");
+        assertThat(users.bandwidthBytesPerSecond(), equalTo(65536L));
+        assertThat(users.errorRate(), equalTo(0.1));
+        assertThat(users.errorStatus(), equalTo(500));
+        assertThat(users.resetRate(), equalTo(0.02));
+        assertThat(users.latency().toString(), equalTo("100-300ms"));
+        assertThat(proxy.profileFor("/posts").latency().toString(), equalTo("exp(50ms)"));  // Fallback ke route "/"
+    }
+
+    /**
+     * Test request lewat proxy tetap di-key ke upstream aslinya, bukan ke 127.0.0.1:<port proxy>
+     * Validates: rate.limits untuk base URL upstream berlaku, endpoint template memakai host upstream,
+     * dan URI yang tidak menuju proxy (atau setelah proxy ditutup) tidak diubah
+     */
+    @Test
+    public void testProxiedRequestsAreKeyedByUpstream() {
+        RateLimitFilter rateLimit = new RateLimitFilter(Map.of(upstream.baseUrl(), new TokenBucketRateLimiter(1, 1)));
+        RequestMetricsFilter metrics = new RequestMetricsFilter();
+        long start = System.nanoTime();
+        for (int i = 0; i < 2; i++) {
+            given().baseUri(proxy.baseUrl()).filter(rateLimit).filter(metrics).when().get("/users/1").then().statusCode(200);
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(elapsedMillis, greaterThanOrEqualTo(800L));  // Request kedua menunggu permit (1 per detik)
+        assertThat(metrics.latencySnapshot().keySet(), contains("GET " + RequestMetricsFilter.host(upstream.baseUrl()) + "/users/{id}"));
+        assertThat(FaultInjectionProxy.upstreamUri(proxy.baseUrl() + "/users?id=1"), equalTo(upstream.baseUrl() + "/users?id=1"));
+        assertThat(FaultInjectionProxy.upstreamUri(proxy.baseUrl() + "0/users"), equalTo(proxy.baseUrl() + "0/users"));  // Port lain
+
+        proxy.close();
+        assertThat(FaultInjectionProxy.upstreamUri(proxy.baseUrl() + "/users"), equalTo(proxy.baseUrl() + "/users"));
+    }
+
+    private static List<Integer> statusSequence(FaultInjectionProxy target, int requests) {
+        List<Integer> statuses = new ArrayList<>();
+        for (int i = 0; i < requests; i++) {
+            statuses.add(given().baseUri(target.baseUrl()).when().get("/users/1").statusCode());
+        }
+        return statuses;
+    }
+
+    private static Throwable rootCause(Throwable error) {
+        Throwable cause = error;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
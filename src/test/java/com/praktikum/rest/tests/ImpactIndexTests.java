@@ -0,0 +1,194 @@
+package com.praktikum.rest.tests;
+
+import com.praktikum.rest.filters.RequestMetricsFilter;
+import com.praktikum.rest.impact.ImpactIndex;
+import com.praktikum.rest.impact.ImpactIndexFilter;
+import com.praktikum.rest.impact.ImpactIndexListener;
+import com.praktikum.rest.utils.LocalStubServer;
+import com.praktikum.rest.utils.NestedTestNG;
+import io.restassured.RestAssured;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Test class untuk ImpactIndex, ImpactIndexFilter, dan ImpactIndexListener
+ * Menjalankan TestNG nested dengan SampleApiTests ke LocalStubServer (tanpa network), lalu memeriksa index dan selection
+ */
+
+public class ImpactIndexTests {
+    private static final String SAMPLE = SampleApiTests.class.getName();
+
+    /**
+     * Test index direkam otomatis dari filter selama run
+     * Validates: endpoint template per test, request dari thread lain, request dari @BeforeClass, dan test tanpa request
+     */
+    @Test
+    public void testRecordsEndpointsPerTestMethod() throws Exception {
+        Path file = Paths.get("target", "impact-selftest", "record.json");
+        Files.deleteIfExists(file);
+        String host = runSample(file);
+
+        ImpactIndex index = ImpactIndex.load(file);
+        Map<String, Set<String>> endpoints = index.endpoints();
+        System.out.println(endpoints);
+        assertThat(endpoints.get("GET " + host + "/users/{id}"), contains(SAMPLE + "#testGetUser"));
+        assertThat(endpoints.get("POST " + host + "/users"), contains(SAMPLE + "#testCreateUser"));
+        assertThat(endpoints.get("GET " + host + "/posts?userId"), contains(SAMPLE + "#testPostsFromWorkerThread"));
+        assertThat(endpoints.get("GET " + host + "/health"), contains(SAMPLE + "#*"));
+        assertThat(index.knownTests(), hasItem(SAMPLE + "#testWithoutRequests"));
+        assertThat(endpoints.values(), everyItem(not(hasItem(SAMPLE + "#testWithoutRequests"))));
+    }
+
+    /**
+     * Test pemilihan test dari endpoint yang berubah
+     * Validates: method + path, host opsional, query param, path dengan ID/placeholder, tanpa method, endpoint tanpa test,
+     * dan test baru
+     */
+    @Test
+    public void testSelectsOnlyImpactedTests() throws Exception {
+        Path file = Paths.get("target", "impact-selftest", "select.json");
+        Files.deleteIfExists(file);
+        String host = runSample(file);
+        ImpactIndex index = ImpactIndex.load(file);
+        Set<String> candidates = ImpactIndex.testIds(SampleApiTests.class);
+
+        ImpactIndex.Selection post = index.select(List.of("POST /users"), candidates);
+        assertThat(post.tests(), contains(SAMPLE + "#testCreateUser"));
+
+        assertThat(index.select(List.of("GET /posts"), candidates).tests(), contains(SAMPLE + "#testPostsFromWorkerThread"));
+        assertThat(index.select(List.of("GET /posts?userId"), candidates).tests(), contains(SAMPLE + "#testPostsFromWorkerThread"));
+        assertThat(index.select(List.of("GET /posts?title"), candidates).tests(), empty());
+        assertThat(index.select(List.of("get /users/42"), candidates).tests(), contains(SAMPLE + "#testGetUser"));
+        assertThat(index.select(List.of("/users/{userId}"), candidates).tests(), contains(SAMPLE + "#testGetUser"));
+        assertThat(index.select(List.of("/users"), candidates).tests(), contains(SAMPLE + "#testCreateUser"));
+        assertThat(index.select(List.of("GET /health"), candidates).tests(), contains(SAMPLE + "#*"));
+
+        // Host opsional: path yang sama di service lain tidak ikut terpilih
+        assertThat(index.select(List.of("GET " + host + "/users/{id}"), candidates).tests(), contains(SAMPLE + "#testGetUser"));
+        assertThat(index.select(List.of("GET http://" + host + "/users/1"), candidates).tests(), contains(SAMPLE + "#testGetUser"));
+        assertThat(index.select(List.of("GET reqres.in/users/{id}"), candidates).tests(), empty());
+
+        ImpactIndex.Selection unmatched = index.select(List.of("DELETE /comments/{id}"), candidates);
+        assertThat(unmatched.tests(), empty());
+        assertThat(unmatched.unmatchedEndpoints(), contains("DELETE /comments/{id}"));
+
+        // Test yang belum pernah direkam selalu ikut dijalankan
+        ImpactIndex.Selection withNewTest = index.select(List.of("POST /users"), Set.of(SAMPLE + "#testCreateUser", SAMPLE + "#testNew"));
+        assertThat(withNewTest.unknown(), contains(SAMPLE + "#testNew"));
+        assertThat(withNewTest.tests(), containsInAnyOrder(SAMPLE + "#testCreateUser", SAMPLE + "#testNew"));
+    }
+
+    /**
+     * Test endpoint dengan path sama di host berbeda adalah entry berbeda di index
+     * Validates: host dari URI (lowercase, tanpa port default), template dengan host, dan matching per host
+     */
+    @Test
+    public void testSamePathOnDifferentHostsDoesNotCollide() {
+        assertThat(RequestMetricsFilter.host("https://JSONPlaceholder.typicode.com:443/users/1"), equalTo("jsonplaceholder.typicode.com"));
+        assertThat(RequestMetricsFilter.host("http://127.0.0.1:8080/users?id=1"), equalTo("127.0.0.1:8080"));
+        assertThat(RequestMetricsFilter.host("/users/1"), nullValue());
+        assertThat(RequestMetricsFilter.endpointTemplate("get", "reqres.in", "/users/2", List.of()), equalTo("GET reqres.in/users/{id}"));
+
+        ImpactIndex index = new ImpactIndex();
+        index.merge(Map.of("GET jsonplaceholder.typicode.com/users/{id}", Set.of("A#testGet"),
+                "GET reqres.in/users/{id}", Set.of("B#testGet")), Set.of("A#testGet", "B#testGet"));
+        Set<String> candidates = Set.of("A#testGet", "B#testGet");
+
+        assertThat(index.endpoints().keySet(), hasSize(2));
+        assertThat(index.select(List.of("GET /users/{id}"), candidates).tests(), contains("A#testGet", "B#testGet"));
+        assertThat(index.select(List.of("GET reqres.in/users/{id}"), candidates).tests(), contains("B#testGet"));
+        assertThat(index.select(List.of("GET https://jsonplaceholder.typicode.com/users/7"), candidates).tests(), contains("A#testGet"));
+        assertThat(ImpactIndex.matches("GET reqres.in/users/{id}", "GET /users/{id}"), is(true));  // Index lama tanpa host
+    }
+
+    /**
+     * Test merge: run parsial hanya mengganti entry test yang dijalankan, entry test lain tetap ada
+     * Validates: entry basi dari test yang dijalankan ulang dihapus, endpoint tanpa test dibuang
+     */
+    @Test
+    public void testMergeReplacesOnlyExecutedTests() {
+        ImpactIndex index = new ImpactIndex();
+        index.merge(Map.of("GET /users/{id}", Set.of("A#testGet", "B#testOther"), "DELETE /users/{id}", Set.of("A#testGet"),
+                "GET /todos", Set.of("A#*")), Set.of("A#testGet", "B#testOther"));
+
+        index.merge(Map.of("GET /users", Set.of("A#testGet")), Set.of("A#testGet"));
+
+        assertThat(index.endpoints().get("GET /users/{id}"), contains("B#testOther"));
+        assertThat(index.endpoints().get("GET /users"), contains("A#testGet"));
+        assertThat(index.endpoints(), not(hasKey("DELETE /users/{id}")));
+        assertThat(index.endpoints(), not(hasKey("GET /todos")));  // Class A dijalankan ulang, config method tidak memanggilnya lagi
+        assertThat(index.knownTests(), containsInAnyOrder("A#testGet", "B#testOther"));
+    }
+
+    /**
+     * @return Host LocalStubServer seperti yang tercatat di endpoint template, contoh "127.0.0.1:54321"
+     */
+    private static String runSample(Path file) {
+        ImpactIndexFilter filter = new ImpactIndexFilter();
+        try (LocalStubServer server = new LocalStubServer()
+                .stub("/users", 200, "{\"id\": 1}", 0)
+                .stub("/posts", 200, "[]", 0)
+                .stub("/health", 200, "{\"status\": \"ok\"}", 0)) {
+            SampleApiTests.baseUrl = server.baseUrl();
+            SampleApiTests.filter = filter;
+            NestedTestNG.runNested(SampleApiTests.class, new ImpactIndexListener(filter, file));
+            return RequestMetricsFilter.host(server.baseUrl());
+        } finally {
+            SampleApiTests.baseUrl = null;
+            SampleApiTests.filter = null;
+        }
+    }
+
+    /**
+     * Test class contoh yang dijalankan oleh TestNG nested (tidak terdaftar di testng.xml)
+     * Surefire -Dtest=... ikut menjalankan nested class, jadi tanpa baseUrl dari test di atas class ini no-op
+     */
+    public static class SampleApiTests {
+        static volatile String baseUrl;
+        static volatile ImpactIndexFilter filter;
+
+        @BeforeClass
+        public void checkHealth() {
+            if (baseUrl != null) {
+                RestAssured.given().noFilters().filter(filter).baseUri(baseUrl).get("/health");
+            }
+        }
+
+        @Test
+        public void testGetUser() {
+            if (baseUrl != null) {
+                RestAssured.given().noFilters().filter(filter).baseUri(baseUrl).get("/users/{id}", 1).then().statusCode(200);
+            }
+        }
+
+        @Test
+        public void testCreateUser() {
+            if (baseUrl != null) {
+                RestAssured.given().noFilters().filter(filter).baseUri(baseUrl).body("{\"name\": \"Budi\"}").post("/users")
+                        .then().statusCode(200);
+            }
+        }
+
+        @Test
+        public void testPostsFromWorkerThread() {
+            if (baseUrl != null) {
+                // Thread di luar TestNG: di-attribute ke satu-satunya test yang sedang berjalan
+                CompletableFuture.runAsync(() -> RestAssured.given().noFilters().filter(filter).baseUri(baseUrl)
+                        .queryParam("userId", 1).get("/posts")).join();
+            }
+        }
+
+        @Test
+        public void testWithoutRequests() {
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.praktikum.rest.tests;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.praktikum.rest.config.TestConfig;
+import com.praktikum.rest.snapshot.JsonSnapshot;
+import com.praktikum.rest.utils.LocalStubServer;
+import io.restassured.RestAssured;
+import io.restassured.response.Response;
+import org.testng.annotations.Test;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Set;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.expectThrows;
+
+/**
+ * Test class untuk JsonSnapshot (tanpa network)
+ * Golden files untuk test ini ditulis ke folder sementara di target/, bukan ke src/test/resources
+ */
+
+public class JsonSnapshotTests {
+    private static final String USER = "{\"id\": 1, \"name\": \"Leanne Graham\", \"createdAt\": \"2024-01-01T10:00:00Z\","
+            + " \"address\": {\"city\": \"Gwenborough\", \"geo\": {\"lat\": \"-37.3159\", \"lng\": \"81.1496\"}},"
+            + " \"tags\": [\"a\", \"b\"], \"score\": 1.50}";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    /**
+     * Test hash hanya bergantung pada isi canonical
+     * Validates: urutan keys, field yang di-ignore, dan representasi angka tidak mengubah hash; perubahan value mengubah hash
+     */
+    @Test
+    public void testHashIgnoresKeyOrderAndVolatileFields() throws Exception {
+        Set<String> ignored = Set.of("createdAt");
+        long hash = JsonSnapshot.hash(mapper.readTree(USER), ignored);
+
+        JsonNode reordered = mapper.readTree("{\"score\": 1.5, \"tags\": [\"a\", \"b\"], \"createdAt\": \"2030-12-31T00:00:00Z\","
+                + " \"address\": {\"geo\": {\"lng\": \"81.1496\", \"lat\": \"-37.3159\"}, \"city\": \"Gwenborough\"},"
+                + " \"name\": \"Leanne Graham\", \"id\": 1}");
+        assertThat(JsonSnapshot.hash(reordered, ignored), equalTo(hash));
+
+        assertThat(JsonSnapshot.hash(mapper.readTree(USER.replace("Gwenborough", "Jakarta")), ignored), not(equalTo(hash)));
+        assertThat(JsonSnapshot.hash(mapper.readTree(USER.replace("[\"a\", \"b\"]", "[\"b\", \"a\"]")), ignored), not(equalTo(hash)));
+        assertThat(JsonSnapshot.hash(mapper.readTree(USER), Set.of()), not(equalTo(hash)));  // createdAt ikut di-hash
+        assertThat(JsonSnapshot.hash(mapper.readTree("[\"ab\", \"c\"]"), ignored),
+                not(equalTo(JsonSnapshot.hash(mapper.readTree("[\"a\", \"bc\"]"), ignored))));
+    }
+
+    /**
+     * Test alur golden: golden yang belum ada gagal, direkam dengan update mode, cocok di run berikutnya,
+     * dan mismatch menampilkan diff struktural
+     * Validates: golden tidak direkam diam-diam, golden file canonical (keys urut, tanpa field volatile),
+     * pesan diff per path JSON, dan mode update
+     */
+    @Test
+    public void testGoldenRecordMatchAndStructuralDiff() throws Exception {
+        Path directory = Paths.get("target", "snapshots-selftest");
+        Files.deleteIfExists(directory.resolve("user.json"));
+        JsonSnapshot snapshot = new JsonSnapshot(directory, Set.of("createdAt"), false);
+
+        try (LocalStubServer server = new LocalStubServer().stub("/users", 200, USER, 0)) {
+            Response response = RestAssured.given().noFilters().baseUri(server.baseUrl()).get("/users/1");
+            AssertionError missing = expectThrows(AssertionError.class, () -> snapshot.assertMatches("user", response));
+            assertThat(missing.getMessage(), containsString("-Dsnapshot.update=true"));
+            assertThat(Files.exists(directory.resolve("user.json")), is(false));
+
+            new JsonSnapshot(directory, Set.of("createdAt"), true).assertMatches("user", response);  // Direkam
+            snapshot.assertMatches("user", response);  // Cocok lewat hash
+        }
+        String golden = Files.readString(directory.resolve("user.json"));
+        assertThat(golden, not(containsString("createdAt")));
+        assertThat(golden.indexOf("\"address\""), lessThan(golden.indexOf("\"id\"")));
+
+        // Golden dibaca ulang dari disk oleh instance baru, response berubah di beberapa path
+        String changed = "{\"id\": 1, \"name\": \"Leanne Graham\", \"createdAt\": \"2031-01-01T00:00:00Z\","
+                + " \"address\": {\"city\": \"Jakarta\", \"geo\": {\"lat\": \"-37.3159\"}}, \"tags\": [\"a\"], \"score\": 1.5,"
+                + " \"phone\": \"021-555\"}";
+        AssertionError error = expectThrows(AssertionError.class, () -> new JsonSnapshot(directory, Set.of("createdAt"), false)
+                .assertMatches("user", changed.getBytes(StandardCharsets.UTF_8)));
+        System.out.println(error.getMessage());
+        assertThat(error.getMessage(), containsString("$.address.city: expected \"Gwenborough\" but was \"Jakarta\""));
+        assertThat(error.getMessage(), containsString("$.address.geo.lng: missing"));
+        assertThat(error.getMessage(), containsString("$.phone: unexpected \"021-555\""));
+        assertThat(error.getMessage(), containsString("$.tags: expected 2 elements but was 1"));
+        assertThat(error.getMessage(), not(containsString("score")));  // 1.50 dan 1.5 sama
+        assertThat(error.getMessage(), not(containsString("createdAt")));
+
+        // Perubahan disengaja: rekam ulang dengan update mode, setelah itu cocok lagi
+        new JsonSnapshot(directory, Set.of("createdAt"), true).assertMatches("user", changed.getBytes(StandardCharsets.UTF_8));
+        new JsonSnapshot(directory, Set.of("createdAt"), false).assertMatches("user", changed.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Test golden yang di-commit konsisten dengan hash-nya, dan diff dari response yang berbeda tetap terbaca
+     * Validates: snapshots/users-1.json (dipakai UserAPITests.testGetUserByIdMatchesSnapshot) bisa dipakai tanpa network,
+     * dan snapshot.dir di-resolve ke absolute path di root project (tidak bergantung working directory)
+     */
+    @Test
+    public void testCommittedGoldenIsConsistent() throws Exception {
+        Path directory = JsonSnapshot.resolveDirectory(TestConfig.SNAPSHOT_DIR);
+        assertThat(directory.isAbsolute(), is(true));
+        assertThat(JsonSnapshot.resolveDirectory(directory.toString()), equalTo(directory));
+        Path file = directory.resolve("users-1.json");
+        assertThat(Files.isRegularFile(file), is(true));
+        JsonNode stored = mapper.readTree(file.toFile());
+        byte[] body = mapper.writeValueAsBytes(stored.get("body"));
+
+        JsonSnapshot snapshot = new JsonSnapshot(file.getParent(), Set.of(), false);
+        snapshot.assertMatches("users-1", body);
+
+        List<String> differences = JsonSnapshot.diff(stored.get("body"),
+                mapper.readTree(new String(body, StandardCharsets.UTF_8).replace("Bret", "Antonette")));
+        assertThat(differences, contains("$.username: expected \"Bret\" but was \"Antonette\""));
+        assertThrows(AssertionError.class, () -> snapshot.assertMatches("users-1", "{\"id\": 2}".getBytes(StandardCharsets.UTF_8)));
+    }
+}
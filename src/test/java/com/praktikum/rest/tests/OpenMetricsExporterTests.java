@@ -0,0 +1,113 @@
+package com.praktikum.rest.tests;
+
+import com.praktikum.rest.filters.RequestMetricsFilter;
+import com.praktikum.rest.metrics.SuiteMetrics;
+import com.praktikum.rest.reporting.OpenMetricsExporter;
+import com.praktikum.rest.reporting.OpenMetricsListener;
+import com.praktikum.rest.utils.LocalStubServer;
+import io.restassured.RestAssured;
+import org.testng.annotations.Test;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Test class untuk RequestMetricsFilter, OpenMetricsExporter, dan OpenMetricsListener
+ * Request dikirim ke LocalStubServer, lalu /metrics di-scrape lewat HTTP seperti Prometheus
+ */
+
+public class OpenMetricsExporterTests {
+
+    /**
+     * Test endpoint template mengganti ID dengan {id} dan hanya menyimpan nama query params
+     * Validates: path param, ID di path, UUID, query params diurutkan, query string di path, dan host dari base URI
+     */
+    @Test
+    public void testEndpointTemplateCollapsesIds() {
+        assertThat(RequestMetricsFilter.endpointTemplate("get", "/users/1", List.of()), equalTo("GET /users/{id}"));
+        assertThat(RequestMetricsFilter.endpointTemplate("DELETE", "/users/550e8400-e29b-41d4-a716-446655440000/posts", List.of()),
+                equalTo("DELETE /users/{id}/posts"));
+        assertThat(RequestMetricsFilter.endpointTemplate("GET", "/posts", List.of("userId")), equalTo("GET /posts?userId"));
+        assertThat(RequestMetricsFilter.endpointTemplate("GET", "", List.of()), equalTo("GET /"));
+
+        RequestMetricsFilter filter = new RequestMetricsFilter();
+        try (LocalStubServer server = new LocalStubServer()
+                .stub("/users", 200, "{\"id\": 1}", 0)
+                .stub("/posts", 200, "[]", 0)) {
+            String host = RequestMetricsFilter.host(server.baseUrl());
+            RestAssured.given().noFilters().filter(filter).baseUri(server.baseUrl()).get("/users/{id}", 7);
+            RestAssured.given().noFilters().filter(filter).baseUri(server.baseUrl())
+                    .queryParam("userId", 1).queryParam("_limit", 5).get("/posts");
+            RestAssured.given().noFilters().filter(filter).baseUri(server.baseUrl()).get("/posts?userId=2");
+            assertThat(filter.latencySnapshot().keySet(), contains("GET " + host + "/posts?_limit&userId",
+                    "GET " + host + "/posts?userId", "GET " + host + "/users/{id}"));
+        }
+    }
+
+    /**
+     * Test /metrics selama run: counters per endpoint x status, error, histogram latency, test results, dan JVM
+     * Validates: content type OpenMetrics, bucket kumulatif monoton, _count sama dengan jumlah request, dan "# EOF"
+     */
+    @Test
+    public void testScrapeExposesRequestAndSuiteMetrics() throws Exception {
+        RequestMetricsFilter filter = new RequestMetricsFilter();
+        OpenMetricsListener results = new OpenMetricsListener(-1, filter);
+        results.onTestSuccess(null);
+        results.onTestSkipped(null);
+        SuiteMetrics.gauge("openmetrics.test.gauge", () -> 1.5);
+
+        try (LocalStubServer server = new LocalStubServer()
+                .stub("/users", 200, "{\"id\": 1, \"name\": \"Leanne Graham\"}", 5)
+                .stub("/missing", 404, "{}", 0);
+             OpenMetricsExporter exporter = new OpenMetricsExporter(0, filter, results)) {
+            String host = RequestMetricsFilter.host(server.baseUrl());
+            for (int id = 1; id <= 3; id++) {
+                RestAssured.given().noFilters().filter(filter).baseUri(server.baseUrl()).get("/users/{id}", id)
+                        .then().statusCode(200);
+            }
+            RestAssured.given().noFilters().filter(filter).baseUri(server.baseUrl()).get("/missing/1")
+                    .then().statusCode(404);
+
+            HttpResponse<String> scrape = HttpClient.newHttpClient().send(
+                    HttpRequest.newBuilder(URI.create(exporter.getUrl())).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            String body = scrape.body();
+            System.out.println(body);
+
+            assertThat(scrape.statusCode(), equalTo(200));
+            assertThat(scrape.headers().firstValue("Content-Type").orElse(""), startsWith("application/openmetrics-text"));
+            assertThat(body, endsWith("# EOF\n"));
+            assertThat(body, containsString("api_test_http_requests_total{endpoint=\"GET " + host + "/users/{id}\",status=\"200\"} 3\n"));
+            assertThat(body, containsString("api_test_http_requests_total{endpoint=\"GET " + host + "/missing/{id}\",status=\"404\"} 1\n"));
+            assertThat(body, containsString("api_test_http_errors_total{status=\"404\"} 1\n"));
+            assertThat(body, containsString("api_test_http_in_flight_requests 0\n"));
+            assertThat(body, containsString("api_test_http_request_duration_seconds_count{endpoint=\"GET " + host + "/users/{id}\"} 3\n"));
+            assertThat(body, containsString("api_test_http_request_duration_seconds_bucket{endpoint=\"GET " + host + "/users/{id}\",le=\"+Inf\"} 3\n"));
+            assertThat(body, containsString("api_test_tests_total{result=\"pass\"} 1\n"));
+            assertThat(body, containsString("api_test_tests_total{result=\"fail\"} 0\n"));
+            assertThat(body, containsString("api_test_tests_total{result=\"skip\"} 1\n"));
+            assertThat(body, containsString("# TYPE api_test_suite_openmetrics_test_gauge gauge\n"));
+            assertThat(body, containsString("api_test_suite_openmetrics_test_gauge 1.5\n"));
+            assertThat(body, containsString("jvm_memory_heap_used_bytes "));
+            assertThat(body, containsString("jvm_threads_live "));
+
+            // Stub delay 5 ms: tidak ada sample di bucket 5 ms, bucket kumulatif tidak pernah turun
+            long previous = 0;
+            for (String line : body.split("\n")) {
+                if (line.startsWith("api_test_http_request_duration_seconds_bucket{endpoint=\"GET " + host + "/users/{id}\"")) {
+                    long count = Long.parseLong(line.substring(line.lastIndexOf(' ') + 1));
+                    if (line.contains("le=\"0.005\"")) {
+                        assertThat(count, equalTo(0L));
+                    }
+                    assertThat(count, greaterThanOrEqualTo(previous));
+                    previous = count;
+                }
+            }
+            assertThat(previous, equalTo(3L));
+        }
+    }
+}
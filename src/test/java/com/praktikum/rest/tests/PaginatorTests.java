@@ -0,0 +1,233 @@
+package com.praktikum.rest.tests;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.praktikum.rest.pagination.Paginator;
+import com.praktikum.rest.utils.LocalStubServer;
+import com.sun.net.httpserver.HttpExchange;
+import io.restassured.RestAssured;
+import org.testng.annotations.Test;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.testng.Assert.expectThrows;
+
+/**
+ * Test class untuk Paginator (tanpa network)
+ * LocalStubServer menyajikan dataset /posts dengan page number, Link header, atau cursor
+ */
+
+public class PaginatorTests {
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    /**
+     * Test page number style dengan X-Total-Count: halaman di-fetch concurrent tetapi item tetap berurutan
+     * Validates: semua item urut, concurrency di server > 1 dan <= window, dan tidak ada halaman ekstra
+     */
+    @Test
+    public void testPageNumberPrefetchKeepsOrder() {
+        PostsServer posts = new PostsServer(95, true);
+        try (LocalStubServer server = posts.start()) {
+            List<Integer> ids;
+            try (Stream<Map<String, Object>> stream = paginator(server, 4).stream()) {
+                ids = stream.map(post -> (Integer) post.get("id")).collect(Collectors.toList());
+            }
+
+            assertThat(ids, equalTo(IntStream.rangeClosed(1, 95).boxed().collect(Collectors.toList())));
+            assertThat(posts.requests.get(), equalTo(10));
+            assertThat(posts.maxConcurrent.get(), allOf(greaterThan(1), lessThanOrEqualTo(4)));
+        }
+    }
+
+    /**
+     * Test page number style tanpa total: berhenti di halaman yang tidak penuh
+     * Validates: semua item terambil, halaman spekulatif setelah halaman terakhir dibatasi window
+     */
+    @Test
+    public void testStopsAtShortPageWithoutTotal() {
+        PostsServer posts = new PostsServer(25, false);
+        try (LocalStubServer server = posts.start()) {
+            long count;
+            try (Stream<Map<String, Object>> stream = paginator(server, 3).stream()) {
+                count = stream.count();
+            }
+            assertThat(count, equalTo(25L));
+            assertThat(posts.requests.get(), allOf(greaterThanOrEqualTo(3), lessThanOrEqualTo(3 + 3)));
+        }
+    }
+
+    /**
+     * Test stream lazy: consumer yang berhenti lebih awal hanya memicu halaman sebanyak window
+     * Validates: limit(5) atas 100 halaman hanya mengirim beberapa request
+     */
+    @Test
+    public void testLazyStreamFetchesOnlyAheadOfConsumer() {
+        PostsServer posts = new PostsServer(1000, true);
+        try (LocalStubServer server = posts.start()) {
+            try (Stream<Map<String, Object>> stream = paginator(server, 3).stream()) {
+                assertThat(posts.requests.get(), equalTo(0));  // Belum ada request sebelum element pertama diminta
+                assertThat(stream.limit(5).count(), equalTo(5L));
+            }
+            assertThat(posts.requests.get(), lessThanOrEqualTo(4));
+        }
+    }
+
+    /**
+     * Test Link header (rel="next") dan cursor style
+     * Validates: semua halaman diikuti sampai selesai, item berurutan, dan items(jsonPath) untuk body berbentuk object
+     */
+    @Test
+    public void testFollowsLinkHeaderAndCursor() {
+        PostsServer posts = new PostsServer(23, false);
+        try (LocalStubServer server = posts.start()) {
+            List<Integer> linked = Paginator.of("/linked")
+                    .linkHeader()
+                    .queryParam("_limit", 5)
+                    .prefetch(2)
+                    .request(() -> RestAssured.given().noFilters().baseUri(server.baseUrl()))
+                    .build()
+                    .stream()
+                    .map(post -> (Integer) post.get("id"))
+                    .collect(Collectors.toList());
+            assertThat(linked, equalTo(IntStream.rangeClosed(1, 23).boxed().collect(Collectors.toList())));
+
+            List<Post> cursor = Paginator.of("/cursor")
+                    .cursor("cursor", "meta.next_cursor")
+                    .items("data")
+                    .request(() -> RestAssured.given().noFilters().baseUri(server.baseUrl()))
+                    .build()
+                    .stream(Post.class)
+                    .collect(Collectors.toList());
+            assertThat(cursor, hasSize(23));
+            assertThat(cursor.get(22).id, equalTo(23));
+            assertThat(cursor.get(0).title, equalTo("post 1"));
+        }
+        assertThat(Paginator.of("/x").build(), notNullValue());
+    }
+
+    /**
+     * Test halaman yang gagal menggagalkan stream dengan status dan nomor halaman
+     */
+    @Test
+    public void testErrorPageFailsStream() {
+        PostsServer posts = new PostsServer(50, true);
+        posts.failPage = 3;
+        try (LocalStubServer server = posts.start()) {
+            IllegalStateException error = expectThrows(IllegalStateException.class, () -> {
+                try (Stream<Map<String, Object>> stream = paginator(server, 4).stream()) {
+                    stream.forEach(post -> { });
+                }
+            });
+            assertThat(error.getMessage(), allOf(containsString("halaman 3"), containsString("500")));
+        }
+    }
+
+    private static Paginator paginator(LocalStubServer server, int prefetch) {
+        return Paginator.of("/posts")
+                .pageNumbers("_page", "_limit", 10)
+                .prefetch(prefetch)
+                .request(() -> RestAssured.given().noFilters().baseUri(server.baseUrl()))
+                .build();
+    }
+
+    /**
+     * Item untuk stream(Class)
+     */
+    public static class Post {
+        public int id;
+        public String title;
+    }
+
+    /**
+     * Dataset posts 1..total yang disajikan dengan tiga style pagination
+     * Halaman awal sengaja lebih lambat, jadi response tiba tidak berurutan
+     */
+    private final class PostsServer {
+        private final int total;
+        private final boolean totalHeader;
+        private final AtomicInteger requests = new AtomicInteger();
+        private final AtomicInteger concurrent = new AtomicInteger();
+        private final AtomicInteger maxConcurrent = new AtomicInteger();
+        private volatile int failPage = -1;
+
+        PostsServer(int total, boolean totalHeader) {
+            this.total = total;
+            this.totalHeader = totalHeader;
+        }
+
+        LocalStubServer start() {
+            return new LocalStubServer()
+                    .handle("/posts", exchange -> serve(exchange, "page"))
+                    .handle("/linked", exchange -> serve(exchange, "link"))
+                    .handle("/cursor", exchange -> serve(exchange, "cursor"));
+        }
+
+        private void serve(HttpExchange exchange, String style) throws IOException {
+            requests.incrementAndGet();
+            maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+            try {
+                Map<String, String> query = query(exchange.getRequestURI().getRawQuery());
+                int limit = Integer.parseInt(query.getOrDefault("_limit", "5"));
+                int page = style.equals("cursor")
+                        ? Integer.parseInt(query.getOrDefault("cursor", "1"))
+                        : Integer.parseInt(query.getOrDefault("_page", "1"));
+                sleep(Math.max(5, 60 - page * 10));
+                if (page == failPage) {
+                    LocalStubServer.respond(exchange, 500, "{}");
+                    return;
+                }
+                List<Map<String, Object>> items = new ArrayList<>();
+                for (int id = (page - 1) * limit + 1; id <= Math.min(total, page * limit); id++) {
+                    Map<String, Object> post = new LinkedHashMap<>();
+                    post.put("id", id);
+                    post.put("title", "post " + id);
+                    items.add(post);
+                }
+                boolean more = page * limit < total;
+                if (totalHeader) {
+                    exchange.getResponseHeaders().set("X-Total-Count", String.valueOf(total));
+                }
+                if (style.equals("link") && more) {
+                    exchange.getResponseHeaders().set("Link", "<http://127.0.0.1:" + exchange.getLocalAddress().getPort()
+                            + "/linked?_page=" + (page + 1) + "&_limit=" + limit + ">; rel=\"next\", <http://example.invalid/last>; rel=\"last\"");
+                }
+                if (style.equals("cursor")) {
+                    Map<String, Object> body = new LinkedHashMap<>();
+                    body.put("data", items);
+                    body.put("meta", more ? Map.of("next_cursor", String.valueOf(page + 1)) : Map.of());
+                    LocalStubServer.respond(exchange, 200, mapper.writeValueAsString(body));
+                } else {
+                    LocalStubServer.respond(exchange, 200, mapper.writeValueAsString(items));
+                }
+            } finally {
+                concurrent.decrementAndGet();
+            }
+        }
+    }
+
+    private static Map<String, String> query(String rawQuery) {
+        Map<String, String> query = new LinkedHashMap<>();
+        if (rawQuery != null) {
+            for (String pair : rawQuery.split("&")) {
+                String[] parts = pair.split("=", 2);
+                query.put(parts[0], parts.length > 1 ? parts[1] : "");
+            }
+        }
+        return query;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.praktikum.rest.tests;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.praktikum.rest.benchmark.PayloadScalingBenchmark;
+import com.praktikum.rest.benchmark.StreamingJsonBody;
+import com.praktikum.rest.config.TestConfig;
+import com.praktikum.rest.metrics.LatencyHistogram;
+import com.praktikum.rest.utils.LocalStubServer;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Test class untuk payload-size scaling benchmark
+ * testPayloadSizeScaling menembak PAYLOAD_BASE_URL, test lainnya memakai LocalStubServer
+ */
+
+public class PayloadScalingTests extends BaseTest {
+    private static final int OFFLINE_MAX_BYTES = 4 * 1024 * 1024;
+
+    // Hasil per ukuran dari DataProvider sweep, digabung jadi satu report di @AfterClass
+    private final Map<Long, PayloadScalingBenchmark.Point> sweepPoints = new ConcurrentSkipListMap<>();
+
+    @BeforeMethod
+    public void setupMethod() {
+        useJSONPlaceholderAPI();
+    }
+
+    @DataProvider(name = "payloadSizes")
+    public Object[][] payloadSizes() {
+        return PayloadScalingBenchmark.sizes(TestConfig.PAYLOAD_MIN_BYTES, TestConfig.PAYLOAD_MAX_BYTES, 4).stream()
+                .map(size -> new Object[] {size})
+                .toArray(Object[][]::new);
+    }
+
+    /**
+     * Benchmark POST /users dengan body streamed untuk setiap ukuran
+     * Validates: server menerima setiap ukuran (2xx); report latency/MB/s/heap di-print setelah semua ukuran
+     */
+    @Test(dataProvider = "payloadSizes")
+    public void testPayloadSizeScaling(long sizeBytes) {
+        PayloadScalingBenchmark benchmark = new PayloadScalingBenchmark(TestConfig.PAYLOAD_BASE_URL, "/users",
+                1, TestConfig.PAYLOAD_ITERATIONS);
+        PayloadScalingBenchmark.Point point = benchmark.measure(sizeBytes);
+        sweepPoints.put(sizeBytes, point);
+
+        assertThat(point.latency().getCount(), equalTo((long) TestConfig.PAYLOAD_ITERATIONS));
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void printSweepReport() throws IOException {
+        if (sweepPoints.isEmpty()) {
+            return;
+        }
+        List<PayloadScalingBenchmark.Point> points = new ArrayList<>(sweepPoints.values());
+        PayloadScalingBenchmark.print(points, PayloadScalingBenchmark.nonLinearGrowth(points, TestConfig.PAYLOAD_MAX_SLOPE), System.out);
+        PayloadScalingBenchmark.writeCsv(points, Paths.get("target", "benchmarks", "payload-scaling.csv"));
+    }
+
+    /**
+     * Test body benar-benar di-stream (chunked) dan sampai utuh di server untuk setiap ukuran
+     * Validates: bytes diterima = ukuran, JSON valid, dan alokasi client jauh di bawah ukuran payload
+     */
+    @Test
+    public void testStreamedBodiesReachServerIntact() throws Exception {
+        Map<Long, String> transferEncodings = new ConcurrentHashMap<>();
+        Map<Long, Long> receivedBytes = new ConcurrentHashMap<>();
+        try (LocalStubServer server = new LocalStubServer().handle("/users", exchange -> {
+            long received = drain(exchange.getRequestBody());
+            receivedBytes.put(received, received);
+            transferEncodings.put(received, String.valueOf(exchange.getRequestHeaders().getFirst("Transfer-Encoding")));
+            LocalStubServer.respond(exchange, 201, "{\"id\": 101}");
+        })) {
+            PayloadScalingBenchmark benchmark = new PayloadScalingBenchmark(server.baseUrl(), "/users", 1, 3);
+            List<Long> sizes = PayloadScalingBenchmark.sizes(1024, OFFLINE_MAX_BYTES, 4);
+            List<PayloadScalingBenchmark.Point> points = benchmark.run(sizes);
+            PayloadScalingBenchmark.print(points, PayloadScalingBenchmark.nonLinearGrowth(points, TestConfig.PAYLOAD_MAX_SLOPE), System.out);
+
+            assertThat(points, hasSize(sizes.size()));
+            for (long size : sizes) {
+                assertThat(receivedBytes, hasKey(size));
+                assertThat(transferEncodings.get(size), equalToIgnoringCase("chunked"));
+            }
+
+            PayloadScalingBenchmark.Point largest = points.get(points.size() - 1);
+            assertThat(largest.sizeBytes(), equalTo((long) OFFLINE_MAX_BYTES));
+            assertThat(largest.megabytesPerSecond(), greaterThan(0.0));
+            if (largest.allocatedBytesPerRequest() >= 0) {
+                // Body 4 MB tidak pernah di-copy ke heap client: alokasi per request tetap (~ratusan KB overhead)
+                assertThat(largest.allocatedBytesPerRequest(), lessThan(1024L * 1024));
+            }
+        }
+    }
+
+    /**
+     * Test body yang di-generate adalah JSON valid dengan ukuran persis
+     */
+    @Test
+    public void testStreamingJsonBodyIsValidJson() throws IOException {
+        byte[] body = new StreamingJsonBody(4096).readAllBytes();
+
+        assertThat(body.length, equalTo(4096));
+        JsonNode json = new ObjectMapper().readTree(body);
+        assertThat(json.get("name").asText(), equalTo("Payload Benchmark"));
+        assertThat(json.get("bio").asText().length(), equalTo(4096 - StreamingJsonBody.MIN_SIZE));
+    }
+
+    /**
+     * Test deteksi growth non-linear dari slope log-log
+     * Validates: latency linear tidak di-flag, latency kuadratik di-flag
+     */
+    @Test
+    public void testNonLinearGrowthIsFlagged() {
+        List<PayloadScalingBenchmark.Point> linear = new ArrayList<>();
+        List<PayloadScalingBenchmark.Point> quadratic = new ArrayList<>();
+        for (long size = 64 * 1024; size <= 16 * 1024 * 1024; size *= 4) {
+            double megabytes = size / (1024.0 * 1024.0);
+            linear.add(point(size, 5 + 10 * megabytes));
+            quadratic.add(point(size, 5 + 10 * megabytes * megabytes));
+        }
+
+        assertThat(PayloadScalingBenchmark.nonLinearGrowth(linear, 1.2), empty());
+        assertThat(PayloadScalingBenchmark.nonLinearGrowth(quadratic, 1.2), hasItem(containsString("4 MB -> 16 MB")));
+    }
+
+    private static PayloadScalingBenchmark.Point point(long sizeBytes, double latencyMillis) {
+        LatencyHistogram latency = new LatencyHistogram();
+        latency.recordMicros(Math.round(latencyMillis * 1000));
+        return new PayloadScalingBenchmark.Point(sizeBytes, latency, sizeBytes / 8, 0);
+    }
+
+    private static long drain(InputStream body) throws IOException {
+        byte[] buffer = new byte[64 * 1024];
+        long total = 0;
+        int read;
+        while ((read = body.read(buffer)) != -1) {
+            total += read;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,142 @@
+package com.praktikum.rest.tests;
+
+import com.praktikum.rest.load.RateLimitFilter;
+import com.praktikum.rest.load.TokenBucketRateLimiter;
+import com.praktikum.rest.metrics.SuiteMetrics;
+import com.praktikum.rest.utils.LocalStubServer;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Test class untuk token bucket rate limiter dan RateLimitFilter
+ * Menggunakan LocalStubServer supaya timing bisa diukur tanpa public API
+ */
+
+public class RateLimitTests extends BaseTest {
+    private LocalStubServer server;
+
+    @BeforeMethod
+    public void setupMethod() {
+        useJSONPlaceholderAPI();
+        AtomicInteger throttleCalls = new AtomicInteger();
+        server = new LocalStubServer()
+                .stub("/users", 200, "[{\"id\": 1}]", 0)
+                .handle("/throttled", exchange -> {
+                    // Request pertama dibalas 429 + Retry-After, berikutnya 200
+                    if (throttleCalls.getAndIncrement() == 0) {
+                        exchange.getResponseHeaders().set("Retry-After", "1");
+                        LocalStubServer.respond(exchange, 429, "{\"error\": \"rate limited\"}");
+                    } else {
+                        LocalStubServer.respond(exchange, 200, "{\"id\": 1}");
+                    }
+                });
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDownMethod() {
+        server.close();
+    }
+
+    /**
+     * Test burst lolos langsung, request berikutnya harus menunggu
+     * Validates: kapasitas bucket dan refill rate
+     */
+    @Test
+    public void testBurstThenSmoothedRate() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(20, 5);  // 20 rps, burst 5
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.reserve(), equalTo(0L));  // Burst langsung lolos
+        }
+        assertThat(limiter.reserve(), greaterThan(TimeUnit.MILLISECONDS.toNanos(30)));  // ~50 ms per permit
+    }
+
+    /**
+     * Test banyak thread berbagi satu limiter
+     * Validates: total rate tetap di bawah limit meskipun request parallel
+     */
+    @Test
+    public void testConcurrentThreadsShareLimit() throws Exception {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(50, 1);  // 1 permit per 20 ms
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                futures.add(executor.submit(limiter::acquire));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(elapsedMillis, greaterThanOrEqualTo(350L));  // 19 interval x 20 ms = 380 ms
+    }
+
+    /**
+     * Test filter hanya membatasi base URL yang dikonfigurasi
+     * Validates: request ke host terbatas di-space, wait time tercatat di metrics
+     */
+    @Test
+    public void testFilterLimitsConfiguredBaseUrl() {
+        RateLimitFilter filter = RateLimitFilter.fromConfig(server.baseUrl() + "=20:1");
+        long waitsBefore = SuiteMetrics.histogram("ratelimit.wait").getCount();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 6; i++) {
+            given().baseUri(server.baseUrl()).filter(filter).when().get("/users").then().statusCode(200);
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(elapsedMillis, greaterThanOrEqualTo(200L));  // 5 interval x 50 ms
+        assertThat(SuiteMetrics.histogram("ratelimit.wait").getCount() - waitsBefore, equalTo(6L));
+        assertThat(SuiteMetrics.counter("ratelimit.127.0.0.1.throttled").sum(), greaterThan(0L));
+    }
+
+    /**
+     * Test response 429 dengan Retry-After menahan request berikutnya
+     * Validates: limiter menghormati sinyal throttling dari server
+     */
+    @Test
+    public void testRetryAfterPausesLimiter() {
+        RateLimitFilter filter = RateLimitFilter.fromConfig(server.baseUrl() + "=100:10");
+
+        given().baseUri(server.baseUrl()).filter(filter).when().get("/throttled").then().statusCode(429);
+        long start = System.nanoTime();
+        given().baseUri(server.baseUrl()).filter(filter).when().get("/throttled").then().statusCode(200);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(elapsedMillis, greaterThanOrEqualTo(900L));  // Retry-After: 1 detik
+    }
+
+    /**
+     * Test parsing config rate limit per base URL
+     * Validates: rate, burst, default burst, dan host tanpa limit
+     */
+    @Test
+    public void testConfigParsing() {
+        RateLimitFilter filter = RateLimitFilter.fromConfig(
+                "https://reqres.in/api=5:10; https://jsonplaceholder.typicode.com=50");
+
+        TokenBucketRateLimiter reqres = filter.limiterFor("https://reqres.in/api/users?page=2");
+        assertThat(reqres.getPermitsPerSecond(), equalTo(5.0));
+        assertThat(reqres.getBurst(), equalTo(10));
+        assertThat(filter.limiterFor("https://jsonplaceholder.typicode.com/users/1").getBurst(), equalTo(1));
+        assertThat(filter.limiterFor("https://example.com/users"), nullValue());  // Tidak dibatasi
+        assertThat(RateLimitFilter.fromConfig("").isEmpty(), equalTo(true));
+    }
+}
@@ -0,0 +1,188 @@
+package com.praktikum.rest.tests;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.praktikum.rest.profiling.ResourceProfilingFilter;
+import com.praktikum.rest.profiling.ResourceProfilingListener;
+import com.praktikum.rest.utils.LocalStubServer;
+import com.praktikum.rest.utils.NestedTestNG;
+import io.restassured.RestAssured;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.testng.Assert.expectThrows;
+
+/**
+ * Test class untuk ResourceProfilingListener dan ResourceProfilingFilter
+ * Menjalankan TestNG nested dengan SampleCostTests ke LocalStubServer (tanpa network), lalu memeriksa ranking dan kolom profile
+ */
+
+public class ResourceProfilingTests {
+    private static final String SAMPLE = SampleCostTests.class.getSimpleName();
+    private static final int BODY_BYTES = 200_000;
+
+    /**
+     * Test biaya client-side vs waktu tunggu server terpisah per method
+     * Validates: test CPU/allocation berat di ranking teratas dengan client time ~ wall,
+     * test yang menunggu server punya HTTP time ~ wall, bytes response sesuai body, dan request dari thread lain ikut terhitung
+     */
+    @Test
+    public void testSeparatesClientCostFromServerLatency() throws IOException {
+        Path file = Paths.get("target", "profiling-selftest", "profile.json");
+        Files.deleteIfExists(file);
+        ResourceProfilingListener listener = runSample(file, "cpu");
+
+        assertThat(listener.ranked(), empty());  // Di-reset setelah suite selesai
+        JsonNode report = new ObjectMapper().readTree(file.toFile());
+        assertThat(report.get("rankBy").asText(), equalTo("cpu"));
+        Map<String, JsonNode> methods = byName(report.get("methods"));
+
+        JsonNode busy = methods.get(SAMPLE + "#testBusyClient");
+        JsonNode slow = methods.get(SAMPLE + "#testSlowServer");
+        assertThat(report.get("methods").get(0).get("name").asText(), equalTo(SAMPLE + "#testBusyClient"));
+        assertThat(busy.get("cpuNanos").asLong(), greaterThan(slow.get("cpuNanos").asLong()));
+        assertThat(busy.get("allocatedBytes").asLong(), greaterThan(50L * 1024 * 1024));
+        assertThat(busy.get("requests").asLong(), equalTo(0L));
+        assertThat(busy.get("clientNanos").asLong(), equalTo(busy.get("wallNanos").asLong()));
+
+        assertThat(slow.get("requests").asLong(), equalTo(2L));
+        assertThat(slow.get("httpNanos").asLong(), greaterThanOrEqualTo(300_000_000L));
+        assertThat(slow.get("clientNanos").asLong(), lessThan(slow.get("httpNanos").asLong()));
+        assertThat(slow.get("responseBytes").asLong(), allOf(greaterThan(2L * BODY_BYTES), lessThan(2L * BODY_BYTES + 2048)));
+        assertThat(slow.get("requestBytes").asLong(), greaterThan(1000L));  // POST body 1000 bytes
+
+        assertThat(methods.get(SAMPLE + "#testRequestFromWorkerThread").get("requests").asLong(), equalTo(1L));
+        assertThat(methods.get(SAMPLE + "#testRepeated").get("invocations").asLong(), equalTo(3L));  // invocationCount = 3
+        assertThat(methods.get(SAMPLE + "#warmUp (config)").get("requests").asLong(), equalTo(1L));
+    }
+
+    /**
+     * Test ranking berdasarkan kolom lain dan console report
+     * Validates: rank by http menaruh test yang menunggu server di atas, report hanya berisi top N, dan kolom tidak dikenal ditolak
+     */
+    @Test
+    public void testRanksByConfiguredColumn() throws IOException {
+        Path file = Paths.get("target", "profiling-selftest", "profile-http.json");
+        Files.deleteIfExists(file);
+        runSample(file, "http");
+        List<String> ranking = byName(new ObjectMapper().readTree(file.toFile()).get("methods")).keySet().stream()
+                .filter(name -> !name.endsWith("(config)"))  // Request pertama di JVM (warmUp) bisa lambat karena class loading
+                .toList();
+        assertThat(ranking.get(0), equalTo(SAMPLE + "#testSlowServer"));
+
+        ResourceProfilingListener listener = new ResourceProfilingListener(new ResourceProfilingFilter(), null, "alloc", 1);
+        List<ResourceProfilingListener.Profile> ranked = List.of(
+                new ResourceProfilingListener.Profile("A#testFaker", 10, 900_000_000L, 100_000_000L, 800_000_000L,
+                        700_000_000L, 64L * 1024 * 1024, 10, 2048, 4096),
+                new ResourceProfilingListener.Profile("A#testGet", 1, 300_000_000L, 290_000_000L, 10_000_000L,
+                        5_000_000L, 1024, 1, 100, 512));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        listener.printReport(new PrintStream(output, true, StandardCharsets.UTF_8), ranked);
+        String text = output.toString(StandardCharsets.UTF_8);
+        assertThat(text, allOf(containsString("RESOURCE PROFILE (top 1 berdasarkan alloc)"), containsString("Client ms"),
+                containsString("A#testFaker"), not(containsString("A#testGet")), containsString("client 810.0 ms (68%)")));
+
+        expectThrows(IllegalArgumentException.class, () -> new ResourceProfilingListener(new ResourceProfilingFilter(), null, "latency", 5));
+    }
+
+    private static ResourceProfilingListener runSample(Path file, String rankBy) {
+        ResourceProfilingFilter filter = new ResourceProfilingFilter();
+        ResourceProfilingListener listener = new ResourceProfilingListener(filter, file, rankBy, 10);
+        try (LocalStubServer server = stubServer()) {
+            SampleCostTests.baseUrl = server.baseUrl();
+            SampleCostTests.filter = filter;
+            NestedTestNG.runNested(SampleCostTests.class, listener);
+        } finally {
+            SampleCostTests.baseUrl = null;
+            SampleCostTests.filter = null;
+        }
+        return listener;
+    }
+
+    private static LocalStubServer stubServer() {
+        return new LocalStubServer()
+                .stub("/large", 200, "\"" + "x".repeat(BODY_BYTES - 2) + "\"", 150)
+                .stub("/health", 200, "{}", 0)
+                .stub("/ping", 200, "{}", 0);
+    }
+
+    private static Map<String, JsonNode> byName(JsonNode methods) {
+        Map<String, JsonNode> byName = new LinkedHashMap<>();
+        methods.forEach(method -> byName.put(method.get("name").asText(), method));
+        return byName;
+    }
+
+    /**
+     * Test class contoh yang dijalankan oleh TestNG nested (tidak terdaftar di testng.xml)
+     * Surefire -Dtest=... ikut menjalankan nested class, jadi tanpa baseUrl dari test di atas class ini no-op
+     */
+    public static class SampleCostTests {
+        static volatile String baseUrl;
+        static volatile ResourceProfilingFilter filter;
+        static volatile Object sink;
+
+        @BeforeClass
+        public void warmUp() {
+            if (baseUrl != null) {
+                RestAssured.given().noFilters().filter(filter).baseUri(baseUrl).get("/health");
+            }
+        }
+
+        @Test
+        public void testBusyClient() {
+            if (baseUrl != null) {
+                // Generate data dan string building di client, tanpa request
+                long checksum = 0;
+                for (int i = 0; i < 400; i++) {
+                    byte[] block = new byte[256 * 1024];
+                    block[i % block.length] = (byte) i;
+                    checksum += String.valueOf(block.length * (long) i).hashCode() + block[i % block.length];
+                    sink = block;
+                }
+                // Dibatasi CPU time thread, bukan wall time: saat suite penuh thread bisa jarang dapat CPU
+                ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+                long cpuTarget = threads.getCurrentThreadCpuTime() + 300_000_000L;
+                long deadline = System.nanoTime() + 5_000_000_000L;
+                while (threads.getCurrentThreadCpuTime() < cpuTarget && System.nanoTime() < deadline) {
+                    checksum += Long.toString(checksum).hashCode();
+                }
+                sink = checksum;
+            }
+        }
+
+        @Test
+        public void testSlowServer() {
+            if (baseUrl != null) {
+                RestAssured.given().noFilters().filter(filter).baseUri(baseUrl).get("/large").then().statusCode(200);
+                RestAssured.given().noFilters().filter(filter).baseUri(baseUrl).body("y".repeat(1000)).post("/large")
+                        .then().statusCode(200);
+            }
+        }
+
+        @Test
+        public void testRequestFromWorkerThread() {
+            if (baseUrl != null) {
+                // Thread di luar TestNG: di-attribute ke satu-satunya test yang sedang berjalan
+                CompletableFuture.runAsync(() -> RestAssured.given().noFilters().filter(filter).baseUri(baseUrl).get("/ping")).join();
+            }
+        }
+
+        @Test(invocationCount = 3)
+        public void testRepeated() {
+        }
+    }
+}
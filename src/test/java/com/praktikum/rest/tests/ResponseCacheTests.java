@@ -0,0 +1,193 @@
+package com.praktikum.rest.tests;
+
+import com.praktikum.rest.filters.ResponseCacheFilter;
+import com.praktikum.rest.proxy.FaultInjectionProxy;
+import com.praktikum.rest.utils.LocalStubServer;
+import io.restassured.response.Response;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.testng.Assert.expectThrows;
+
+/**
+ * Test class untuk ResponseCacheFilter
+ * Menggunakan LocalStubServer supaya jumlah request yang sampai ke server bisa dihitung
+ */
+
+public class ResponseCacheTests extends BaseTest {
+    private LocalStubServer server;
+    private ResponseCacheFilter cache;
+
+    @BeforeMethod
+    public void setupMethod() {
+        useJSONPlaceholderAPI();
+        server = new LocalStubServer()
+                .stub("/users/1", 200, "{\"id\": 1, \"name\": \"Leanne Graham\"}", 0)
+                .stub("/users/2", 200, "{\"id\": 2, \"name\": \"Ervin Howell\"}", 0)
+                .stub("/users/3", 200, "{\"id\": 3, \"name\": \"Clementine Bauch\"}", 0)
+                .stub("/slow", 200, "{\"id\": 99}", 300)  // Delay supaya request overlap
+                .stub("/posts", 201, "{\"id\": 101}", 0);
+        cache = new ResponseCacheFilter(2, 1024 * 1024);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDownMethod() {
+        server.close();
+    }
+
+    /**
+     * Test GET yang sama berulang kali hanya sampai ke server sekali
+     * Validates: cache hit dan setiap test tetap dapat Response object sendiri
+     */
+    @Test
+    public void testRepeatedGetServedFromCache() {
+        List<Response> responses = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Response response = given()
+                    .baseUri(server.baseUrl())
+                    .filter(cache)
+                    .when()
+                    .get("/users/1");
+
+            response.then()
+                    .statusCode(200)
+                    .body("id", equalTo(1))
+                    .body("name", equalTo("Leanne Graham"));
+            responses.add(response);
+        }
+
+        assertThat(server.hits("/users/1"), equalTo(1));  // Hanya request pertama ke network
+        assertThat(responses.get(1), not(sameInstance(responses.get(2))));  // Response object terpisah
+    }
+
+    /**
+     * Test request identik yang berjalan bersamaan berbagi satu network call
+     * Validates: single-flight coalescing di level filter
+     */
+    @Test
+    public void testConcurrentIdenticalGetsShareOneCall() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(6);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                futures.add(executor.submit(() -> given()
+                        .baseUri(server.baseUrl())
+                        .filter(cache)
+                        .when()
+                        .get("/slow")
+                        .then()
+                        .statusCode(200)
+                        .extract()
+                        .<Integer>path("id")));
+            }
+            for (Future<Integer> future : futures) {
+                assertThat(future.get(), equalTo(99));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(server.hits("/slow"), equalTo(1));
+    }
+
+    /**
+     * Test leader single-flight yang gagal dengan IOException (connection reset, tidak di-wrap REST Assured)
+     * Validates: GET yang di-coalesce ke leader tersebut ikut selesai, tidak hang menunggu hasil
+     */
+    @Test
+    public void testFailedLeaderReleasesCoalescedGets() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try (FaultInjectionProxy proxy = new FaultInjectionProxy(server.baseUrl(), 42).routes("/users=latency:300,reset:1.0")) {
+            List<Future<Response>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                futures.add(executor.submit(() -> given()
+                        .baseUri(proxy.baseUrl())
+                        .filter(cache)
+                        .when()
+                        .get("/users/1")));
+            }
+            for (Future<Response> future : futures) {
+                ExecutionException failure = expectThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+                assertThat(rootCause(failure), instanceOf(IOException.class));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(cache.size(), equalTo(0));
+    }
+
+    /**
+     * Test LRU eviction ketika jumlah entry melebihi batas
+     * Validates: entry yang paling lama tidak dipakai di-evict dan di-fetch ulang
+     */
+    @Test
+    public void testLruEvictionBoundsCacheSize() {
+        for (String path : new String[] {"/users/1", "/users/2", "/users/1", "/users/3", "/users/2"}) {
+            given().baseUri(server.baseUrl()).filter(cache).when().get(path).then().statusCode(200);
+        }
+
+        assertThat(cache.size(), equalTo(2));  // Maksimal 2 entry
+        assertThat(server.hits("/users/1"), equalTo(1));  // Masih di cache karena baru diakses
+        assertThat(server.hits("/users/2"), equalTo(2));  // Di-evict oleh /users/3, lalu di-fetch ulang
+    }
+
+    /**
+     * Test request non-GET tidak pernah di-cache
+     * Validates: POST selalu dikirim ke server
+     */
+    @Test
+    public void testPostIsNeverCached() {
+        for (int i = 0; i < 2; i++) {
+            given()
+                    .baseUri(server.baseUrl())
+                    .filter(cache)
+                    .body("{\"title\": \"Test Post\"}")
+                    .when()
+                    .post("/posts")
+                    .then()
+                    .statusCode(201);
+        }
+
+        assertThat(server.hits("/posts"), equalTo(2));
+    }
+
+    /**
+     * Test cache key ikut membedakan Authorization header
+     * Validates: response untuk user berbeda tidak tertukar
+     */
+    @Test
+    public void testCacheKeyIncludesAuthorizationHeader() {
+        for (String token : new String[] {"token-a", "token-b", "token-a"}) {
+            given()
+                    .baseUri(server.baseUrl())
+                    .filter(cache)
+                    .header("Authorization", "Bearer " + token)
+                    .when()
+                    .get("/users/1")
+                    .then()
+                    .statusCode(200);
+        }
+
+        assertThat(server.hits("/users/1"), equalTo(2));  // Satu per token
+    }
+
+    private static Throwable rootCause(Throwable error) {
+        Throwable cause = error;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
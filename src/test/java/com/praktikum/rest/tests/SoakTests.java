@@ -0,0 +1,133 @@
+package com.praktikum.rest.tests;
+
+import com.praktikum.rest.load.soak.ResourceSampler;
+import com.praktikum.rest.load.soak.SoakRunner;
+import com.praktikum.rest.load.soak.SoakSample;
+import com.praktikum.rest.load.soak.TrendAnalyzer;
+import com.praktikum.rest.utils.LocalStubServer;
+import io.restassured.RestAssured;
+import io.restassured.filter.log.RequestLoggingFilter;
+import org.testng.annotations.Test;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Test class untuk soak mode (SoakRunner, ResourceSampler, TrendAnalyzer) tanpa network
+ * Test yang di-soak adalah nested class di bawah yang menembak LocalStubServer
+ */
+
+public class SoakTests {
+
+    /**
+     * Test trend analysis dengan series sintetis
+     * Validates: growth monoton dan throughput decay di-flag, sedangkan noise, growth selama warm-up,
+     * resource yang tidak tersedia (-1), dan sample yang terlalu sedikit tidak di-flag
+     */
+    @Test
+    public void testTrendAnalyzerFlagsLeaksAndDecay() {
+        List<SoakSample> samples = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            boolean warmup = i < 2;
+            Map<String, Long> resources = Map.of(
+                    "leak", 100L + 10L * i,
+                    "noisy", 100L + (i % 2 == 0 ? 30L : -30L),
+                    "warmup.growth", warmup ? 10L * i : 50L,
+                    "unavailable", -1L);
+            double throughput = warmup ? 100 : 100 - 5.0 * i;
+            samples.add(new SoakSample(i * 1000L, warmup, (long) throughput, 0, throughput, 10 + i % 3, 50 + i % 5, resources));
+        }
+
+        TrendAnalyzer analyzer = new TrendAnalyzer(0.2, 0.2, 0.6);
+        List<TrendAnalyzer.Finding> findings = analyzer.analyze(samples);
+        assertThat(findings.stream().map(TrendAnalyzer.Finding::metric).toList(),
+                containsInAnyOrder("leak", TrendAnalyzer.THROUGHPUT));
+
+        TrendAnalyzer.Finding leak = findings.stream().filter(finding -> finding.metric().equals("leak")).findFirst().orElseThrow();
+        assertThat(leak.kind(), equalTo(TrendAnalyzer.Kind.GROWTH));
+        assertThat(leak.tau(), closeTo(1.0, 1e-9));
+        assertThat(leak.last(), greaterThan(leak.first()));
+        TrendAnalyzer.Finding decay = findings.stream().filter(finding -> finding.metric().equals(TrendAnalyzer.THROUGHPUT)).findFirst().orElseThrow();
+        assertThat(decay.kind(), equalTo(TrendAnalyzer.Kind.DECAY));
+        assertThat(decay.describe(), containsString("throughput"));
+
+        assertThat(analyzer.analyze(samples.subList(0, 5)), empty());  // Hanya 3 sample setelah warm-up
+    }
+
+    /**
+     * Test soak run singkat dengan dua test class (extends BaseTest), salah satunya menahan object setiap invocation
+     * Validates: gauge yang bocor di-flag, thread dan filter list REST Assured stabil setelah warm-up, tidak ada invocation yang gagal,
+     * BaseTest.setup dua kali hanya memasang satu RequestLoggingFilter, dan report ditulis sebagai JSON
+     */
+    @Test
+    public void testSoakRunnerFlagsRetainedState() throws Exception {
+        try (LocalStubServer server = new LocalStubServer().stub("/users/1", 200, "{\"id\": 1}", 0)) {
+            SampleStableTests.baseUrl = server.baseUrl();
+            ResourceSampler sampler = ResourceSampler.withDefaults()
+                    .gauge("sample.retained", () -> SampleLeakyTests.RETAINED.size());
+            SoakRunner runner = new SoakRunner(
+                    List.of(SampleLeakyTests.class.getName(), SampleStableTests.class.getName()),
+                    Duration.ofSeconds(3), 2, 100.0, Duration.ofMillis(300), Duration.ofMillis(600),
+                    sampler, new TrendAnalyzer(0.2, 0.5, 0.6));
+
+            SoakRunner.Report report = runner.run();
+            report.print(System.out);
+
+            assertThat(report.samples(), hasSize(10));
+            assertThat(report.samples().get(0).warmup(), equalTo(true));  // Thread pool dan REST Assured baru terisi
+            assertThat(report.samples().stream().mapToLong(SoakSample::invocations).sum(), greaterThan(20L));
+            assertThat(report.samples().stream().mapToLong(SoakSample::failures).sum(), equalTo(0L));
+            List<String> flagged = report.findings().stream().map(TrendAnalyzer.Finding::metric).toList();
+            assertThat(flagged, hasItem("sample.retained"));
+            assertThat(flagged, not(hasItems(ResourceSampler.THREADS)));
+            assertThat(flagged, not(hasItems(ResourceSampler.RESTASSURED_FILTERS)));
+            assertThat(report.isClean(), equalTo(false));
+            assertThat(RestAssured.filters().stream().filter(RequestLoggingFilter.class::isInstance).count(), equalTo(1L));
+
+            Path reportFile = Paths.get("target", "soak-test", "soak-report.json");
+            report.writeJson(reportFile);
+            assertThat(Files.readString(reportFile), allOf(containsString("\"findings\""), containsString("sample.retained")));
+        } finally {
+            SampleStableTests.baseUrl = null;
+            SampleLeakyTests.RETAINED.clear();
+        }
+    }
+
+    /**
+     * Test class contoh untuk soak run (tidak terdaftar di testng.xml)
+     * Surefire -Dtest=... ikut menjalankan nested class, jadi tanpa baseUrl dari test di atas class ini no-op
+     */
+    public static class SampleStableTests extends BaseTest {
+        static volatile String baseUrl;
+
+        @Test
+        public void testGetUser() {
+            if (baseUrl != null) {
+                RestAssured.given().noFilters().baseUri(baseUrl).get("/users/1").then().statusCode(200);
+            }
+        }
+    }
+
+    /**
+     * Seperti SampleStableTests, tetapi setiap invocation menambah object ke collection static (leak)
+     */
+    public static class SampleLeakyTests extends BaseTest {
+        static final Queue<byte[]> RETAINED = new ConcurrentLinkedQueue<>();
+
+        @Test
+        public void testGetUserAndRetain() {
+            if (SampleStableTests.baseUrl != null) {
+                RestAssured.given().noFilters().baseUri(SampleStableTests.baseUrl).get("/users/1").then().statusCode(200);
+                RETAINED.add(new byte[1024]);
+            }
+        }
+    }
+}
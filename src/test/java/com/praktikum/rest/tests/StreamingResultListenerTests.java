@@ -0,0 +1,111 @@
+package com.praktikum.rest.tests;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.praktikum.rest.reporting.StreamingResultListener;
+import com.praktikum.rest.utils.NestedTestNG;
+import org.testng.SkipException;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.w3c.dom.Document;
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.IntStream;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Test class untuk StreamingResultListener
+ * Menjalankan TestNG nested dengan sweep besar (tanpa network), lalu memeriksa file JSONL dan JUnit XML
+ */
+
+public class StreamingResultListenerTests {
+    private static final int SWEEP_ROWS = 2000;
+    private static final int FAIL_EVERY = 100;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    /**
+     * Test setiap invocation menjadi satu record, dan aggregates cocok dengan isi file
+     * Validates: JSONL, JUnit XML yang valid, dan counters pass/fail/skip
+     */
+    @Test
+    public void testStreamsEveryResultToJsonlAndJUnitXml() throws Exception {
+        Path directory = Paths.get("target", "streaming-results-selftest");
+        StreamingResultListener listener = new StreamingResultListener(directory, "results.selftest.", Duration.ofMillis(500));
+
+        SampleSweep.rows = SWEEP_ROWS;
+        try {
+            NestedTestNG.runNested(SampleSweep.class, listener);
+        } finally {
+            SampleSweep.rows = 0;
+        }
+        listener.printSummary(System.out);
+
+        long expectedFailures = SWEEP_ROWS / FAIL_EVERY;
+        assertThat(listener.getFailed(), equalTo(expectedFailures));
+        assertThat(listener.getSkipped(), equalTo(1L));
+        assertThat(listener.getPassed(), equalTo(SWEEP_ROWS - expectedFailures + 1));  // + testSingle
+        assertThat(listener.getDurations().getCount(), equalTo(listener.getTotal()));
+
+        Path jsonlFile = directory.resolve("Command-line-suite.jsonl");
+        List<String> lines = Files.readAllLines(jsonlFile);
+        assertThat((long) lines.size(), equalTo(listener.getTotal()));
+        long failedLines = lines.stream().map(this::readJson)
+                .filter(json -> json.get("status").asText().equals("FAIL"))
+                .peek(json -> assertThat(json.get("error").asText(), containsString("row gagal")))
+                .count();
+        assertThat(failedLines, equalTo(expectedFailures));
+        assertThat(readJson(lines.get(0)).has("durationMillis"), is(true));
+
+        Document junit = DocumentBuilderFactory.newInstance().newDocumentBuilder()
+                .parse(directory.resolve("Command-line-suite-junit.xml").toFile());
+        assertThat((long) junit.getElementsByTagName("testcase").getLength(), equalTo(listener.getTotal()));
+        assertThat((long) junit.getElementsByTagName("failure").getLength(), equalTo(expectedFailures));
+        assertThat(junit.getElementsByTagName("skipped").getLength(), equalTo(1));
+    }
+
+    private JsonNode readJson(String line) {
+        try {
+            return mapper.readTree(line);
+        } catch (Exception e) {
+            throw new IllegalStateException("Baris JSONL tidak valid: " + line, e);
+        }
+    }
+
+    /**
+     * Test class contoh yang dijalankan oleh TestNG nested (tidak terdaftar di testng.xml)
+     * Surefire -Dtest=... ikut menjalankan nested class, jadi tanpa rows dari test di atas class ini no-op
+     */
+    public static class SampleSweep {
+        static volatile int rows;
+
+        @DataProvider(name = "rows", parallel = true)
+        public Iterator<Object[]> rows() {
+            return IntStream.rangeClosed(1, rows).mapToObj(row -> new Object[] {row}).iterator();
+        }
+
+        @Test(dataProvider = "rows")
+        public void testSweep(int row) {
+            if (row % FAIL_EVERY == 0) {
+                throw new AssertionError("row gagal <" + row + "> & \"quoted\"");  // Karakter XML harus di-escape
+            }
+        }
+
+        @Test
+        public void testSingle() {
+        }
+
+        @Test
+        public void testSkipped() {
+            if (rows > 0) {
+                throw new SkipException("Sengaja di-skip");
+            }
+        }
+    }
+}
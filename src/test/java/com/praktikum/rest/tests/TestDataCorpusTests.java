@@ -0,0 +1,113 @@
+package com.praktikum.rest.tests;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.praktikum.rest.corpus.CorpusKind;
+import com.praktikum.rest.corpus.TestDataCorpus;
+import com.praktikum.rest.corpus.TestDataCorpusWriter;
+import org.testng.annotations.Test;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.testng.Assert.expectThrows;
+
+/**
+ * Test class untuk precomputed test data corpus (TestDataCorpusWriter + TestDataCorpus)
+ * Corpus kecil ditulis ke target/corpus-test, tanpa network
+ */
+
+public class TestDataCorpusTests {
+    private static final Path DIR = Paths.get("target", "corpus-test");
+    private static final Map<CorpusKind, Integer> COUNTS = Map.of(
+            CorpusKind.USERS, 200, CorpusKind.COMPANIES, 20, CorpusKind.PRODUCTS, 50, CorpusKind.LOGINS, 30);
+
+    /**
+     * Test tulis lalu baca kembali semua jenis record lewat memory mapping
+     * Validates: jumlah record, struktur map sama seperti TestDataGenerator, JSON body sama dengan field-nya,
+     * bytes berupa view read-only ke mapping, dan index/field yang tidak valid ditolak
+     */
+    @Test
+    public void testCorpusRoundTrip() throws Exception {
+        Path file = DIR.resolve("roundtrip.bin");
+        new TestDataCorpusWriter(7L, COUNTS).write(file);
+        TestDataCorpus corpus = TestDataCorpus.open(file);
+
+        assertThat(corpus.seed(), equalTo(7L));
+        assertThat(corpus.kinds(), containsInAnyOrder(CorpusKind.values()));
+        COUNTS.forEach((kind, count) -> assertThat(corpus.table(kind).size(), equalTo(count)));
+
+        TestDataCorpus.Table users = corpus.table(CorpusKind.USERS);
+        Map<String, Object> user = users.toMap(199);
+        assertThat(user.keySet(), contains("name", "username", "email", "phone", "website", "address", "company"));
+        assertThat((Map<?, ?>) user.get("address"), allOf(hasKey("street"), hasKey("city"), hasKey("zipcode")));
+        assertThat((String) user.get("username"), matchesPattern("[a-zA-Z0-9]+"));
+        assertThat(users.string(199, "email"), allOf(containsString("@"), equalTo(user.get("email"))));
+        assertThat(users.string(199, "address.city"), equalTo(((Map<?, ?>) user.get("address")).get("city")));
+        assertThat(new ObjectMapper().readValue(users.jsonBytes(199), Map.class), equalTo(user));
+
+        ByteBuffer email = users.bytes(0, "email");
+        assertThat(email.isDirect(), equalTo(true));  // Slice dari MappedByteBuffer, bukan copy di heap
+        assertThat(email.isReadOnly(), equalTo(true));
+        assertThat(StandardCharsets.UTF_8.decode(email).toString(), equalTo(users.string(0, "email")));
+
+        TestDataCorpus.Table logins = corpus.table(CorpusKind.LOGINS);
+        assertThat(logins.string(logins.index(-1), "password").length(), allOf(greaterThanOrEqualTo(8), lessThanOrEqualTo(12)));
+        assertThat(corpus.table(CorpusKind.PRODUCTS).toMap(0).keySet(), contains("name", "price", "department", "material"));
+
+        expectThrows(IndexOutOfBoundsException.class, () -> users.json(200));
+        expectThrows(IllegalArgumentException.class, () -> users.bytes(0, "password"));
+
+        // Lookup berulang tidak membuat ulang data: 100k JSON body cukup dengan slice dari mapping
+        long start = System.nanoTime();
+        long totalBytes = 0;
+        for (int i = 0; i < 100_000; i++) {
+            totalBytes += users.json(users.index(i)).remaining();
+        }
+        assertThat(totalBytes, greaterThan(100_000L));
+        assertThat((System.nanoTime() - start) / 1_000_000, lessThan(2_000L));
+    }
+
+    /**
+     * Test reproducibility: seed dan jumlah record yang sama menghasilkan file identik
+     * Validates: seed berbeda menghasilkan data berbeda, writeIfStale hanya menulis ulang jika seed/jumlah record berubah
+     */
+    @Test
+    public void testSameSeedIsReproducible() throws Exception {
+        Path first = DIR.resolve("seed-7a.bin");
+        Path second = DIR.resolve("seed-7b.bin");
+        Path other = DIR.resolve("seed-8.bin");
+        Files.deleteIfExists(first);
+        new TestDataCorpusWriter(7L, COUNTS).write(first);
+        new TestDataCorpusWriter(7L, COUNTS).write(second);
+        new TestDataCorpusWriter(8L, COUNTS).write(other);
+
+        assertThat(Files.mismatch(first, second), equalTo(-1L));
+        assertThat(Files.mismatch(first, other), not(equalTo(-1L)));
+        assertThat(TestDataCorpus.open(first).table(CorpusKind.USERS).string(0, "name"),
+                not(equalTo(TestDataCorpus.open(other).table(CorpusKind.USERS).string(0, "name"))));
+
+        assertThat(new TestDataCorpusWriter(7L, COUNTS).writeIfStale(first), equalTo(false));
+        assertThat(new TestDataCorpusWriter(7L, Map.of(CorpusKind.USERS, 10)).writeIfStale(first), equalTo(true));
+        assertThat(TestDataCorpus.open(first).kinds(), contains(CorpusKind.USERS));
+    }
+
+    /**
+     * Test file yang bukan corpus ditolak dengan pesan yang jelas, dan writeIfStale menimpanya
+     */
+    @Test
+    public void testRejectsCorruptFile() throws Exception {
+        Path file = DIR.resolve("corrupt.bin");
+        Files.createDirectories(DIR);
+        Files.writeString(file, "bukan corpus, hanya teks biasa");
+
+        IllegalStateException error = expectThrows(IllegalStateException.class, () -> TestDataCorpus.open(file));
+        assertThat(error.getMessage(), containsString("Bukan test data corpus"));
+
+        assertThat(new TestDataCorpusWriter(7L, Map.of(CorpusKind.LOGINS, 5)).writeIfStale(file), equalTo(true));
+        assertThat(TestDataCorpus.open(file).table(CorpusKind.LOGINS).size(), equalTo(5));
+    }
+}
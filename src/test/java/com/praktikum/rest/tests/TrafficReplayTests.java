@@ -0,0 +1,211 @@
+package com.praktikum.rest.tests;
+
+import com.praktikum.rest.replay.RecordedRequest;
+import com.praktikum.rest.replay.RequestLogReader;
+import com.praktikum.rest.replay.TrafficReplayer;
+import com.praktikum.rest.utils.LocalStubServer;
+import io.restassured.RestAssured;
+import org.testng.annotations.Test;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.testng.Assert.expectThrows;
+
+/**
+ * Test class untuk traffic replay tool: RequestLogReader dan TrafficReplayer (tanpa network)
+ * Request log ditulis ke target/replay-selftest, lalu di-replay ke LocalStubServer
+ */
+
+public class TrafficReplayTests {
+    private static final Path DIR = Paths.get("target", "replay-selftest");
+
+    /**
+     * Test parsing request log
+     * Validates: epoch millis dan ISO-8601, default method, header array, body object dan string, komentar dan baris kosong
+     */
+    @Test
+    public void testParsesRequestLog() throws IOException {
+        Path file = write("parse.jsonl",
+                "{\"timestamp\": 1700000000000, \"method\": \"post\", \"path\": \"/users\", \"headers\": {\"X-Trace\": \"a\"}, \"body\": {\"name\": \"Budi\"}}",
+                "",
+                "# komentar",
+                "{\"timestamp\": \"2023-11-14T22:13:20.250Z\", \"path\": \"/users?page=2\", \"headers\": {\"Accept\": [\"application/json\", \"text/plain\"]}}",
+                "{\"path\": \"/raw\", \"method\": \"PUT\", \"body\": \"plain text\"}\r");
+
+        List<RecordedRequest> requests;
+        try (Stream<RecordedRequest> stream = RequestLogReader.read(file)) {
+            requests = stream.collect(Collectors.toList());
+        }
+
+        assertThat(requests, hasSize(3));
+        assertThat(requests.get(0).method(), equalTo("POST"));
+        assertThat(requests.get(0).body(), equalTo("{\"name\":\"Budi\"}"));
+        assertThat(requests.get(0).headers(), hasEntry("X-Trace", "a"));
+        assertThat(requests.get(1).timestampMillis(), equalTo(1700000000250L));
+        assertThat(requests.get(1).method(), equalTo("GET"));
+        assertThat(requests.get(1).headers(), hasEntry("Accept", "application/json, text/plain"));
+        assertThat(requests.get(2).timestampMillis(), equalTo(1700000000250L));  // Tanpa timestamp: sama dengan sebelumnya
+        assertThat(requests.get(2).body(), equalTo("plain text"));
+
+        Path invalid = write("invalid.jsonl", "{\"path\": \"/ok\"}", "{\"method\": \"GET\"}");
+        IllegalArgumentException error = expectThrows(IllegalArgumentException.class, () -> {
+            try (Stream<RecordedRequest> stream = RequestLogReader.read(invalid)) {
+                stream.forEach(request -> { });
+            }
+        });
+        assertThat(error.getMessage(), allOf(containsString("baris 2"), containsString("path")));
+    }
+
+    /**
+     * Test mmap window kecil: baris yang terpotong di batas window dan baris yang lebih panjang dari window
+     * Validates: semua baris terbaca utuh dan berurutan, termasuk karakter UTF-8 multi-byte dan baris terakhir tanpa newline
+     */
+    @Test
+    public void testReadsAcrossSmallMappedWindows() throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            String padding = "x".repeat(i % 7 == 0 ? 300 : i % 13);
+            lines.add("{\"timestamp\": " + (1000 + i) + ", \"path\": \"/items/" + i + "\", \"body\": \"héllo " + padding + "\"}");
+        }
+        Path file = DIR.resolve("windows.jsonl");
+        Files.createDirectories(DIR);
+        Files.writeString(file, String.join("\n", lines), StandardCharsets.UTF_8);  // Tanpa newline di akhir
+
+        List<RecordedRequest> requests;
+        try (Stream<RecordedRequest> stream = RequestLogReader.read(file, 64)) {
+            requests = stream.collect(Collectors.toList());
+        }
+
+        assertThat(requests, hasSize(200));
+        assertThat(requests.stream().map(RecordedRequest::path).collect(Collectors.toList()),
+                equalTo(IntStream.range(0, 200).mapToObj(i -> "/items/" + i).collect(Collectors.toList())));
+        assertThat(requests.get(7).body(), equalTo("héllo " + "x".repeat(300)));
+        assertThat(requests.get(199).timestampMillis(), equalTo(1199L));
+    }
+
+    /**
+     * Test replay ke LocalStubServer dengan speed-up
+     * Validates: method, path + query, headers, dan body sampai di server, Host/Content-Length tidak disalin,
+     * jarak antar request mengikuti timestamp / speed, dan outcome per status (error 500 terhitung)
+     */
+    @Test
+    public void testReplaysWithScaledTiming() throws IOException {
+        Path file = write("replay.jsonl",
+                "{\"timestamp\": 0, \"method\": \"POST\", \"path\": \"/users\", \"headers\": {\"X-Trace\": \"t1\", \"Host\": \"prod.example\", \"Content-Length\": \"999\"}, \"body\": {\"name\": \"Budi\"}}",
+                "{\"timestamp\": 1000, \"method\": \"GET\", \"path\": \"/users?page=2&q=a%20b\"}",
+                "{\"timestamp\": 2000, \"method\": \"DELETE\", \"path\": \"/users/7\"}",
+                "{\"timestamp\": 4000, \"method\": \"GET\", \"path\": \"/broken\"}");
+
+        Map<String, Long> arrivals = new ConcurrentHashMap<>();
+        List<String> received = new CopyOnWriteArrayList<>();
+        TrafficReplayer.Report report;
+        try (LocalStubServer server = new LocalStubServer()
+                .handle("/users", exchange -> {
+                    arrivals.put(exchange.getRequestMethod(), System.nanoTime());
+                    String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+                    received.add(exchange.getRequestMethod() + " " + exchange.getRequestURI() + " " + body
+                            + " trace=" + exchange.getRequestHeaders().getFirst("X-Trace")
+                            + " host=" + exchange.getRequestHeaders().getFirst("Host"));
+                    LocalStubServer.respond(exchange, 200, "{}");
+                })
+                .stub("/broken", 500, "{}", 0)) {
+            long start = System.nanoTime();
+            try (Stream<RecordedRequest> requests = RequestLogReader.read(file)) {
+                report = new TrafficReplayer(server.baseUrl(), 10.0, 8, () -> RestAssured.given().noFilters()).replay(requests);
+            }
+            assertThat(server.hits("/broken"), equalTo(1));
+            // 1000ms rekaman / 10x = 100ms, 2000ms = 200ms
+            assertThat((arrivals.get("GET") - start) / 1_000_000, allOf(greaterThanOrEqualTo(95L), lessThan(600L)));
+            assertThat((arrivals.get("DELETE") - start) / 1_000_000, allOf(greaterThanOrEqualTo(195L), lessThan(700L)));
+            assertThat(report.elapsedSeconds(), allOf(greaterThanOrEqualTo(0.39), lessThan(3.0)));
+        }
+
+        assertThat(received, hasItem(allOf(startsWith("POST /users {\"name\":\"Budi\"}"), containsString("trace=t1"),
+                not(containsString("prod.example")))));
+        assertThat(received, hasItem(startsWith("GET /users?page=2&q=a%20b ")));
+        assertThat(received, hasItem(startsWith("DELETE /users/7 ")));
+        assertThat(report.requests(), equalTo(4L));
+        assertThat(report.outcomes(), allOf(hasEntry("200", 3L), hasEntry("500", 1L)));
+        assertThat(report.errors(), equalTo(1L));
+        assertThat(report.recordedSeconds(), closeTo(4.0, 0.001));
+        assertThat(report.latency().getCount(), equalTo(4L));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        report.print(new PrintStream(output, true, StandardCharsets.UTF_8));
+        assertThat(output.toString(StandardCharsets.UTF_8), allOf(containsString("Requests: 4"), containsString("Errors: 1"),
+                containsString("Latency histogram"), containsString("500 |")));
+    }
+
+    /**
+     * Test speed 0 dengan batas in-flight: request dikirim secepatnya tetapi concurrency di server tidak melewati batas
+     * Validates: connection error tercatat sebagai outcome exception, bukan menggagalkan replay
+     */
+    @Test
+    public void testMaxInFlightAndConnectionErrors() {
+        List<RecordedRequest> requests = IntStream.range(0, 30)
+                .mapToObj(i -> new RecordedRequest(i * 1000L, "GET", "/slow/" + i, Map.of(), null))
+                .collect(Collectors.toList());
+        ConcurrencyProbe probe = new ConcurrencyProbe();
+        TrafficReplayer.Report report;
+        try (LocalStubServer server = new LocalStubServer().handle("/slow", exchange -> {
+            probe.enter();
+            try {
+                Thread.sleep(30);
+                LocalStubServer.respond(exchange, 200, "{}");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                probe.exit();
+            }
+        })) {
+            report = new TrafficReplayer(server.baseUrl(), 0, 4, () -> RestAssured.given().noFilters()).replay(requests.stream());
+        }
+        assertThat(report.outcomes(), hasEntry("200", 30L));
+        assertThat(probe.max, allOf(greaterThan(1), lessThanOrEqualTo(4)));
+        assertThat(report.elapsedSeconds(), lessThan(20.0));  // Timing asli 29 detik diabaikan (batas longgar untuk CI yang lambat)
+
+        // Port yang sudah ditutup: connection refused
+        String closedUrl;
+        try (LocalStubServer closed = new LocalStubServer()) {
+            closedUrl = closed.baseUrl();
+        }
+        TrafficReplayer.Report refused = new TrafficReplayer(closedUrl, 0, 2, () -> RestAssured.given().noFilters())
+                .replay(requests.subList(0, 3).stream());
+        assertThat(refused.errors(), equalTo(3L));
+        assertThat(refused.outcomes().keySet(), everyItem(containsString("Exception")));
+    }
+
+    private static Path write(String name, String... lines) throws IOException {
+        Files.createDirectories(DIR);
+        Path file = DIR.resolve(name);
+        Files.writeString(file, String.join("\n", lines) + "\n", StandardCharsets.UTF_8);
+        return file;
+    }
+
+    private static final class ConcurrencyProbe {
+        private int current;
+        private int max;
+
+        synchronized void enter() {
+            max = Math.max(max, ++current);
+        }
+
+        synchronized void exit() {
+            current--;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.praktikum.rest.tests;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.praktikum.rest.benchmark.TransportComparison;
+import com.praktikum.rest.config.TestConfig;
+import com.praktikum.rest.transport.Http2TransportFilter;
+import com.praktikum.rest.utils.LocalStubServer;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import org.testng.annotations.Test;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Test class untuk Http2TransportFilter dan TransportComparison
+ * testTransportComparison menembak TRANSPORT_BASE_URL (HTTPS, negosiasi h2 lewat ALPN),
+ * test lainnya memakai LocalStubServer (hanya HTTP/1.1, jadi transport fallback ke HTTP/1.1 keep-alive)
+ */
+
+public class TransportTests {
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    /**
+     * Test request yang dikirim lewat transport java.net.http tetap memakai DSL dan assertions REST Assured
+     * Validates: method, path param, query param, header, JSON body dari Map, status, dan body response
+     */
+    @Test
+    public void testHttp2TransportKeepsRestAssuredAssertions() {
+        try (LocalStubServer server = new LocalStubServer().handle("/users", exchange -> {
+            Map<String, Object> echo = new LinkedHashMap<>();
+            echo.put("method", exchange.getRequestMethod());
+            echo.put("uri", exchange.getRequestURI().toString());
+            echo.put("contentType", exchange.getRequestHeaders().getFirst("Content-Type"));
+            echo.put("trace", exchange.getRequestHeaders().getFirst("X-Trace-Id"));
+            LocalStubServer.respond(exchange, exchange.getRequestMethod().equals("POST") ? 201 : 200,
+                    mapper.writeValueAsString(echo));
+        })) {
+            Response response = RestAssured.given()
+                    .noFilters()
+                    .filter(Http2TransportFilter.shared())
+                    .baseUri(server.baseUrl())
+                    .contentType(ContentType.JSON)
+                    .header("X-Trace-Id", "abc-123")
+                    .queryParam("source", "transport test")
+                    .when()
+                    .get("/users/{id}", 7);
+
+            response.then()
+                    .statusCode(200)
+                    .contentType(ContentType.JSON)
+                    .body("method", equalTo("GET"))
+                    .body("uri", equalTo("/users/7?source=transport%20test"))
+                    .body("trace", equalTo("abc-123"));
+            assertThat(response.statusLine(), startsWith("HTTP/1.1 200"));  // Stub server tidak mendukung h2
+            assertThat(response.time(), greaterThanOrEqualTo(0L));
+        }
+    }
+
+    /**
+     * Test body POST (String dan Map) sampai utuh ke server lewat transport java.net.http
+     */
+    @Test
+    public void testHttp2TransportSendsRequestBodies() {
+        try (LocalStubServer server = new LocalStubServer().handle("/users", exchange -> {
+            Map<String, Object> created = mapper.readValue(exchange.getRequestBody(), new TypeReference<Map<String, Object>>() {});
+            created.put("id", 101);
+            created.put("contentType", exchange.getRequestHeaders().getFirst("Content-Type"));
+            LocalStubServer.respond(exchange, 201, mapper.writeValueAsString(created));
+        })) {
+            RestAssured.given()
+                    .noFilters()
+                    .filter(Http2TransportFilter.shared())
+                    .baseUri(server.baseUrl())
+                    .contentType(ContentType.JSON)
+                    .body("{\"name\": \"John Doe\", \"username\": \"johndoe\"}")
+                    .when()
+                    .post("/users")
+                    .then()
+                    .statusCode(201)
+                    .body("id", equalTo(101))
+                    .body("name", equalTo("John Doe"))
+                    .body("contentType", startsWith("application/json"));
+
+            RestAssured.given()
+                    .noFilters()
+                    .filter(Http2TransportFilter.shared())
+                    .baseUri(server.baseUrl())
+                    .contentType(ContentType.JSON)
+                    .body(Map.of("name", "Budi", "tags", List.of("a", "b")))
+                    .when()
+                    .post("/users")
+                    .then()
+                    .statusCode(201)
+                    .body("name", equalTo("Budi"))
+                    .body("tags", contains("a", "b"));
+        }
+    }
+
+    /**
+     * Test perbandingan transport: REST Assured membuka koneksi baru per request,
+     * java.net.http async memakai ulang koneksi keep-alive (maksimal sebanyak concurrency)
+     * Validates: kedua transport sukses untuk semua request, koneksi ke server dihitung dari remote port
+     */
+    @Test
+    public void testComparisonCountsConnectionsPerTransport() {
+        Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+        try (LocalStubServer server = new LocalStubServer().handle("/users/1", exchange -> {
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            sleep(10);
+            LocalStubServer.respond(exchange, 200, "{\"id\": 1, \"name\": \"Leanne Graham\"}");
+        })) {
+            int requests = 200;
+            int concurrency = 8;
+            TransportComparison comparison = new TransportComparison(server.baseUrl(), "/users/1", requests, concurrency);
+
+            TransportComparison.Result restAssured = comparison.runRestAssured();
+            int restAssuredConnections = clientPorts.size();
+            clientPorts.clear();
+            TransportComparison.Result http2 = comparison.runHttp2Async();
+            int http2Connections = clientPorts.size();
+            TransportComparison.print(List.of(restAssured, http2), System.out);
+            System.out.println("Koneksi di server: rest-assured=" + restAssuredConnections + ", http2-async=" + http2Connections);
+
+            for (TransportComparison.Result result : List.of(restAssured, http2)) {
+                assertThat(result.requests(), equalTo((long) requests));
+                assertThat(result.errors(), equalTo(0L));
+                assertThat(result.protocol(), equalTo("HTTP/1.1"));
+                assertThat(result.throughput(), greaterThan(0.0));
+            }
+            assertThat(http2Connections, lessThanOrEqualTo(concurrency));
+            assertThat(restAssuredConnections, greaterThan(http2Connections));
+        }
+    }
+
+    /**
+     * Perbandingan transport ke public API (HTTPS): java.net.http seharusnya menegosiasikan HTTP/2
+     * Validates: tidak ada error di kedua transport dan protokol HTTP/2 dipakai oleh transport async
+     */
+    @Test
+    public void testTransportComparison() {
+        TransportComparison comparison = new TransportComparison(TestConfig.TRANSPORT_BASE_URL, TestConfig.TRANSPORT_PATH,
+                TestConfig.TRANSPORT_REQUESTS, TestConfig.TRANSPORT_CONCURRENCY);
+        List<TransportComparison.Result> results = comparison.run();
+        TransportComparison.print(results, System.out);
+
+        assertThat(results.get(0).errors(), equalTo(0L));
+        assertThat(results.get(1).errors(), equalTo(0L));
+        assertThat(results.get(1).protocol(), equalTo("HTTP/2"));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
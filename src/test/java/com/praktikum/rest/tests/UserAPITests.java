@@ -1,6 +1,11 @@
 package com.praktikum.rest.tests;
 
+import com.praktikum.rest.snapshot.JsonSnapshot;
+import com.praktikum.rest.workflow.Workflow;
+import com.praktikum.rest.workflow.WorkflowResult;
+import com.praktikum.rest.workflow.WorkflowStep;
 import io.restassured.http.ContentType;
+import io.restassured.response.Response;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 import static org.hamcrest.Matchers.*;
@@ -64,6 +69,24 @@ public class UserAPITests extends BaseTest{
                 .body("username", equalTo("Bret"));  // Validate username
     }
 
+    /**
+     * Test untuk GET single user dengan golden snapshot (seluruh response, bukan hanya beberapa field)
+     * Validates: status code dan seluruh body sama dengan src/test/resources/snapshots/users-1.json
+     */
+    @Test
+    public void testGetUserByIdMatchesSnapshot() {
+        Response response = given()
+                .contentType(ContentType.JSON)
+                .pathParam("id", 1)
+                .when()
+                .get("/users/{id}")
+                .then()
+                .statusCode(200)
+                .extract().response();
+
+        JsonSnapshot.shared().assertMatches("users-1", response);  // Diff struktural hanya jika hash berbeda
+    }
+
     /**
      * Test untuk GET non-existent user
      * Validates: error handling untuk resource yang tidak ada
@@ -162,4 +185,65 @@ public class UserAPITests extends BaseTest{
                 .then()
                 .statusCode(200);  // Validate status code 200 OK
     }
-}
\ No newline at end of file
+
+    /**
+     * Test user journey sebagai workflow: dua chain independen berjalan parallel
+     * Chain 1: create user -> delete user yang baru dibuat (id dari response create)
+     * Chain 2: read user 1 -> patch email -> delete
+     * Validates: setiap step sukses, dan latency per step + end-to-end tercatat di SUITE METRICS
+     */
+    @Test
+    public void testUserLifecycleWorkflow() {
+        Workflow workflow = Workflow.named("user-lifecycle")
+                .step(WorkflowStep.named("create").extract("newUserId", "id")
+                        .run(ctx -> given()
+                                .contentType(ContentType.JSON)
+                                .body("{\"name\": \"John Doe\", \"username\": \"johndoe\"}")
+                                .when()
+                                .post("/users")
+                                .then()
+                                .statusCode(201)
+                                .body("id", notNullValue())
+                                .extract().response()))
+                .step(WorkflowStep.named("delete-created").requires("newUserId")
+                        .run(ctx -> given()
+                                .pathParam("id", ctx.get("newUserId"))  // Id dari step create
+                                .when()
+                                .delete("/users/{id}")
+                                .then()
+                                .statusCode(200)
+                                .extract().response()))
+                .step(WorkflowStep.named("read").extract("existingUserId", "id")
+                        .run(ctx -> given()
+                                .pathParam("id", 1)
+                                .when()
+                                .get("/users/{id}")
+                                .then()
+                                .statusCode(200)
+                                .extract().response()))
+                .step(WorkflowStep.named("patch").requires("existingUserId")
+                        .run(ctx -> given()
+                                .contentType(ContentType.JSON)
+                                .pathParam("id", ctx.get("existingUserId"))
+                                .body("{\"email\": \"john.patched@example.com\"}")
+                                .when()
+                                .patch("/users/{id}")
+                                .then()
+                                .statusCode(200)
+                                .body("email", equalTo("john.patched@example.com"))
+                                .extract().response()))
+                .step(WorkflowStep.named("delete-existing").requires("existingUserId").dependsOn("patch")
+                        .run(ctx -> given()
+                                .pathParam("id", ctx.get("existingUserId"))
+                                .when()
+                                .delete("/users/{id}")
+                                .then()
+                                .statusCode(200)
+                                .extract().response()))
+                .build();
+
+        WorkflowResult result = workflow.run();
+        result.print(System.out);
+        result.assertSuccessful();
+    }
+}
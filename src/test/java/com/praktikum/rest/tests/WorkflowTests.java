@@ -0,0 +1,215 @@
+package com.praktikum.rest.tests;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.praktikum.rest.metrics.SuiteMetrics;
+import com.praktikum.rest.utils.LocalStubServer;
+import com.praktikum.rest.workflow.Workflow;
+import com.praktikum.rest.workflow.WorkflowResult;
+import com.praktikum.rest.workflow.WorkflowStep;
+import io.restassured.http.ContentType;
+import io.restassured.specification.RequestSpecification;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Test class untuk workflow engine (CRUD chains sebagai DAG)
+ * Menggunakan LocalStubServer dengan in-memory user store, supaya id hasil create benar-benar bisa dibaca lagi
+ */
+
+public class WorkflowTests extends BaseTest {
+    private static final long STEP_DELAY_MILLIS = 150;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private LocalStubServer server;
+
+    @BeforeMethod
+    public void setupMethod() {
+        useJSONPlaceholderAPI();
+        Map<Integer, Map<String, Object>> users = new ConcurrentHashMap<>();
+        AtomicInteger nextId = new AtomicInteger(100);
+        server = new LocalStubServer().handle("/users", exchange -> {
+            sleep(STEP_DELAY_MILLIS);  // Simulasi latency per request
+            String path = exchange.getRequestURI().getPath();
+            String method = exchange.getRequestMethod();
+            if (path.equals("/users") && method.equals("POST")) {
+                Map<String, Object> user = readBody(exchange.getRequestBody().readAllBytes());
+                int id = nextId.incrementAndGet();
+                user.put("id", id);
+                users.put(id, user);
+                LocalStubServer.respond(exchange, 201, mapper.writeValueAsString(user));
+                return;
+            }
+
+            int id = Integer.parseInt(path.substring("/users/".length()));
+            Map<String, Object> user = users.get(id);
+            if (user == null) {
+                LocalStubServer.respond(exchange, 404, "{}");
+            } else if (method.equals("PATCH")) {
+                user.putAll(readBody(exchange.getRequestBody().readAllBytes()));
+                LocalStubServer.respond(exchange, 200, mapper.writeValueAsString(user));
+            } else if (method.equals("DELETE")) {
+                users.remove(id);
+                LocalStubServer.respond(exchange, 200, "{}");
+            } else {
+                LocalStubServer.respond(exchange, 200, mapper.writeValueAsString(user));
+            }
+        });
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDownMethod() {
+        server.close();
+    }
+
+    /**
+     * Test create -> read -> patch -> delete -> verify, dengan id hasil create dioper ke step berikutnya
+     * Validates: extracted values, urutan step, dan metrics per step
+     */
+    @Test
+    public void testUserJourneyPassesExtractedIdAlongChain() {
+        Workflow workflow = userLifecycle("journey", "alice").build();
+
+        WorkflowResult result = workflow.run();
+        result.print(System.out);
+
+        result.assertSuccessful();
+        assertThat(result.getContext().get("alice.id"), equalTo(101));
+        assertThat(result.step("patch-alice").statusCode(), equalTo(200));
+        assertThat(result.step("verify-alice").statusCode(), equalTo(404));  // User sudah dihapus
+        assertThat(result.criticalPath(), contains("create-alice", "read-alice", "patch-alice", "delete-alice", "verify-alice"));
+        assertThat(SuiteMetrics.histogram("workflow.journey.read-alice").getCount(), greaterThanOrEqualTo(1L));
+        assertThat(SuiteMetrics.histogram("workflow.journey").getCount(), greaterThanOrEqualTo(1L));
+    }
+
+    /**
+     * Test dua chain yang tidak saling bergantung dijalankan bersamaan
+     * Validates: end-to-end latency mendekati satu chain, bukan jumlah kedua chain
+     */
+    @Test
+    public void testIndependentChainsRunConcurrently() {
+        Workflow.Builder builder = Workflow.named("two-users");
+        userLifecycle(builder, "alice");
+        userLifecycle(builder, "bob");
+        Workflow workflow = builder.build();
+
+        WorkflowResult result = workflow.run();
+        result.print(System.out);
+
+        result.assertSuccessful();
+        assertThat(result.getContext().get("alice.id"), not(equalTo(result.getContext().get("bob.id"))));
+        assertThat(result.step("create-bob").startOffsetNanos() / 1_000_000.0, lessThan((double) STEP_DELAY_MILLIS));
+
+        double sequentialMillis = result.getSteps().stream().mapToDouble(WorkflowResult.StepResult::durationMillis).sum();
+        assertThat(result.getEndToEndMillis(), lessThan(sequentialMillis * 0.75));  // 5 step x 150 ms, bukan 10 step
+    }
+
+    /**
+     * Test step yang gagal tidak menghentikan chain lain, tapi dependents-nya di-skip
+     * Validates: FAIL, SKIPPED, dan assertSuccessful() menggagalkan test
+     */
+    @Test
+    public void testFailedStepSkipsDependents() {
+        Workflow workflow = Workflow.named("partial-failure")
+                .step(WorkflowStep.named("create").extract("userId", "id")
+                        .run(ctx -> users().body("{\"name\": \"Carol\"}").post("/users")
+                                .then().statusCode(201).extract().response()))
+                .step(WorkflowStep.named("read").requires("userId")
+                        .run(ctx -> users().get("/users/{id}", ctx.get("userId"))
+                                .then().statusCode(418).extract().response()))  // Sengaja salah
+                .step(WorkflowStep.named("delete").requires("userId").dependsOn("read")
+                        .run(ctx -> users().delete("/users/{id}", ctx.get("userId"))
+                                .then().statusCode(200).extract().response()))
+                .step(WorkflowStep.named("list-missing")
+                        .run(ctx -> users().get("/users/1").then().statusCode(404).extract().response()))
+                .build();
+
+        WorkflowResult result = workflow.run();
+        result.print(System.out);
+
+        assertThat(result.step("read").status(), equalTo(WorkflowResult.Status.FAIL));
+        assertThat(result.step("read").error(), instanceOf(AssertionError.class));
+        assertThat(result.step("delete").status(), equalTo(WorkflowResult.Status.SKIPPED));
+        assertThat(result.step("list-missing").status(), equalTo(WorkflowResult.Status.PASS));
+        assertThat(result.isSuccessful(), is(false));
+        try {
+            result.assertSuccessful();
+            throw new IllegalStateException("assertSuccessful() seharusnya gagal");
+        } catch (AssertionError expected) {
+            assertThat(expected.getMessage(), containsString("'read'"));
+        }
+    }
+
+    /**
+     * Test dependency cycle ditolak saat build
+     */
+    @Test(expectedExceptions = IllegalArgumentException.class, expectedExceptionsMessageRegExp = ".*cycle.*")
+    public void testCyclicWorkflowRejected() {
+        Workflow.named("cycle")
+                .step(WorkflowStep.named("a").requires("b.value").extract("a.value", "id").run(ctx -> null))
+                .step(WorkflowStep.named("b").requires("a.value").extract("b.value", "id").run(ctx -> null))
+                .build();
+    }
+
+    /**
+     * Test requires() tanpa producer ditolak saat build
+     */
+    @Test(expectedExceptions = IllegalArgumentException.class, expectedExceptionsMessageRegExp = ".*requires 'userId'.*")
+    public void testMissingProducerRejected() {
+        Workflow.named("missing")
+                .step(WorkflowStep.named("read").requires("userId").run(ctx -> null))
+                .build();
+    }
+
+    private Workflow.Builder userLifecycle(String workflowName, String user) {
+        return userLifecycle(Workflow.named(workflowName), user);
+    }
+
+    /**
+     * Chain create -> read -> patch -> delete -> verify untuk satu user, key context diberi prefix nama user
+     */
+    private Workflow.Builder userLifecycle(Workflow.Builder builder, String user) {
+        String idKey = user + ".id";
+        return builder
+                .step(WorkflowStep.named("create-" + user).extract(idKey, "id")
+                        .run(ctx -> users().body(Map.of("name", user)).post("/users")
+                                .then().statusCode(201).body("name", equalTo(user)).extract().response()))
+                .step(WorkflowStep.named("read-" + user).requires(idKey)
+                        .run(ctx -> users().get("/users/{id}", ctx.get(idKey))
+                                .then().statusCode(200).body("name", equalTo(user)).extract().response()))
+                .step(WorkflowStep.named("patch-" + user).requires(idKey).dependsOn("read-" + user)
+                        .run(ctx -> users().body(Map.of("email", user + "@example.com")).patch("/users/{id}", ctx.get(idKey))
+                                .then().statusCode(200).body("email", equalTo(user + "@example.com")).extract().response()))
+                .step(WorkflowStep.named("delete-" + user).requires(idKey).dependsOn("patch-" + user)
+                        .run(ctx -> users().delete("/users/{id}", ctx.get(idKey))
+                                .then().statusCode(200).extract().response()))
+                .step(WorkflowStep.named("verify-" + user).requires(idKey).dependsOn("delete-" + user)
+                        .run(ctx -> users().get("/users/{id}", ctx.get(idKey))
+                                .then().statusCode(404).extract().response()));
+    }
+
+    private RequestSpecification users() {
+        return given().baseUri(server.baseUrl()).contentType(ContentType.JSON).when();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> readBody(byte[] body) throws IOException {
+        return new ConcurrentHashMap<>(mapper.readValue(new String(body, StandardCharsets.UTF_8), Map.class));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
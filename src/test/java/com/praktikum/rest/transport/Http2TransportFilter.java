@@ -0,0 +1,222 @@
+package com.praktikum.rest.transport;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.praktikum.rest.filters.CompressionMetricsFilter;
+import com.praktikum.rest.metrics.SuiteMetrics;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.filter.time.TimingFilter;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.internal.RestAssuredResponseImpl;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Transport alternatif untuk DSL REST Assured: request dikirim lewat java.net.http.HttpClient (HTTP/2)
+ * alih-alih Apache HTTP client bawaan (HTTP/1.1, satu request per koneksi pada satu waktu)
+ *
+ * Filter ini dipasang paling dalam di chain dan tidak memanggil ctx.next(), jadi given()/then()
+ * dan semua filter lain (logging, cache, auth, compression metrics) tetap bekerja seperti biasa.
+ * Ke host HTTPS yang mendukung ALPN h2, semua request dari semua thread di-multiplex di satu koneksi;
+ * ke server yang hanya HTTP/1.1 client otomatis fallback dan memakai pool keep-alive
+ *
+ * Aktifkan untuk seluruh suite via -Dhttp.transport=http2, atau per request dengan .filter(Http2TransportFilter.shared())
+ * Batasan: form params dan multipart tidak didukung (request tersebut gagal dengan IllegalArgumentException)
+ */
+
+public class Http2TransportFilter implements OrderedFilter {
+    private static final Http2TransportFilter shared = new Http2TransportFilter(
+            HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_2)
+                    .followRedirects(HttpClient.Redirect.NORMAL)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build());
+
+    // Header yang dikelola sendiri oleh java.net.http dan ditolak jika di-set manual
+    private static final Set<String> RESTRICTED_HEADERS = Set.of("connection", "content-length", "expect", "host", "upgrade");
+    private static final String ACCEPT_ENCODING = "Accept-Encoding";
+
+    private final HttpClient client;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    /**
+     * @param client Client yang dipakai bersama oleh semua thread (koneksi HTTP/2 di-share oleh client ini)
+     */
+    public Http2TransportFilter(HttpClient client) {
+        this.client = client;
+    }
+
+    /**
+     * Instance bersama untuk seluruh suite (dipasang oleh BaseTest jika -Dhttp.transport=http2)
+     */
+    public static Http2TransportFilter shared() {
+        return shared;
+    }
+
+    /**
+     * Client di balik filter, untuk load generator yang ingin mengirim secara async (sendAsync) tanpa thread per request
+     */
+    public HttpClient client() {
+        return client;
+    }
+
+    /**
+     * Paling dalam di chain: semua filter lain sudah selesai memodifikasi request sebelum dikirim
+     */
+    @Override
+    public int getOrder() {
+        return DEFAULT_PRECEDENCE + 300;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        // Tanpa CompressionMetricsFilter di chain, decode sendiri sesuai decoders yang dikonfigurasi (default gzip,deflate)
+        boolean decode = !requestSpec.getConfig().getDecoderConfig().contentDecoders().isEmpty();
+        if (decode && !requestSpec.getHeaders().hasHeaderWithName(ACCEPT_ENCODING)) {
+            requestSpec.header(ACCEPT_ENCODING, requestSpec.getConfig().getDecoderConfig().contentDecoders().stream()
+                    .map(decoder -> decoder.name().toLowerCase(Locale.ROOT))
+                    .collect(Collectors.joining(",")));
+        }
+
+        HttpRequest request = toHttpRequest(requestSpec);
+        HttpResponse<byte[]> response;
+        long start = System.currentTimeMillis();
+        try {
+            response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException(requestSpec.getMethod() + " " + requestSpec.getURI() + " gagal", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Request di-interrupt: " + requestSpec.getURI(), e);
+        }
+        long elapsedMillis = System.currentTimeMillis() - start;
+        SuiteMetrics.increment("http.transport." + protocol(response.version()));
+
+        Response built = toResponse(response, decode);
+        if (built instanceof RestAssuredResponseImpl restAssuredResponse) {
+            // Biasanya di-set oleh SendRequestFilter REST Assured, dibaca oleh response.time() dan .time(...) matcher
+            restAssuredResponse.setFilterContextProperties(Map.of(TimingFilter.RESPONSE_TIME_MILLISECONDS, elapsedMillis));
+        }
+        return built;
+    }
+
+    /**
+     * Kirim request secara async lewat client bersama, dipakai load generator dengan window concurrency
+     */
+    public CompletableFuture<HttpResponse<byte[]>> sendAsync(HttpRequest request) {
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    /**
+     * Nama protokol untuk report dan metrics, contoh: "HTTP/2", "HTTP/1.1"
+     */
+    public static String protocol(HttpClient.Version version) {
+        return version == HttpClient.Version.HTTP_2 ? "HTTP/2" : "HTTP/1.1";
+    }
+
+    private HttpRequest toHttpRequest(FilterableRequestSpecification requestSpec) {
+        if (!requestSpec.getFormParams().isEmpty() || !requestSpec.getMultiPartParams().isEmpty()) {
+            throw new IllegalArgumentException("Http2TransportFilter tidak mendukung form params/multipart: " + requestSpec.getURI());
+        }
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(requestSpec.getURI()));
+        boolean hasContentType = false;
+        for (Header header : requestSpec.getHeaders()) {
+            if (RESTRICTED_HEADERS.contains(header.getName().toLowerCase(Locale.ROOT))) {
+                continue;
+            }
+            hasContentType |= header.getName().equalsIgnoreCase("Content-Type");
+            builder.header(header.getName(), header.getValue());
+        }
+        if (!hasContentType && requestSpec.getContentType() != null) {
+            builder.header("Content-Type", requestSpec.getContentType());
+        }
+        if (requestSpec.getCookies().exist()) {
+            builder.header("Cookie", requestSpec.getCookies().asList().stream()
+                    .map(cookie -> cookie.getName() + "=" + cookie.getValue())
+                    .collect(Collectors.joining("; ")));
+        }
+        return builder.method(requestSpec.getMethod(), bodyPublisher(requestSpec)).build();
+    }
+
+    private HttpRequest.BodyPublisher bodyPublisher(FilterableRequestSpecification requestSpec) {
+        Object body = requestSpec.getBody();
+        if (body == null) {
+            return HttpRequest.BodyPublishers.noBody();
+        }
+        try {
+            return switch (body) {
+                case byte[] bytes -> HttpRequest.BodyPublishers.ofByteArray(bytes);
+                case String text -> HttpRequest.BodyPublishers.ofString(text, charset(requestSpec.getContentType()));
+                case InputStream stream -> HttpRequest.BodyPublishers.ofInputStream(() -> stream);
+                case File file -> HttpRequest.BodyPublishers.ofFile(file.toPath());
+                // Map/POJO: serialize sebagai JSON seperti object mapper default REST Assured
+                default -> HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(body));
+            };
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Body tidak bisa di-serialize ke JSON: " + body.getClass().getName(), e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Response toResponse(HttpResponse<byte[]> response, boolean decode) {
+        List<Header> headers = new ArrayList<>();
+        for (Map.Entry<String, List<String>> entry : response.headers().map().entrySet()) {
+            if (entry.getKey().startsWith(":")) {
+                continue;  // Pseudo-header HTTP/2 (:status)
+            }
+            entry.getValue().forEach(value -> headers.add(new Header(entry.getKey(), value)));
+        }
+
+        byte[] body = response.body();
+        String contentEncoding = response.headers().firstValue("Content-Encoding").orElse(null);
+        if (decode && contentEncoding != null) {
+            body = CompressionMetricsFilter.decode(contentEncoding.trim().toLowerCase(Locale.ROOT), body);
+        }
+
+        ResponseBuilder builder = new ResponseBuilder()
+                .setStatusCode(response.statusCode())
+                .setStatusLine(protocol(response.version()) + " " + response.statusCode())
+                .setHeaders(new Headers(headers))
+                .setBody(body);
+        response.headers().firstValue("Content-Type").ifPresent(builder::setContentType);
+        return builder.build();
+    }
+
+    private static Charset charset(String contentType) {
+        if (contentType != null) {
+            for (String part : contentType.split(";")) {
+                String trimmed = part.trim();
+                if (trimmed.toLowerCase(Locale.ROOT).startsWith("charset=")) {
+                    return Charset.forName(trimmed.substring("charset=".length()).replace("\"", ""));
+                }
+            }
+        }
+        return StandardCharsets.UTF_8;
+    }
+}
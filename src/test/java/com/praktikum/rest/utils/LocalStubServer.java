@@ -0,0 +1,109 @@
+package com.praktikum.rest.utils;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * HTTP server lokal sederhana untuk test yang tidak boleh bergantung pada public API
+ * Berguna untuk memverifikasi filter dan helper (cache, rate limit, dll.) secara deterministic
+ */
+
+public class LocalStubServer implements AutoCloseable {
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final Map<String, AtomicInteger> hits = new ConcurrentHashMap<>();
+
+    /**
+     * Start server di 127.0.0.1 dengan port random
+     */
+    public LocalStubServer() {
+        try {
+            server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * Base URL untuk dipakai di given().baseUri(...)
+     */
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Daftarkan response JSON statis untuk path tertentu
+     * @param path Path prefix, contoh: "/users/1"
+     * @param status HTTP status code
+     * @param jsonBody Response body
+     * @param delayMillis Delay sebelum response dikirim (simulate network latency)
+     */
+    public LocalStubServer stub(String path, int status, String jsonBody, long delayMillis) {
+        return handle(path, exchange -> {
+            sleep(delayMillis);
+            respond(exchange, status, jsonBody);
+        });
+    }
+
+    /**
+     * Daftarkan custom handler untuk path tertentu, setiap request dihitung di hits(path)
+     */
+    public LocalStubServer handle(String path, HttpHandler handler) {
+        server.createContext(path, exchange -> {
+            hits.computeIfAbsent(path, key -> new AtomicInteger()).incrementAndGet();
+            try (exchange) {
+                handler.handle(exchange);
+            }
+        });
+        return this;
+    }
+
+    /**
+     * Jumlah request yang sampai ke server untuk path tertentu
+     */
+    public int hits(String path) {
+        AtomicInteger count = hits.get(path);
+        return count == null ? 0 : count.get();
+    }
+
+    /**
+     * Kirim response JSON dari dalam custom handler
+     */
+    public static void respond(HttpExchange exchange, int status, String jsonBody) throws IOException {
+        byte[] body = jsonBody.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        if (body.length > 0) {
+            exchange.getResponseBody().write(body);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
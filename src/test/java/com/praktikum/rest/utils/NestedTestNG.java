@@ -0,0 +1,31 @@
+package com.praktikum.rest.utils;
+
+import org.testng.ITestNGListener;
+import org.testng.TestNG;
+
+/**
+ * Menjalankan test class contoh di TestNG nested, untuk test yang memverifikasi listener atau filter
+ * terhadap lifecycle TestNG yang sebenarnya (suite start/finish, DataProvider, configuration method)
+ *
+ * Suite nested bernama "Command line suite", tanpa default reporters dan tanpa output console
+ */
+
+public final class NestedTestNG {
+
+    private NestedTestNG() {
+    }
+
+    /**
+     * Jalankan semua @Test di testClass dengan listener yang diberikan, return setelah suite selesai
+     */
+    public static void runNested(Class<?> testClass, ITestNGListener... listeners) {
+        TestNG testng = new TestNG();
+        testng.setTestClasses(new Class<?>[] {testClass});
+        testng.setUseDefaultListeners(false);
+        testng.setVerbose(0);
+        for (ITestNGListener listener : listeners) {
+            testng.addListener(listener);
+        }
+        testng.run();
+    }
+}
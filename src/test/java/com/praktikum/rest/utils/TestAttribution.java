@@ -0,0 +1,64 @@
+package com.praktikum.rest.utils;
+
+import org.testng.ITestResult;
+import org.testng.Reporter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Menentukan test invocation pemilik sebuah request HTTP dari dalam filter, dipakai bersama oleh
+ * ImpactIndexFilter dan ResourceProfilingFilter
+ *
+ * Test diambil dari Reporter.getCurrentTestResult() (thread TestNG yang menjalankan test).
+ * Request dari thread lain (contoh: step Workflow yang parallel) di-attribute ke test yang sedang berjalan
+ * jika hanya ada satu yang aktif; selain itu null (unattributed)
+ *
+ * @param <T> Key test, contoh test ID atau object pemakaian resource per invocation
+ */
+
+public final class TestAttribution<T> {
+    private final Function<ITestResult, T> fromResult;
+
+    // Key -> jumlah invocation yang sedang berjalan (DataProvider parallel bisa > 1)
+    private final Map<T, AtomicInteger> running = new ConcurrentHashMap<>();
+
+    /**
+     * @param fromResult Key dari result TestNG thread saat ini, null jika result tersebut tidak di-track
+     */
+    public TestAttribution(Function<ITestResult, T> fromResult) {
+        this.fromResult = fromResult;
+    }
+
+    public void started(T key) {
+        running.computeIfAbsent(key, ignored -> new AtomicInteger()).incrementAndGet();
+    }
+
+    public void finished(T key) {
+        running.computeIfPresent(key, (ignored, count) -> count.decrementAndGet() <= 0 ? null : count);
+    }
+
+    /**
+     * Key test pemilik request di thread ini, null jika tidak bisa ditentukan
+     */
+    public T current() {
+        ITestResult result = Reporter.getCurrentTestResult();
+        if (result != null) {
+            T key = fromResult.apply(result);
+            if (key != null) {
+                return key;
+            }
+        }
+        if (running.size() == 1) {
+            for (T key : running.keySet()) {
+                return key;  // Bisa kosong jika test selesai di antara size() dan iterasi
+            }
+        }
+        return null;
+    }
+
+    public void clear() {
+        running.clear();
+    }
+}
@@ -1,6 +1,8 @@
 package com.praktikum.rest.utils;
 
 import com.github.javafaker.Faker;
+import com.praktikum.rest.corpus.CorpusKind;
+import com.praktikum.rest.corpus.TestDataCorpus;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
@@ -11,8 +13,10 @@ import java.util.Map;
  */
 
 public class TestDataGenerator {
-    // Initialize Faker dengan Indonesian locale untuk data yang lebih relatable
-    private static final Faker faker = new Faker(new Locale("id-ID"));
+    // Indonesian locale untuk data yang lebih relatable, dipakai juga oleh TestDataCorpusWriter
+    public static final Locale LOCALE = Locale.forLanguageTag("id-ID");
+
+    private static final Faker faker = new Faker(LOCALE);
 
     /**
      * Generate complete user data dengan semua fields
@@ -125,6 +129,17 @@ public class TestDataGenerator {
         return productData;
     }
 
+    /**
+     * Ambil user data dari precomputed corpus (TestDataCorpus) tanpa biaya Faker
+     * Hasilnya sama di setiap run untuk index dan corpus.seed yang sama, cocok untuk load/soak run
+     * @param sequence Index user, di-wrap jika melebihi jumlah user di corpus
+     * @return Map berisi user data dengan structure yang sama seperti generateUserData()
+     */
+    public static Map<String, Object> corpusUserData(long sequence) {
+        TestDataCorpus.Table users = TestDataCorpus.shared().table(CorpusKind.USERS);
+        return users.toMap(users.index(sequence));
+    }
+
     /**
      * Generate multiple users untuk bulk testing
      * @param count Jumlah users yang akan di-generate
@@ -0,0 +1,230 @@
+package com.praktikum.rest.workflow;
+
+import com.praktikum.rest.metrics.SuiteMetrics;
+import io.restassured.response.Response;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Workflow (user journey) berisi beberapa WorkflowStep yang membentuk DAG
+ * Step dijalankan segera setelah semua dependency-nya PASS, jadi chain yang independen berjalan parallel
+ * Values yang di-extract (misal id hasil create) dioper ke step berikutnya lewat WorkflowContext
+ *
+ * Metrics di SuiteMetrics:
+ *   workflow.<name>              end-to-end latency
+ *   workflow.<name>.<step>       latency per step
+ *   workflow.<name>.pass / fail  jumlah run
+ */
+
+public class Workflow {
+    // Thread pool default untuk step execution, daemon supaya tidak menahan JVM di akhir suite
+    private static final ExecutorService DEFAULT_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "workflow-step");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final String name;
+    private final List<WorkflowStep> steps;
+    private final Map<String, Set<String>> dependencies;
+
+    private Workflow(String name, List<WorkflowStep> steps, Map<String, Set<String>> dependencies) {
+        this.name = name;
+        this.steps = steps;
+        this.dependencies = dependencies;
+    }
+
+    /**
+     * Mulai definisi workflow baru
+     * @param name Nama workflow, dipakai di report dan metrics, contoh: "user-lifecycle"
+     */
+    public static Builder named(String name) {
+        return new Builder(name);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Dependencies yang sudah di-resolve per step (dependsOn + producer dari setiap requires)
+     */
+    public Map<String, Set<String>> getDependencies() {
+        return dependencies;
+    }
+
+    /**
+     * Jalankan workflow dengan context kosong di thread pool default
+     */
+    public WorkflowResult run() {
+        return run(new WorkflowContext(), DEFAULT_EXECUTOR);
+    }
+
+    /**
+     * Jalankan workflow
+     * @param context Context awal (boleh berisi seed values)
+     * @param executor Executor untuk step; chain independen hanya parallel jika executor punya > 1 thread
+     */
+    public WorkflowResult run(WorkflowContext context, Executor executor) {
+        long start = System.nanoTime();
+        Map<String, CompletableFuture<WorkflowResult.StepResult>> futures = new LinkedHashMap<>();
+
+        // steps sudah dalam topological order, jadi future setiap dependency pasti sudah dibuat
+        for (WorkflowStep step : steps) {
+            List<CompletableFuture<WorkflowResult.StepResult>> upstream = dependencies.get(step.getName()).stream()
+                    .map(futures::get)
+                    .toList();
+            CompletableFuture<WorkflowResult.StepResult> future = CompletableFuture
+                    .allOf(upstream.toArray(new CompletableFuture[0]))
+                    .thenApplyAsync(ignored -> {
+                        boolean upstreamPassed = upstream.stream()
+                                .allMatch(dependency -> dependency.join().status() == WorkflowResult.Status.PASS);
+                        return upstreamPassed
+                                ? execute(step, context, start)
+                                : new WorkflowResult.StepResult(step.getName(), WorkflowResult.Status.SKIPPED,
+                                        System.nanoTime() - start, 0, -1, null);
+                    }, executor);
+            futures.put(step.getName(), future);
+        }
+
+        CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0])).join();
+        long endToEnd = System.nanoTime() - start;
+
+        Map<String, WorkflowResult.StepResult> results = new LinkedHashMap<>();
+        futures.forEach((stepName, future) -> results.put(stepName, future.join()));
+        WorkflowResult result = new WorkflowResult(name, results, dependencies, endToEnd, context);
+
+        SuiteMetrics.recordNanos("workflow." + name, endToEnd);
+        SuiteMetrics.increment("workflow." + name + (result.isSuccessful() ? ".pass" : ".fail"));
+        return result;
+    }
+
+    private WorkflowResult.StepResult execute(WorkflowStep step, WorkflowContext context, long workflowStart) {
+        long stepStart = System.nanoTime();
+        Response response = null;
+        Throwable error = null;
+        try {
+            response = step.execute(context);
+        } catch (Throwable e) {  // AssertionError dari then() juga harus tercatat sebagai FAIL, bukan hilang di future
+            error = e;
+        }
+        long elapsed = System.nanoTime() - stepStart;
+        SuiteMetrics.recordNanos("workflow." + name + "." + step.getName(), elapsed);
+
+        return new WorkflowResult.StepResult(step.getName(),
+                error == null ? WorkflowResult.Status.PASS : WorkflowResult.Status.FAIL,
+                stepStart - workflowStart, elapsed, response == null ? -1 : response.getStatusCode(), error);
+    }
+
+    /**
+     * Builder untuk Workflow; build() memvalidasi DAG (nama unik, dependency ada, tidak ada cycle)
+     */
+    public static class Builder {
+        private final String name;
+        private final Map<String, WorkflowStep> steps = new LinkedHashMap<>();
+
+        private Builder(String name) {
+            this.name = name;
+        }
+
+        public Builder step(WorkflowStep step) {
+            if (steps.putIfAbsent(step.getName(), step) != null) {
+                throw new IllegalArgumentException("Step '" + step.getName() + "' sudah ada di workflow " + name);
+            }
+            return this;
+        }
+
+        public Workflow build() {
+            Map<String, Set<String>> dependencies = resolveDependencies();
+            return new Workflow(name, topologicalOrder(dependencies), dependencies);
+        }
+
+        /**
+         * Gabungkan dependsOn dengan producer dari setiap key di requires
+         */
+        private Map<String, Set<String>> resolveDependencies() {
+            Map<String, String> producers = new HashMap<>();
+            for (WorkflowStep step : steps.values()) {
+                for (String key : step.getExtracts().keySet()) {
+                    String previous = producers.putIfAbsent(key, step.getName());
+                    if (previous != null) {
+                        throw new IllegalArgumentException("Value '" + key + "' di-extract oleh dua step: "
+                                + previous + " dan " + step.getName());
+                    }
+                }
+            }
+
+            Map<String, Set<String>> dependencies = new LinkedHashMap<>();
+            for (WorkflowStep step : steps.values()) {
+                Set<String> upstream = new LinkedHashSet<>();
+                for (String dependency : step.getDependsOn()) {
+                    if (!steps.containsKey(dependency)) {
+                        throw new IllegalArgumentException("Step '" + step.getName()
+                                + "' depends on step yang tidak ada: " + dependency);
+                    }
+                    upstream.add(dependency);
+                }
+                for (String key : step.getRequires()) {
+                    String producer = producers.get(key);
+                    if (producer == null) {
+                        throw new IllegalArgumentException("Step '" + step.getName() + "' requires '" + key
+                                + "', tapi tidak ada step yang meng-extract value ini");
+                    }
+                    upstream.add(producer);
+                }
+                dependencies.put(step.getName(), upstream);
+            }
+            return dependencies;
+        }
+
+        /**
+         * Kahn's algorithm; urutan definisi dipertahankan untuk step yang setara
+         */
+        private List<WorkflowStep> topologicalOrder(Map<String, Set<String>> dependencies) {
+            Map<String, Integer> remaining = new LinkedHashMap<>();
+            Map<String, List<String>> downstream = new HashMap<>();
+            dependencies.forEach((step, upstream) -> {
+                remaining.put(step, upstream.size());
+                upstream.forEach(dependency -> downstream.computeIfAbsent(dependency, key -> new ArrayList<>()).add(step));
+            });
+
+            Deque<String> ready = new ArrayDeque<>();
+            remaining.forEach((step, count) -> {
+                if (count == 0) {
+                    ready.add(step);
+                }
+            });
+
+            List<WorkflowStep> ordered = new ArrayList<>();
+            while (!ready.isEmpty()) {
+                String current = ready.poll();
+                ordered.add(steps.get(current));
+                for (String next : downstream.getOrDefault(current, List.of())) {
+                    if (remaining.merge(next, -1, Integer::sum) == 0) {
+                        ready.add(next);
+                    }
+                }
+            }
+
+            if (ordered.size() != steps.size()) {
+                List<String> cyclic = remaining.entrySet().stream()
+                        .filter(entry -> entry.getValue() > 0)
+                        .map(Map.Entry::getKey)
+                        .toList();
+                throw new IllegalArgumentException("Workflow " + name + " punya dependency cycle di steps " + cyclic);
+            }
+            return ordered;
+        }
+    }
+}
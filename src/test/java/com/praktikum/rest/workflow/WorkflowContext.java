@@ -0,0 +1,46 @@
+package com.praktikum.rest.workflow;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Nilai yang di-extract dari response dan dioper antar workflow steps
+ * Satu context per run, aman dipakai dari beberapa chain yang berjalan parallel
+ */
+
+public class WorkflowContext {
+    private final Map<String, Object> values = new ConcurrentHashMap<>();
+
+    /**
+     * Ambil nilai hasil extract step sebelumnya
+     * @param key Nama value, contoh: "userId"
+     * @throws IllegalStateException jika belum ada step yang meng-extract key ini
+     */
+    public Object get(String key) {
+        Object value = values.get(key);
+        if (value == null) {
+            throw new IllegalStateException("Workflow value '" + key + "' belum tersedia, cek requires()/dependsOn()");
+        }
+        return value;
+    }
+
+    public boolean contains(String key) {
+        return values.containsKey(key);
+    }
+
+    /**
+     * Simpan nilai manual (misal seed data sebelum workflow dijalankan)
+     */
+    public WorkflowContext put(String key, Object value) {
+        values.put(key, value);
+        return this;
+    }
+
+    /**
+     * Snapshot semua values, diurutkan berdasarkan key
+     */
+    public Map<String, Object> snapshot() {
+        return new TreeMap<>(values);
+    }
+}
@@ -0,0 +1,143 @@
+package com.praktikum.rest.workflow;
+
+import org.testng.SkipException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Hasil satu run Workflow: status dan latency per step, end-to-end latency, dan critical path
+ */
+
+public class WorkflowResult {
+    /**
+     * Status satu step; SKIPPED jika salah satu dependency tidak PASS
+     */
+    public enum Status { PASS, FAIL, SKIPPED }
+
+    /**
+     * Hasil satu step
+     * @param startOffsetNanos Kapan step mulai, relatif terhadap awal workflow
+     * @param durationNanos Latency step (0 untuk SKIPPED)
+     * @param statusCode HTTP status code dari response, -1 jika tidak ada response
+     * @param error Exception/AssertionError jika FAIL, null jika PASS atau SKIPPED
+     */
+    public record StepResult(String name, Status status, long startOffsetNanos, long durationNanos,
+                             int statusCode, Throwable error) {
+
+        public long endOffsetNanos() {
+            return startOffsetNanos + durationNanos;
+        }
+
+        public double durationMillis() {
+            return durationNanos / 1_000_000.0;
+        }
+    }
+
+    private final String name;
+    private final Map<String, StepResult> steps;
+    private final Map<String, Set<String>> dependencies;
+    private final long endToEndNanos;
+    private final WorkflowContext context;
+
+    WorkflowResult(String name, Map<String, StepResult> steps, Map<String, Set<String>> dependencies,
+                   long endToEndNanos, WorkflowContext context) {
+        this.name = name;
+        this.steps = Collections.unmodifiableMap(new LinkedHashMap<>(steps));
+        this.dependencies = dependencies;
+        this.endToEndNanos = endToEndNanos;
+        this.context = context;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Hasil semua step, urut sesuai topological order
+     */
+    public List<StepResult> getSteps() {
+        return new ArrayList<>(steps.values());
+    }
+
+    public StepResult step(String stepName) {
+        StepResult result = steps.get(stepName);
+        if (result == null) {
+            throw new IllegalArgumentException("Step '" + stepName + "' tidak ada di workflow " + name);
+        }
+        return result;
+    }
+
+    public long getEndToEndNanos() {
+        return endToEndNanos;
+    }
+
+    public double getEndToEndMillis() {
+        return endToEndNanos / 1_000_000.0;
+    }
+
+    /**
+     * Values yang di-extract selama run
+     */
+    public WorkflowContext getContext() {
+        return context;
+    }
+
+    public boolean isSuccessful() {
+        return steps.values().stream().allMatch(step -> step.status() == Status.PASS);
+    }
+
+    /**
+     * Rantai step yang menentukan end-to-end latency: mulai dari step yang selesai paling akhir,
+     * mundur lewat dependency yang selesai paling akhir
+     */
+    public List<String> criticalPath() {
+        List<String> path = new ArrayList<>();
+        StepResult current = steps.values().stream()
+                .filter(step -> step.status() != Status.SKIPPED)
+                .max((a, b) -> Long.compare(a.endOffsetNanos(), b.endOffsetNanos()))
+                .orElse(null);
+        while (current != null) {
+            path.add(0, current.name());
+            current = dependencies.get(current.name()).stream()
+                    .map(steps::get)
+                    .max((a, b) -> Long.compare(a.endOffsetNanos(), b.endOffsetNanos()))
+                    .orElse(null);
+        }
+        return path;
+    }
+
+    /**
+     * Gagalkan test jika ada step yang tidak PASS
+     * @throws AssertionError dengan error step pertama yang gagal sebagai cause
+     * @throws SkipException dari step (contoh: host tidak tersedia karena circuit open), supaya test ikut di-skip
+     */
+    public void assertSuccessful() {
+        for (StepResult step : steps.values()) {
+            if (step.status() == Status.FAIL && step.error() instanceof SkipException skip && skip.isSkip()) {
+                throw skip;
+            }
+            if (step.status() == Status.FAIL) {
+                throw new AssertionError("Workflow '" + name + "' gagal di step '" + step.name() + "': "
+                        + step.error().getMessage(), step.error());
+            }
+        }
+    }
+
+    /**
+     * Print report per step ke console
+     */
+    public void print(PrintStream out) {
+        out.println("===== WORKFLOW " + name + " =====");
+        for (StepResult step : steps.values()) {
+            out.printf("%-20s %-8s start=+%.1fms latency=%.1fms status=%s%n",
+                    step.name(), step.status(), step.startOffsetNanos() / 1_000_000.0, step.durationMillis(),
+                    step.statusCode() < 0 ? "-" : String.valueOf(step.statusCode()));
+        }
+        out.printf("End-to-end: %.1fms, critical path: %s%n", getEndToEndMillis(), String.join(" -> ", criticalPath()));
+    }
+}
@@ -0,0 +1,136 @@
+package com.praktikum.rest.workflow;
+
+import io.restassured.response.Response;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Satu step dalam Workflow: request REST Assured biasa plus deklarasi dependencies
+ *
+ * Contoh:
+ *   WorkflowStep.named("read")
+ *           .requires("userId")
+ *           .run(ctx -> given().pathParam("id", ctx.get("userId"))
+ *                   .when().get("/users/{id}")
+ *                   .then().statusCode(200).extract().response())
+ */
+
+public class WorkflowStep {
+    /**
+     * Isi step: kirim request (boleh pakai values dari context) dan validasi response
+     * Return response supaya extract(...) bisa membaca body-nya, atau null jika tidak ada yang di-extract
+     */
+    @FunctionalInterface
+    public interface Action {
+        Response execute(WorkflowContext context);
+    }
+
+    private final String name;
+    private final Set<String> dependsOn;
+    private final Set<String> requires;
+    private final Map<String, String> extracts;
+    private final Action action;
+
+    private WorkflowStep(Builder builder, Action action) {
+        this.name = builder.name;
+        this.dependsOn = Collections.unmodifiableSet(new LinkedHashSet<>(builder.dependsOn));
+        this.requires = Collections.unmodifiableSet(new LinkedHashSet<>(builder.requires));
+        this.extracts = Collections.unmodifiableMap(new LinkedHashMap<>(builder.extracts));
+        this.action = action;
+    }
+
+    /**
+     * Mulai definisi step baru
+     * @param name Nama unik dalam satu workflow, dipakai di report dan metrics
+     */
+    public static Builder named(String name) {
+        return new Builder(name);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Step yang harus selesai lebih dulu (ordering saja, tanpa data)
+     */
+    public Set<String> getDependsOn() {
+        return dependsOn;
+    }
+
+    /**
+     * Values yang dibaca step ini dari context, producer-nya dicari dari extract(...) step lain
+     */
+    public Set<String> getRequires() {
+        return requires;
+    }
+
+    /**
+     * Mapping key context -> JSON path di response step ini
+     */
+    public Map<String, String> getExtracts() {
+        return extracts;
+    }
+
+    /**
+     * Jalankan action lalu simpan values yang di-extract ke context
+     */
+    Response execute(WorkflowContext context) {
+        Response response = action.execute(context);
+        if (!extracts.isEmpty()) {
+            if (response == null) {
+                throw new IllegalStateException("Step '" + name + "' harus return response untuk extract " + extracts.keySet());
+            }
+            extracts.forEach((key, jsonPath) -> {
+                Object value = response.jsonPath().get(jsonPath);
+                if (value == null) {
+                    throw new AssertionError("Step '" + name + "': JSON path '" + jsonPath + "' tidak ada di response");
+                }
+                context.put(key, value);
+            });
+        }
+        return response;
+    }
+
+    /**
+     * Builder untuk WorkflowStep, selesai dengan run(action)
+     */
+    public static class Builder {
+        private final String name;
+        private final Set<String> dependsOn = new LinkedHashSet<>();
+        private final Set<String> requires = new LinkedHashSet<>();
+        private final Map<String, String> extracts = new LinkedHashMap<>();
+
+        private Builder(String name) {
+            this.name = name;
+        }
+
+        public Builder dependsOn(String... stepNames) {
+            dependsOn.addAll(List.of(stepNames));
+            return this;
+        }
+
+        public Builder requires(String... keys) {
+            requires.addAll(List.of(keys));
+            return this;
+        }
+
+        /**
+         * Simpan nilai dari response body ke context
+         * @param key Nama value di context, contoh: "userId"
+         * @param jsonPath JSON path (GPath) di response, contoh: "id"
+         */
+        public Builder extract(String key, String jsonPath) {
+            extracts.put(key, jsonPath);
+            return this;
+        }
+
+        public WorkflowStep run(Action action) {
+            return new WorkflowStep(this, action);
+        }
+    }
+}